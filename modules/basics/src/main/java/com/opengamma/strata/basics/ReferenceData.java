@@ -43,7 +43,7 @@ public interface ReferenceData {
   public static ReferenceData of(Map<? extends ReferenceDataId<?>, ?> values) {
     // hash map so that keys can overlap, with this instance taking priority
     Map<ReferenceDataId<?>, Object> combined = new HashMap<>();
-    combined.putAll(StandardReferenceData.MINIMAL.getValues());
+    combined.putAll(StandardReferenceData.minimal().getValues());
     combined.putAll(values);
     return ImmutableReferenceData.of(combined);
   }
@@ -57,7 +57,7 @@ public interface ReferenceData {
    * @return standard reference data
    */
   public static ReferenceData standard() {
-    return StandardReferenceData.STANDARD;
+    return StandardReferenceData.standard();
   }
 
   /**
@@ -72,7 +72,7 @@ public interface ReferenceData {
    * @return minimal reference data
    */
   public static ReferenceData minimal() {
-    return StandardReferenceData.MINIMAL;
+    return StandardReferenceData.minimal();
   }
 
   /**
@@ -5,41 +5,149 @@
  */
 package com.opengamma.strata.basics;
 
+import java.io.Serializable;
+import java.util.Optional;
+
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.basics.date.HolidayCalendarSnapshot;
 import com.opengamma.strata.basics.date.HolidayCalendars;
 
 /**
  * Provides standard reference data for holiday calendars in common currencies.
+ * <p>
+ * The standard calendars are restored on demand from the {@linkplain HolidayCalendarSnapshot snapshot}
+ * generated at build time, avoiding the cost of building every calendar from its rules at startup.
+ * Calendars that are not in the snapshot, such as those added by configuration, are looked up
+ * by name in {@link HolidayCalendars#extendedEnum()}. Identifiers that are not known return empty.
+ * <p>
+ * Each set of reference data is held in its own class so that it is only created when first used.
  */
 final class StandardReferenceData {
 
+  // restricted constructor
+  private StandardReferenceData() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the standard reference data.
+   *
+   * @return the standard reference data
+   */
+  static ReferenceData standard() {
+    return Standard.INSTANCE;
+  }
+
+  /**
+   * Obtains the minimal reference data.
+   *
+   * @return the minimal reference data
+   */
+  static ImmutableReferenceData minimal() {
+    return Minimal.INSTANCE;
+  }
+
+  //-------------------------------------------------------------------------
   /**
    * Standard reference data.
    */
-  static ImmutableReferenceData STANDARD;
-  static {
-    ImmutableMap.Builder<ReferenceDataId<?>, Object> builder = ImmutableMap.builder();
-    for (HolidayCalendar cal : HolidayCalendars.extendedEnum().lookupAll().values()) {
-      builder.put(cal.getId(), cal);
+  private static final class Standard {
+    static final ReferenceData INSTANCE = HolidayCalendarSnapshot.standard()
+        .<ReferenceData>map(SnapshotReferenceData::new)
+        .orElseGet(() -> AllCalendars.INSTANCE);
+  }
+
+  /**
+   * Standard reference data built from all the calendars of the extended enum.
+   */
+  private static final class AllCalendars {
+    static final ImmutableReferenceData INSTANCE;
+    static {
+      ImmutableMap.Builder<ReferenceDataId<?>, Object> builder = ImmutableMap.builder();
+      for (HolidayCalendar cal : HolidayCalendars.extendedEnum().lookupAll().values()) {
+        builder.put(cal.getId(), cal);
+      }
+      INSTANCE = ImmutableReferenceData.of(builder.build());
     }
-    STANDARD = ImmutableReferenceData.of(builder.build());
   }
+
   /**
    * Minimal reference data.
    */
-  static ImmutableReferenceData MINIMAL;
-  static {
-    ImmutableMap.Builder<ReferenceDataId<?>, Object> builder = ImmutableMap.builder();
-    builder.put(HolidayCalendars.NO_HOLIDAYS.getId(), HolidayCalendars.NO_HOLIDAYS);
-    builder.put(HolidayCalendars.SAT_SUN.getId(), HolidayCalendars.SAT_SUN);
-    builder.put(HolidayCalendars.FRI_SAT.getId(), HolidayCalendars.FRI_SAT);
-    builder.put(HolidayCalendars.THU_FRI.getId(), HolidayCalendars.THU_FRI);
-    MINIMAL = ImmutableReferenceData.of(builder.build());
+  private static final class Minimal {
+    static final ImmutableReferenceData INSTANCE;
+    static {
+      ImmutableMap.Builder<ReferenceDataId<?>, Object> builder = ImmutableMap.builder();
+      builder.put(HolidayCalendars.NO_HOLIDAYS.getId(), HolidayCalendars.NO_HOLIDAYS);
+      builder.put(HolidayCalendars.SAT_SUN.getId(), HolidayCalendars.SAT_SUN);
+      builder.put(HolidayCalendars.FRI_SAT.getId(), HolidayCalendars.FRI_SAT);
+      builder.put(HolidayCalendars.THU_FRI.getId(), HolidayCalendars.THU_FRI);
+      INSTANCE = ImmutableReferenceData.of(builder.build());
+    }
   }
 
-  // restricted constructor
-  private StandardReferenceData() {
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains standard reference data backed by the specified snapshot.
+   *
+   * @param snapshot  the snapshot of the standard calendars
+   * @return the reference data
+   */
+  // package-private so that tests can supply a snapshot
+  static ReferenceData ofSnapshot(HolidayCalendarSnapshot snapshot) {
+    return new SnapshotReferenceData(snapshot);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Standard reference data backed by the snapshot of the standard calendars.
+   */
+  private static final class SnapshotReferenceData
+      implements ReferenceData, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The snapshot.
+     */
+    private final transient HolidayCalendarSnapshot snapshot;
+
+    private SnapshotReferenceData(HolidayCalendarSnapshot snapshot) {
+      this.snapshot = snapshot;
+    }
+
+    @Override
+    public <T> Optional<T> findValue(ReferenceDataId<T> id) {
+      // the identifier resolves combined calendars from their parts
+      return Optional.ofNullable(id.queryValueOrNull(this));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T queryValueOrNull(ReferenceDataId<T> id) {
+      if (!(id instanceof HolidayCalendarId)) {
+        return null;
+      }
+      String name = ((HolidayCalendarId) id).getName();
+      Optional<HolidayCalendar> calendar = snapshot.find(name);
+      if (calendar.isPresent()) {
+        return (T) calendar.get();
+      }
+      // an alternate name finds a calendar with a different identifier, which does not match
+      return (T) HolidayCalendars.extendedEnum().find(name).filter(cal -> cal.getId().equals(id)).orElse(null);
+    }
+
+    // resolve after deserialization
+    private Object readResolve() {
+      return Standard.INSTANCE;
+    }
+
+    @Override
+    public String toString() {
+      return "StandardReferenceData";
+    }
   }
 
 }
@@ -10,6 +10,7 @@ import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.joda.convert.FromString;
 import org.joda.convert.ToString;
@@ -45,6 +46,10 @@ public final class Currency
    * The matcher for the code.
    */
   static final CharMatcher CODE_MATCHER = CharMatcher.inRange('A', 'Z');
+  /**
+   * The source of ordinals, declared before the instances are loaded.
+   */
+  private static final AtomicInteger ORDINALS = new AtomicInteger();
   /**
    * The configured instances.
    */
@@ -275,6 +280,10 @@ public final class Currency
    * The cached hash code.
    */
   private transient final int cachedHashCode;
+  /**
+   * The ordinal, dense and unique within this JVM.
+   */
+  private transient final int ordinal;
 
   //-------------------------------------------------------------------------
   /**
@@ -352,6 +361,8 @@ public final class Currency
     this.triangulationCurrency = triangulationCurrency;
     // total universe is (26 * 26 * 26) codes, which can provide a unique hash code
     this.cachedHashCode = ((code.charAt(0) - 64) << 16) + ((code.charAt(1) - 64) << 8) + (code.charAt(2) - 64);
+    // instances are cached, so there is one instance, and one ordinal, per code
+    this.ordinal = ORDINALS.getAndIncrement();
   }
 
   /**
@@ -401,6 +412,18 @@ public final class Currency
     return Currency.of(triangulationCurrency);
   }
 
+  /**
+   * Gets the ordinal of the currency.
+   * <p>
+   * Each currency is allocated a small, dense, ordinal when it is first created.
+   * The ordinal is used to index arrays by currency, and is not stable from one JVM to the next.
+   *
+   * @return the ordinal
+   */
+  int ordinal() {
+    return ordinal;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Compares this currency to another.
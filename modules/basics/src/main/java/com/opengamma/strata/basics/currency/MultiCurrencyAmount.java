@@ -34,6 +34,7 @@ import org.joda.beans.impl.direct.DirectMetaBean;
 import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.ImmutableSortedSet;
@@ -137,6 +138,29 @@ public final class MultiCurrencyAmount
     return MapStream.of(map).map(CurrencyAmount::of).collect(MultiCurrencyAmount.collectorInternal());
   }
 
+  /**
+   * Obtains an instance from an array of amounts, each in a different currency.
+   * <p>
+   * This method must not be exposed publicly as misuse creates an instance with invalid state.
+   *
+   * @param amounts  the amounts, each with a different currency
+   * @return the amount
+   */
+  static MultiCurrencyAmount ofDistinct(CurrencyAmount[] amounts) {
+    return new MultiCurrencyAmount(ImmutableSortedSet.copyOf(amounts));
+  }
+
+  /**
+   * Creates a builder that can be used to accumulate amounts.
+   * <p>
+   * The builder is the most efficient way to sum a large number of amounts.
+   *
+   * @return a new builder
+   */
+  public static MultiCurrencyAmountBuilder builder() {
+    return new MultiCurrencyAmountBuilder();
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Obtains an instance from the total of a list of {@code CurrencyAmount} objects.
@@ -149,7 +173,11 @@ public final class MultiCurrencyAmount
    */
   public static MultiCurrencyAmount total(Iterable<CurrencyAmount> amounts) {
     ArgChecker.notNull(amounts, "amounts");
-    return Guavate.stream(amounts).collect(toMultiCurrencyAmount());
+    MultiCurrencyAmountBuilder builder = builder();
+    for (CurrencyAmount amount : amounts) {
+      builder.add(ArgChecker.notNull(amount, "amount"));
+    }
+    return builder.build();
   }
 
   //-------------------------------------------------------------------------
@@ -162,18 +190,15 @@ public final class MultiCurrencyAmount
    * @return the collector
    */
   public static Collector<CurrencyAmount, ?, MultiCurrencyAmount> toMultiCurrencyAmount() {
-    return Collector.<CurrencyAmount, Map<Currency, CurrencyAmount>, MultiCurrencyAmount>of(
-        // accumulate into a map
-        HashMap::new,
-        // merge two CurrencyAmounts if same currency
-        (map, ca) -> map.merge(ArgChecker.notNull(ca, "amount").getCurrency(), ca, CurrencyAmount::plus),
-        // combine two maps
-        (map1, map2) -> {
-          map2.values().forEach((ca2) -> map1.merge(ca2.getCurrency(), ca2, CurrencyAmount::plus));
-          return map1;
-        },
+    return Collector.<CurrencyAmount, MultiCurrencyAmountBuilder, MultiCurrencyAmount>of(
+        // accumulate into a builder indexed by currency
+        MultiCurrencyAmountBuilder::new,
+        // add the amount, merging if same currency
+        (builder, ca) -> builder.add(ArgChecker.notNull(ca, "amount")),
+        // combine two builders
+        MultiCurrencyAmountBuilder::add,
         // convert to MultiCurrencyAmount
-        map -> new MultiCurrencyAmount(ImmutableSortedSet.copyOf(map.values())),
+        MultiCurrencyAmountBuilder::build,
         UNORDERED);
   }
 
@@ -225,9 +250,11 @@ public final class MultiCurrencyAmount
    * @return the set of currencies in this amount
    */
   public ImmutableSet<Currency> getCurrencies() {
-    return amounts.stream()
-        .map(CurrencyAmount::getCurrency)
-        .collect(Guavate.toImmutableSet());
+    ImmutableSet.Builder<Currency> builder = ImmutableSet.builder();
+    for (CurrencyAmount amount : amounts) {
+      builder.add(amount.getCurrency());
+    }
+    return builder.build();
   }
 
   /**
@@ -247,7 +274,7 @@ public final class MultiCurrencyAmount
    */
   public boolean contains(Currency currency) {
     ArgChecker.notNull(currency, "currency");
-    return amounts.stream().anyMatch(ca -> ca.getCurrency().equals(currency));
+    return indexOf(currency) >= 0;
   }
 
   /**
@@ -259,10 +286,11 @@ public final class MultiCurrencyAmount
    */
   public CurrencyAmount getAmount(Currency currency) {
     ArgChecker.notNull(currency, "currency");
-    return amounts.stream()
-        .filter(ca -> ca.getCurrency().equals(currency))
-        .findFirst()
-        .orElseThrow(() -> new IllegalArgumentException("Unknown currency " + currency));
+    int index = indexOf(currency);
+    if (index < 0) {
+      throw new IllegalArgumentException("Unknown currency " + currency);
+    }
+    return amounts.asList().get(index);
   }
 
   /**
@@ -273,10 +301,19 @@ public final class MultiCurrencyAmount
    */
   public CurrencyAmount getAmountOrZero(Currency currency) {
     ArgChecker.notNull(currency, "currency");
-    return amounts.stream()
-        .filter(ca -> ca.getCurrency().equals(currency))
-        .findFirst()
-        .orElseGet(() -> CurrencyAmount.zero(currency));
+    int index = indexOf(currency);
+    return index < 0 ? CurrencyAmount.zero(currency) : amounts.asList().get(index);
+  }
+
+  // finds the index of the currency, using a linear search as there are few amounts
+  private int indexOf(Currency currency) {
+    ImmutableList<CurrencyAmount> list = amounts.asList();
+    for (int i = 0; i < list.size(); i++) {
+      if (list.get(i).getCurrency().equals(currency)) {
+        return i;
+      }
+    }
+    return -1;
   }
 
   //-------------------------------------------------------------------------
@@ -313,7 +350,15 @@ public final class MultiCurrencyAmount
    */
   public MultiCurrencyAmount plus(CurrencyAmount amountToAdd) {
     ArgChecker.notNull(amountToAdd, "amountToAdd");
-    return Stream.concat(amounts.stream(), Stream.of(amountToAdd)).collect(toMultiCurrencyAmount());
+    int index = indexOf(amountToAdd.getCurrency());
+    ImmutableList<CurrencyAmount> list = amounts.asList();
+    CurrencyAmount[] result = list.toArray(new CurrencyAmount[index < 0 ? list.size() + 1 : list.size()]);
+    if (index < 0) {
+      result[list.size()] = amountToAdd;
+    } else {
+      result[index] = result[index].plus(amountToAdd.getAmount());
+    }
+    return ofDistinct(result);
   }
 
   /**
@@ -331,7 +376,7 @@ public final class MultiCurrencyAmount
    */
   public MultiCurrencyAmount plus(MultiCurrencyAmount amountToAdd) {
     ArgChecker.notNull(amountToAdd, "amountToAdd");
-    return Stream.concat(amounts.stream(), amountToAdd.stream()).collect(toMultiCurrencyAmount());
+    return merge(amountToAdd, false);
   }
 
   //-------------------------------------------------------------------------
@@ -386,7 +431,33 @@ public final class MultiCurrencyAmount
    */
   public MultiCurrencyAmount minus(MultiCurrencyAmount amountToSubtract) {
     ArgChecker.notNull(amountToSubtract, "amountToSubtract");
-    return plus(amountToSubtract.negated());
+    return merge(amountToSubtract, true);
+  }
+
+  // merges the two sets of amounts, which are both sorted by currency
+  private MultiCurrencyAmount merge(MultiCurrencyAmount other, boolean negate) {
+    if (other.amounts.isEmpty()) {
+      return this;
+    }
+    ImmutableList<CurrencyAmount> list1 = amounts.asList();
+    ImmutableList<CurrencyAmount> list2 = other.amounts.asList();
+    int size1 = list1.size();
+    int size2 = list2.size();
+    CurrencyAmount[] result = new CurrencyAmount[size1 + size2];
+    int i1 = 0;
+    int i2 = 0;
+    int count = 0;
+    while (i1 < size1 || i2 < size2) {
+      int cmp = i1 == size1 ? 1 : i2 == size2 ? -1 :
+          list1.get(i1).getCurrency().compareTo(list2.get(i2).getCurrency());
+      if (cmp < 0) {
+        result[count++] = list1.get(i1++);
+      } else {
+        CurrencyAmount toAdd = negate ? list2.get(i2++).negated() : list2.get(i2++);
+        result[count++] = cmp == 0 ? list1.get(i1++).plus(toAdd.getAmount()) : toAdd;
+      }
+    }
+    return ofDistinct(count == result.length ? result : Arrays.copyOf(result, count));
   }
 
   //-------------------------------------------------------------------------
@@ -442,9 +513,12 @@ public final class MultiCurrencyAmount
    */
   public MultiCurrencyAmount mapAmounts(DoubleUnaryOperator mapper) {
     ArgChecker.notNull(mapper, "mapper");
-    return amounts.stream()
-        .map(ca -> ca.mapAmount(mapper))
-        .collect(MultiCurrencyAmount.collectorInternal());
+    ImmutableList<CurrencyAmount> list = amounts.asList();
+    CurrencyAmount[] result = new CurrencyAmount[list.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = list.get(i).mapAmount(mapper);
+    }
+    return ofDistinct(result);
   }
 
   /**
@@ -6,7 +6,6 @@
 package com.opengamma.strata.basics.currency;
 
 import static java.util.stream.Collector.Characteristics.UNORDERED;
-import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
 import java.io.Serializable;
@@ -211,10 +210,13 @@ public final class MultiCurrencyAmountArray
    * @return the amount at the specified index
    */
   public MultiCurrencyAmount get(int index) {
-    List<CurrencyAmount> currencyAmounts = values.keySet().stream()
-        .map(ccy -> CurrencyAmount.of(ccy, values.get(ccy).get(index)))
-        .collect(toList());
-    return MultiCurrencyAmount.of(currencyAmounts);
+    // the currencies of the map are distinct and sorted
+    CurrencyAmount[] currencyAmounts = new CurrencyAmount[values.size()];
+    int i = 0;
+    for (Map.Entry<Currency, DoubleArray> entry : values.entrySet()) {
+      currencyAmounts[i++] = CurrencyAmount.of(entry.getKey(), entry.getValue().get(index));
+    }
+    return MultiCurrencyAmount.ofDistinct(currencyAmounts);
   }
 
   /**
@@ -232,8 +234,9 @@ public final class MultiCurrencyAmountArray
     for (Map.Entry<Currency, DoubleArray> entry : values.entrySet()) {
       Currency currency = entry.getKey();
       DoubleArray currencyValues = entry.getValue();
+      double fxRate = fxRateProvider.fxRate(currency, resultCurrency);
       for (int i = 0; i < size; i++) {
-        singleCurrencyValues[i] += currencyValues.get(i) * fxRateProvider.fxRate(currency, resultCurrency);
+        singleCurrencyValues[i] += currencyValues.get(i) * fxRate;
       }
     }
     return CurrencyAmountArray.of(resultCurrency, DoubleArray.ofUnsafe(singleCurrencyValues));
@@ -0,0 +1,186 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.currency;
+
+import java.util.Arrays;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A mutable builder class for {@link MultiCurrencyAmount}, used to accumulate amounts.
+ * <p>
+ * The amounts are held in an array indexed by the ordinal of the currency, with a bit mask
+ * recording the currencies that are present. The arrays are sized from the largest ordinal added,
+ * thus a builder that is never used, or only used for a few currencies, stays small.
+ * Once sized, adding an amount neither allocates nor searches, making this class suitable
+ * for summing large numbers of amounts.
+ * <p>
+ * If the same currency is added more than once, the amounts are added together.
+ * A currency that has been added is present in the result, even if its total is zero.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class MultiCurrencyAmountBuilder {
+
+  /**
+   * Empty amounts, shared by new builders.
+   */
+  private static final double[] EMPTY_AMOUNTS = new double[0];
+  /**
+   * Empty currencies, shared by new builders.
+   */
+  private static final Currency[] EMPTY_CURRENCIES = new Currency[0];
+  /**
+   * Empty bit mask, shared by new builders.
+   */
+  private static final long[] EMPTY_PRESENT = new long[0];
+
+  /**
+   * The amounts, indexed by currency ordinal.
+   */
+  private double[] amounts;
+  /**
+   * The currencies, indexed by currency ordinal.
+   */
+  private Currency[] currencies;
+  /**
+   * The bit mask of present currencies, indexed by currency ordinal.
+   */
+  private long[] present;
+  /**
+   * The number of present currencies.
+   */
+  private int size;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an empty instance.
+   */
+  MultiCurrencyAmountBuilder() {
+    this.amounts = EMPTY_AMOUNTS;
+    this.currencies = EMPTY_CURRENCIES;
+    this.present = EMPTY_PRESENT;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds an amount in the specified currency.
+   *
+   * @param currency  the currency
+   * @param amountToAdd  the amount to add
+   * @return this, for chaining
+   */
+  public MultiCurrencyAmountBuilder add(Currency currency, double amountToAdd) {
+    ArgChecker.notNull(currency, "currency");
+    int ordinal = currency.ordinal();
+    if (ordinal >= amounts.length) {
+      grow(ordinal);
+    }
+    int word = ordinal >>> 6;
+    long bit = 1L << ordinal;
+    if ((present[word] & bit) == 0) {
+      present[word] |= bit;
+      currencies[ordinal] = currency;
+      amounts[ordinal] = amountToAdd;
+      size++;
+    } else {
+      amounts[ordinal] += amountToAdd;
+    }
+    return this;
+  }
+
+  /**
+   * Adds a currency amount.
+   *
+   * @param amountToAdd  the amount to add
+   * @return this, for chaining
+   */
+  public MultiCurrencyAmountBuilder add(CurrencyAmount amountToAdd) {
+    ArgChecker.notNull(amountToAdd, "amountToAdd");
+    return add(amountToAdd.getCurrency(), amountToAdd.getAmount());
+  }
+
+  /**
+   * Adds a multi-currency amount.
+   *
+   * @param amountToAdd  the amount to add
+   * @return this, for chaining
+   */
+  public MultiCurrencyAmountBuilder add(MultiCurrencyAmount amountToAdd) {
+    ArgChecker.notNull(amountToAdd, "amountToAdd");
+    for (CurrencyAmount amount : amountToAdd.getAmounts()) {
+      add(amount.getCurrency(), amount.getAmount());
+    }
+    return this;
+  }
+
+  /**
+   * Adds the amounts of another builder.
+   *
+   * @param other  the builder to add
+   * @return this, for chaining
+   */
+  MultiCurrencyAmountBuilder add(MultiCurrencyAmountBuilder other) {
+    for (int word = 0; word < other.present.length; word++) {
+      long bits = other.present[word];
+      while (bits != 0) {
+        int ordinal = (word << 6) + Long.numberOfTrailingZeros(bits);
+        add(other.currencies[ordinal], other.amounts[ordinal]);
+        bits &= bits - 1;
+      }
+    }
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of currencies added so far.
+   *
+   * @return the number of currencies
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Builds the multi-currency amount from the amounts added so far.
+   * <p>
+   * The builder can continue to be used after this method is called.
+   *
+   * @return the multi-currency amount
+   */
+  public MultiCurrencyAmount build() {
+    if (size == 0) {
+      return MultiCurrencyAmount.empty();
+    }
+    CurrencyAmount[] result = new CurrencyAmount[size];
+    int index = 0;
+    for (int word = 0; word < present.length; word++) {
+      long bits = present[word];
+      while (bits != 0) {
+        int ordinal = (word << 6) + Long.numberOfTrailingZeros(bits);
+        result[index++] = CurrencyAmount.of(currencies[ordinal], amounts[ordinal]);
+        bits &= bits - 1;
+      }
+    }
+    return MultiCurrencyAmount.ofDistinct(result);
+  }
+
+  // grows the arrays to hold the ordinal, the arrays are not sized for currencies that have not been added
+  private void grow(int ordinal) {
+    int capacity = ordinal + 1;
+    amounts = Arrays.copyOf(amounts, capacity);
+    currencies = Arrays.copyOf(currencies, capacity);
+    present = Arrays.copyOf(present, (capacity + 63) >>> 6);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "MultiCurrencyAmountBuilder" + build();
+  }
+
+}
@@ -0,0 +1,325 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.date;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A compact binary snapshot of holiday calendars.
+ * <p>
+ * Building the standard holiday calendars involves computing the holiday rules of each calendar
+ * over a long period of years, which is relatively slow. A snapshot stores the result, the holiday
+ * dates and weekend days of each calendar, so that the calendars can be restored without the rules.
+ * Each calendar is decoded independently the first time it is requested.
+ * <p>
+ * The snapshot of the standard calendars is a resource generated by {@link #main(String[])},
+ * and is used by {@link ReferenceData#standard()}. It must be regenerated when the standard calendars change.
+ * <p>
+ * Only {@link ImmutableHolidayCalendar} and the calendars of {@link HolidayCalendars} can be stored.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class HolidayCalendarSnapshot {
+
+  /**
+   * The name of the resource holding the snapshot of the standard calendars.
+   */
+  static final String STANDARD_RESOURCE = "HolidayCalendarSnapshot.bin";
+  /**
+   * The header of the binary format.
+   */
+  private static final int HEADER = 0x48435331;  // HCS1
+  /**
+   * The kind of an immutable calendar.
+   */
+  private static final int KIND_IMMUTABLE = 0;
+  /**
+   * The kind of a constant calendar, restored by name.
+   */
+  private static final int KIND_CONSTANT = 1;
+  /**
+   * The constant calendars, by name.
+   */
+  private static final ImmutableMap<String, HolidayCalendar> CONSTANTS = ImmutableMap.of(
+      NoHolidaysCalendar.INSTANCE.getName(), NoHolidaysCalendar.INSTANCE,
+      WeekendHolidayCalendar.SAT_SUN.getName(), WeekendHolidayCalendar.SAT_SUN,
+      WeekendHolidayCalendar.FRI_SAT.getName(), WeekendHolidayCalendar.FRI_SAT,
+      WeekendHolidayCalendar.THU_FRI.getName(), WeekendHolidayCalendar.THU_FRI);
+
+  /**
+   * The binary form.
+   */
+  private final byte[] bytes;
+  /**
+   * The offset of each calendar in the binary form, by name.
+   */
+  private final ImmutableMap<String, Integer> offsets;
+  /**
+   * The calendars decoded so far.
+   */
+  private final ConcurrentHashMap<String, HolidayCalendar> decoded = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a snapshot of the specified calendars.
+   *
+   * @param calendars  the calendars
+   * @return the snapshot
+   * @throws IllegalArgumentException if a calendar cannot be stored
+   */
+  public static HolidayCalendarSnapshot of(Collection<? extends HolidayCalendar> calendars) {
+    ArgChecker.notNull(calendars, "calendars");
+    List<String> names = new ArrayList<>();
+    List<byte[]> bodies = new ArrayList<>();
+    for (HolidayCalendar calendar : calendars) {
+      names.add(calendar.getName());
+      bodies.add(encode(calendar));
+    }
+    try {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(baos);
+      out.writeInt(HEADER);
+      out.writeInt(names.size());
+      int offset = 0;
+      for (int i = 0; i < names.size(); i++) {
+        out.writeUTF(names.get(i));
+        out.writeInt(offset);
+        offset += bodies.get(i).length;
+      }
+      for (byte[] body : bodies) {
+        out.write(body);
+      }
+      out.flush();
+      return of(baos.toByteArray());
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Obtains a snapshot from its binary form.
+   *
+   * @param bytes  the binary form, see {@link #toBytes()}
+   * @return the snapshot
+   * @throws IllegalArgumentException if the binary form is invalid
+   */
+  public static HolidayCalendarSnapshot of(byte[] bytes) {
+    ArgChecker.notNull(bytes, "bytes");
+    try {
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+      ArgChecker.isTrue(in.readInt() == HEADER, "Invalid holiday calendar snapshot");
+      int count = in.readInt();
+      ImmutableMap.Builder<String, Integer> builder = ImmutableMap.builder();
+      List<String> names = new ArrayList<>();
+      List<Integer> relativeOffsets = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        names.add(in.readUTF());
+        relativeOffsets.add(in.readInt());
+      }
+      // the bodies start where the index ends
+      int bodyStart = bytes.length - in.available();
+      for (int i = 0; i < count; i++) {
+        builder.put(names.get(i), bodyStart + relativeOffsets.get(i));
+      }
+      return new HolidayCalendarSnapshot(bytes.clone(), builder.build());
+    } catch (IOException ex) {
+      throw new IllegalArgumentException("Invalid holiday calendar snapshot", ex);
+    }
+  }
+
+  /**
+   * Obtains the snapshot of the standard calendars, if available.
+   * <p>
+   * The snapshot is read from the resource generated at build time.
+   *
+   * @return the snapshot, empty if the resource is not available
+   */
+  public static Optional<HolidayCalendarSnapshot> standard() {
+    try (InputStream in = HolidayCalendarSnapshot.class.getResourceAsStream(STANDARD_RESOURCE)) {
+      if (in == null) {
+        return Optional.empty();
+      }
+      return Optional.of(of(ByteStreams.toByteArray(in)));
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // restricted constructor
+  private HolidayCalendarSnapshot(byte[] bytes, ImmutableMap<String, Integer> offsets) {
+    this.bytes = bytes;
+    this.offsets = offsets;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the names of the calendars in the snapshot.
+   *
+   * @return the names
+   */
+  public Set<String> getNames() {
+    return offsets.keySet();
+  }
+
+  /**
+   * Finds a calendar by name.
+   * <p>
+   * The calendar is decoded the first time it is requested.
+   *
+   * @param name  the calendar name
+   * @return the calendar, empty if not in the snapshot
+   */
+  public Optional<HolidayCalendar> find(String name) {
+    Integer offset = offsets.get(name);
+    if (offset == null) {
+      return Optional.empty();
+    }
+    return Optional.of(decoded.computeIfAbsent(name, n -> decode(n, offset)));
+  }
+
+  /**
+   * Returns the binary form of the snapshot.
+   *
+   * @return the binary form
+   */
+  public byte[] toBytes() {
+    return bytes.clone();
+  }
+
+  //-------------------------------------------------------------------------
+  // encodes a calendar, the holiday dates being stored as variable length differences
+  private static byte[] encode(HolidayCalendar calendar) {
+    try {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(baos);
+      if (CONSTANTS.get(calendar.getName()) == calendar) {
+        out.writeByte(KIND_CONSTANT);
+      } else if (calendar instanceof ImmutableHolidayCalendar) {
+        ImmutableHolidayCalendar immutable = (ImmutableHolidayCalendar) calendar;
+        out.writeByte(KIND_IMMUTABLE);
+        int weekendMask = 0;
+        for (DayOfWeek dow : immutable.getWeekendDays()) {
+          weekendMask |= 1 << (dow.getValue() - 1);
+        }
+        out.writeByte(weekendMask);
+        out.writeInt(immutable.getHolidays().size());
+        long previous = 0;
+        for (LocalDate holiday : immutable.getHolidays()) {
+          long epochDay = holiday.toEpochDay();
+          writeVarLong(out, epochDay - previous);
+          previous = epochDay;
+        }
+      } else {
+        throw new IllegalArgumentException("Holiday calendar cannot be stored in a snapshot: " + calendar.getName());
+      }
+      out.flush();
+      return baos.toByteArray();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // decodes a calendar
+  private HolidayCalendar decode(String name, int offset) {
+    try {
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, offset, bytes.length - offset));
+      int kind = in.readByte();
+      if (kind == KIND_CONSTANT) {
+        return CONSTANTS.get(name);
+      }
+      int weekendMask = in.readByte();
+      Set<DayOfWeek> weekendDays = EnumSet.noneOf(DayOfWeek.class);
+      for (DayOfWeek dow : DayOfWeek.values()) {
+        if ((weekendMask & (1 << (dow.getValue() - 1))) != 0) {
+          weekendDays.add(dow);
+        }
+      }
+      int count = in.readInt();
+      List<LocalDate> holidays = new ArrayList<>(count);
+      long epochDay = 0;
+      for (int i = 0; i < count; i++) {
+        epochDay += readVarLong(in);
+        holidays.add(LocalDate.ofEpochDay(epochDay));
+      }
+      return ImmutableHolidayCalendar.of(HolidayCalendarId.of(name), holidays, weekendDays);
+    } catch (IOException ex) {
+      throw new IllegalArgumentException("Invalid holiday calendar snapshot for '" + name + "'", ex);
+    }
+  }
+
+  // zig-zag encoding in groups of seven bits, the high bit marking continuation
+  private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+    long zigZag = (value << 1) ^ (value >> 63);
+    while ((zigZag & ~0x7FL) != 0) {
+      out.writeByte((int) ((zigZag & 0x7F) | 0x80));
+      zigZag >>>= 7;
+    }
+    out.writeByte((int) zigZag);
+  }
+
+  private static long readVarLong(DataInputStream in) throws IOException {
+    long zigZag = 0;
+    int shift = 0;
+    int b;
+    do {
+      b = in.readUnsignedByte();
+      zigZag |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return (zigZag >>> 1) ^ -(zigZag & 1);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Generates the snapshot of the standard calendars.
+   * <p>
+   * The snapshot contains all the calendars of {@link HolidayCalendars#extendedEnum()} that can be stored.
+   * The single argument is the file to write, typically
+   * {@code modules/basics/src/main/resources/com/opengamma/strata/basics/date/HolidayCalendarSnapshot.bin}.
+   *
+   * @param args  the arguments
+   * @throws IOException if the file cannot be written
+   */
+  public static void main(String[] args) throws IOException {
+    ArgChecker.isTrue(args.length == 1, "Usage: HolidayCalendarSnapshot <output file>");
+    Path file = Paths.get(args[0]);
+    Files.write(file, standardCalendars().toBytes());
+  }
+
+  // creates the snapshot of the standard calendars
+  static HolidayCalendarSnapshot standardCalendars() {
+    List<HolidayCalendar> calendars = new ArrayList<>();
+    HolidayCalendars.extendedEnum().lookupAll().values().stream()
+        .filter(cal -> CONSTANTS.get(cal.getName()) == cal || cal instanceof ImmutableHolidayCalendar)
+        .sorted((cal1, cal2) -> cal1.getName().compareTo(cal2.getName()))
+        .forEach(calendars::add);
+    return of(calendars);
+  }
+
+}
@@ -18,8 +18,12 @@ import java.util.Optional;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
 import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.date.HolidayCalendarSnapshot;
+import com.opengamma.strata.basics.date.HolidayCalendars;
 
 /**
  * Test {@link ReferenceData} and {@link ImmutableReferenceData}.
@@ -240,6 +244,19 @@ public class ReferenceDataTest {
     assertEquals(test.getValue(ID2), VAL2);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_standard_snapshotMiss() {
+    ReferenceData test = StandardReferenceData.ofSnapshot(
+        HolidayCalendarSnapshot.of(ImmutableList.of(HolidayCalendars.NO_HOLIDAYS)));
+    assertEquals(test.getValue(HolidayCalendarIds.NO_HOLIDAYS), HolidayCalendars.NO_HOLIDAYS);
+    assertEquals(test.getValue(HolidayCalendarIds.GBLO), HolidayCalendars.of("GBLO"));
+    assertEquals(
+        test.getValue(HolidayCalendarId.of("GBLO+NoHolidays+USNY")),
+        HolidayCalendars.of("GBLO").combinedWith(HolidayCalendars.of("USNY")));
+    assertEquals(test.findValue(HolidayCalendarId.of("NOT-A-CALENDAR")), Optional.empty());
+    assertEquals(test.findValue(ID1), Optional.empty());
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     Map<ReferenceDataId<?>, Object> dataMap = ImmutableMap.of(ID1, VAL1);
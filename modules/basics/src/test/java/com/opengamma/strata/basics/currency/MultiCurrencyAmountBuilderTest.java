@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.currency;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link MultiCurrencyAmountBuilder}.
+ */
+@Test
+public class MultiCurrencyAmountBuilderTest {
+
+  private static final CurrencyAmount CA1 = CurrencyAmount.of(Currency.GBP, 100);
+  private static final CurrencyAmount CA2 = CurrencyAmount.of(Currency.USD, 200);
+  private static final CurrencyAmount CA3 = CurrencyAmount.of(Currency.EUR, 300);
+
+  //-------------------------------------------------------------------------
+  public void test_empty() {
+    MultiCurrencyAmountBuilder test = MultiCurrencyAmount.builder();
+    assertEquals(test.size(), 0);
+    assertSame(test.build(), MultiCurrencyAmount.empty());
+  }
+
+  public void test_add() {
+    MultiCurrencyAmountBuilder test = MultiCurrencyAmount.builder()
+        .add(CA1)
+        .add(Currency.USD, 200)
+        .add(MultiCurrencyAmount.of(CA1, CA3))
+        .add(Currency.USD, -200);
+    assertEquals(test.size(), 3);
+    assertEquals(test.build(), MultiCurrencyAmount.of(
+        CurrencyAmount.of(Currency.GBP, 200), CurrencyAmount.of(Currency.USD, 0), CA3));
+    // builder can continue after build
+    test.add(CA2);
+    assertEquals(test.build(), MultiCurrencyAmount.of(CurrencyAmount.of(Currency.GBP, 200), CA2, CA3));
+  }
+
+  public void test_add_builder() {
+    MultiCurrencyAmountBuilder test = MultiCurrencyAmount.builder().add(CA1).add(CA2);
+    test.add(MultiCurrencyAmount.builder().add(CA2).add(CA3));
+    assertEquals(test.build(), MultiCurrencyAmount.of(CA1, CA2.multipliedBy(2), CA3));
+  }
+
+  public void test_add_currencyCreatedAfterBuilder() {
+    MultiCurrencyAmountBuilder test = MultiCurrencyAmount.builder().add(CA1);
+    Currency created = Currency.of("QBX");
+    test.add(created, 5).add(created, 6);
+    assertEquals(test.build(), MultiCurrencyAmount.of(CA1, CurrencyAmount.of(created, 11)));
+  }
+
+  public void test_add_increasingOrdinals() {
+    // the arrays grow from empty as larger ordinals are added
+    List<Currency> currencies = new ArrayList<>(Currency.getAvailableCurrencies());
+    currencies.sort((a, b) -> Integer.compare(a.ordinal(), b.ordinal()));
+    MultiCurrencyAmountBuilder test = MultiCurrencyAmount.builder();
+    MultiCurrencyAmount expected = MultiCurrencyAmount.empty();
+    for (Currency currency : currencies) {
+      test.add(currency, 1d);
+      expected = expected.plus(currency, 1d);
+    }
+    assertEquals(test.size(), currencies.size());
+    assertEquals(test.build(), expected);
+    assertEquals(MultiCurrencyAmount.builder().add(test).build(), expected);
+  }
+
+  public void test_add_null() {
+    MultiCurrencyAmountBuilder test = MultiCurrencyAmount.builder();
+    assertThrowsIllegalArg(() -> test.add((CurrencyAmount) null));
+    assertThrowsIllegalArg(() -> test.add((MultiCurrencyAmount) null));
+    assertThrowsIllegalArg(() -> test.add(null, 1d));
+  }
+
+  public void test_matchesTotal() {
+    Random random = new Random(1);
+    List<Currency> currencies = new ArrayList<>(Currency.getAvailableCurrencies());
+    List<CurrencyAmount> amounts = new ArrayList<>();
+    MultiCurrencyAmount expected = MultiCurrencyAmount.empty();
+    MultiCurrencyAmountBuilder test = MultiCurrencyAmount.builder();
+    for (int i = 0; i < 500; i++) {
+      CurrencyAmount amount = CurrencyAmount.of(currencies.get(random.nextInt(currencies.size())), random.nextInt(100));
+      amounts.add(amount);
+      expected = expected.plus(amount);
+      test.add(amount);
+    }
+    assertEquals(test.build(), expected);
+    assertEquals(MultiCurrencyAmount.total(amounts), expected);
+    assertEquals(amounts.parallelStream().collect(MultiCurrencyAmount.toMultiCurrencyAmount()), expected);
+  }
+
+  public void test_toString() {
+    assertEquals(MultiCurrencyAmount.builder().add(CA1).toString(), "MultiCurrencyAmountBuilder[GBP 100]");
+  }
+
+}
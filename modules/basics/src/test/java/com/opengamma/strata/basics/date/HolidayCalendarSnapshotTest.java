@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.date;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static java.time.DayOfWeek.FRIDAY;
+import static java.time.DayOfWeek.SATURDAY;
+import static java.time.DayOfWeek.SUNDAY;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+
+/**
+ * Test {@link HolidayCalendarSnapshot}.
+ */
+@Test
+public class HolidayCalendarSnapshotTest {
+
+  private static final ImmutableHolidayCalendar CAL1 = ImmutableHolidayCalendar.of(
+      HolidayCalendarId.of("SNAP1"),
+      ImmutableList.of(date(1900, 1, 1), date(2014, 12, 25), date(2014, 12, 27), date(2150, 7, 4)),
+      SATURDAY,
+      SUNDAY);
+  private static final ImmutableHolidayCalendar CAL2 = ImmutableHolidayCalendar.of(
+      HolidayCalendarId.of("SNAP2"), ImmutableList.of(), ImmutableList.of(FRIDAY));
+
+  //-------------------------------------------------------------------------
+  public void test_of_roundTrip() {
+    HolidayCalendarSnapshot base = HolidayCalendarSnapshot.of(
+        ImmutableList.of(CAL1, CAL2, HolidayCalendars.NO_HOLIDAYS, HolidayCalendars.SAT_SUN));
+    HolidayCalendarSnapshot test = HolidayCalendarSnapshot.of(base.toBytes());
+    assertEquals(test.getNames().size(), 4);
+    assertEquals(test.find("SNAP1"), Optional.of(CAL1));
+    assertEquals(test.find("SNAP2"), Optional.of(CAL2));
+    assertSame(test.find("NoHolidays").get(), HolidayCalendars.NO_HOLIDAYS);
+    assertSame(test.find("Sat/Sun").get(), HolidayCalendars.SAT_SUN);
+    assertEquals(test.find("SNAP3"), Optional.empty());
+    assertSame(test.find("SNAP1").get(), test.find("SNAP1").get());
+  }
+
+  public void test_of_unsupported() {
+    HolidayCalendar combined = CAL1.combinedWith(GlobalHolidayCalendars.GBLO);
+    assertThrowsIllegalArg(() -> HolidayCalendarSnapshot.of(ImmutableList.of(combined)));
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> HolidayCalendarSnapshot.of(new byte[] {1, 2, 3, 4, 5}));
+    assertThrowsIllegalArg(() -> HolidayCalendarSnapshot.of(new byte[] {1}));
+  }
+
+  //-------------------------------------------------------------------------
+  // if this test fails, regenerate the resource using HolidayCalendarSnapshot.main()
+  public void test_standard_upToDate() {
+    HolidayCalendarSnapshot test = HolidayCalendarSnapshot.standard().get();
+    HolidayCalendarSnapshot expected = HolidayCalendarSnapshot.standardCalendars();
+    assertEquals(test.getNames(), expected.getNames());
+    for (String name : expected.getNames()) {
+      assertEquals(test.find(name), expected.find(name), "Snapshot out of date for " + name);
+    }
+  }
+
+  public void test_standard_referenceData() {
+    ReferenceData refData = ReferenceData.standard();
+    for (Entry<String, HolidayCalendar> entry : HolidayCalendars.extendedEnum().lookupAll().entrySet()) {
+      HolidayCalendar calendar = entry.getValue();
+      assertEquals(refData.getValue(calendar.getId()), calendar);
+    }
+    assertEquals(refData.getValue(HolidayCalendarIds.GBLO), GlobalHolidayCalendars.GBLO);
+    assertTrue(refData.containsValue(HolidayCalendarIds.EUTA));
+    assertFalse(refData.containsValue(HolidayCalendarId.of("NOT-A-CALENDAR")));
+    assertSerialization(refData);
+  }
+
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.io.BinaryCodec;
+import com.opengamma.strata.collect.io.BinaryInput;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * The binary codecs for calculation results.
+ * <p>
+ * The codec writes each cell using the codecs registered for the values, such as
+ * {@link com.opengamma.strata.data.scenario.ScenarioBinaryCodecs}.
+ * They are intended to be registered with a {@link com.opengamma.strata.collect.io.BinarySerializer}.
+ */
+public final class ResultsBinaryCodecs {
+
+  /**
+   * The codec for {@code Results}.
+   * <p>
+   * The column headers are written once, and each cell is written as a result.
+   */
+  private static final BinaryCodec<Results> RESULTS = BinaryCodec.of(
+      "Results",
+      Results.class,
+      (value, output) -> {
+        output.writeObject(value.getColumns());
+        output.writeObject(value.getCells());
+      },
+      ResultsBinaryCodecs::readResults);
+  /**
+   * The codecs.
+   */
+  private static final ImmutableList<BinaryCodec<?>> CODECS = ImmutableList.of(RESULTS);
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the binary codecs for calculation results.
+   *
+   * @return the codecs
+   */
+  public static ImmutableList<BinaryCodec<?>> codecs() {
+    return CODECS;
+  }
+
+  //-------------------------------------------------------------------------
+  // reads the results
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private static Results readResults(BinaryInput input) {
+    List<ColumnHeader> columns = input.readList(ColumnHeader.class);
+    List cells = input.readList(Result.class);
+    return Results.of(columns, cells);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Restricted constructor.
+   */
+  private ResultsBinaryCodecs() {
+  }
+
+}
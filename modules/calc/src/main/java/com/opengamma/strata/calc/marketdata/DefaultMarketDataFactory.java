@@ -42,6 +42,9 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
   /** Market data functions, keyed by the type of the market data ID they can handle. */
   private final Map<Class<? extends MarketDataId<?>>, MarketDataFunction<?, ?>> functions;
 
+  /** The cache of market data built by earlier runs. */
+  private final MarketDataCache cache;
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance of the factory based on providers of market data and time-series.
@@ -52,14 +55,34 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param timeSeriesProvider  the provider time-series
    * @param functions  the functions that create the market data
    */
-  @SuppressWarnings("unchecked")
   DefaultMarketDataFactory(
       ObservableDataProvider observableDataProvider,
       TimeSeriesProvider timeSeriesProvider,
       List<MarketDataFunction<?, ?>> functions) {
 
+    this(observableDataProvider, timeSeriesProvider, MarketDataCache.none(), functions);
+  }
+
+  /**
+   * Creates an instance of the factory based on providers of market data and time-series, and a cache.
+   * <p>
+   * The market data functions are used to build the market data.
+   * Market data found in the cache is not built.
+   *
+   * @param observableDataProvider  the provider observable market data
+   * @param timeSeriesProvider  the provider time-series
+   * @param cache  the cache of market data built by earlier runs
+   * @param functions  the functions that create the market data
+   */
+  DefaultMarketDataFactory(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      MarketDataCache cache,
+      List<MarketDataFunction<?, ?>> functions) {
+
     this.observableDataProvider = observableDataProvider;
     this.timeSeriesProvider = timeSeriesProvider;
+    this.cache = cache;
 
     // Use a HashMap instead of an ImmutableMap.Builder so values can be overwritten.
     // If the functions argument includes a missing mapping builder it can overwrite the one inserted below
@@ -110,6 +133,10 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     // of those nodes represent the market data required to build that data, and so on
     MarketDataNode root = MarketDataNode.buildDependencyTree(requirements, suppliedData, marketDataConfig, functions);
 
+    // The keys used to find and store the built data in the cache, null if there is no cache
+    MarketDataCacheKeys cacheKeys =
+        (cache == NoMarketDataCache.INSTANCE ? null : new MarketDataCacheKeys(marketDataConfig));
+
     // The leaf nodes of the dependency tree represent market data with no missing requirements for market data.
     // This includes:
     //   * Market data that is already available
@@ -179,8 +206,8 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
           .filter(not(suppliedData::containsValue))
           .collect(toImmutableSet());
 
-      Map<MarketDataId<?>, Result<MarketDataBox<?>>> nonObservableResults =
-          buildNonObservableData(nonObservableIds, marketDataConfig, marketData, refData);
+      Map<MarketDataId<?>, Result<MarketDataBox<?>>> nonObservableResults = buildNonObservableData(
+          nonObservableIds, marketDataConfig, marketData, refData, scenarioDefinition, cacheKeys);
 
       MapStream.of(nonObservableResults)
           .forEach((id, result) -> addResult(id, result, refData, scenarioDefinition, dataBuilder));
@@ -201,6 +228,16 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     return builtData;
   }
 
+  @Override
+  public MarketDataDependencies dependencies(
+      MarketDataRequirements requirements,
+      MarketDataConfig marketDataConfig,
+      MarketData suppliedData) {
+
+    ScenarioMarketData md = ScenarioMarketData.of(1, suppliedData);
+    return MarketDataDependencies.of(MarketDataNode.buildDependencyTree(requirements, md, marketDataConfig, functions));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Builds items of non-observable market data using a market data function.
@@ -209,6 +246,8 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param marketDataConfig  configuration specifying how the market data should be built
    * @param suppliedData  existing set of market data that contains any data required to build the values
    * @param refData  the reference data, used to resolve trades
+   * @param scenarioDefinition  definition of a set of scenarios, applied to the data once built
+   * @param cacheKeys  the keys used to find and store data in the cache, null if there is no cache
    * @return a result containing the market data or details of why it wasn't built
    */
   @SuppressWarnings({"unchecked", "rawtypes"})
@@ -216,7 +255,9 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       MarketDataId id,
       MarketDataConfig marketDataConfig,
       BuiltScenarioMarketData suppliedData,
-      ReferenceData refData) {
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      MarketDataCacheKeys cacheKeys) {
 
     // The raw types in this method are an unfortunate necessity. The type parameters on MarketDataBuilder
     // are mainly a useful guide for implementors as they constrain the method type signatures.
@@ -231,7 +272,58 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     if (marketDataFunction == null) {
       throw new IllegalStateException("No market data function available for market data ID of type " + idClass.getName());
     }
-    return Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
+    if (cacheKeys == null) {
+      return Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
+    }
+    // the key is a hash of the inputs, if the inputs cannot be hashed the data is built without the cache
+    Optional<String> key;
+    try {
+      MarketDataRequirements inputs = marketDataFunction.requirements(id, marketDataConfig);
+      key = cacheKeys.key(id, marketDataFunction, inputs, suppliedData);
+    } catch (RuntimeException ex) {
+      key = Optional.empty();
+    }
+    if (!key.isPresent()) {
+      return Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
+    }
+    Optional<MarketDataBox<?>> cached = cache.find(key.get());
+    if (cached.isPresent()) {
+      registerKey(id, key.get(), cached.get(), refData, scenarioDefinition, cacheKeys);
+      return Result.success(cached.get());
+    }
+    Result<MarketDataBox<?>> result =
+        Result.of(() -> marketDataFunction.build(id, marketDataConfig, suppliedData, refData));
+    if (result.isSuccess()) {
+      cache.put(key.get(), result.getValue());
+      registerKey(id, key.get(), result.getValue(), refData, scenarioDefinition, cacheKeys);
+    }
+    return result;
+  }
+
+  /**
+   * Records the key of an item of built market data, unless the scenario definition perturbs it.
+   * <p>
+   * The key represents the value before any perturbation is applied. When a perturbation applies,
+   * no key is recorded and the perturbed value is hashed wherever it is an input to other data.
+   *
+   * @param id  ID of the market data
+   * @param key  the key of the market data before perturbation
+   * @param value  the market data value before perturbation
+   * @param refData  the reference data
+   * @param scenarioDefinition  definition of a set of scenarios
+   * @param cacheKeys  the keys used to find and store data in the cache
+   */
+  private void registerKey(
+      MarketDataId<?> id,
+      String key,
+      MarketDataBox<?> value,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      MarketDataCacheKeys cacheKeys) {
+
+    if (!findMapping(id, value, refData, scenarioDefinition).isPresent()) {
+      cacheKeys.register(id, key);
+    }
   }
 
   @SuppressWarnings("unchecked")
@@ -239,10 +331,14 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       Set<? extends MarketDataId<?>> ids,
       MarketDataConfig marketDataConfig,
       BuiltScenarioMarketData marketData,
-      ReferenceData refData) {
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition,
+      MarketDataCacheKeys cacheKeys) {
 
     return ids.stream()
-        .collect(toImmutableMap(id -> id, id -> buildNonObservableData(id, marketDataConfig, marketData, refData)));
+        .collect(toImmutableMap(
+            id -> id,
+            id -> buildNonObservableData(id, marketDataConfig, marketData, refData, scenarioDefinition, cacheKeys)));
   }
 
   /**
@@ -318,9 +414,7 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
       ScenarioDefinition scenarioDefinition,
       BuiltScenarioMarketDataBuilder builder) {
 
-    Optional<PerturbationMapping<?>> optionalMapping = scenarioDefinition.getMappings().stream()
-        .filter(m -> m.matches(id, value, refData))
-        .findFirst();
+    Optional<PerturbationMapping<?>> optionalMapping = findMapping(id, value, refData, scenarioDefinition);
 
     if (optionalMapping.isPresent()) {
       // This is definitely safe because the filter matched the value and the types of the filter and perturbation
@@ -335,4 +429,16 @@ final class DefaultMarketDataFactory implements MarketDataFactory {
     }
   }
 
+  // finds the first perturbation mapping of the scenario definition that matches the value
+  private static Optional<PerturbationMapping<?>> findMapping(
+      MarketDataId<?> id,
+      MarketDataBox<?> value,
+      ReferenceData refData,
+      ScenarioDefinition scenarioDefinition) {
+
+    return scenarioDefinition.getMappings().stream()
+        .filter(m -> m.matches(id, value, refData))
+        .findFirst();
+  }
+
 }
@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+import org.joda.beans.Bean;
+import org.joda.beans.ser.JodaBeanSer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+
+/**
+ * Implementation of a market data cache which stores each value in a file.
+ * <p>
+ * The file name is the key, and the content is the compact binary form of the value.
+ * Values are written to a temporary file which is then moved, so that a partially written
+ * file is never read, even if the directory is shared between processes.
+ * <p>
+ * The type of the value is read from the file, so the content of the directory must be trusted.
+ * A file written by another party could cause any class on the classpath to be loaded and instantiated.
+ */
+final class DirectoryMarketDataCache implements MarketDataCache {
+
+  private static final Logger log = LoggerFactory.getLogger(DirectoryMarketDataCache.class);
+
+  /** The file suffix. */
+  private static final String SUFFIX = ".bin";
+
+  /** The directory holding the files. */
+  private final Path directory;
+
+  /**
+   * Obtains an instance storing values in the specified directory.
+   *
+   * @param directory  the directory
+   * @return the cache
+   */
+  static DirectoryMarketDataCache of(Path directory) {
+    ArgChecker.notNull(directory, "directory");
+    try {
+      Files.createDirectories(directory);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return new DirectoryMarketDataCache(directory);
+  }
+
+  // creates an instance
+  private DirectoryMarketDataCache(Path directory) {
+    this.directory = directory;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Optional<MarketDataBox<?>> find(String key) {
+    Path file = directory.resolve(key + SUFFIX);
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try {
+      byte[] bytes = Files.readAllBytes(file);
+      return Optional.of(JodaBeanSer.COMPACT.binReader().read(bytes, MarketDataBox.class));
+    } catch (IOException | RuntimeException ex) {
+      log.warn("Unable to read cached market data from " + file, ex);
+      return Optional.empty();
+    }
+  }
+
+  @Override
+  public void put(String key, MarketDataBox<?> value) {
+    if (!(value instanceof Bean)) {
+      return;
+    }
+    Path file = directory.resolve(key + SUFFIX);
+    Path temp = null;
+    try {
+      byte[] bytes = JodaBeanSer.COMPACT.binWriter().write((Bean) value);
+      temp = Files.createTempFile(directory, key, ".tmp");
+      Files.write(temp, bytes);
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException | RuntimeException ex) {
+      log.warn("Unable to write cached market data to " + file, ex);
+      deleteQuietly(temp);
+    }
+  }
+
+  // deletes the temporary file after a failure
+  private static void deleteQuietly(Path file) {
+    if (file != null) {
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException ex) {
+        // ignore
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "DirectoryMarketDataCache[" + directory + "]";
+  }
+
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import com.opengamma.strata.data.scenario.MarketDataBox;
+
+/**
+ * A cache of built market data, used to avoid building the same market data more than once.
+ * <p>
+ * This plugin point allows the {@link MarketDataFactory} to reuse market data built by an earlier run,
+ * such as calibrated curve groups. Each value is stored using a key derived from the hash of the
+ * market data identifier, the market data configuration, the function that builds it and the values
+ * used to build it. Since the key includes the values of the inputs, and recursively the inputs of those
+ * inputs, a value can be reused whenever exactly the same inputs are supplied.
+ * Only values built by functions that provide {@link MarketDataFunction#getCacheConfiguration()} are stored.
+ * <p>
+ * The reference data used to build the market data is not part of the key.
+ * A cache must therefore only be shared between runs with the same reference data.
+ */
+public interface MarketDataCache {
+
+  /**
+   * Returns a cache that does not store any values.
+   * <p>
+   * All requests for a value will return empty.
+   *
+   * @return the cache
+   */
+  public static MarketDataCache none() {
+    return NoMarketDataCache.INSTANCE;
+  }
+
+  /**
+   * Returns a cache that stores values in files in a directory.
+   * <p>
+   * Each value is stored in a separate file using the compact binary form of Joda-Beans.
+   * The directory is created if necessary.
+   * The cache can be shared between processes, and values can be removed by deleting the files.
+   * <p>
+   * Reading a file deserializes a Joda-Bean of whatever type the file names, which may load classes.
+   * The directory must therefore be trusted, only writable by the processes that use the cache.
+   *
+   * @param directory  the directory to store the values in
+   * @return the cache
+   */
+  public static MarketDataCache ofDirectory(Path directory) {
+    return DirectoryMarketDataCache.of(directory);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Finds the value stored with the specified key.
+   * <p>
+   * An empty result is returned if there is no value for the key, or if the value cannot be read.
+   *
+   * @param key  the key, a hash of the market data and its inputs
+   * @return the value, empty if not found
+   */
+  public abstract Optional<MarketDataBox<?>> find(String key);
+
+  /**
+   * Stores a value with the specified key.
+   * <p>
+   * Values that cannot be stored, for example because they cannot be serialized, are ignored.
+   *
+   * @param key  the key, a hash of the market data and its inputs
+   * @param value  the value to store
+   */
+  public abstract void put(String key, MarketDataBox<?> value);
+
+}
@@ -0,0 +1,178 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.joda.beans.Bean;
+import org.joda.beans.ser.JodaBeanSer;
+import org.joda.convert.StringConvert;
+
+import com.google.common.io.BaseEncoding;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Derives the keys used to store built market data in a {@link MarketDataCache}.
+ * <p>
+ * The key of an item of market data is the SHA-256 hash of a format version, its identifier,
+ * the valuation date, the market data configuration, the type and configuration of the function
+ * that builds it and the identifiers and values of the inputs used to build it.
+ * The key of each built item is retained, and used in place of its value when it is an input
+ * to another item. The key is therefore a hash of all the transitive inputs, without the cost of
+ * serializing large values, such as curve groups, more than once.
+ * The key of an item that is perturbed by a scenario is not retained, as it identifies the value
+ * before perturbation. The perturbed value is hashed instead when it is an input to another item.
+ * <p>
+ * Identifiers and values must be Joda-Beans or convertible to a string by Joda-Convert.
+ * If any part of the key cannot be serialized, no key is produced and the data is always built.
+ * <p>
+ * An instance is used for a single run of the factory.
+ */
+final class MarketDataCacheKeys {
+
+  /**
+   * The version of the key and value format.
+   * <p>
+   * This must be changed whenever the derivation of the key or the serialized form of the values changes,
+   * so that entries written by an earlier version are not used.
+   */
+  static final int FORMAT_VERSION = 1;
+
+  /** The serialized configuration, null if it cannot be serialized. */
+  private final byte[] config;
+
+  /** The keys of the market data built so far. */
+  private final Map<MarketDataId<?>, String> keys = new ConcurrentHashMap<>();
+
+  /**
+   * Creates an instance for a run of the factory.
+   *
+   * @param marketDataConfig  the configuration used to build market data
+   */
+  MarketDataCacheKeys(MarketDataConfig marketDataConfig) {
+    byte[] serialized;
+    try {
+      serialized = serialize(marketDataConfig);
+    } catch (RuntimeException ex) {
+      serialized = null;
+    }
+    this.config = serialized;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Derives the key of an item of market data.
+   * <p>
+   * The inputs must be present in the market data.
+   *
+   * @param id  the identifier of the market data to build
+   * @param function  the function that builds the market data
+   * @param inputs  the requirements of the market data to build
+   * @param marketData  the market data containing the inputs
+   * @return the key, empty if the function cannot be cached or the identifier, configuration
+   *  or inputs cannot be serialized
+   */
+  Optional<String> key(
+      MarketDataId<?> id,
+      MarketDataFunction<?, ?> function,
+      MarketDataRequirements inputs,
+      ScenarioMarketData marketData) {
+
+    if (config == null) {
+      return Optional.empty();
+    }
+    Optional<String> functionConfig = function.getCacheConfiguration();
+    if (!functionConfig.isPresent()) {
+      return Optional.empty();
+    }
+    try {
+      // the inputs are sorted so that the key does not depend on the order of the requirements
+      List<String> inputKeys = new ArrayList<>();
+      for (ObservableId input : inputs.getObservables()) {
+        inputKeys.add(hash(serialize(input)) + hash(serialize(marketData.getValue(input))));
+      }
+      for (MarketDataId<?> input : inputs.getNonObservables()) {
+        // the key of built data represents its value
+        String builtKey = keys.get(input);
+        String valueKey = (builtKey != null ? builtKey : hash(serialize(marketData.getValue(input))));
+        inputKeys.add(hash(serialize(input)) + valueKey);
+      }
+      for (ObservableId input : inputs.getTimeSeries()) {
+        inputKeys.add("ts" + hash(serialize(input)) + hash(serialize(marketData.getTimeSeries(input))));
+      }
+      Collections.sort(inputKeys);
+
+      // each part is hashed so that the boundaries between the parts are unambiguous
+      String functionKey = function.getClass().getName() + ':' + functionConfig.get();
+      List<String> parts = new ArrayList<>();
+      parts.add(Integer.toString(FORMAT_VERSION));
+      parts.add(hash(serialize(id)));
+      parts.add(hash(serialize(marketData.getValuationDate())));
+      parts.add(hash(config));
+      parts.add(hash(functionKey.getBytes(UTF_8)));
+      parts.addAll(inputKeys);
+
+      MessageDigest digest = sha256();
+      for (String part : parts) {
+        digest.update(part.getBytes(UTF_8));
+      }
+      return Optional.of(BaseEncoding.base16().lowerCase().encode(digest.digest()));
+    } catch (RuntimeException ex) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Records the key of an item of market data that has been built.
+   * <p>
+   * This must only be called if the market data is used without perturbation.
+   *
+   * @param id  the identifier of the market data
+   * @param key  the key of the market data
+   */
+  void register(MarketDataId<?> id, String key) {
+    keys.put(id, key);
+  }
+
+  //-------------------------------------------------------------------------
+  // serializes an identifier or value
+  private static byte[] serialize(Object value) {
+    if (value instanceof Bean) {
+      return JodaBeanSer.COMPACT.binWriter().write((Bean) value);
+    }
+    StringConvert converter = JodaBeanSer.COMPACT.getConverter();
+    if (converter.isConvertible(value.getClass())) {
+      return (value.getClass().getName() + ':' + converter.convertToString(value)).getBytes(UTF_8);
+    }
+    throw new IllegalArgumentException("Unable to serialize " + value.getClass().getName());
+  }
+
+  // hashes the bytes
+  private static String hash(byte[] bytes) {
+    return BaseEncoding.base16().lowerCase().encode(sha256().digest(bytes));
+  }
+
+  // obtains the digest
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+}
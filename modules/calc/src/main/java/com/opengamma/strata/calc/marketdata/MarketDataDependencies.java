@@ -0,0 +1,136 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.data.MarketDataId;
+
+/**
+ * The dependencies between the items of market data required by a set of calculations.
+ * <p>
+ * This is derived from the tree of dependencies used by {@link MarketDataFactory} to build market data.
+ * It is used to determine which market data must be rebuilt when some of the data it depends on changes.
+ * For example, when a quote changes, the curve groups calibrated using the quote must be rebuilt,
+ * as must the curves in those groups.
+ * <p>
+ * If the dependencies are not known, all market data must be treated as affected by any change,
+ * see {@link #isKnown()}.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class MarketDataDependencies {
+
+  /**
+   * The instance used when the dependencies are not known.
+   */
+  private static final MarketDataDependencies UNKNOWN = new MarketDataDependencies(ImmutableSetMultimap.of(), false);
+
+  /**
+   * The market data that directly depends on each item of market data.
+   */
+  private final ImmutableSetMultimap<MarketDataId<?>, MarketDataId<?>> dependents;
+  /**
+   * Whether the dependencies are known.
+   */
+  private final boolean known;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the root of a dependency tree.
+   *
+   * @param root  the root node of the tree
+   * @return the dependencies
+   */
+  static MarketDataDependencies of(MarketDataNode root) {
+    ImmutableSetMultimap.Builder<MarketDataId<?>, MarketDataId<?>> builder = ImmutableSetMultimap.builder();
+    addDependents(root, builder);
+    return new MarketDataDependencies(builder.build(), true);
+  }
+
+  /**
+   * Obtains an instance where the dependencies are not known.
+   * <p>
+   * All market data is treated as depending on all other market data.
+   *
+   * @return the unknown dependencies
+   */
+  public static MarketDataDependencies unknown() {
+    return UNKNOWN;
+  }
+
+  // adds the reverse edges of the tree below the node
+  private static void addDependents(
+      MarketDataNode node,
+      ImmutableSetMultimap.Builder<MarketDataId<?>, MarketDataId<?>> builder) {
+
+    for (MarketDataNode child : node.getDependencies()) {
+      if (node.getId() != null) {
+        builder.put(child.getId(), node.getId());
+      }
+      addDependents(child, builder);
+    }
+  }
+
+  // creates an instance
+  private MarketDataDependencies(ImmutableSetMultimap<MarketDataId<?>, MarketDataId<?>> dependents, boolean known) {
+    this.dependents = dependents;
+    this.known = known;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks whether the dependencies are known.
+   * <p>
+   * If false, every item of market data must be treated as affected by any change.
+   *
+   * @return true if the dependencies are known
+   */
+  public boolean isKnown() {
+    return known;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Finds the market data affected by a change to the specified market data.
+   * <p>
+   * The result contains the specified identifiers together with the identifiers of all market data
+   * that depends on them, directly or indirectly.
+   *
+   * @param changedIds  the identifiers of the market data that has changed
+   * @return the identifiers of the affected market data
+   * @throws IllegalStateException if the dependencies are not known
+   */
+  public ImmutableSet<MarketDataId<?>> findAffected(Set<? extends MarketDataId<?>> changedIds) {
+    ArgChecker.notNull(changedIds, "changedIds");
+    if (!known) {
+      throw new IllegalStateException("Affected market data cannot be found when the dependencies are not known");
+    }
+    Set<MarketDataId<?>> affected = new HashSet<>(changedIds);
+    Deque<MarketDataId<?>> pending = new ArrayDeque<>(changedIds);
+    while (!pending.isEmpty()) {
+      for (MarketDataId<?> dependent : dependents.get(pending.pop())) {
+        if (affected.add(dependent)) {
+          pending.push(dependent);
+        }
+      }
+    }
+    return ImmutableSet.copyOf(affected);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return known ? "MarketDataDependencies[dependents=" + dependents + "]" : "MarketDataDependencies[unknown]";
+  }
+
+}
@@ -10,6 +10,7 @@ import java.util.List;
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.runner.CalculationTasks;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -74,6 +75,31 @@ public interface MarketDataFactory {
     return new DefaultMarketDataFactory(observableDataProvider, timeSeriesProvider, functions);
   }
 
+  /**
+   * Obtains an instance of the factory based on providers of market data and time-series,
+   * reusing market data built by earlier runs.
+   * <p>
+   * The market data functions are used to build the market data.
+   * Before building an item of market data, the cache is checked for a value built from the same inputs,
+   * in which case the value from the cache is used. Each item of market data that is built is added to the cache.
+   * See {@link MarketDataCache} for details of how the values are matched.
+   *
+   * @param observableDataProvider  the provider of observable market data
+   * @param timeSeriesProvider  the provider of time-series
+   * @param cache  the cache of market data built by earlier runs
+   * @param functions  the functions that create the market data
+   * @return the market data factory
+   */
+  public static MarketDataFactory of(
+      ObservableDataProvider observableDataProvider,
+      TimeSeriesProvider timeSeriesProvider,
+      MarketDataCache cache,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    ArgChecker.notNull(cache, "cache");
+    return new DefaultMarketDataFactory(observableDataProvider, timeSeriesProvider, cache, functions);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Builds a set of market data.
@@ -154,4 +180,30 @@ public interface MarketDataFactory {
       ReferenceData refData,
       ScenarioDefinition scenarioDefinition);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Finds the dependencies between the items of market data that would be built.
+   * <p>
+   * This returns the dependencies that the {@code create} method would use
+   * when building market data for the same arguments.
+   * Market data present in the {@code suppliedData} is not built, thus has no dependencies.
+   * <p>
+   * The dependencies are used to determine the market data to rebuild when some of the supplied data changes.
+   * <p>
+   * The default implementation returns {@link MarketDataDependencies#unknown()}, which treats
+   * all market data as affected by any change.
+   *
+   * @param requirements  the market data required for the calculations
+   * @param marketDataConfig  configuration needed to build non-observable market data, for example curves or surfaces
+   * @param suppliedData  market data supplied by the user
+   * @return the dependencies between the items of market data
+   */
+  public default MarketDataDependencies dependencies(
+      MarketDataRequirements requirements,
+      MarketDataConfig marketDataConfig,
+      MarketData suppliedData) {
+
+    return MarketDataDependencies.unknown();
+  }
+
 }
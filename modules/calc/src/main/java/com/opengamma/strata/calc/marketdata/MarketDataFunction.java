@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.calc.marketdata;
 
+import java.util.Optional;
+
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.scenario.MarketDataBox;
@@ -52,4 +54,22 @@ public interface MarketDataFunction<T, I extends MarketDataId<? extends T>> {
    * @return the type of market data ID this function can handle
    */
   public abstract Class<I> getMarketDataIdType();
+
+  /**
+   * Returns the configuration of this function that affects the market data it builds.
+   * <p>
+   * This is used when built market data is stored in a {@link MarketDataCache}.
+   * The cache key includes the type of this function and this configuration.
+   * Functions of the same type that build different values for the same inputs must return different configuration.
+   * A function without any state can return an empty string.
+   * <p>
+   * The default implementation returns empty, which prevents the market data built by this function
+   * from being cached.
+   *
+   * @return the configuration of this function, empty if the market data it builds must not be cached
+   */
+  public default Optional<String> getCacheConfiguration() {
+    return Optional.empty();
+  }
+
 }
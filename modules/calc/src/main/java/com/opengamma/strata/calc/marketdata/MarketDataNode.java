@@ -171,6 +171,15 @@ class MarketDataNode {
     return dependencies.isEmpty();
   }
 
+  /**
+   * Returns the child nodes identifying the market data required to build the market data in this node.
+   *
+   * @return the child nodes of this node
+   */
+  List<MarketDataNode> getDependencies() {
+    return dependencies;
+  }
+
   /**
    * Returns the ID of the market data value represented by this node.
    *
@@ -0,0 +1,32 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.util.Optional;
+
+import com.opengamma.strata.data.scenario.MarketDataBox;
+
+/**
+ * Implementation of a market data cache which stores nothing.
+ * <p>
+ * This is used when market data is always built.
+ */
+class NoMarketDataCache implements MarketDataCache {
+
+  /** The single, shared instance of this class. */
+  static final NoMarketDataCache INSTANCE = new NoMarketDataCache();
+
+  @Override
+  public Optional<MarketDataBox<?>> find(String key) {
+    return Optional.empty();
+  }
+
+  @Override
+  public void put(String key, MarketDataBox<?> value) {
+    // do nothing
+  }
+
+}
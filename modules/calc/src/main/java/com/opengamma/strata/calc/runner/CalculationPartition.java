@@ -0,0 +1,204 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.ImmutableMeasure;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.ReportingCurrency;
+import com.opengamma.strata.collect.io.BinaryCodec;
+import com.opengamma.strata.collect.io.BinaryInput;
+import com.opengamma.strata.collect.io.BinaryOutput;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * A partition of the calculation tasks, sent to a worker to be calculated.
+ * <p>
+ * This holds a subset of the tasks of a calculation and the market data those tasks require.
+ * Each task is identified by its index in the complete list of tasks.
+ * <p>
+ * When sent to a worker, the function of each task is not written.
+ * Instead, the worker finds the function for the target using its own calculation functions.
+ */
+final class CalculationPartition {
+
+  /**
+   * The indices of the tasks in the complete list of tasks.
+   */
+  private final ImmutableList<Integer> taskIndices;
+  /**
+   * The tasks, matching the indices.
+   */
+  private final ImmutableList<CalculationTask> tasks;
+  /**
+   * The market data required by the tasks.
+   */
+  private final ScenarioMarketData marketData;
+  /**
+   * The number of times the partition has been sent to a worker that failed.
+   */
+  private final int failures;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param taskIndices  the indices of the tasks in the complete list of tasks
+   * @param tasks  the tasks, matching the indices
+   * @param marketData  the market data required by the tasks
+   * @return the partition
+   */
+  static CalculationPartition of(
+      List<Integer> taskIndices,
+      List<CalculationTask> tasks,
+      ScenarioMarketData marketData) {
+
+    return new CalculationPartition(taskIndices, tasks, marketData, 0);
+  }
+
+  /**
+   * Obtains the codec used to send a partition to a worker.
+   * <p>
+   * The functions are used to find the function for each target when reading.
+   *
+   * @param functions  the calculation functions
+   * @return the codec
+   */
+  static BinaryCodec<CalculationPartition> codec(CalculationFunctions functions) {
+    return BinaryCodec.of(
+        "CalculationPartition",
+        CalculationPartition.class,
+        CalculationPartition::write,
+        input -> read(input, functions));
+  }
+
+  // creates an instance
+  private CalculationPartition(
+      List<Integer> taskIndices,
+      List<CalculationTask> tasks,
+      ScenarioMarketData marketData,
+      int failures) {
+
+    this.taskIndices = ImmutableList.copyOf(taskIndices);
+    this.tasks = ImmutableList.copyOf(tasks);
+    this.marketData = marketData;
+    this.failures = failures;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the indices of the tasks in the complete list of tasks.
+   *
+   * @return the task indices
+   */
+  ImmutableList<Integer> getTaskIndices() {
+    return taskIndices;
+  }
+
+  /**
+   * Gets the tasks, matching the indices.
+   *
+   * @return the tasks
+   */
+  ImmutableList<CalculationTask> getTasks() {
+    return tasks;
+  }
+
+  /**
+   * Gets the market data required by the tasks.
+   *
+   * @return the market data
+   */
+  ScenarioMarketData getMarketData() {
+    return marketData;
+  }
+
+  /**
+   * Gets the number of times the partition has been sent to a worker that failed.
+   *
+   * @return the number of failures
+   */
+  int getFailures() {
+    return failures;
+  }
+
+  /**
+   * Returns a partition containing the tasks that have not been completed after a worker failed.
+   * <p>
+   * The market data is unchanged and the number of failures is incremented.
+   *
+   * @param completed  the indices of the tasks that were completed
+   * @return the partition of the remaining tasks
+   */
+  CalculationPartition remainingAfterFailure(Set<Integer> completed) {
+    ImmutableList.Builder<Integer> remainingIndices = ImmutableList.builder();
+    ImmutableList.Builder<CalculationTask> remainingTasks = ImmutableList.builder();
+    for (int i = 0; i < taskIndices.size(); i++) {
+      if (!completed.contains(taskIndices.get(i))) {
+        remainingIndices.add(taskIndices.get(i));
+        remainingTasks.add(tasks.get(i));
+      }
+    }
+    return new CalculationPartition(remainingIndices.build(), remainingTasks.build(), marketData, failures + 1);
+  }
+
+  //-------------------------------------------------------------------------
+  // writes the partition, the targets and parameters are interned as they are often shared
+  private static void write(CalculationPartition partition, BinaryOutput output) {
+    output.writeInt(partition.tasks.size());
+    for (int i = 0; i < partition.tasks.size(); i++) {
+      CalculationTask task = partition.tasks.get(i);
+      output.writeInt(partition.taskIndices.get(i));
+      output.writeInterned(task.getTarget());
+      output.writeInterned(task.getParameters());
+      output.writeInt(task.getCells().size());
+      for (CalculationTaskCell cell : task.getCells()) {
+        output.writeInt(cell.getRowIndex());
+        output.writeInt(cell.getColumnIndex());
+        output.writeString(cell.getMeasure().getName());
+        output.writeBoolean(cell.getMeasure().isCurrencyConvertible());
+        output.writeInterned(cell.getReportingCurrency());
+      }
+    }
+    output.writeObject(partition.marketData);
+  }
+
+  // reads the partition, finding the function for each target
+  private static CalculationPartition read(BinaryInput input, CalculationFunctions functions) {
+    int size = input.readInt();
+    ImmutableList.Builder<Integer> taskIndices = ImmutableList.builder();
+    ImmutableList.Builder<CalculationTask> tasks = ImmutableList.builder();
+    for (int i = 0; i < size; i++) {
+      taskIndices.add(input.readInt());
+      CalculationTarget target = input.readInterned(CalculationTarget.class);
+      CalculationParameters parameters = input.readInterned(CalculationParameters.class);
+      int cellCount = input.readInt();
+      ImmutableList.Builder<CalculationTaskCell> cells = ImmutableList.builder();
+      for (int j = 0; j < cellCount; j++) {
+        int rowIndex = input.readInt();
+        int columnIndex = input.readInt();
+        Measure measure = readMeasure(input);
+        ReportingCurrency reportingCurrency = input.readInterned(ReportingCurrency.class);
+        cells.add(CalculationTaskCell.of(rowIndex, columnIndex, measure, reportingCurrency));
+      }
+      tasks.add(CalculationTask.of(target, functions.getFunction(target), parameters, cells.build()));
+    }
+    ScenarioMarketData marketData = input.readObject(ScenarioMarketData.class);
+    return new CalculationPartition(taskIndices.build(), tasks.build(), marketData, 0);
+  }
+
+  // reads a measure, which may not have been registered
+  private static Measure readMeasure(BinaryInput input) {
+    String name = input.readString();
+    boolean currencyConvertible = input.readBoolean();
+    return Measure.extendedEnum().find(name).orElseGet(() -> ImmutableMeasure.of(name, currencyConvertible));
+  }
+
+}
@@ -201,13 +201,33 @@ public final class CalculationTask implements ImmutableBean {
    * @param refData  the reference data
    * @return results of the calculation, one for every scenario in the market data
    */
-  @SuppressWarnings("unchecked")
   public CalculationResults execute(ScenarioMarketData marketData, ReferenceData refData) {
+    return execute(marketData, ScenarioFxRateProvider.of(marketData), refData);
+  }
+
+  /**
+   * Executes the task, performing calculations for the target using multiple sets of market data.
+   * <p>
+   * This invokes the function with the correct set of market data.
+   * The results are converted to the reporting currency using the specified FX rate provider.
+   * The provider should take its rates from the same market data, and is typically shared
+   * by all the tasks of a calculation run so that each FX rate is only looked up once.
+   *
+   * @param marketData  the market data used in the calculation
+   * @param fxProvider  the provider of FX rates used to convert the results to the reporting currency
+   * @param refData  the reference data
+   * @return results of the calculation, one for every scenario in the market data
+   */
+  @SuppressWarnings("unchecked")
+  public CalculationResults execute(
+      ScenarioMarketData marketData,
+      ScenarioFxRateProvider fxProvider,
+      ReferenceData refData) {
+
     // calculate the results
     Map<Measure, Result<?>> results = calculate(marketData, refData);
 
     // convert the results, using a normal loop for better stack traces
-    ScenarioFxRateProvider fxProvider = ScenarioFxRateProvider.of(marketData);
     ImmutableList.Builder<CalculationResult> resultBuilder = ImmutableList.builder();
     for (CalculationTaskCell cell : cells) {
       resultBuilder.add(cell.createResult(this, target, results, fxProvider, refData));
@@ -7,11 +7,14 @@ package com.opengamma.strata.calc.runner;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.function.BiFunction;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.CalculationRules;
 import com.opengamma.strata.calc.CalculationRunner;
 import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.io.BinarySerializer;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -37,7 +40,8 @@ import com.opengamma.strata.data.scenario.ScenarioMarketData;
  * <p>
  * Once obtained, the {@code CalculationTasks} instance may be used to calculate results.
  * The four "calculate" methods handle the combination of single versus scenario market data,
- * and synchronous versus asynchronous.
+ * and synchronous versus asynchronous. In addition, calculations for a large number of scenarios
+ * can be performed in chunks of scenarios to bound the memory required.
  * <p>
  * A calculation runner is typically obtained using the static methods on this interface.
  * The instance contains an executor thread-pool, thus care should be taken to ensure
@@ -79,6 +83,32 @@ public interface CalculationTaskRunner extends AutoCloseable {
     return DefaultCalculationTaskRunner.of(executor);
   }
 
+  /**
+   * Creates a calculation task runner that distributes the calculations to workers.
+   * <p>
+   * The tasks are split into partitions based on the market data they require.
+   * Each partition is sent to a worker using the transport, together with the market data it requires.
+   * The results are received as each task completes. If a worker fails, the tasks that were not
+   * completed are sent to another worker.
+   * <p>
+   * The serializer is used to write the targets and market data and to read the results.
+   * The workers must be set up with the same calculation functions and a matching serializer,
+   * see {@link CalculationWorkerSetup}. Each worker uses its own reference data.
+   * The runner holds a thread for each worker, thus it should be closed after use.
+   *
+   * @param transport  the transport used to connect to the workers
+   * @param workerCount  the number of workers
+   * @param serializer  the serializer used to write the targets and market data and read the results
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofDistributed(
+      CalculationWorkerTransport transport,
+      int workerCount,
+      BinarySerializer serializer) {
+
+    return DistributedCalculationTaskRunner.of(transport, workerCount, serializer);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
@@ -152,6 +182,68 @@ public interface CalculationTaskRunner extends AutoCloseable {
       ReferenceData refData,
       CalculationListener listener);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Performs calculations for multiple scenarios in chunks of scenarios,
+   * invoking a listener as each chunk is calculated.
+   * <p>
+   * The scenarios are split into chunks containing a contiguous range of the scenarios.
+   * Each chunk is calculated for all the tasks using {@link #calculateMultiScenarioAsync}
+   * with the market data of the chunk, see {@link ScenarioMarketData#subScenarios(int, int)}.
+   * The next chunk is not started until the calculations of the previous chunk are complete.
+   * <p>
+   * This method blocks until the calculations of all chunks are complete.
+   * If the results of each chunk are discarded after they are incorporated into an aggregate,
+   * the memory required is bounded by the chunk size rather than the number of scenarios.
+   *
+   * @param tasks  the calculation tasks to invoke
+   * @param marketData  the market data to be used in the calculations
+   * @param refData  the reference data to be used in the calculations
+   * @param chunkSize  the maximum number of scenarios in each chunk
+   * @param listener  listener that is invoked as each chunk is calculated
+   */
+  public default void calculateMultiScenarioInChunks(
+      CalculationTasks tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      int chunkSize,
+      ScenarioChunkListener listener) {
+
+    ArgChecker.notNull(marketData, "marketData");
+    ScenarioChunkCalculation.calculate(
+        this, tasks, marketData.getScenarioCount(), marketData::subScenarios, refData, chunkSize, listener);
+  }
+
+  /**
+   * Performs calculations for multiple scenarios in chunks of scenarios, obtaining the market data
+   * of each chunk from a function, invoking a listener as each chunk is calculated.
+   * <p>
+   * This is the same as {@link #calculateMultiScenarioInChunks(CalculationTasks, ScenarioMarketData,
+   * ReferenceData, int, ScenarioChunkListener)}, except that the market data of each chunk is
+   * obtained when the chunk starts. The function is passed the index of the first scenario of the chunk,
+   * inclusive, and the index of the last scenario, exclusive. It must return market data containing
+   * that number of scenarios. This allows the market data of each chunk to be built as required,
+   * and garbage collected once the chunk is complete.
+   *
+   * @param tasks  the calculation tasks to invoke
+   * @param scenarioCount  the total number of scenarios
+   * @param marketDataFunction  the function returning the market data for a range of scenarios
+   * @param refData  the reference data to be used in the calculations
+   * @param chunkSize  the maximum number of scenarios in each chunk
+   * @param listener  listener that is invoked as each chunk is calculated
+   */
+  public default void calculateMultiScenarioInChunks(
+      CalculationTasks tasks,
+      int scenarioCount,
+      BiFunction<Integer, Integer, ScenarioMarketData> marketDataFunction,
+      ReferenceData refData,
+      int chunkSize,
+      ScenarioChunkListener listener) {
+
+    ScenarioChunkCalculation.calculate(
+        this, tasks, scenarioCount, marketDataFunction, refData, chunkSize, listener);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Closes any resources held by the component.
@@ -7,8 +7,14 @@ package com.opengamma.strata.calc.runner;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.joda.beans.BeanDefinition;
 import org.joda.beans.ImmutableBean;
@@ -42,6 +48,11 @@ import com.opengamma.strata.collect.Messages;
 @BeanDefinition(style = "light")
 public final class CalculationTasks implements ImmutableBean {
 
+  /**
+   * The number of targets or tasks above which the work is performed in parallel.
+   */
+  private static final int PARALLEL_THRESHOLD = 1000;
+
   /**
    * The targets that calculations will be performed on.
    * <p>
@@ -90,20 +101,26 @@ public final class CalculationTasks implements ImmutableBean {
             .collect(toImmutableList());
 
     // loop around the targets, then the columns, to build the tasks
-    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
-    for (int rowIndex = 0; rowIndex < targets.size(); rowIndex++) {
-      CalculationTarget target = targets.get(rowIndex);
+    // the targets are independent, so large lists are processed in parallel, the order being retained
+    IntStream rowIndices = IntStream.range(0, targets.size());
+    List<CalculationTask> tasks = (targets.size() >= PARALLEL_THRESHOLD ? rowIndices.parallel() : rowIndices)
+        .mapToObj(rowIndex -> createTargetTasks(rules, targets.get(rowIndex), rowIndex, effectiveColumns))
+        .flatMap(List::stream)
+        .collect(toImmutableList());
 
-      // find the applicable function
-      CalculationFunction<?> fn = rules.getFunctions().getFunction(target);
+    // calculation tasks holds the original user-specified columns, not the derived ones
+    return new CalculationTasks(tasks, columns);
+  }
 
-      // create the tasks
-      List<CalculationTask> targetTasks = createTargetTasks(target, rowIndex, fn, effectiveColumns);
-      taskBuilder.addAll(targetTasks);
-    }
+  // creates the tasks for a single target, finding the applicable function
+  private static List<CalculationTask> createTargetTasks(
+      CalculationRules rules,
+      CalculationTarget target,
+      int rowIndex,
+      List<Column> columns) {
 
-    // calculation tasks holds the original user-specified columns, not the derived ones
-    return new CalculationTasks(taskBuilder.build(), columns);
+    CalculationFunction<?> fn = rules.getFunctions().getFunction(target);
+    return createTargetTasks(target, rowIndex, fn, columns);
   }
 
   // creates the tasks for a single target
@@ -201,14 +218,49 @@ public final class CalculationTasks implements ImmutableBean {
    * @throws RuntimeException if unable to obtain the requirements
    */
   public MarketDataRequirements requirements(ReferenceData refData) {
-    // use for loop not streams for shorter stack traces
+    // many tasks have identical inputs, such as the same target in several grids or listed twice
+    // the requirements are only computed for the first task with each set of inputs
+    // many of the remaining requirements are identical, such as trades in the same currency and index
+    // the distinct requirements are found, so that only those are merged
+    Set<MarketDataRequirements> distinct;
+    if (tasks.size() >= PARALLEL_THRESHOLD) {
+      distinct = tasks.parallelStream()
+          .collect(Collectors.toConcurrentMap(CalculationTasks::requirementsKey, task -> task, (task1, task2) -> task1))
+          .values().parallelStream()
+          .map(task -> task.requirements(refData))
+          .collect(Collectors.toSet());
+    } else {
+      // use for loop not streams for shorter stack traces
+      Map<List<Object>, CalculationTask> distinctTasks = new HashMap<>();
+      for (CalculationTask task : tasks) {
+        distinctTasks.putIfAbsent(requirementsKey(task), task);
+      }
+      distinct = new HashSet<>();
+      for (CalculationTask task : distinctTasks.values()) {
+        distinct.add(task.requirements(refData));
+      }
+    }
     MarketDataRequirementsBuilder builder = MarketDataRequirements.builder();
-    for (CalculationTask task : tasks) {
-      builder.addRequirements(task.requirements(refData));
+    for (MarketDataRequirements requirements : distinct) {
+      builder.addRequirements(requirements);
     }
     return builder.build();
   }
 
+  // the inputs that determine the requirements of a task, excluding the position of the cells in the grid
+  // the requirements depend on the content of the target, such as the currency of a trade, not only its type
+  private static List<Object> requirementsKey(CalculationTask task) {
+    List<Object> key = new ArrayList<>(3 + 2 * task.getCells().size());
+    key.add(task.getFunction());
+    key.add(task.getTarget());
+    key.add(task.getParameters());
+    for (CalculationTaskCell cell : task.getCells()) {
+      key.add(cell.getMeasure());
+      key.add(cell.getReportingCurrency());
+    }
+    return key;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public String toString() {
@@ -0,0 +1,208 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.io.BinarySerializer;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * A worker of a distributed calculation.
+ * <p>
+ * The worker receives a partition of the calculation tasks, together with the market data
+ * they require, from a distributed calculation task runner, see {@link CalculationTaskRunner#ofDistributed}.
+ * The tasks are calculated and a message is sent back as each task completes,
+ * followed by an empty message once all the tasks of the partition have completed.
+ * <p>
+ * The {@link #main(String[])} method runs a worker in its own process, as used by
+ * {@link ProcessCalculationWorkerTransport}. Other transports can use {@link #calculate(byte[], Consumer)}.
+ * <p>
+ * It is the callers responsibility to manage the life-cycle of the executor.
+ */
+public final class CalculationWorker {
+
+  /**
+   * The serializer used to read the partitions and write the results.
+   */
+  private final BinarySerializer serializer;
+  /**
+   * The reference data.
+   */
+  private final ReferenceData refData;
+  /**
+   * Executes the tasks that perform the individual calculations.
+   */
+  private final ExecutorService executor;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Runs a worker in its own process.
+   * <p>
+   * The single argument is the name of a class implementing {@link CalculationWorkerSetup}
+   * with a public no-arguments constructor.
+   * Partitions are read from standard input and results written to standard output,
+   * with each message preceded by its length. Any other output is redirected to standard error.
+   * The process ends when standard input is closed.
+   *
+   * @param args  the arguments, containing the name of the setup class
+   * @throws Exception if an error occurs
+   */
+  public static void main(String[] args) throws Exception {
+    ArgChecker.isTrue(args.length == 1, "Expected the name of the setup class, but found {} arguments", args.length);
+    CalculationWorkerSetup setup = Class.forName(args[0])
+        .asSubclass(CalculationWorkerSetup.class)
+        .getDeclaredConstructor()
+        .newInstance();
+    // standard output is used for the results, so other output is redirected
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(System.out));
+    System.setOut(System.err);
+    DataInputStream in = new DataInputStream(new BufferedInputStream(System.in));
+    ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    try {
+      CalculationWorker worker = CalculationWorker.of(setup, executor);
+      byte[] partition;
+      while ((partition = ProcessCalculationWorkerTransport.readMessage(in)) != null) {
+        worker.calculate(partition, message -> ProcessCalculationWorkerTransport.writeMessage(out, message));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the setup, specifying the executor.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param setup  the setup of the worker
+   * @param executor  the executor used to calculate the tasks
+   * @return the worker
+   */
+  public static CalculationWorker of(CalculationWorkerSetup setup, ExecutorService executor) {
+    ArgChecker.notNull(setup, "setup");
+    BinarySerializer serializer = serializer(setup.serializer(), setup.functions());
+    return new CalculationWorker(serializer, setup.refData(), executor);
+  }
+
+  // creates an instance
+  private CalculationWorker(BinarySerializer serializer, ReferenceData refData, ExecutorService executor) {
+    this.serializer = ArgChecker.notNull(serializer, "serializer");
+    this.refData = ArgChecker.notNull(refData, "refData");
+    this.executor = ArgChecker.notNull(executor, "executor");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates a partition of the calculation tasks.
+   * <p>
+   * This blocks until the calculations are complete.
+   * The consumer receives a message as each task completes, followed by an empty message.
+   * A result that cannot be serialized is sent as a failure.
+   * The consumer is not invoked concurrently.
+   *
+   * @param partition  the message containing the partition
+   * @param messageConsumer  the consumer of the messages to send back
+   */
+  public void calculate(byte[] partition, Consumer<byte[]> messageConsumer) {
+    CalculationPartition tasks = serializer.read(partition, CalculationPartition.class);
+    ScenarioMarketData marketData = tasks.getMarketData();
+    ScenarioFxRateProvider fxProvider = ScenarioFxRateProvider.of(marketData);
+    Object lock = new Object();
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < tasks.getTasks().size(); i++) {
+      int taskIndex = tasks.getTaskIndices().get(i);
+      CalculationTask task = tasks.getTasks().get(i);
+      futures.add(CompletableFuture
+          .supplyAsync(() -> task.execute(marketData, fxProvider, refData), executor)
+          .thenApply(results -> writeResults(serializer, taskIndex, results))
+          .thenAccept(message -> {
+            synchronized (lock) {
+              messageConsumer.accept(message);
+            }
+          }));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).join();
+    messageConsumer.accept(new byte[0]);
+  }
+
+  //-------------------------------------------------------------------------
+  // the serializer for the messages, which can read partitions using the functions
+  static BinarySerializer serializer(BinarySerializer serializer, CalculationFunctions functions) {
+    return serializer.combinedWith(ImmutableList.of(CalculationPartition.codec(functions)));
+  }
+
+  // writes the message for a completed task, containing the task index and the result of each cell
+  // if the results cannot be serialized, each cell that cannot be serialized is replaced by a failure
+  static byte[] writeResults(BinarySerializer serializer, int taskIndex, CalculationResults results) {
+    List<Result<?>> cells = new ArrayList<>();
+    for (CalculationResult cell : results.getCells()) {
+      cells.add(cell.getResult());
+    }
+    try {
+      return serializer.write(ImmutableList.of(taskIndex, cells));
+    } catch (RuntimeException ex) {
+      List<Result<?>> serializableCells = new ArrayList<>();
+      for (Result<?> cell : cells) {
+        serializableCells.add(serializableResult(serializer, cell));
+      }
+      return serializer.write(ImmutableList.of(taskIndex, serializableCells));
+    }
+  }
+
+  // returns the result if it can be serialized, otherwise a failure
+  private static Result<?> serializableResult(BinarySerializer serializer, Result<?> result) {
+    try {
+      serializer.write(result);
+      return result;
+    } catch (RuntimeException ex) {
+      return Result.failure(
+          FailureReason.ERROR, ex, "Unable to serialize the result of the calculation: {}", ex.getMessage());
+    }
+  }
+
+  // reads the message for a completed task, using the task to determine the target and cells
+  // the index of the task is added to the set of completed tasks
+  static CalculationResults readResults(
+      BinarySerializer serializer,
+      byte[] message,
+      List<CalculationTask> tasks,
+      Set<Integer> completed) {
+
+    List<?> parts = serializer.read(message, List.class);
+    int taskIndex = (Integer) parts.get(0);
+    List<?> cells = (List<?>) parts.get(1);
+    CalculationTask task = tasks.get(taskIndex);
+    ArgChecker.isTrue(
+        cells.size() == task.getCells().size(),
+        "Expected {} results for task {}, but found {}", task.getCells().size(), taskIndex, cells.size());
+    List<CalculationResult> results = new ArrayList<>();
+    for (int i = 0; i < cells.size(); i++) {
+      CalculationTaskCell cell = task.getCells().get(i);
+      results.add(CalculationResult.of(cell.getRowIndex(), cell.getColumnIndex(), (Result<?>) cells.get(i)));
+    }
+    completed.add(taskIndex);
+    return CalculationResults.of(task.getTarget(), results);
+  }
+
+}
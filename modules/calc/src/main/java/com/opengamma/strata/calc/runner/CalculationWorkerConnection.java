@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+/**
+ * A connection to a worker of a distributed calculation.
+ * <p>
+ * The connection sends and receives messages, each of which is an array of bytes.
+ * Each message sent to the worker is a partition of the calculation tasks.
+ * The worker replies with a message for each completed task, followed by an empty message.
+ * See {@link CalculationWorker} for the messages.
+ * <p>
+ * A failure of the connection or the worker is reported by throwing an exception.
+ * The connection is then closed and the tasks that were not completed are sent to another worker.
+ */
+public interface CalculationWorkerConnection extends AutoCloseable {
+
+  /**
+   * Sends a message to the worker.
+   *
+   * @param message  the message
+   * @throws RuntimeException if unable to send the message
+   */
+  public abstract void send(byte[] message);
+
+  /**
+   * Receives a message from the worker, blocking until one is available.
+   *
+   * @return the message, empty when all the tasks of a partition have been completed
+   * @throws RuntimeException if unable to receive a message, such as when the worker has failed
+   */
+  public abstract byte[] receive();
+
+  /**
+   * Closes the connection, releasing the worker.
+   * <p>
+   * This method must not throw an exception.
+   */
+  @Override
+  public abstract void close();
+
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.io.BinarySerializer;
+
+/**
+ * The setup of a worker of a distributed calculation.
+ * <p>
+ * The functions, reference data and serializer cannot be sent to a worker,
+ * thus each worker obtains them from an instance of this interface.
+ * They must match those used to create and run the calculation tasks.
+ * <p>
+ * When used with {@link ProcessCalculationWorkerTransport}, implementations must
+ * have a public no-arguments constructor.
+ */
+public interface CalculationWorkerSetup {
+
+  /**
+   * Gets the functions used to perform the calculations.
+   * <p>
+   * The function used by each task is found from its target using these functions.
+   *
+   * @return the calculation functions
+   */
+  public abstract CalculationFunctions functions();
+
+  /**
+   * Gets the reference data used to perform the calculations.
+   *
+   * @return the reference data
+   */
+  public abstract ReferenceData refData();
+
+  /**
+   * Gets the serializer used to read the targets and market data and write the results.
+   * <p>
+   * This must be able to serialize the targets, the market data values and the
+   * calculated results, such as the serializer provided by {@code StandardComponents}.
+   *
+   * @return the serializer
+   */
+  public abstract BinarySerializer serializer();
+
+}
@@ -0,0 +1,32 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+/**
+ * The transport used to communicate with the workers of a distributed calculation.
+ * <p>
+ * A distributed calculation task runner, see {@link CalculationTaskRunner#ofDistributed},
+ * sends partitions of the calculation tasks to workers and receives the results.
+ * The transport connects to a worker, which may be a new process, an existing
+ * process on a remote machine or any other means of running a {@link CalculationWorker}.
+ * <p>
+ * Implementations must be thread-safe.
+ */
+public interface CalculationWorkerTransport {
+
+  /**
+   * Connects to a worker.
+   * <p>
+   * The connection is used by a single thread to send partitions to the worker
+   * and receive the results. It is closed when the calculation completes or
+   * when the worker fails, in which case another connection may be requested.
+   *
+   * @return the connection to the worker
+   * @throws RuntimeException if unable to connect to a worker
+   */
+  public abstract CalculationWorkerConnection connect();
+
+}
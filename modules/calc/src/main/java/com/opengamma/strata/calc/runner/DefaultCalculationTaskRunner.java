@@ -27,6 +27,7 @@ import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
@@ -126,7 +127,7 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * <p>
    * If this method is called with a {@code ScenarioArray} containing more than one value it throws an exception.
    */
-  private static Result<?> unwrapScenarioResult(Result<?> result) {
+  static Result<?> unwrapScenarioResult(Result<?> result) {
     if (result.isFailure()) {
       return result;
     }
@@ -180,20 +181,23 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     // the wrapper ensures thread-safety for the listener
     // it also calls the listener with single CalculationResult cells, not CalculationResults
     Consumer<CalculationResults> consumer = new ListenerWrapper(listener, taskList.size());
+    // the FX rates used to convert the results are shared by all tasks, looking up each currency pair once
+    ScenarioFxRateProvider fxProvider = ScenarioFxRateProvider.of(marketData);
     // run each task using the executor
-    taskList.stream().forEach(task -> runTask(task, marketData, refData, consumer));
+    taskList.stream().forEach(task -> runTask(task, marketData, fxProvider, refData, consumer));
   }
 
   // submits a task to the executor to be run
   private void runTask(
       CalculationTask task,
       ScenarioMarketData marketData,
+      ScenarioFxRateProvider fxProvider,
       ReferenceData refData,
       Consumer<CalculationResults> consumer) {
 
     // the task is executed, with the result passed to the consumer
     // the consumer wraps the listener to ensure thread-safety
-    Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, refData);
+    Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, fxProvider, refData);
     CompletableFuture.supplyAsync(taskExecutor, executor).thenAccept(consumer);
   }
 
@@ -207,8 +211,9 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
   /**
    * Calculation listener that receives the results of individual calculations
    * and builds a set of {@link Results}. This is used by the non-async methods.
+   * It is also used by {@link DistributedCalculationTaskRunner}.
    */
-  private static final class AggregatingListener extends AggregatingCalculationListener<Results> {
+  static final class AggregatingListener extends AggregatingCalculationListener<Results> {
 
     /** Comparator for sorting the results by row and then column. */
     private static final Comparator<CalculationResult> COMPARATOR =
@@ -221,7 +226,7 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     /** The columns that define what values are calculated. */
     private final List<Column> columns;
 
-    private AggregatingListener(List<Column> columns) {
+    AggregatingListener(List<Column> columns) {
       this.columns = columns;
     }
 
@@ -260,12 +265,13 @@ class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * Listener that decorates another listener and unwraps {@link ScenarioArray} instances
    * containing a single value before passing the value to the delegate listener.
    * This is used by the single scenario async method.
+   * It is also used by {@link DistributedCalculationTaskRunner}.
    */
-  private static final class UnwrappingListener implements CalculationListener {
+  static final class UnwrappingListener implements CalculationListener {
 
     private final CalculationListener delegate;
 
-    private UnwrappingListener(CalculationListener delegate) {
+    UnwrappingListener(CalculationListener delegate) {
       this.delegate = delegate;
     }
 
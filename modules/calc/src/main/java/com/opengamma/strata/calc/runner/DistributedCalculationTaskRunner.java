@@ -0,0 +1,467 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirementsBuilder;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.io.BinarySerializer;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * A calculation task runner that distributes the tasks to workers.
+ * <p>
+ * The tasks are grouped by the market data they require and the groups are packed into partitions
+ * of similar size, such that each partition requires only part of the market data.
+ * Each group is packed into the partition that requires the fewest additional market data values,
+ * thus groups whose market data overlaps tend to share a partition.
+ * Each partition is sent to a worker together with the market data it requires.
+ * The results are passed to the listener as the worker completes each task.
+ * <p>
+ * If a worker fails, the tasks of its partition that have not been completed are sent to another worker.
+ * Only the lost tasks are calculated again, thus the listener receives each result once.
+ * If a partition fails too many times, the remaining tasks produce failure results.
+ * <p>
+ * The reference data passed to the calculate methods is used to determine the market data requirements.
+ * The workers use the reference data provided by {@link CalculationWorkerSetup}.
+ */
+class DistributedCalculationTaskRunner implements CalculationTaskRunner {
+
+  /**
+   * The logger.
+   */
+  private static final Logger log = LoggerFactory.getLogger(DistributedCalculationTaskRunner.class);
+  /**
+   * The number of partitions created for each worker, allowing work to be spread if a worker is slow or fails.
+   */
+  private static final int PARTITIONS_PER_WORKER = 4;
+  /**
+   * The number of times a partition may be sent to a worker that fails before its tasks fail.
+   */
+  private static final int MAX_FAILURES = 3;
+  /**
+   * The time to wait for a partition before checking whether the calculation is complete.
+   */
+  private static final long POLL_MILLIS = 100;
+
+  /**
+   * The transport used to connect to the workers.
+   */
+  private final CalculationWorkerTransport transport;
+  /**
+   * The number of workers.
+   */
+  private final int workerCount;
+  /**
+   * The serializer used to write the partitions and read the results.
+   */
+  private final BinarySerializer serializer;
+  /**
+   * Executes the threads that communicate with the workers, one for each worker.
+   */
+  private final ExecutorService executor;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a calculation task runner that distributes the tasks to workers.
+   *
+   * @param transport  the transport used to connect to the workers
+   * @param workerCount  the number of workers
+   * @param serializer  the serializer used to write the targets and market data and read the results
+   * @return the calculation task runner
+   */
+  static DistributedCalculationTaskRunner of(
+      CalculationWorkerTransport transport,
+      int workerCount,
+      BinarySerializer serializer) {
+
+    return new DistributedCalculationTaskRunner(transport, workerCount, serializer);
+  }
+
+  // creates an executor with a daemon thread for each worker
+  private static ExecutorService createExecutor(int threads) {
+    ThreadFactory threadFactory = r -> {
+      Thread t = Executors.defaultThreadFactory().newThread(r);
+      t.setName("DistributedCalculationTaskRunner-" + t.getName());
+      t.setDaemon(true);
+      return t;
+    };
+    return Executors.newFixedThreadPool(threads, threadFactory);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   *
+   * @param transport  the transport used to connect to the workers
+   * @param workerCount  the number of workers
+   * @param serializer  the serializer used to write the partitions and read the results
+   */
+  private DistributedCalculationTaskRunner(
+      CalculationWorkerTransport transport,
+      int workerCount,
+      BinarySerializer serializer) {
+
+    this.transport = ArgChecker.notNull(transport, "transport");
+    this.workerCount = ArgChecker.notNegativeOrZero(workerCount, "workerCount");
+    this.serializer = CalculationWorker.serializer(
+        ArgChecker.notNull(serializer, "serializer"), CalculationFunctions.empty());
+    this.executor = createExecutor(workerCount);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Results calculate(
+      CalculationTasks tasks,
+      MarketData marketData,
+      ReferenceData refData) {
+
+    // perform the calculations, unwrapping the results as there is only one scenario
+    ScenarioMarketData md = ScenarioMarketData.of(1, marketData);
+    Results results = calculateMultiScenario(tasks, md, refData);
+    List<Result<?>> mappedResults = results.getCells().stream()
+        .map(r -> DefaultCalculationTaskRunner.unwrapScenarioResult(r))
+        .collect(toImmutableList());
+    return Results.of(results.getColumns(), mappedResults);
+  }
+
+  @Override
+  public void calculateAsync(
+      CalculationTasks tasks,
+      MarketData marketData,
+      ReferenceData refData,
+      CalculationListener listener) {
+
+    ScenarioMarketData md = ScenarioMarketData.of(1, marketData);
+    CalculationListener unwrappingListener = new DefaultCalculationTaskRunner.UnwrappingListener(listener);
+    calculateMultiScenarioAsync(tasks, md, refData, unwrappingListener);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Results calculateMultiScenario(
+      CalculationTasks tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    DefaultCalculationTaskRunner.AggregatingListener listener =
+        new DefaultCalculationTaskRunner.AggregatingListener(tasks.getColumns());
+    calculateMultiScenarioAsync(tasks, marketData, refData, listener);
+    return listener.result();
+  }
+
+  @Override
+  public void calculateMultiScenarioAsync(
+      CalculationTasks tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      CalculationListener listener) {
+
+    List<CalculationTask> taskList = tasks.getTasks();
+    Consumer<CalculationResults> consumer = new ListenerWrapper(listener, taskList.size());
+    List<CalculationPartition> partitions = partition(taskList, marketData, refData);
+    DistributedCalculation calculation = new DistributedCalculation(taskList, partitions, consumer);
+    for (int i = 0; i < workerCount; i++) {
+      executor.execute(calculation::run);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // groups the tasks by the market data they require, then packs the groups into partitions
+  // each group is split if it is larger than a partition, with the largest groups packed first
+  // package-private so that tests can check the partitions
+  List<CalculationPartition> partition(
+      List<CalculationTask> taskList,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    Map<MarketDataRequirements, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < taskList.size(); i++) {
+      groups.computeIfAbsent(taskList.get(i).requirements(refData), reqs -> new ArrayList<>()).add(i);
+    }
+    int partitionCount = Math.max(Math.min(workerCount * PARTITIONS_PER_WORKER, taskList.size()), 1);
+    int maxSize = (taskList.size() + partitionCount - 1) / partitionCount;
+
+    // split the groups into chunks no larger than a partition
+    List<Chunk> chunks = new ArrayList<>();
+    for (Map.Entry<MarketDataRequirements, List<Integer>> entry : groups.entrySet()) {
+      List<Integer> indices = entry.getValue();
+      for (int start = 0; start < indices.size(); start += maxSize) {
+        chunks.add(new Chunk(entry.getKey(), indices.subList(start, Math.min(start + maxSize, indices.size()))));
+      }
+    }
+    chunks.sort(Comparator.comparingInt((Chunk chunk) -> chunk.taskIndices.size()).reversed());
+
+    // pack each chunk into the partition with space that requires the fewest additional market data values
+    // a new partition is used if none has space, or if none shares market data and more partitions are wanted
+    List<PartitionBuilder> packed = new ArrayList<>();
+    for (Chunk chunk : chunks) {
+      PartitionBuilder best = null;
+      int bestAdded = Integer.MAX_VALUE;
+      for (PartitionBuilder partition : packed) {
+        if (partition.taskIndices.size() + chunk.taskIndices.size() <= maxSize) {
+          int added = partition.countAdded(chunk.requirements);
+          if (added < bestAdded) {
+            best = partition;
+            bestAdded = added;
+          }
+        }
+      }
+      boolean overlaps = bestAdded < chunk.idCount();
+      if (best == null || (!overlaps && chunk.idCount() > 0 && packed.size() < partitionCount)) {
+        best = new PartitionBuilder();
+        packed.add(best);
+      }
+      best.add(chunk);
+    }
+
+    // create the partitions, each containing the market data required by its tasks
+    // the tasks of each partition are in the order of the task list
+    ImmutableList.Builder<CalculationPartition> partitions = ImmutableList.builder();
+    for (PartitionBuilder partition : packed) {
+      List<Integer> taskIndices = new ArrayList<>(partition.taskIndices);
+      taskIndices.sort(Comparator.naturalOrder());
+      List<CalculationTask> partitionTasks = taskIndices.stream().map(taskList::get).collect(toImmutableList());
+      ScenarioMarketData partitionMarketData = marketData(marketData, partition.requirements.build());
+      partitions.add(CalculationPartition.of(taskIndices, partitionTasks, partitionMarketData));
+    }
+    return partitions.build();
+  }
+
+  // extracts the market data that meets the requirements
+  private static ScenarioMarketData marketData(ScenarioMarketData marketData, MarketDataRequirements requirements) {
+    Map<MarketDataId<?>, MarketDataBox<?>> values = new HashMap<>();
+    for (MarketDataId<?> id : Iterables.concat(requirements.getObservables(), requirements.getNonObservables())) {
+      marketData.findValue(id).ifPresent(value -> values.put(id, value));
+    }
+    Map<ObservableId, LocalDateDoubleTimeSeries> timeSeries = new HashMap<>();
+    for (ObservableId id : requirements.getTimeSeries()) {
+      LocalDateDoubleTimeSeries series = marketData.getTimeSeries(id);
+      if (!series.isEmpty()) {
+        timeSeries.put(id, series);
+      }
+    }
+    return ImmutableScenarioMarketData.of(
+        marketData.getScenarioCount(), marketData.getValuationDate(), values, timeSeries);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+
+  @Override
+  public String toString() {
+    return "DistributedCalculationTaskRunner[" + transport + ", workers=" + workerCount + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tasks that require the same market data, forming part of a partition.
+   */
+  private static final class Chunk {
+
+    private final MarketDataRequirements requirements;
+    private final List<Integer> taskIndices;
+
+    private Chunk(MarketDataRequirements requirements, List<Integer> taskIndices) {
+      this.requirements = requirements;
+      this.taskIndices = taskIndices;
+    }
+
+    // the number of market data values required
+    private int idCount() {
+      return requirements.getObservables().size() +
+          requirements.getNonObservables().size() +
+          requirements.getTimeSeries().size();
+    }
+  }
+
+  /**
+   * The chunks packed into a partition, with the identifiers of the market data they require.
+   */
+  private static final class PartitionBuilder {
+
+    private final List<Integer> taskIndices = new ArrayList<>();
+    private final MarketDataRequirementsBuilder requirements = MarketDataRequirements.builder();
+    private final Set<MarketDataId<?>> valueIds = new HashSet<>();
+    private final Set<ObservableId> timeSeriesIds = new HashSet<>();
+
+    // counts the market data values required by the chunk that are not already required by the partition
+    private int countAdded(MarketDataRequirements chunkRequirements) {
+      int added = 0;
+      for (MarketDataId<?> id : Iterables.concat(
+          chunkRequirements.getObservables(), chunkRequirements.getNonObservables())) {
+        added += valueIds.contains(id) ? 0 : 1;
+      }
+      for (ObservableId id : chunkRequirements.getTimeSeries()) {
+        added += timeSeriesIds.contains(id) ? 0 : 1;
+      }
+      return added;
+    }
+
+    // adds the chunk to the partition
+    private void add(Chunk chunk) {
+      taskIndices.addAll(chunk.taskIndices);
+      requirements.addRequirements(chunk.requirements);
+      valueIds.addAll(chunk.requirements.getObservables());
+      valueIds.addAll(chunk.requirements.getNonObservables());
+      timeSeriesIds.addAll(chunk.requirements.getTimeSeries());
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A single calculation, with the partitions shared between the threads that communicate with the workers.
+   */
+  private final class DistributedCalculation {
+
+    /** The complete list of tasks. */
+    private final List<CalculationTask> taskList;
+    /** The partitions waiting to be sent to a worker. */
+    private final BlockingQueue<CalculationPartition> queue;
+    /** The consumer of the results, which is thread-safe. */
+    private final Consumer<CalculationResults> consumer;
+    /** The number of partitions that have not completed, including those being calculated. */
+    private final AtomicInteger outstanding;
+    /** The number of threads that are able to connect to a worker. */
+    private final AtomicInteger connectable = new AtomicInteger(workerCount);
+
+    private DistributedCalculation(
+        List<CalculationTask> taskList,
+        List<CalculationPartition> partitions,
+        Consumer<CalculationResults> consumer) {
+
+      this.taskList = taskList;
+      this.queue = new LinkedBlockingQueue<>(partitions);
+      this.consumer = consumer;
+      this.outstanding = new AtomicInteger(partitions.size());
+    }
+
+    // sends partitions to a worker until all the partitions have completed
+    private void run() {
+      CalculationWorkerConnection connection = null;
+      try {
+        while (outstanding.get() > 0) {
+          CalculationPartition partition = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+          if (partition == null) {
+            continue;
+          }
+          if (connection == null) {
+            try {
+              connection = transport.connect();
+            } catch (RuntimeException ex) {
+              log.warn("Unable to connect to calculation worker", ex);
+              queue.add(partition);
+              stopConnecting(ex);
+              return;
+            }
+          }
+          if (!calculate(connection, partition)) {
+            connection.close();
+            connection = null;
+          }
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        stopConnecting(ex);
+      } finally {
+        if (connection != null) {
+          connection.close();
+        }
+      }
+    }
+
+    // sends the partition to the worker, returning false if the worker failed
+    private boolean calculate(CalculationWorkerConnection connection, CalculationPartition partition) {
+      Set<Integer> completed = new HashSet<>();
+      try {
+        connection.send(serializer.write(partition));
+        byte[] message = connection.receive();
+        while (message.length > 0) {
+          consumer.accept(CalculationWorker.readResults(serializer, message, taskList, completed));
+          message = connection.receive();
+        }
+        outstanding.decrementAndGet();
+        return true;
+
+      } catch (RuntimeException ex) {
+        CalculationPartition remaining = partition.remainingAfterFailure(completed);
+        if (remaining.getTasks().isEmpty()) {
+          log.warn("Calculation worker failed after completing the tasks of the partition", ex);
+          outstanding.decrementAndGet();
+        } else if (remaining.getFailures() >= MAX_FAILURES) {
+          log.warn("Calculation worker failed, the remaining tasks of the partition have failed too many times", ex);
+          fail(remaining, ex);
+        } else {
+          log.warn("Calculation worker failed, the remaining tasks of the partition will be calculated again", ex);
+          queue.add(remaining);
+        }
+        return false;
+      }
+    }
+
+    // called when a thread is unable to connect to a worker, the last thread fails the remaining partitions
+    private void stopConnecting(Exception ex) {
+      if (connectable.decrementAndGet() == 0) {
+        CalculationPartition partition;
+        while ((partition = queue.poll()) != null) {
+          fail(partition, ex);
+        }
+      }
+    }
+
+    // creates failure results for the tasks of the partition
+    private void fail(CalculationPartition partition, Exception ex) {
+      for (CalculationTask task : partition.getTasks()) {
+        List<CalculationResult> results = task.getCells().stream()
+            .map(cell -> CalculationResult.of(
+                cell.getRowIndex(),
+                cell.getColumnIndex(),
+                Result.failure(FailureReason.ERROR, ex, "Distributed calculation failed: {}", ex.getMessage())))
+            .collect(toImmutableList());
+        consumer.accept(CalculationResults.of(task.getTarget(), results));
+      }
+      outstanding.decrementAndGet();
+    }
+  }
+
+}
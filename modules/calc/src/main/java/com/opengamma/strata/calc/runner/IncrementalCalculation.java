@@ -0,0 +1,379 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.marketdata.BuiltMarketData;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataDependencies;
+import com.opengamma.strata.calc.marketdata.MarketDataFactory;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirementsBuilder;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * A calculation that is kept up to date as the market data it uses changes.
+ * <p>
+ * This retains the calculation tasks, the market data requirements of each task and the
+ * dependencies between the items of market data. When some of the supplied market data changes,
+ * such as a set of quotes, only the market data that depends on the changed data is rebuilt,
+ * for example the curve groups calibrated using the quotes. Only the tasks that use the changed
+ * or rebuilt market data are then recalculated.
+ * <p>
+ * The listener passed to {@link #update(MarketData, CalculationListener)} receives only those
+ * results that differ from the previous results, allowing clients to process a stream of changes.
+ * <p>
+ * The calculations are performed for a single set of market data.
+ * Scenario results containing a single value are unwrapped, as by {@link CalculationTaskRunner}.
+ * <p>
+ * It is the callers responsibility to manage the life-cycle of the executor.
+ * <p>
+ * This class is mutable and not thread-safe.
+ * The calculation and updates must be invoked from a single thread.
+ */
+public final class IncrementalCalculation {
+
+  /**
+   * The tasks that perform the calculations.
+   */
+  private final CalculationTasks tasks;
+  /**
+   * The factory used to build market data.
+   */
+  private final MarketDataFactory marketDataFactory;
+  /**
+   * The configuration needed to build non-observable market data.
+   */
+  private final MarketDataConfig marketDataConfig;
+  /**
+   * The reference data.
+   */
+  private final ReferenceData refData;
+  /**
+   * The executor used to run the tasks.
+   */
+  private final ExecutorService executor;
+  /**
+   * The market data required by all the tasks.
+   */
+  private final MarketDataRequirements requirements;
+  /**
+   * The indices of the tasks requiring each item of market data.
+   */
+  private final ImmutableSetMultimap<MarketDataId<?>, Integer> taskIndices;
+  /**
+   * The headers of the columns.
+   */
+  private final ImmutableList<ColumnHeader> headers;
+  /**
+   * The current results, with the cells in row-major order.
+   */
+  private final Result<?>[] results;
+  /**
+   * The dependencies between the items of market data.
+   */
+  private MarketDataDependencies dependencies;
+  /**
+   * The market data supplied by the user, including all the changes so far.
+   */
+  private MarketData suppliedData;
+  /**
+   * The market data used by the current results, null until calculated.
+   */
+  private BuiltMarketData marketData;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * <p>
+   * The requirements of each task are determined by this method, but no calculations are performed.
+   * Use {@link #calculate()} to perform the initial calculation.
+   *
+   * @param tasks  the calculation tasks to invoke
+   * @param marketDataFactory  the factory used to build market data
+   * @param marketDataConfig  configuration needed to build non-observable market data, for example curves
+   * @param suppliedData  the market data supplied by the user, such as quotes
+   * @param refData  the reference data
+   * @param executor  the executor used to run the tasks
+   * @return the incremental calculation
+   */
+  public static IncrementalCalculation of(
+      CalculationTasks tasks,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig,
+      MarketData suppliedData,
+      ReferenceData refData,
+      ExecutorService executor) {
+
+    return new IncrementalCalculation(tasks, marketDataFactory, marketDataConfig, suppliedData, refData, executor);
+  }
+
+  // creates an instance
+  private IncrementalCalculation(
+      CalculationTasks tasks,
+      MarketDataFactory marketDataFactory,
+      MarketDataConfig marketDataConfig,
+      MarketData suppliedData,
+      ReferenceData refData,
+      ExecutorService executor) {
+
+    this.tasks = ArgChecker.notNull(tasks, "tasks");
+    this.marketDataFactory = ArgChecker.notNull(marketDataFactory, "marketDataFactory");
+    this.marketDataConfig = ArgChecker.notNull(marketDataConfig, "marketDataConfig");
+    this.suppliedData = ArgChecker.notNull(suppliedData, "suppliedData");
+    this.refData = ArgChecker.notNull(refData, "refData");
+    this.executor = ArgChecker.notNull(executor, "executor");
+
+    // index the tasks by the market data they require
+    ImmutableSetMultimap.Builder<MarketDataId<?>, Integer> indexBuilder = ImmutableSetMultimap.builder();
+    Set<MarketDataRequirements> distinct = new HashSet<>();
+    List<CalculationTask> taskList = tasks.getTasks();
+    for (int i = 0; i < taskList.size(); i++) {
+      MarketDataRequirements taskRequirements = taskList.get(i).requirements(refData);
+      for (ObservableId id : taskRequirements.getObservables()) {
+        indexBuilder.put(id, i);
+      }
+      for (MarketDataId<?> id : taskRequirements.getNonObservables()) {
+        indexBuilder.put(id, i);
+      }
+      for (ObservableId id : taskRequirements.getTimeSeries()) {
+        indexBuilder.put(id, i);
+      }
+      distinct.add(taskRequirements);
+    }
+    MarketDataRequirementsBuilder requirementsBuilder = MarketDataRequirements.builder();
+    distinct.forEach(requirementsBuilder::addRequirements);
+    this.taskIndices = indexBuilder.build();
+    this.requirements = requirementsBuilder.build();
+    this.headers = tasks.getColumns().stream()
+        .map(c -> c.toHeader())
+        .collect(toImmutableList());
+    this.results = new Result<?>[tasks.getTargets().size() * headers.size()];
+    this.dependencies = marketDataFactory.dependencies(requirements, marketDataConfig, suppliedData);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Performs all the calculations, building all the market data.
+   * <p>
+   * This must be invoked before the first update.
+   * It may be invoked again to discard the state of the previous calculation.
+   *
+   * @return the grid of calculation results
+   */
+  public Results calculate() {
+    marketData = marketDataFactory.create(requirements, marketDataConfig, suppliedData, refData);
+    Arrays.fill(results, null);
+    BitSet all = new BitSet();
+    all.set(0, tasks.getTasks().size());
+    run(all, NoOpListener.INSTANCE);
+    return getResults();
+  }
+
+  /**
+   * Updates the calculations following a change to the supplied market data.
+   * <p>
+   * The changes replace the matching values of the supplied market data, adding any that are new.
+   * The market data that depends on the changes is rebuilt, and the tasks using either the changed
+   * or the rebuilt data are recalculated.
+   * <p>
+   * The listener is invoked for each result that has changed since the previous calculation,
+   * followed by a call to {@link CalculationListener#calculationsComplete()}.
+   * The listener is not invoked concurrently by multiple threads.
+   * This method returns when all the affected tasks have completed.
+   *
+   * @param changes  the changes to the supplied market data
+   * @param listener  the listener that receives the changed results
+   * @return the number of tasks that were recalculated
+   * @throws IllegalStateException if {@link #calculate()} has not been invoked
+   */
+  public int update(MarketData changes, CalculationListener listener) {
+    ArgChecker.notNull(changes, "changes");
+    ArgChecker.notNull(listener, "listener");
+    if (marketData == null) {
+      throw new IllegalStateException("IncrementalCalculation.calculate() must be invoked before update()");
+    }
+    ArgChecker.isTrue(
+        changes.getValuationDate().equals(suppliedData.getValuationDate()),
+        "Valuation date of changes must match, expected {} but was {}",
+        suppliedData.getValuationDate(),
+        changes.getValuationDate());
+
+    // the dependencies only change if data is supplied that was previously built
+    Set<MarketDataId<?>> changedIds = new HashSet<>(changes.getIds());
+    boolean newIds = !suppliedData.getIds().containsAll(changedIds);
+    changedIds.addAll(changes.getTimeSeriesIds());
+    suppliedData = copy(changes.combinedWith(suppliedData), id -> true);
+    if (newIds) {
+      dependencies = marketDataFactory.dependencies(requirements, marketDataConfig, suppliedData);
+    }
+
+    // the previously built data that is not affected is supplied, so only the affected data is built
+    // if the dependencies are not known, all the market data is treated as affected
+    Set<MarketDataId<?>> affected = dependencies.isKnown() ? dependencies.findAffected(changedIds) : allIds(changedIds);
+    MarketData unaffected = copy(marketData, id -> !affected.contains(id));
+    marketData = marketDataFactory.create(
+        requirements, marketDataConfig, suppliedData.combinedWith(unaffected), refData);
+
+    // recalculate the tasks using the affected data
+    BitSet affectedTasks = new BitSet();
+    for (MarketDataId<?> id : affected) {
+      for (int taskIndex : taskIndices.get(id)) {
+        affectedTasks.set(taskIndex);
+      }
+    }
+    run(affectedTasks, listener);
+    return affectedTasks.cardinality();
+  }
+
+  // the identifiers of all the market data, including the changes
+  private Set<MarketDataId<?>> allIds(Set<MarketDataId<?>> changedIds) {
+    Set<MarketDataId<?>> ids = new HashSet<>(changedIds);
+    ids.addAll(marketData.getIds());
+    ids.addAll(marketData.getTimeSeriesIds());
+    return ids;
+  }
+
+  // copies the market data, including the values and time-series whose identifiers match
+  private static MarketData copy(MarketData marketData, Predicate<MarketDataId<?>> filter) {
+    Map<MarketDataId<?>, Object> values = new HashMap<>();
+    for (MarketDataId<?> id : marketData.getIds()) {
+      if (filter.test(id)) {
+        values.put(id, marketData.getValue(id));
+      }
+    }
+    Map<ObservableId, LocalDateDoubleTimeSeries> timeSeries = new HashMap<>();
+    for (ObservableId id : marketData.getTimeSeriesIds()) {
+      if (filter.test(id)) {
+        timeSeries.put(id, marketData.getTimeSeries(id));
+      }
+    }
+    return MarketData.of(marketData.getValuationDate(), values, timeSeries);
+  }
+
+  // runs the selected tasks, passing the changed results to the listener
+  private void run(BitSet taskIndicesToRun, CalculationListener listener) {
+    List<CalculationTask> taskList = tasks.getTasks();
+    ScenarioMarketData md = ScenarioMarketData.of(1, marketData);
+    ScenarioFxRateProvider fxProvider = ScenarioFxRateProvider.of(md);
+    // the wrapper ensures the listener is not invoked concurrently
+    Consumer<CalculationResults> consumer =
+        new ListenerWrapper(new ChangedResultListener(listener), taskIndicesToRun.cardinality());
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = taskIndicesToRun.nextSetBit(0); i >= 0; i = taskIndicesToRun.nextSetBit(i + 1)) {
+      CalculationTask task = taskList.get(i);
+      futures.add(CompletableFuture.supplyAsync(() -> task.execute(md, fxProvider, refData), executor)
+          .thenAccept(consumer));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).join();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the current results of the calculations.
+   *
+   * @return the grid of calculation results
+   * @throws IllegalStateException if {@link #calculate()} has not been invoked
+   */
+  public Results getResults() {
+    if (marketData == null) {
+      throw new IllegalStateException("IncrementalCalculation.calculate() must be invoked before getResults()");
+    }
+    return Results.of(headers, Arrays.asList(results));
+  }
+
+  /**
+   * Gets the market data used by the current results.
+   *
+   * @return the market data
+   * @throws IllegalStateException if {@link #calculate()} has not been invoked
+   */
+  public BuiltMarketData getMarketData() {
+    if (marketData == null) {
+      throw new IllegalStateException("IncrementalCalculation.calculate() must be invoked before getMarketData()");
+    }
+    return marketData;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "IncrementalCalculation[tasks=" + tasks.getTasks().size() + ", columns=" + headers.size() + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Listener that stores each result, passing it to the delegate listener if it has changed.
+   * The results are unwrapped from a {@code ScenarioArray} containing a single result.
+   */
+  private final class ChangedResultListener implements CalculationListener {
+
+    private final CalculationListener delegate;
+
+    private ChangedResultListener(CalculationListener delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void resultReceived(CalculationTarget target, CalculationResult calculationResult) {
+      Result<?> result = DefaultCalculationTaskRunner.unwrapScenarioResult(calculationResult.getResult());
+      int index = calculationResult.getRowIndex() * headers.size() + calculationResult.getColumnIndex();
+      if (!result.equals(results[index])) {
+        results[index] = result;
+        delegate.resultReceived(target, calculationResult.withResult(result));
+      }
+    }
+
+    @Override
+    public void calculationsComplete() {
+      delegate.calculationsComplete();
+    }
+  }
+
+  /**
+   * Listener that ignores the results.
+   */
+  private static final class NoOpListener implements CalculationListener {
+
+    private static final NoOpListener INSTANCE = new NoOpListener();
+
+    @Override
+    public void resultReceived(CalculationTarget target, CalculationResult result) {
+    }
+
+    @Override
+    public void calculationsComplete() {
+    }
+  }
+
+}
@@ -0,0 +1,258 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A transport that runs each worker of a distributed calculation in a child process.
+ * <p>
+ * Each connection starts a new Java process on the local machine running {@link CalculationWorker}.
+ * The process uses the same Java installation and class path as this process.
+ * Messages are sent using standard input and output, each preceded by its length.
+ * Standard error of the process is written to standard error of this process.
+ * <p>
+ * A worker sends a message as each task completes. If no message is received within the receive timeout,
+ * the worker is assumed to have hung and its process is destroyed. The tasks it had not completed
+ * are then sent to another worker by the task runner.
+ * <p>
+ * This is suitable for spreading a calculation over several heaps on a single machine,
+ * and for testing distributed calculations.
+ */
+public final class ProcessCalculationWorkerTransport implements CalculationWorkerTransport {
+
+  /**
+   * The time to wait for a worker to end after its input is closed.
+   */
+  private static final long CLOSE_WAIT_SECONDS = 5;
+  /**
+   * The default time to wait for a message from a worker.
+   */
+  private static final Duration DEFAULT_RECEIVE_TIMEOUT = Duration.ofMinutes(10);
+  /**
+   * The timer used to destroy workers that do not send a message within the receive timeout.
+   */
+  private static final ScheduledExecutorService TIMER = createTimer();
+
+  /**
+   * The command used to start a worker.
+   */
+  private final ImmutableList<String> command;
+  /**
+   * The time to wait for a message from a worker.
+   */
+  private final Duration receiveTimeout;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that starts workers using the specified setup.
+   *
+   * @param setupType  the setup of each worker, with a public no-arguments constructor
+   * @return the transport
+   */
+  public static ProcessCalculationWorkerTransport of(Class<? extends CalculationWorkerSetup> setupType) {
+    return of(setupType, ImmutableList.of());
+  }
+
+  /**
+   * Obtains an instance that starts workers using the specified setup and JVM arguments.
+   * <p>
+   * The JVM arguments are typically used to set the heap size of each worker, such as {@code -Xmx4g}.
+   * A worker that sends no message for 10 minutes is destroyed.
+   *
+   * @param setupType  the setup of each worker, with a public no-arguments constructor
+   * @param jvmArguments  the arguments passed to the JVM of each worker
+   * @return the transport
+   */
+  public static ProcessCalculationWorkerTransport of(
+      Class<? extends CalculationWorkerSetup> setupType,
+      List<String> jvmArguments) {
+
+    return of(setupType, jvmArguments, DEFAULT_RECEIVE_TIMEOUT);
+  }
+
+  /**
+   * Obtains an instance that starts workers using the specified setup and JVM arguments.
+   * <p>
+   * The JVM arguments are typically used to set the heap size of each worker, such as {@code -Xmx4g}.
+   * <p>
+   * The receive timeout is the longest time to wait for a worker to complete a task.
+   * A worker that sends no message within the timeout is destroyed.
+   *
+   * @param setupType  the setup of each worker, with a public no-arguments constructor
+   * @param jvmArguments  the arguments passed to the JVM of each worker
+   * @param receiveTimeout  the time to wait for a message from a worker, positive
+   * @return the transport
+   */
+  public static ProcessCalculationWorkerTransport of(
+      Class<? extends CalculationWorkerSetup> setupType,
+      List<String> jvmArguments,
+      Duration receiveTimeout) {
+
+    ArgChecker.notNull(setupType, "setupType");
+    ArgChecker.notNull(jvmArguments, "jvmArguments");
+    ArgChecker.notNull(receiveTimeout, "receiveTimeout");
+    ArgChecker.isFalse(
+        receiveTimeout.isNegative() || receiveTimeout.isZero(), "Receive timeout must be positive: {}", receiveTimeout);
+    List<String> command = new ArrayList<>();
+    command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+    command.addAll(jvmArguments);
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(CalculationWorker.class.getName());
+    command.add(setupType.getName());
+    return new ProcessCalculationWorkerTransport(command, receiveTimeout);
+  }
+
+  // creates an instance
+  private ProcessCalculationWorkerTransport(List<String> command, Duration receiveTimeout) {
+    this.command = ImmutableList.copyOf(command);
+    this.receiveTimeout = receiveTimeout;
+  }
+
+  // creates the timer, using a daemon thread so the timer does not prevent the JVM from exiting
+  private static ScheduledExecutorService createTimer() {
+    return Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = Executors.defaultThreadFactory().newThread(r);
+      t.setName("ProcessCalculationWorkerTransport-" + t.getName());
+      t.setDaemon(true);
+      return t;
+    });
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public CalculationWorkerConnection connect() {
+    try {
+      Process process = new ProcessBuilder(command)
+          .redirectError(Redirect.INHERIT)
+          .start();
+      return new ProcessConnection(process, receiveTimeout);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // writes a message preceded by its length
+  static void writeMessage(DataOutputStream out, byte[] message) {
+    try {
+      out.writeInt(message.length);
+      out.write(message);
+      out.flush();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // reads a message preceded by its length, returning null at the end of the stream
+  static byte[] readMessage(DataInputStream in) throws IOException {
+    int length;
+    try {
+      length = in.readInt();
+    } catch (EOFException ex) {
+      return null;
+    }
+    byte[] message = new byte[length];
+    in.readFully(message);
+    return message;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "ProcessCalculationWorkerTransport[" + command.get(command.size() - 1) + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The connection to a worker running in a child process.
+   */
+  private static final class ProcessConnection implements CalculationWorkerConnection {
+
+    private final Process process;
+    private final DataOutputStream out;
+    private final DataInputStream in;
+    private final Duration receiveTimeout;
+
+    private ProcessConnection(Process process, Duration receiveTimeout) {
+      this.process = process;
+      this.receiveTimeout = receiveTimeout;
+      this.out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+      this.in = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+    }
+
+    @Override
+    public void send(byte[] message) {
+      writeMessage(out, message);
+    }
+
+    @Override
+    public byte[] receive() {
+      // the process is destroyed if no message arrives in time, which ends the blocking read
+      AtomicBoolean timedOut = new AtomicBoolean();
+      ScheduledFuture<?> timeout = TIMER.schedule(
+          () -> {
+            timedOut.set(true);
+            process.destroyForcibly();
+          },
+          receiveTimeout.toMillis(),
+          TimeUnit.MILLISECONDS);
+      try {
+        byte[] message = readMessage(in);
+        if (message == null) {
+          throw new EOFException("Worker process ended unexpectedly");
+        }
+        return message;
+      } catch (IOException ex) {
+        if (timedOut.get()) {
+          throw new UncheckedIOException(
+              new InterruptedIOException("Worker process destroyed after sending no message for " + receiveTimeout));
+        }
+        throw new UncheckedIOException(ex);
+      } finally {
+        timeout.cancel(false);
+      }
+    }
+
+    @Override
+    public void close() {
+      // closing standard input causes the worker to end, it is destroyed if it does not end promptly
+      try {
+        out.close();
+        if (!process.waitFor(CLOSE_WAIT_SECONDS, TimeUnit.SECONDS)) {
+          process.destroyForcibly();
+        }
+      } catch (IOException ex) {
+        process.destroyForcibly();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        process.destroyForcibly();
+      }
+    }
+  }
+
+}
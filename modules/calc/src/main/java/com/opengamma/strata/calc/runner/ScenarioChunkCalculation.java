@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BiFunction;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Performs calculations over multiple scenarios in chunks of scenarios.
+ * <p>
+ * Each chunk is calculated using {@link CalculationTaskRunner#calculateMultiScenarioAsync}.
+ * The next chunk is not started until the listener of the chunk has been notified that
+ * its calculations are complete. The market data and results of a chunk are not referenced
+ * once the chunk is complete, thus the memory required is bounded by the size of the chunk
+ * rather than the number of scenarios.
+ */
+final class ScenarioChunkCalculation {
+
+  /**
+   * Restricted constructor.
+   */
+  private ScenarioChunkCalculation() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Performs calculations in chunks of scenarios, blocking until all the chunks are complete.
+   *
+   * @param runner  the runner used to calculate each chunk
+   * @param tasks  the calculation tasks to invoke
+   * @param scenarioCount  the total number of scenarios
+   * @param marketDataFunction  the function returning the market data for a range of scenarios
+   * @param refData  the reference data to be used in the calculations
+   * @param chunkSize  the maximum number of scenarios in each chunk
+   * @param listener  the listener that is notified as each chunk is calculated
+   */
+  static void calculate(
+      CalculationTaskRunner runner,
+      CalculationTasks tasks,
+      int scenarioCount,
+      BiFunction<Integer, Integer, ScenarioMarketData> marketDataFunction,
+      ReferenceData refData,
+      int chunkSize,
+      ScenarioChunkListener listener) {
+
+    ArgChecker.notNull(tasks, "tasks");
+    ArgChecker.notNegativeOrZero(scenarioCount, "scenarioCount");
+    ArgChecker.notNull(marketDataFunction, "marketDataFunction");
+    ArgChecker.notNull(refData, "refData");
+    ArgChecker.notNegativeOrZero(chunkSize, "chunkSize");
+    ArgChecker.notNull(listener, "listener");
+
+    for (int fromIndex = 0; fromIndex < scenarioCount; fromIndex += chunkSize) {
+      int toIndex = Math.min(fromIndex + chunkSize, scenarioCount);
+      ScenarioMarketData marketData = marketDataFunction.apply(fromIndex, toIndex);
+      if (marketData.getScenarioCount() != toIndex - fromIndex) {
+        throw new IllegalArgumentException(Messages.format(
+            "Market data for scenarios {} to {} must have {} scenarios but has {}",
+            fromIndex, toIndex, toIndex - fromIndex, marketData.getScenarioCount()));
+      }
+      ChunkListener chunkListener = new ChunkListener(listener.chunkStarted(fromIndex, marketData));
+      runner.calculateMultiScenarioAsync(tasks, marketData, refData, chunkListener);
+      chunkListener.awaitComplete();
+    }
+    listener.calculationsComplete();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Listener for a chunk that allows the caller to wait until the chunk is complete.
+   */
+  private static final class ChunkListener implements CalculationListener {
+
+    /** The listener supplied for the chunk. */
+    private final CalculationListener delegate;
+    /** The latch released when the calculations of the chunk are complete. */
+    private final CountDownLatch complete = new CountDownLatch(1);
+
+    private ChunkListener(CalculationListener delegate) {
+      this.delegate = ArgChecker.notNull(delegate, "delegate");
+    }
+
+    @Override
+    public void resultReceived(CalculationTarget target, CalculationResult result) {
+      delegate.resultReceived(target, result);
+    }
+
+    @Override
+    public void calculationsComplete() {
+      try {
+        delegate.calculationsComplete();
+      } finally {
+        complete.countDown();
+      }
+    }
+
+    // blocks until the calculations of the chunk are complete
+    private void awaitComplete() {
+      try {
+        complete.await();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while waiting for a chunk of scenarios to complete", ex);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Listener that is notified as the scenarios of a calculation are performed in chunks.
+ * <p>
+ * When a calculation is performed in chunks, each chunk contains a contiguous range of the scenarios.
+ * The chunks are calculated one after another in scenario order, with all the tasks calculated for each chunk.
+ * For each chunk, this listener supplies the {@link CalculationListener} that receives the results of the chunk.
+ * Each result contains the values of the scenarios of the chunk only.
+ * <p>
+ * The results of a chunk should be aggregated or written out by the chunk's listener,
+ * allowing them to be garbage collected before the next chunk starts.
+ * For example, a {@link ScenarioPnlAggregationListener} could be created for each chunk using
+ * the FX rates of the chunk's market data.
+ * <p>
+ * It is guaranteed that the methods of the listener, and of the listener for each chunk,
+ * will only be invoked by a single thread at any time.
+ */
+public interface ScenarioChunkListener {
+
+  /**
+   * Invoked when the calculations for a chunk of scenarios are about to start.
+   * <p>
+   * The market data contains the scenarios of the chunk, with the first scenario of
+   * the chunk at index zero.
+   *
+   * @param firstScenarioIndex  the index of the first scenario of the chunk in the complete set of scenarios
+   * @param marketData  the market data of the chunk
+   * @return the listener that is invoked when individual results of the chunk are calculated
+   */
+  public abstract CalculationListener chunkStarted(int firstScenarioIndex, ScenarioMarketData marketData);
+
+  /**
+   * Invoked when the calculations for all the chunks have completed.
+   * <p>
+   * This is guaranteed to be called after the listener of every chunk has been notified that
+   * its calculations have completed.
+   */
+  public abstract void calculationsComplete();
+
+}
@@ -0,0 +1,419 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectFieldsBeanBuilder;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+
+/**
+ * The scenario profit and loss aggregated along a hierarchy.
+ * <p>
+ * This is the result of {@link ScenarioPnlAggregationListener}.
+ * Each node of the hierarchy is identified by its path, the list of names from the top of the hierarchy
+ * to the node, such as the legal entity, the desk and the book.
+ * The node with an empty path is the total of all the results.
+ * <p>
+ * The profit and loss of each node is expressed in the reporting currency, with one value per scenario.
+ */
+@BeanDefinition(builderScope = "private")
+public final class ScenarioPnlAggregation
+    implements ImmutableBean {
+
+  /**
+   * The reporting currency of the aggregated values.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Currency reportingCurrency;
+  /**
+   * The aggregated values, keyed by the path of the node in the hierarchy.
+   * <p>
+   * The empty path is the total of all the results.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableMap<ImmutableList<String>, CurrencyScenarioArray> nodes;
+  /**
+   * The failures of the results that could not be aggregated.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<Failure> failures;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the aggregated values and failures.
+   *
+   * @param reportingCurrency  the reporting currency
+   * @param nodes  the aggregated values, keyed by the path of the node in the hierarchy
+   * @param failures  the failures of the results that could not be aggregated
+   * @return the aggregation
+   */
+  public static ScenarioPnlAggregation of(
+      Currency reportingCurrency,
+      ImmutableMap<ImmutableList<String>, CurrencyScenarioArray> nodes,
+      ImmutableList<Failure> failures) {
+
+    return new ScenarioPnlAggregation(reportingCurrency, nodes, failures);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Finds the aggregated values of a node in the hierarchy.
+   * <p>
+   * The path is the list of names from the top of the hierarchy to the node.
+   * An empty path returns the total of all the results.
+   *
+   * @param path  the path of the node
+   * @return the aggregated values of the node, empty if there is no result for the node
+   */
+  public Optional<CurrencyScenarioArray> findNode(String... path) {
+    return Optional.ofNullable(nodes.get(ImmutableList.copyOf(path)));
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code ScenarioPnlAggregation}.
+   * @return the meta-bean, not null
+   */
+  public static ScenarioPnlAggregation.Meta meta() {
+    return ScenarioPnlAggregation.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(ScenarioPnlAggregation.Meta.INSTANCE);
+  }
+
+  private ScenarioPnlAggregation(
+      Currency reportingCurrency,
+      Map<ImmutableList<String>, CurrencyScenarioArray> nodes,
+      List<Failure> failures) {
+    JodaBeanUtils.notNull(reportingCurrency, "reportingCurrency");
+    JodaBeanUtils.notNull(nodes, "nodes");
+    JodaBeanUtils.notNull(failures, "failures");
+    this.reportingCurrency = reportingCurrency;
+    this.nodes = ImmutableMap.copyOf(nodes);
+    this.failures = ImmutableList.copyOf(failures);
+  }
+
+  @Override
+  public ScenarioPnlAggregation.Meta metaBean() {
+    return ScenarioPnlAggregation.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the reporting currency of the aggregated values.
+   * @return the value of the property, not null
+   */
+  public Currency getReportingCurrency() {
+    return reportingCurrency;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the aggregated values, keyed by the path of the node in the hierarchy.
+   * <p>
+   * The empty path is the total of all the results.
+   * @return the value of the property, not null
+   */
+  public ImmutableMap<ImmutableList<String>, CurrencyScenarioArray> getNodes() {
+    return nodes;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the failures of the results that could not be aggregated.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<Failure> getFailures() {
+    return failures;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      ScenarioPnlAggregation other = (ScenarioPnlAggregation) obj;
+      return JodaBeanUtils.equal(reportingCurrency, other.reportingCurrency) &&
+          JodaBeanUtils.equal(nodes, other.nodes) &&
+          JodaBeanUtils.equal(failures, other.failures);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(reportingCurrency);
+    hash = hash * 31 + JodaBeanUtils.hashCode(nodes);
+    hash = hash * 31 + JodaBeanUtils.hashCode(failures);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(128);
+    buf.append("ScenarioPnlAggregation{");
+    buf.append("reportingCurrency").append('=').append(reportingCurrency).append(',').append(' ');
+    buf.append("nodes").append('=').append(nodes).append(',').append(' ');
+    buf.append("failures").append('=').append(JodaBeanUtils.toString(failures));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code ScenarioPnlAggregation}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code reportingCurrency} property.
+     */
+    private final MetaProperty<Currency> reportingCurrency = DirectMetaProperty.ofImmutable(
+        this, "reportingCurrency", ScenarioPnlAggregation.class, Currency.class);
+    /**
+     * The meta-property for the {@code nodes} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableMap<ImmutableList<String>, CurrencyScenarioArray>> nodes = DirectMetaProperty.ofImmutable(
+        this, "nodes", ScenarioPnlAggregation.class, (Class) ImmutableMap.class);
+    /**
+     * The meta-property for the {@code failures} property.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes" })
+    private final MetaProperty<ImmutableList<Failure>> failures = DirectMetaProperty.ofImmutable(
+        this, "failures", ScenarioPnlAggregation.class, (Class) ImmutableList.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "reportingCurrency",
+        "nodes",
+        "failures");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1287844769:  // reportingCurrency
+          return reportingCurrency;
+        case 104993457:  // nodes
+          return nodes;
+        case 675938345:  // failures
+          return failures;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends ScenarioPnlAggregation> builder() {
+      return new ScenarioPnlAggregation.Builder();
+    }
+
+    @Override
+    public Class<? extends ScenarioPnlAggregation> beanType() {
+      return ScenarioPnlAggregation.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code reportingCurrency} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Currency> reportingCurrency() {
+      return reportingCurrency;
+    }
+
+    /**
+     * The meta-property for the {@code nodes} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableMap<ImmutableList<String>, CurrencyScenarioArray>> nodes() {
+      return nodes;
+    }
+
+    /**
+     * The meta-property for the {@code failures} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ImmutableList<Failure>> failures() {
+      return failures;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case -1287844769:  // reportingCurrency
+          return ((ScenarioPnlAggregation) bean).getReportingCurrency();
+        case 104993457:  // nodes
+          return ((ScenarioPnlAggregation) bean).getNodes();
+        case 675938345:  // failures
+          return ((ScenarioPnlAggregation) bean).getFailures();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code ScenarioPnlAggregation}.
+   */
+  private static final class Builder extends DirectFieldsBeanBuilder<ScenarioPnlAggregation> {
+
+    private Currency reportingCurrency;
+    private Map<ImmutableList<String>, CurrencyScenarioArray> nodes = ImmutableMap.of();
+    private List<Failure> failures = ImmutableList.of();
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1287844769:  // reportingCurrency
+          return reportingCurrency;
+        case 104993457:  // nodes
+          return nodes;
+        case 675938345:  // failures
+          return failures;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case -1287844769:  // reportingCurrency
+          this.reportingCurrency = (Currency) newValue;
+          break;
+        case 104993457:  // nodes
+          this.nodes = (Map<ImmutableList<String>, CurrencyScenarioArray>) newValue;
+          break;
+        case 675938345:  // failures
+          this.failures = (List<Failure>) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public Builder set(MetaProperty<?> property, Object value) {
+      super.set(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(String propertyName, String value) {
+      setString(meta().metaProperty(propertyName), value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(MetaProperty<?> property, String value) {
+      super.setString(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setAll(Map<String, ? extends Object> propertyValueMap) {
+      super.setAll(propertyValueMap);
+      return this;
+    }
+
+    @Override
+    public ScenarioPnlAggregation build() {
+      return new ScenarioPnlAggregation(
+          reportingCurrency,
+          nodes,
+          failures);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(128);
+      buf.append("ScenarioPnlAggregation.Builder{");
+      buf.append("reportingCurrency").append('=').append(JodaBeanUtils.toString(reportingCurrency)).append(',').append(' ');
+      buf.append("nodes").append('=').append(JodaBeanUtils.toString(nodes)).append(',').append(' ');
+      buf.append("failures").append('=').append(JodaBeanUtils.toString(failures));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
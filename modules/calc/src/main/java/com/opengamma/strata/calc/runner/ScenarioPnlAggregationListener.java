@@ -0,0 +1,200 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Function;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.result.FailureException;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
+
+/**
+ * Calculation listener that aggregates scenario profit and loss along a hierarchy as the results are received.
+ * <p>
+ * The results of one column are aggregated, typically the present value of each target in each scenario.
+ * The values must be {@link CurrencyScenarioArray} or {@link MultiCurrencyScenarioArray}.
+ * <p>
+ * The hierarchy is defined by a function returning the path of a target, the list of names from the top
+ * of the hierarchy to the node containing the target, such as the legal entity, the desk and the book.
+ * The values of a target are added to every node along its path, and to the total, which has an empty path.
+ * <p>
+ * The values are converted to the reporting currency as they are received, using FX rates that are
+ * looked up once per currency for all scenarios. Only the aggregated values of each node are retained,
+ * the values of the individual targets are discarded once added.
+ * <p>
+ * Results that are failures, or that cannot be aggregated, are recorded as failures in the aggregate result.
+ */
+public final class ScenarioPnlAggregationListener
+    extends AggregatingCalculationListener<ScenarioPnlAggregation> {
+
+  /** The index of the column whose results are aggregated. */
+  private final int columnIndex;
+  /** The reporting currency. */
+  private final Currency reportingCurrency;
+  /** The FX rates of each scenario. */
+  private final ScenarioFxRateProvider fxRateProvider;
+  /** The function returning the path of a target in the hierarchy. */
+  private final Function<? super CalculationTarget, ? extends List<String>> hierarchyFunction;
+  /** The aggregated values, keyed by the path of the node. */
+  private final Map<ImmutableList<String>, double[]> nodes = new LinkedHashMap<>();
+  /** The FX rates of each scenario, from the currency to the reporting currency. */
+  private final Map<Currency, double[]> fxRates = new HashMap<>();
+  /** The failures. */
+  private final List<Failure> failures = new ArrayList<>();
+  /** The number of scenarios, -1 until the first value is received. */
+  private int scenarioCount = -1;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance aggregating the results of a column.
+   *
+   * @param columnIndex  the index of the column whose results are aggregated
+   * @param reportingCurrency  the currency of the aggregated values
+   * @param fxRateProvider  the FX rates of each scenario
+   * @param hierarchyFunction  the function returning the path of a target in the hierarchy
+   * @return the listener
+   */
+  public static ScenarioPnlAggregationListener of(
+      int columnIndex,
+      Currency reportingCurrency,
+      ScenarioFxRateProvider fxRateProvider,
+      Function<? super CalculationTarget, ? extends List<String>> hierarchyFunction) {
+
+    return new ScenarioPnlAggregationListener(columnIndex, reportingCurrency, fxRateProvider, hierarchyFunction);
+  }
+
+  // restricted constructor
+  private ScenarioPnlAggregationListener(
+      int columnIndex,
+      Currency reportingCurrency,
+      ScenarioFxRateProvider fxRateProvider,
+      Function<? super CalculationTarget, ? extends List<String>> hierarchyFunction) {
+
+    this.columnIndex = ArgChecker.notNegative(columnIndex, "columnIndex");
+    this.reportingCurrency = ArgChecker.notNull(reportingCurrency, "reportingCurrency");
+    this.fxRateProvider = ArgChecker.notNull(fxRateProvider, "fxRateProvider");
+    this.hierarchyFunction = ArgChecker.notNull(hierarchyFunction, "hierarchyFunction");
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void resultReceived(CalculationTarget target, CalculationResult calculationResult) {
+    if (calculationResult.getColumnIndex() != columnIndex) {
+      return;
+    }
+    Result<?> result = calculationResult.getResult();
+    if (result.isFailure()) {
+      failures.add(result.getFailure());
+      return;
+    }
+    try {
+      double[] values = convertedValues(result.getValue());
+      List<String> path = hierarchyFunction.apply(target);
+      for (int i = 0; i <= path.size(); i++) {
+        double[] node = nodes.computeIfAbsent(ImmutableList.copyOf(path.subList(0, i)), p -> new double[scenarioCount]);
+        for (int j = 0; j < scenarioCount; j++) {
+          node[j] += values[j];
+        }
+      }
+    } catch (FailureException ex) {
+      failures.add(ex.getFailure());
+    } catch (RuntimeException ex) {
+      failures.add(Failure.of(FailureReason.ERROR, ex));
+    }
+  }
+
+  // converts the value to the reporting currency
+  private double[] convertedValues(Object value) {
+    if (value instanceof CurrencyScenarioArray) {
+      CurrencyScenarioArray array = (CurrencyScenarioArray) value;
+      double[] converted = new double[checkScenarioCount(array.getScenarioCount())];
+      addConverted(converted, array.getCurrency(), array.getAmounts().getValues());
+      return converted;
+    }
+    if (value instanceof MultiCurrencyScenarioArray) {
+      MultiCurrencyScenarioArray array = (MultiCurrencyScenarioArray) value;
+      double[] converted = new double[checkScenarioCount(array.getScenarioCount())];
+      for (Currency currency : array.getCurrencies()) {
+        addConverted(converted, currency, array.getValues(currency));
+      }
+      return converted;
+    }
+    throw new FailureException(Failure.of(
+        FailureReason.UNSUPPORTED,
+        "Unable to aggregate value of type {}, expected a currency scenario array",
+        value.getClass().getSimpleName()));
+  }
+
+  // checks the number of scenarios is the same for all values
+  private int checkScenarioCount(int count) {
+    if (scenarioCount == -1) {
+      scenarioCount = count;
+    } else if (count != scenarioCount) {
+      throw new FailureException(Failure.of(
+          FailureReason.INVALID, "Expected {} scenarios but found {}", scenarioCount, count));
+    }
+    return count;
+  }
+
+  // adds the values converted to the reporting currency
+  private void addConverted(double[] converted, Currency currency, DoubleArray values) {
+    if (currency.equals(reportingCurrency)) {
+      for (int i = 0; i < converted.length; i++) {
+        converted[i] += values.get(i);
+      }
+    } else {
+      double[] rates = fxRates.computeIfAbsent(currency, this::fxRates);
+      for (int i = 0; i < converted.length; i++) {
+        converted[i] += values.get(i) * rates[i];
+      }
+    }
+  }
+
+  // looks up the FX rates of all scenarios
+  private double[] fxRates(Currency currency) {
+    try {
+      double[] rates = new double[scenarioCount];
+      for (int i = 0; i < scenarioCount; i++) {
+        rates[i] = fxRateProvider.fxRate(currency, reportingCurrency, i);
+      }
+      return rates;
+    } catch (RuntimeException ex) {
+      throw new FailureException(Failure.of(
+          FailureReason.CURRENCY_CONVERSION,
+          ex,
+          "Unable to convert from {} to {}: {}",
+          currency,
+          reportingCurrency,
+          ex.getMessage()));
+    }
+  }
+
+  @Override
+  protected ScenarioPnlAggregation createAggregateResult() {
+    ImmutableMap.Builder<ImmutableList<String>, CurrencyScenarioArray> builder = ImmutableMap.builder();
+    for (Entry<ImmutableList<String>, double[]> entry : nodes.entrySet()) {
+      builder.put(entry.getKey(), CurrencyScenarioArray.of(reportingCurrency, DoubleArray.ofUnsafe(entry.getValue())));
+    }
+    return ScenarioPnlAggregation.of(reportingCurrency, builder.build(), ImmutableList.copyOf(failures));
+  }
+
+}
@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.io.BinarySerializer;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioBinaryCodecs;
+
+/**
+ * Test {@link ResultsBinaryCodecs}.
+ */
+@Test
+public class ResultsBinaryCodecsTest {
+
+  private static final BinarySerializer SERIALIZER = BinarySerializer.of(ResultsBinaryCodecs.codecs())
+      .combinedWith(ScenarioBinaryCodecs.codecs());
+  private static final ColumnHeader HEADER1 = ColumnHeader.of(ColumnName.of("A"), TestingMeasures.PRESENT_VALUE);
+  private static final ColumnHeader HEADER2 = ColumnHeader.of(ColumnName.of("B"), TestingMeasures.PAR_RATE);
+
+  public void test_roundTrip() {
+    Results results = Results.of(
+        ImmutableList.of(HEADER1, HEADER2),
+        ImmutableList.of(
+            Result.success(CurrencyScenarioArray.of(Currency.GBP, DoubleArray.of(1, 2))),
+            Result.success(0.025d),
+            Result.failure(FailureReason.CALCULATION_FAILED, "Failed"),
+            Result.success(0.026d)));
+    assertEquals(SERIALIZER.read(SERIALIZER.write(results), Results.class), results);
+  }
+
+  public void test_roundTrip_empty() {
+    Results results = Results.of(ImmutableList.of(), ImmutableList.of());
+    assertEquals(SERIALIZER.read(SERIALIZER.write(results), Results.class), results);
+  }
+
+}
@@ -0,0 +1,307 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.joda.convert.FromString;
+import org.joda.convert.ToString;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.data.scenario.ScenarioPerturbation;
+
+/**
+ * Test {@link MarketDataCache} and its use by {@link MarketDataFactory}.
+ */
+@Test
+public class MarketDataCacheTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = date(2011, 3, 8);
+  private static final NamedId QUOTE = NamedId.of("quote");
+  private static final NamedId CURVE = NamedId.of("curve");
+  private static final NamedId SPREAD_CURVE = NamedId.of("spreadCurve");
+  private static final MarketDataRequirements REQUIREMENTS = MarketDataRequirements.builder()
+      .addValues(CURVE, SPREAD_CURVE)
+      .build();
+
+  private Path directory;
+
+  @BeforeMethod
+  public void createDirectory() throws IOException {
+    directory = Files.createTempDirectory("marketdatacache");
+  }
+
+  @AfterMethod
+  public void deleteDirectory() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(directory);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_none() {
+    MarketDataCache test = MarketDataCache.none();
+    test.put("key", MarketDataBox.ofSingleValue(1d));
+    assertThat(test.find("key")).isEmpty();
+  }
+
+  public void test_ofDirectory() throws IOException {
+    MarketDataCache test = MarketDataCache.ofDirectory(directory);
+    assertThat(test.find("key")).isEmpty();
+    test.put("key", MarketDataBox.ofSingleValue(1d));
+    assertThat(test.find("key")).hasValue(MarketDataBox.ofSingleValue(1d));
+    assertThat(MarketDataCache.ofDirectory(directory).find("key")).hasValue(MarketDataBox.ofSingleValue(1d));
+    // a file that cannot be read is ignored
+    Files.write(directory.resolve("bad.bin"), new byte[] {1, 2, 3});
+    assertThat(test.find("bad")).isEmpty();
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_factory_reusesBuiltData() throws IOException {
+    MarketData suppliedData = MarketData.of(VAL_DATE, ImmutableMap.of(QUOTE, 1.5d));
+
+    // the first run builds the curves and stores them
+    CurveFunction function1 = new CurveFunction();
+    BuiltMarketData built1 = factory(directory, function1)
+        .create(REQUIREMENTS, MarketDataConfig.empty(), suppliedData, REF_DATA);
+    assertThat(built1.getValue(CURVE)).isEqualTo(3d);
+    assertThat(built1.getValue(SPREAD_CURVE)).isEqualTo(4d);
+    assertThat(function1.builds.get()).isEqualTo(2);
+    try (Stream<Path> files = Files.list(directory)) {
+      assertThat(files.count()).isEqualTo(2);
+    }
+
+    // a later run with the same inputs builds nothing
+    CurveFunction function2 = new CurveFunction();
+    BuiltMarketData built2 = factory(directory, function2)
+        .create(REQUIREMENTS, MarketDataConfig.empty(), suppliedData, REF_DATA);
+    assertThat(built2.getValue(CURVE)).isEqualTo(3d);
+    assertThat(built2.getValue(SPREAD_CURVE)).isEqualTo(4d);
+    assertThat(function2.builds.get()).isEqualTo(0);
+
+    // a change to the quote changes the key of both curves, including the one built from the other curve
+    CurveFunction function3 = new CurveFunction();
+    MarketData changedData = MarketData.of(VAL_DATE, ImmutableMap.of(QUOTE, 2d));
+    BuiltMarketData built3 = factory(directory, function3)
+        .create(REQUIREMENTS, MarketDataConfig.empty(), changedData, REF_DATA);
+    assertThat(built3.getValue(CURVE)).isEqualTo(4d);
+    assertThat(built3.getValue(SPREAD_CURVE)).isEqualTo(5d);
+    assertThat(function3.builds.get()).isEqualTo(2);
+
+    // a change to the valuation date changes the keys
+    CurveFunction function4 = new CurveFunction();
+    MarketData laterData = MarketData.of(VAL_DATE.plusDays(1), ImmutableMap.of(QUOTE, 1.5d));
+    factory(directory, function4).create(REQUIREMENTS, MarketDataConfig.empty(), laterData, REF_DATA);
+    assertThat(function4.builds.get()).isEqualTo(2);
+  }
+
+  public void test_factory_functionConfiguration() {
+    MarketData suppliedData = MarketData.of(VAL_DATE, ImmutableMap.of(QUOTE, 1.5d));
+    CurveFunction function1 = new CurveFunction("a");
+    factory(directory, function1).create(REQUIREMENTS, MarketDataConfig.empty(), suppliedData, REF_DATA);
+    assertThat(function1.builds.get()).isEqualTo(2);
+
+    // a function with different configuration does not use the data built by the first function
+    CurveFunction function2 = new CurveFunction("b");
+    factory(directory, function2).create(REQUIREMENTS, MarketDataConfig.empty(), suppliedData, REF_DATA);
+    assertThat(function2.builds.get()).isEqualTo(2);
+
+    // a function with the same configuration does
+    CurveFunction function3 = new CurveFunction("a");
+    factory(directory, function3).create(REQUIREMENTS, MarketDataConfig.empty(), suppliedData, REF_DATA);
+    assertThat(function3.builds.get()).isEqualTo(0);
+  }
+
+  public void test_factory_functionNotCacheable() throws IOException {
+    MarketData suppliedData = MarketData.of(VAL_DATE, ImmutableMap.of(QUOTE, 1.5d));
+    CurveFunction function = new CurveFunction(null);
+    factory(directory, function).create(REQUIREMENTS, MarketDataConfig.empty(), suppliedData, REF_DATA);
+    factory(directory, function).create(REQUIREMENTS, MarketDataConfig.empty(), suppliedData, REF_DATA);
+    assertThat(function.builds.get()).isEqualTo(4);
+    try (Stream<Path> files = Files.list(directory)) {
+      assertThat(files.count()).isEqualTo(0);
+    }
+  }
+
+  public void test_factory_scenarios() {
+    MarketData suppliedData = MarketData.of(VAL_DATE, ImmutableMap.of(QUOTE, 1.5d));
+    ScenarioDefinition scenarios1 = ScenarioDefinition.ofMappings(
+        PerturbationMapping.of(Double.class, MarketDataFilter.ofId(CURVE), new CurveShift(10, 20)));
+    ScenarioDefinition scenarios2 = ScenarioDefinition.ofMappings(
+        PerturbationMapping.of(Double.class, MarketDataFilter.ofId(CURVE), new CurveShift(30, 40)));
+
+    // the spread curve is built from the perturbed curve
+    CurveFunction function1 = new CurveFunction();
+    BuiltScenarioMarketData built1 = factory(directory, function1)
+        .createMultiScenario(REQUIREMENTS, MarketDataConfig.empty(), suppliedData, REF_DATA, scenarios1);
+    assertThat(built1.getValue(SPREAD_CURVE)).isEqualTo(MarketDataBox.ofScenarioValues(14d, 24d));
+    assertThat(function1.builds.get()).isEqualTo(2);
+
+    // the unperturbed curve is found in the cache, but the spread curve depends on the perturbation
+    CurveFunction function2 = new CurveFunction();
+    BuiltScenarioMarketData built2 = factory(directory, function2)
+        .createMultiScenario(REQUIREMENTS, MarketDataConfig.empty(), suppliedData, REF_DATA, scenarios2);
+    assertThat(built2.getValue(CURVE)).isEqualTo(MarketDataBox.ofScenarioValues(33d, 43d));
+    assertThat(built2.getValue(SPREAD_CURVE)).isEqualTo(MarketDataBox.ofScenarioValues(34d, 44d));
+    assertThat(function2.builds.get()).isEqualTo(1);
+
+    // the same perturbation finds both curves in the cache
+    CurveFunction function3 = new CurveFunction();
+    BuiltScenarioMarketData built3 = factory(directory, function3)
+        .createMultiScenario(REQUIREMENTS, MarketDataConfig.empty(), suppliedData, REF_DATA, scenarios1);
+    assertThat(built3.getValue(SPREAD_CURVE)).isEqualTo(MarketDataBox.ofScenarioValues(14d, 24d));
+    assertThat(function3.builds.get()).isEqualTo(0);
+  }
+
+  public void test_factory_noCache() {
+    MarketData suppliedData = MarketData.of(VAL_DATE, ImmutableMap.of(QUOTE, 1.5d));
+    CurveFunction function = new CurveFunction();
+    MarketDataFactory factory = MarketDataFactory.of(
+        ObservableDataProvider.none(), TimeSeriesProvider.none(), MarketDataCache.none(), ImmutableList.of(function));
+    factory.create(REQUIREMENTS, MarketDataConfig.empty(), suppliedData, REF_DATA);
+    factory.create(REQUIREMENTS, MarketDataConfig.empty(), suppliedData, REF_DATA);
+    assertThat(function.builds.get()).isEqualTo(4);
+  }
+
+  private static MarketDataFactory factory(Path directory, CurveFunction function) {
+    return MarketDataFactory.of(
+        ObservableDataProvider.none(),
+        TimeSeriesProvider.none(),
+        MarketDataCache.ofDirectory(directory),
+        ImmutableList.of(function));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * An identifier that can be converted to a string, so it can be part of a cache key.
+   */
+  public static final class NamedId implements MarketDataId<Double> {
+
+    private final String name;
+
+    @FromString
+    public static NamedId of(String name) {
+      return new NamedId(name);
+    }
+
+    private NamedId(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Class<Double> getMarketDataType() {
+      return Double.class;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof NamedId && ((NamedId) obj).name.equals(name);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(name);
+    }
+
+    @ToString
+    @Override
+    public String toString() {
+      return name;
+    }
+  }
+
+  /**
+   * Builds the curve as twice the quote, and the spread curve as the curve plus one.
+   */
+  private static final class CurveFunction implements MarketDataFunction<Double, NamedId> {
+
+    private final AtomicInteger builds = new AtomicInteger();
+    private final String configuration;
+
+    private CurveFunction() {
+      this("");
+    }
+
+    private CurveFunction(String configuration) {
+      this.configuration = configuration;
+    }
+
+    @Override
+    public MarketDataRequirements requirements(NamedId id, MarketDataConfig marketDataConfig) {
+      return MarketDataRequirements.builder().addValues(id.equals(CURVE) ? QUOTE : CURVE).build();
+    }
+
+    @Override
+    public MarketDataBox<Double> build(
+        NamedId id,
+        MarketDataConfig marketDataConfig,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      builds.incrementAndGet();
+      if (id.equals(CURVE)) {
+        return marketData.getValue(QUOTE).map(v -> v * 2);
+      }
+      return marketData.getValue(CURVE).map(v -> v + 1);
+    }
+
+    @Override
+    public Class<NamedId> getMarketDataIdType() {
+      return NamedId.class;
+    }
+
+    @Override
+    public Optional<String> getCacheConfiguration() {
+      return Optional.ofNullable(configuration);
+    }
+  }
+
+  /**
+   * Perturbation that applies a shift to the curve in each scenario.
+   */
+  private static final class CurveShift implements ScenarioPerturbation<Double> {
+
+    private final double[] shifts;
+
+    private CurveShift(double... shifts) {
+      this.shifts = shifts;
+    }
+
+    @Override
+    public MarketDataBox<Double> applyTo(MarketDataBox<Double> marketData, ReferenceData refData) {
+      return marketData.mapWithIndex(shifts.length, (value, scenarioIndex) -> value + shifts[scenarioIndex]);
+    }
+
+    @Override
+    public int getScenarioCount() {
+      return shifts.length;
+    }
+  }
+
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.calc.marketdata.MarketDataNode.DataType;
+
+/**
+ * Test {@link MarketDataDependencies}.
+ */
+@Test
+public class MarketDataDependenciesTest {
+
+  private static final TestObservableId QUOTE1 = TestObservableId.of("1");
+  private static final TestObservableId QUOTE2 = TestObservableId.of("2");
+  private static final TestId GROUP = TestId.of("group");
+  private static final TestId CURVE1 = TestId.of("curve1");
+  private static final TestId CURVE2 = TestId.of("curve2");
+  private static final TestId SURFACE = TestId.of("surface");
+
+  public void test_findAffected() {
+    // two curves in a group built from quote 1, with quote 2 used directly and by a surface
+    MarketDataNode group = MarketDataNode.child(
+        GROUP, DataType.SINGLE_VALUE, ImmutableList.of(MarketDataNode.leaf(QUOTE1, DataType.SINGLE_VALUE)));
+    MarketDataNode root = MarketDataNode.root(
+        ImmutableList.of(
+            MarketDataNode.child(CURVE1, DataType.SINGLE_VALUE, ImmutableList.of(group)),
+            MarketDataNode.child(CURVE2, DataType.SINGLE_VALUE, ImmutableList.of(group)),
+            MarketDataNode.leaf(QUOTE2, DataType.SINGLE_VALUE),
+            MarketDataNode.child(
+                SURFACE,
+                DataType.SINGLE_VALUE,
+                ImmutableList.of(MarketDataNode.leaf(QUOTE2, DataType.SINGLE_VALUE)))));
+    MarketDataDependencies test = MarketDataDependencies.of(root);
+    assertThat(test.findAffected(ImmutableSet.of(QUOTE1))).containsOnly(QUOTE1, GROUP, CURVE1, CURVE2);
+    assertThat(test.findAffected(ImmutableSet.of(QUOTE2))).containsOnly(QUOTE2, SURFACE);
+    assertThat(test.findAffected(ImmutableSet.of(CURVE1))).containsOnly(CURVE1);
+    assertThat(test.findAffected(ImmutableSet.of(TestObservableId.of("3")))).containsOnly(TestObservableId.of("3"));
+    assertThat(test.findAffected(ImmutableSet.of())).isEmpty();
+    assertThat(test.isKnown()).isTrue();
+  }
+
+  public void test_unknown() {
+    MarketDataDependencies test = MarketDataDependencies.unknown();
+    assertThat(test.isKnown()).isFalse();
+    assertThrows(() -> test.findAffected(ImmutableSet.of(QUOTE1)), IllegalStateException.class);
+  }
+
+}
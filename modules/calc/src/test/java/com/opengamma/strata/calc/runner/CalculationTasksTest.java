@@ -10,8 +10,12 @@ import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.testng.Assert.assertNotNull;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.testng.annotations.Test;
 
@@ -19,16 +23,20 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.calc.CalculationRules;
 import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.TestingMeasures;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.calc.marketdata.TestId;
 import com.opengamma.strata.calc.marketdata.TestObservableId;
 import com.opengamma.strata.calc.runner.CalculationTaskTest.TestFunction;
 import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
  * Test {@link CalculationTasks}.
@@ -102,6 +110,41 @@ public class CalculationTasksTest {
     assertThat(timeSeries.iterator().next()).isEqualTo(timeSeriesId);
   }
 
+  public void test_requirements_manyTargets() {
+    CalculationFunctions functions = CalculationFunctions.of(ImmutableMap.of(TestTarget.class, new TestFunction()));
+    CalculationRules calculationRules = CalculationRules.of(functions, USD);
+    List<TestTarget> targets = Collections.nCopies(2500, TARGET1);
+    List<Column> columns = ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE));
+
+    CalculationTasks test = CalculationTasks.of(calculationRules, targets, columns);
+    assertThat(test.getTasks()).hasSize(2500);
+    for (int i = 0; i < 2500; i++) {
+      assertThat(test.getTasks().get(i).getRowIndex()).isEqualTo(i);
+    }
+
+    CalculationTasks single = CalculationTasks.of(calculationRules, ImmutableList.of(TARGET1), columns);
+    assertThat(test.requirements(REF_DATA)).isEqualTo(single.requirements(REF_DATA));
+  }
+
+  public void test_requirements_computedOncePerDistinctTask() {
+    for (int count : new int[] {10, 2500}) {
+      CountingFunction function = new CountingFunction();
+      CalculationFunctions functions = CalculationFunctions.of(ImmutableMap.of(TestTarget.class, function));
+      CalculationRules calculationRules = CalculationRules.of(functions, USD);
+      List<TestTarget> targets = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        targets.add(i % 2 == 0 ? TARGET1 : TARGET2);
+      }
+      List<Column> columns = ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE));
+
+      CalculationTasks test = CalculationTasks.of(calculationRules, targets, columns);
+      MarketDataRequirements requirements = test.requirements(REF_DATA);
+      assertThat(function.requirementsCount.get()).isEqualTo(2);
+      CalculationTasks single = CalculationTasks.of(calculationRules, ImmutableList.of(TARGET1), columns);
+      assertThat(requirements).isEqualTo(single.requirements(REF_DATA));
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void testToString() {
     List<TestTarget> targets = ImmutableList.of(TARGET1, TARGET1);
@@ -114,4 +157,49 @@ public class CalculationTasksTest {
     assertThat(task.toString()).isEqualTo("CalculationTasks[grid=2x3]");
   }
 
+  //-------------------------------------------------------------------------
+  // function that counts the calls to requirements
+  private static final class CountingFunction implements CalculationFunction<TestTarget> {
+
+    private final TestFunction delegate = new TestFunction();
+    private final AtomicInteger requirementsCount = new AtomicInteger();
+
+    @Override
+    public Class<TestTarget> targetType() {
+      return delegate.targetType();
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return delegate.supportedMeasures();
+    }
+
+    @Override
+    public Currency naturalCurrency(TestTarget target, ReferenceData refData) {
+      return delegate.naturalCurrency(target, refData);
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      requirementsCount.incrementAndGet();
+      return delegate.requirements(target, measures, parameters, refData);
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        TestTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      return delegate.calculate(target, measures, parameters, marketData, refData);
+    }
+  }
+
 }
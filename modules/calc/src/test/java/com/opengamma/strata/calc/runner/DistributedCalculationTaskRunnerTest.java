@@ -0,0 +1,430 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static com.opengamma.strata.collect.Guavate.toImmutableSet;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.TestingFxCalculations.FxFunction;
+import com.opengamma.strata.calc.runner.TestingFxCalculations.FxTarget;
+import com.opengamma.strata.collect.io.BinarySerializer;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.ScenarioBinaryCodecs;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link DistributedCalculationTaskRunner}, using workers in child processes.
+ */
+@Test
+public class DistributedCalculationTaskRunnerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.empty();
+  private static final LocalDate VAL_DATE = date(2016, 6, 30);
+  private static final Measure MEASURE = TestingFxCalculations.MEASURE;
+  private static final List<CurrencyPair> PAIRS = ImmutableList.of(
+      CurrencyPair.parse("GBP/USD"), CurrencyPair.parse("EUR/USD"), CurrencyPair.parse("USD/JPY"));
+  private static final int TARGET_COUNT = 30;
+  private static final BinarySerializer SERIALIZER = new TestSetup().serializer();
+
+  //-------------------------------------------------------------------------
+  public void test_processWorkers() {
+    CalculationTasks tasks = tasks();
+    ScenarioMarketData marketData = marketData();
+    Results expected = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService())
+        .calculateMultiScenario(tasks, marketData, REF_DATA);
+
+    CalculationWorkerTransport transport = ProcessCalculationWorkerTransport.of(TestSetup.class);
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofDistributed(transport, 2, SERIALIZER)) {
+      assertEquals(test.calculateMultiScenario(tasks, marketData, REF_DATA), expected);
+    }
+  }
+
+  public void test_workerFailure() {
+    CalculationTasks tasks = tasks();
+    ScenarioMarketData marketData = marketData();
+    Results expected = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService())
+        .calculateMultiScenario(tasks, marketData, REF_DATA);
+
+    // the first worker fails after completing two tasks, the other tasks of its partition are sent again
+    FailingTransport transport = new FailingTransport(ProcessCalculationWorkerTransport.of(TestSetup.class));
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofDistributed(transport, 2, SERIALIZER)) {
+      assertEquals(test.calculateMultiScenario(tasks, marketData, REF_DATA), expected);
+    }
+    // the tasks are split into eight partitions, and the partition that failed is sent again
+    // the failed worker is replaced unless the other worker takes the partition first
+    assertTrue(transport.connections.get() >= 2);
+    assertEquals(transport.partitionsSent.get(), 9);
+  }
+
+  public void test_workerTimeout() {
+    // the worker hangs calculating the task of the first row, so it is destroyed and the task sent again until it fails
+    // the task is last in the list, and thus in its partition, so the other tasks complete before it hangs
+    // the timeout also covers the start of each worker process
+    List<CalculationTask> taskList = new ArrayList<>(tasks().getTasks());
+    taskList.add(taskList.remove(0));
+    CalculationTasks tasks = CalculationTasks.of(taskList, ImmutableList.of(Column.of(MEASURE)));
+    CalculationWorkerTransport transport = ProcessCalculationWorkerTransport.of(
+        HangingSetup.class, ImmutableList.of(), Duration.ofSeconds(5));
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofDistributed(transport, 1, SERIALIZER)) {
+      Results results = test.calculateMultiScenario(tasks, marketData(), REF_DATA);
+      Result<?> hung = results.get(0, 0);
+      assertTrue(hung.isFailure());
+      assertTrue(hung.getFailure().getMessage().contains("sending no message"));
+      for (int i = 1; i < TARGET_COUNT; i++) {
+        assertTrue(results.get(i, 0).isSuccess());
+      }
+    }
+  }
+
+  public void test_unserializableResult() {
+    // the result of the first task cannot be serialized, so a failure is sent in its place
+    CalculationTasks tasks = tasks();
+    CalculationWorkerSetup setup = new UnserializableSetup();
+    BinarySerializer serializer = CalculationWorker.serializer(SERIALIZER, setup.functions());
+    CalculationPartition partition = CalculationPartition.of(
+        ImmutableList.of(0, 1), tasks.getTasks().subList(0, 2), marketData());
+    List<byte[]> messages = new ArrayList<>();
+    CalculationWorker.of(setup, MoreExecutors.newDirectExecutorService())
+        .calculate(serializer.write(partition), messages::add);
+    assertEquals(messages.size(), 3);
+    assertEquals(messages.get(2).length, 0);
+
+    Set<Integer> completed = new HashSet<>();
+    for (byte[] message : messages.subList(0, 2)) {
+      CalculationResults results = CalculationWorker.readResults(serializer, message, tasks.getTasks(), completed);
+      Result<?> result = results.getCells().get(0).getResult();
+      if (results.getTarget().equals(tasks.getTasks().get(0).getTarget())) {
+        assertTrue(result.isFailure());
+        assertEquals(result.getFailure().getReason(), FailureReason.ERROR);
+      } else {
+        assertTrue(result.isSuccess());
+      }
+    }
+    assertEquals(completed, ImmutableSet.of(0, 1));
+  }
+
+  public void test_noWorkers() {
+    CalculationWorkerTransport transport = () -> {
+      throw new IllegalStateException("No workers");
+    };
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofDistributed(transport, 2, SERIALIZER)) {
+      Results results = test.calculateMultiScenario(tasks(), marketData(), REF_DATA);
+      assertEquals(results.getRowCount(), TARGET_COUNT);
+      for (Result<?> result : results.getCells()) {
+        assertTrue(result.isFailure());
+        assertEquals(result.getFailure().getReason(), FailureReason.ERROR);
+      }
+    }
+  }
+
+  public void test_partition_overlap() {
+    // each task requires one rate used by an earlier task, and is packed with that task
+    List<List<CurrencyPair>> pairs = ImmutableList.of(
+        ImmutableList.of(CurrencyPair.parse("GBP/USD")),
+        ImmutableList.of(CurrencyPair.parse("EUR/USD")),
+        ImmutableList.of(CurrencyPair.parse("USD/JPY")),
+        ImmutableList.of(CurrencyPair.parse("USD/CHF")),
+        ImmutableList.of(CurrencyPair.parse("GBP/USD"), CurrencyPair.parse("GBP/CAD")),
+        ImmutableList.of(CurrencyPair.parse("EUR/USD"), CurrencyPair.parse("EUR/GBP")),
+        ImmutableList.of(CurrencyPair.parse("USD/JPY"), CurrencyPair.parse("EUR/JPY")),
+        ImmutableList.of(CurrencyPair.parse("USD/CHF"), CurrencyPair.parse("EUR/CHF")));
+    List<CalculationTask> tasks = new ArrayList<>();
+    for (int i = 0; i < pairs.size(); i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, MEASURE, NATURAL);
+      tasks.add(CalculationTask.of(new PairsTarget(pairs.get(i)), new PairsFunction(), cell));
+    }
+    CalculationWorkerTransport transport = () -> {
+      throw new IllegalStateException("No workers");
+    };
+    try (DistributedCalculationTaskRunner test = DistributedCalculationTaskRunner.of(transport, 1, SERIALIZER)) {
+      List<CalculationPartition> partitions = test.partition(tasks, marketData(), REF_DATA);
+      assertEquals(partitions.size(), 4);
+      for (int i = 0; i < 4; i++) {
+        assertEquals(partitions.get(i).getTaskIndices(), ImmutableList.of(i, i + 4));
+      }
+    }
+  }
+
+  public void test_partitionCodec() {
+    CalculationTasks tasks = tasks();
+    BinarySerializer serializer = CalculationWorker.serializer(SERIALIZER, new TestSetup().functions());
+    CalculationPartition partition = CalculationPartition.of(
+        ImmutableList.of(0, 1), tasks.getTasks().subList(0, 2), marketData());
+    CalculationPartition test = serializer.read(serializer.write(partition), CalculationPartition.class);
+    assertEquals(test.getTaskIndices(), partition.getTaskIndices());
+    for (int i = 0; i < 2; i++) {
+      assertEquals(test.getTasks().get(i).getTarget(), partition.getTasks().get(i).getTarget());
+      assertEquals(test.getTasks().get(i).getCells(), partition.getTasks().get(i).getCells());
+      assertEquals(test.getTasks().get(i).getFunction().getClass(), FxFunction.class);
+    }
+    assertEquals(test.getMarketData(), partition.getMarketData());
+  }
+
+  //-------------------------------------------------------------------------
+  private static CalculationTasks tasks() {
+    List<FxTarget> targets = new ArrayList<>();
+    for (int i = 0; i < TARGET_COUNT; i++) {
+      targets.add(FxTarget.of(PAIRS.get(i % PAIRS.size()), 100 * (i + 1)));
+    }
+    List<CalculationTask> tasks = new ArrayList<>();
+    for (int i = 0; i < TARGET_COUNT; i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, MEASURE, NATURAL);
+      tasks.add(CalculationTask.of(targets.get(i), new FxFunction(), cell));
+    }
+    return CalculationTasks.of(tasks, ImmutableList.of(Column.of(MEASURE)));
+  }
+
+  private static ScenarioMarketData marketData() {
+    // the market data contains a value that no task requires
+    CurrencyPair gbpUsd = PAIRS.get(0);
+    CurrencyPair eurUsd = PAIRS.get(1);
+    CurrencyPair usdJpy = PAIRS.get(2);
+    return ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addScenarioValue(FxRateId.of(gbpUsd), ImmutableList.of(FxRate.of(gbpUsd, 1.4), FxRate.of(gbpUsd, 1.3)))
+        .addScenarioValue(FxRateId.of(eurUsd), ImmutableList.of(FxRate.of(eurUsd, 1.1), FxRate.of(eurUsd, 1.2)))
+        .addValue(FxRateId.of(usdJpy), FxRate.of(usdJpy, 105))
+        .addValue(FxRateId.of(Currency.CHF, Currency.USD), FxRate.of(Currency.CHF, Currency.USD, 1.02))
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The setup of the workers.
+   */
+  public static final class TestSetup implements CalculationWorkerSetup {
+
+    @Override
+    public CalculationFunctions functions() {
+      return CalculationFunctions.of(new FxFunction());
+    }
+
+    @Override
+    public ReferenceData refData() {
+      return REF_DATA;
+    }
+
+    @Override
+    public BinarySerializer serializer() {
+      return BinarySerializer.of(ScenarioBinaryCodecs.codecs());
+    }
+  }
+
+  /**
+   * The setup of workers that hang calculating the first target.
+   */
+  public static final class HangingSetup implements CalculationWorkerSetup {
+
+    @Override
+    public CalculationFunctions functions() {
+      return CalculationFunctions.of(new HangingFunction());
+    }
+
+    @Override
+    public ReferenceData refData() {
+      return REF_DATA;
+    }
+
+    @Override
+    public BinarySerializer serializer() {
+      return BinarySerializer.of(ScenarioBinaryCodecs.codecs());
+    }
+  }
+
+  /**
+   * The setup of workers where the result for the first target cannot be serialized.
+   */
+  public static final class UnserializableSetup implements CalculationWorkerSetup {
+
+    @Override
+    public CalculationFunctions functions() {
+      return CalculationFunctions.of(new UnserializableFunction());
+    }
+
+    @Override
+    public ReferenceData refData() {
+      return REF_DATA;
+    }
+
+    @Override
+    public BinarySerializer serializer() {
+      return BinarySerializer.of(ScenarioBinaryCodecs.codecs());
+    }
+  }
+
+  /**
+   * A target requiring the FX rates of several currency pairs.
+   */
+  private static final class PairsTarget implements CalculationTarget {
+
+    private final List<CurrencyPair> pairs;
+
+    private PairsTarget(List<CurrencyPair> pairs) {
+      this.pairs = pairs;
+    }
+  }
+
+  /**
+   * A function requiring the FX rates of the target, used to check the partitions.
+   */
+  private static final class PairsFunction implements CalculationFunction<PairsTarget> {
+
+    @Override
+    public Class<PairsTarget> targetType() {
+      return PairsTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(MEASURE);
+    }
+
+    @Override
+    public Currency naturalCurrency(PairsTarget target, ReferenceData refData) {
+      return Currency.USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        PairsTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.builder()
+          .valueRequirements(target.pairs.stream().map(FxRateId::of).collect(toImmutableSet()))
+          .build();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        PairsTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  /**
+   * A function that never completes for the first target.
+   */
+  public static final class HangingFunction extends FxFunction {
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        FxTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      if (target.getAmount() == 100) {
+        try {
+          Thread.sleep(Long.MAX_VALUE);
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return super.calculate(target, measures, parameters, marketData, refData);
+    }
+  }
+
+  /**
+   * A function whose result for the first target cannot be serialized.
+   */
+  public static final class UnserializableFunction extends FxFunction {
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        FxTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      if (target.getAmount() == 100) {
+        return ImmutableMap.of(MEASURE, Result.success(new Object()));
+      }
+      return super.calculate(target, measures, parameters, marketData, refData);
+    }
+  }
+
+  /**
+   * A transport where the first worker fails after completing two tasks.
+   */
+  private static final class FailingTransport implements CalculationWorkerTransport {
+
+    private final CalculationWorkerTransport underlying;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger partitionsSent = new AtomicInteger();
+
+    private FailingTransport(CalculationWorkerTransport underlying) {
+      this.underlying = underlying;
+    }
+
+    @Override
+    public CalculationWorkerConnection connect() {
+      CalculationWorkerConnection connection = underlying.connect();
+      boolean failing = connections.incrementAndGet() == 1;
+      AtomicInteger received = new AtomicInteger();
+      return new CalculationWorkerConnection() {
+
+        @Override
+        public void send(byte[] message) {
+          partitionsSent.incrementAndGet();
+          connection.send(message);
+        }
+
+        @Override
+        public byte[] receive() {
+          if (failing && received.incrementAndGet() > 2) {
+            throw new UncheckedIOException(new IOException("Worker lost"));
+          }
+          return connection.receive();
+        }
+
+        @Override
+        public void close() {
+          connection.close();
+        }
+      };
+    }
+  }
+
+}
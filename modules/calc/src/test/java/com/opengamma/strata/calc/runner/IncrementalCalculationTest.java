@@ -0,0 +1,337 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.marketdata.BuiltMarketData;
+import com.opengamma.strata.calc.marketdata.BuiltScenarioMarketData;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFactory;
+import com.opengamma.strata.calc.marketdata.MarketDataFunction;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.calc.marketdata.ObservableDataProvider;
+import com.opengamma.strata.calc.marketdata.ScenarioDefinition;
+import com.opengamma.strata.calc.marketdata.TestObservableId;
+import com.opengamma.strata.calc.marketdata.TimeSeriesProvider;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link IncrementalCalculation}.
+ */
+@Test
+public class IncrementalCalculationTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = date(2011, 3, 8);
+  private static final Set<Measure> MEASURES = ImmutableSet.of(TestingMeasures.PRESENT_VALUE);
+  private static final TestObservableId QUOTE1 = TestObservableId.of("Q1");
+  private static final TestObservableId QUOTE2 = TestObservableId.of("Q2");
+  private static final CurveId CURVE1 = new CurveId(QUOTE1);
+  private static final CurveId CURVE2 = new CurveId(QUOTE2);
+
+  //-------------------------------------------------------------------------
+  public void test_calculate_update() {
+    CurveFunction curveFunction = new CurveFunction();
+    IncrementalCalculation test = incrementalCalculation(curveFunction);
+    Results results = test.calculate();
+    assertThat(results.getRowCount()).isEqualTo(3);
+    assertThat(results.get(0, 0)).hasValue(2d);
+    assertThat(results.get(1, 0)).hasValue(4d);
+    assertThat(results.get(2, 0)).hasValue(2d);
+    assertThat(curveFunction.builds.get()).isEqualTo(2);
+
+    // only the curve using the changed quote is rebuilt, and only the targets using the curve are recalculated
+    Listener listener = new Listener();
+    int recalculated = test.update(MarketData.of(VAL_DATE, ImmutableMap.of(QUOTE1, 3d)), listener);
+    assertThat(recalculated).isEqualTo(2);
+    assertThat(curveFunction.builds.get()).isEqualTo(3);
+    assertThat(listener.complete).isTrue();
+    assertThat(listener.results).hasSize(2);
+    assertThat(listener.results.get(0).getResult()).hasValue(6d);
+    assertThat(listener.results.get(1).getResult()).hasValue(6d);
+    assertThat(test.getResults().get(0, 0)).hasValue(6d);
+    assertThat(test.getResults().get(1, 0)).hasValue(4d);
+    assertThat(test.getResults().get(2, 0)).hasValue(6d);
+    assertThat(test.getMarketData().getValue(CURVE1)).isEqualTo(6d);
+    assertThat(test.getMarketData().getValue(CURVE2)).isEqualTo(4d);
+  }
+
+  public void test_update_unchangedResult() {
+    CurveFunction curveFunction = new CurveFunction();
+    IncrementalCalculation test = incrementalCalculation(curveFunction);
+    test.calculate();
+    // the task is recalculated but the result has not changed, so the listener does not receive it
+    Listener listener = new Listener();
+    int recalculated = test.update(MarketData.of(VAL_DATE, ImmutableMap.of(QUOTE2, 2d)), listener);
+    assertThat(recalculated).isEqualTo(1);
+    assertThat(listener.results).isEmpty();
+    assertThat(listener.complete).isTrue();
+  }
+
+  public void test_update_unusedData() {
+    IncrementalCalculation test = incrementalCalculation(new CurveFunction());
+    test.calculate();
+    Listener listener = new Listener();
+    int recalculated = test.update(MarketData.of(VAL_DATE, ImmutableMap.of(TestObservableId.of("Q3"), 1d)), listener);
+    assertThat(recalculated).isEqualTo(0);
+    assertThat(listener.results).isEmpty();
+    assertThat(listener.complete).isTrue();
+  }
+
+  public void test_update_unknownDependencies() {
+    CurveFunction curveFunction = new CurveFunction();
+    IncrementalCalculation test = incrementalCalculation(curveFunction, true);
+    test.calculate();
+    assertThat(curveFunction.builds.get()).isEqualTo(2);
+    // all the market data is rebuilt and all the tasks are recalculated
+    Listener listener = new Listener();
+    int recalculated = test.update(MarketData.of(VAL_DATE, ImmutableMap.of(QUOTE2, 3d)), listener);
+    assertThat(recalculated).isEqualTo(3);
+    assertThat(curveFunction.builds.get()).isEqualTo(4);
+    assertThat(listener.results).hasSize(1);
+    assertThat(listener.results.get(0).getResult()).hasValue(6d);
+    assertThat(listener.complete).isTrue();
+    assertThat(test.getResults().get(0, 0)).hasValue(2d);
+    assertThat(test.getResults().get(1, 0)).hasValue(6d);
+    assertThat(test.getResults().get(2, 0)).hasValue(2d);
+  }
+
+  public void test_update_beforeCalculate() {
+    IncrementalCalculation test = incrementalCalculation(new CurveFunction());
+    MarketData changes = MarketData.of(VAL_DATE, ImmutableMap.of(QUOTE1, 3d));
+    assertThrows(() -> test.update(changes, new Listener()), IllegalStateException.class);
+    assertThrows(() -> test.getResults(), IllegalStateException.class);
+  }
+
+  public void test_update_wrongValuationDate() {
+    IncrementalCalculation test = incrementalCalculation(new CurveFunction());
+    test.calculate();
+    MarketData changes = MarketData.of(VAL_DATE.plusDays(1), ImmutableMap.of(QUOTE1, 3d));
+    assertThrowsIllegalArg(() -> test.update(changes, new Listener()));
+  }
+
+  // creates a calculation for three targets, two of which use the first curve
+  private static IncrementalCalculation incrementalCalculation(CurveFunction curveFunction) {
+    return incrementalCalculation(curveFunction, false);
+  }
+
+  // creates a calculation, optionally using a factory that does not provide the market data dependencies
+  private static IncrementalCalculation incrementalCalculation(
+      CurveFunction curveFunction,
+      boolean unknownDependencies) {
+
+    CalculationTaskCell cell0 = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTaskCell cell1 = CalculationTaskCell.of(1, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTaskCell cell2 = CalculationTaskCell.of(2, 0, TestingMeasures.PRESENT_VALUE, NATURAL);
+    CalculationTasks tasks = CalculationTasks.of(
+        ImmutableList.of(
+            CalculationTask.of(new CurveTarget(CURVE1), new TestFunction(), cell0),
+            CalculationTask.of(new CurveTarget(CURVE2), new TestFunction(), cell1),
+            CalculationTask.of(new CurveTarget(CURVE1), new TestFunction(), cell2)),
+        ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE)));
+    MarketDataFactory defaultFactory = MarketDataFactory.of(
+        ObservableDataProvider.none(), TimeSeriesProvider.none(), curveFunction);
+    MarketDataFactory factory = unknownDependencies ? new DelegatingFactory(defaultFactory) : defaultFactory;
+    MarketData suppliedData = MarketData.of(VAL_DATE, ImmutableMap.of(QUOTE1, 1d, QUOTE2, 2d));
+    return IncrementalCalculation.of(
+        tasks, factory, MarketDataConfig.empty(), suppliedData, REF_DATA, MoreExecutors.newDirectExecutorService());
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class CurveTarget implements CalculationTarget {
+
+    private final CurveId curveId;
+
+    private CurveTarget(CurveId curveId) {
+      this.curveId = curveId;
+    }
+  }
+
+  private static final class CurveId implements MarketDataId<Double> {
+
+    private final TestObservableId quoteId;
+
+    private CurveId(TestObservableId quoteId) {
+      this.quoteId = quoteId;
+    }
+
+    @Override
+    public Class<Double> getMarketDataType() {
+      return Double.class;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof CurveId && ((CurveId) obj).quoteId.equals(quoteId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(quoteId);
+    }
+  }
+
+  // builds a curve whose value is twice the quote
+  private static final class CurveFunction implements MarketDataFunction<Double, CurveId> {
+
+    private final AtomicInteger builds = new AtomicInteger();
+
+    @Override
+    public MarketDataRequirements requirements(CurveId id, MarketDataConfig marketDataConfig) {
+      return MarketDataRequirements.builder().addValues(id.quoteId).build();
+    }
+
+    @Override
+    public MarketDataBox<Double> build(
+        CurveId id,
+        MarketDataConfig marketDataConfig,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      builds.incrementAndGet();
+      return marketData.getValue(id.quoteId).map(v -> v * 2);
+    }
+
+    @Override
+    public Class<CurveId> getMarketDataIdType() {
+      return CurveId.class;
+    }
+  }
+
+  // returns the value of the curve of the target
+  private static final class TestFunction implements CalculationFunction<CurveTarget> {
+
+    @Override
+    public Class<CurveTarget> targetType() {
+      return CurveTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return MEASURES;
+    }
+
+    @Override
+    public Currency naturalCurrency(CurveTarget target, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        CurveTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.builder()
+          .valueRequirements(target.curveId)
+          .build();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        CurveTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      ScenarioArray<Double> array = ScenarioArray.of(marketData.getValue(target.curveId).getSingleValue());
+      return ImmutableMap.of(TestingMeasures.PRESENT_VALUE, Result.success(array));
+    }
+  }
+
+  // a factory that does not override the dependencies method
+  private static final class DelegatingFactory implements MarketDataFactory {
+
+    private final MarketDataFactory delegate;
+
+    private DelegatingFactory(MarketDataFactory delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public BuiltMarketData create(
+        MarketDataRequirements requirements,
+        MarketDataConfig marketDataConfig,
+        MarketData suppliedData,
+        ReferenceData refData) {
+
+      return delegate.create(requirements, marketDataConfig, suppliedData, refData);
+    }
+
+    @Override
+    public BuiltScenarioMarketData createMultiScenario(
+        MarketDataRequirements requirements,
+        MarketDataConfig marketDataConfig,
+        MarketData suppliedData,
+        ReferenceData refData,
+        ScenarioDefinition scenarioDefinition) {
+
+      return delegate.createMultiScenario(requirements, marketDataConfig, suppliedData, refData, scenarioDefinition);
+    }
+
+    @Override
+    public BuiltScenarioMarketData createMultiScenario(
+        MarketDataRequirements requirements,
+        MarketDataConfig marketDataConfig,
+        ScenarioMarketData suppliedData,
+        ReferenceData refData,
+        ScenarioDefinition scenarioDefinition) {
+
+      return delegate.createMultiScenario(requirements, marketDataConfig, suppliedData, refData, scenarioDefinition);
+    }
+  }
+
+  private static final class Listener implements CalculationListener {
+
+    private final List<CalculationResult> results = new ArrayList<>();
+    private boolean complete;
+
+    @Override
+    public void resultReceived(CalculationTarget target, CalculationResult result) {
+      results.add(result);
+    }
+
+    @Override
+    public void calculationsComplete() {
+      complete = true;
+    }
+  }
+
+}
@@ -0,0 +1,184 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.TestingFxCalculations.FxFunction;
+import com.opengamma.strata.calc.runner.TestingFxCalculations.FxTarget;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link ScenarioChunkCalculation}.
+ */
+@Test
+public class ScenarioChunkCalculationTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.empty();
+  private static final LocalDate VAL_DATE = date(2016, 6, 30);
+  private static final Measure MEASURE = TestingFxCalculations.MEASURE;
+  private static final CurrencyPair GBP_USD = CurrencyPair.parse("GBP/USD");
+  private static final int TARGET_COUNT = 4;
+  private static final int SCENARIO_COUNT = 5;
+
+  //-------------------------------------------------------------------------
+  public void test_calculateMultiScenarioInChunks() {
+    CalculationTasks tasks = tasks();
+    ScenarioMarketData marketData = marketData();
+    try (CalculationTaskRunner runner = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService())) {
+      Results expected = runner.calculateMultiScenario(tasks, marketData, REF_DATA);
+      RecordingListener listener = new RecordingListener();
+      runner.calculateMultiScenarioInChunks(tasks, marketData, REF_DATA, 2, listener);
+
+      assertEquals(listener.events, ImmutableList.of("start 0", "complete 0", "start 2", "complete 2", "start 4",
+          "complete 4", "complete"));
+      double[] values = new double[SCENARIO_COUNT];
+      for (int row = 0; row < TARGET_COUNT; row++) {
+        DoubleScenarioArray expectedValues = (DoubleScenarioArray) expected.get(row, 0).getValue();
+        for (int chunk = 0; chunk < 3; chunk++) {
+          DoubleScenarioArray chunkValues = listener.results.get(chunk)[row];
+          for (int i = 0; i < chunkValues.getScenarioCount(); i++) {
+            values[chunk * 2 + i] = chunkValues.get(i);
+          }
+        }
+        assertEquals(DoubleScenarioArray.of(DoubleArray.copyOf(values)), expectedValues);
+      }
+    }
+  }
+
+  public void test_calculateMultiScenarioInChunks_singleChunk() {
+    CalculationTasks tasks = tasks();
+    ScenarioMarketData marketData = marketData();
+    try (CalculationTaskRunner runner = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService())) {
+      Results expected = runner.calculateMultiScenario(tasks, marketData, REF_DATA);
+      RecordingListener listener = new RecordingListener();
+      runner.calculateMultiScenarioInChunks(tasks, marketData, REF_DATA, 10, listener);
+
+      assertEquals(listener.events, ImmutableList.of("start 0", "complete 0", "complete"));
+      for (int row = 0; row < TARGET_COUNT; row++) {
+        assertEquals(listener.results.get(0)[row], expected.get(row, 0).getValue());
+      }
+    }
+  }
+
+  public void test_calculateMultiScenarioInChunks_marketDataFunction() {
+    CalculationTasks tasks = tasks();
+    ScenarioMarketData marketData = marketData();
+    List<String> requested = new ArrayList<>();
+    try (CalculationTaskRunner runner = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService())) {
+      RecordingListener listener = new RecordingListener();
+      runner.calculateMultiScenarioInChunks(
+          tasks,
+          SCENARIO_COUNT,
+          (fromIndex, toIndex) -> {
+            requested.add(fromIndex + "-" + toIndex);
+            return marketData.subScenarios(fromIndex, toIndex);
+          },
+          REF_DATA,
+          3,
+          listener);
+
+      assertEquals(requested, ImmutableList.of("0-3", "3-5"));
+      assertEquals(listener.results.size(), 2);
+      DoubleArray expected = DoubleArray.of((1.4 - 0.1 * 3) * 100, (1.4 - 0.1 * 4) * 100);
+      assertEquals(listener.results.get(1)[0], DoubleScenarioArray.of(expected));
+    }
+  }
+
+  public void test_calculateMultiScenarioInChunks_invalid() {
+    CalculationTasks tasks = tasks();
+    ScenarioMarketData marketData = marketData();
+    try (CalculationTaskRunner runner = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService())) {
+      assertThrowsIllegalArg(
+          () -> runner.calculateMultiScenarioInChunks(tasks, marketData, REF_DATA, 0, new RecordingListener()));
+      assertThrowsIllegalArg(
+          () -> runner.calculateMultiScenarioInChunks(
+              tasks, SCENARIO_COUNT, (from, to) -> marketData, REF_DATA, 2, new RecordingListener()),
+          "Market data for scenarios 0 to 2 must have 2 scenarios but has 5");
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static CalculationTasks tasks() {
+    List<CalculationTask> tasks = new ArrayList<>();
+    for (int i = 0; i < TARGET_COUNT; i++) {
+      FxTarget target = FxTarget.of(GBP_USD, 100 * (i + 1));
+      tasks.add(CalculationTask.of(target, new FxFunction(), CalculationTaskCell.of(i, 0, MEASURE, NATURAL)));
+    }
+    return CalculationTasks.of(tasks, ImmutableList.of(Column.of(MEASURE)));
+  }
+
+  private static ScenarioMarketData marketData() {
+    List<FxRate> rates = new ArrayList<>();
+    for (int i = 0; i < SCENARIO_COUNT; i++) {
+      rates.add(FxRate.of(GBP_USD, 1.4 - 0.1 * i));
+    }
+    return ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addScenarioValue(FxRateId.of(GBP_USD), rates)
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A listener recording the events and the results of each chunk.
+   */
+  private static final class RecordingListener implements ScenarioChunkListener {
+
+    private final List<String> events = new ArrayList<>();
+    private final List<DoubleScenarioArray[]> results = new ArrayList<>();
+
+    @Override
+    public CalculationListener chunkStarted(int firstScenarioIndex, ScenarioMarketData marketData) {
+      events.add("start " + firstScenarioIndex);
+      DoubleScenarioArray[] chunkResults = new DoubleScenarioArray[TARGET_COUNT];
+      results.add(chunkResults);
+      return new CalculationListener() {
+
+        @Override
+        public void resultReceived(CalculationTarget target, CalculationResult result) {
+          DoubleScenarioArray value = (DoubleScenarioArray) result.getResult().getValue();
+          assertEquals(value.getScenarioCount(), marketData.getScenarioCount());
+          chunkResults[result.getRowIndex()] = value;
+        }
+
+        @Override
+        public void calculationsComplete() {
+          assertTrue(events.size() > 0);
+          events.add("complete " + firstScenarioIndex);
+        }
+      };
+    }
+
+    @Override
+    public void calculationsComplete() {
+      events.add("complete");
+    }
+  }
+
+}
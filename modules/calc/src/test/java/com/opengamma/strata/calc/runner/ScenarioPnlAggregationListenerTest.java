@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
+
+/**
+ * Test {@link ScenarioPnlAggregationListener} and {@link ScenarioPnlAggregation}.
+ */
+@Test
+public class ScenarioPnlAggregationListenerTest {
+
+  private static final ScenarioFxRateProvider FX_RATES = ScenarioFxRateProvider.of(
+      ImmutableScenarioMarketData.builder(date(2016, 6, 30))
+          .addScenarioValue(FxRateId.of(GBP, USD), ImmutableList.of(FxRate.of(GBP, USD, 1.5), FxRate.of(GBP, USD, 1.6)))
+          .build());
+  private static final BookTarget TARGET1 = new BookTarget("Entity1", "Desk1", "Book1");
+  private static final BookTarget TARGET2 = new BookTarget("Entity1", "Desk1", "Book2");
+  private static final BookTarget TARGET3 = new BookTarget("Entity1", "Desk2", "Book3");
+  private static final Function<CalculationTarget, List<String>> HIERARCHY = target -> ((BookTarget) target).getPath();
+  private static final double TOL = 1e-12;
+
+  //-------------------------------------------------------------------------
+  public void test_aggregate() {
+    ScenarioPnlAggregationListener test = ScenarioPnlAggregationListener.of(0, USD, FX_RATES, HIERARCHY);
+    test.resultReceived(TARGET1, CalculationResult.of(0, 0, Result.success(
+        CurrencyScenarioArray.of(USD, DoubleArray.of(10, 20)))));
+    test.resultReceived(TARGET1, CalculationResult.of(0, 1, Result.success(
+        CurrencyScenarioArray.of(USD, DoubleArray.of(1000, 2000)))));
+    test.resultReceived(TARGET2, CalculationResult.of(1, 0, Result.success(
+        CurrencyScenarioArray.of(GBP, DoubleArray.of(100, 200)))));
+    test.resultReceived(TARGET3, CalculationResult.of(2, 0, Result.success(
+        MultiCurrencyScenarioArray.of(ImmutableMap.of(USD, DoubleArray.of(1, 2), GBP, DoubleArray.of(2, 4))))));
+    test.calculationsComplete();
+
+    ScenarioPnlAggregation result = test.result();
+    assertThat(result.getReportingCurrency()).isEqualTo(USD);
+    assertThat(result.getFailures()).isEmpty();
+    assertThat(result.getNodes()).hasSize(7);
+    assertValues(result.findNode("Entity1", "Desk1", "Book1"), 10, 20);
+    assertValues(result.findNode("Entity1", "Desk1", "Book2"), 150, 320);
+    assertValues(result.findNode("Entity1", "Desk1"), 160, 340);
+    assertValues(result.findNode("Entity1", "Desk2", "Book3"), 4, 8.4);
+    assertValues(result.findNode("Entity1", "Desk2"), 4, 8.4);
+    assertValues(result.findNode("Entity1"), 164, 348.4);
+    assertValues(result.findNode(), 164, 348.4);
+    assertThat(result.findNode("Entity2")).isEmpty();
+  }
+
+  public void test_failures() {
+    ScenarioPnlAggregationListener test = ScenarioPnlAggregationListener.of(0, USD, FX_RATES, HIERARCHY);
+    Failure failure = Failure.of(FailureReason.CALCULATION_FAILED, "Failed");
+    test.resultReceived(TARGET1, CalculationResult.of(0, 0, Result.failure(failure)));
+    test.resultReceived(TARGET1, CalculationResult.of(1, 0, Result.success(
+        CurrencyScenarioArray.of(USD, DoubleArray.of(10, 20)))));
+    test.resultReceived(TARGET2, CalculationResult.of(2, 0, Result.success(DoubleScenarioArray.of(DoubleArray.of(1, 2)))));
+    test.resultReceived(TARGET2, CalculationResult.of(3, 0, Result.success(
+        CurrencyScenarioArray.of(EUR, DoubleArray.of(1, 2)))));
+    test.resultReceived(TARGET3, CalculationResult.of(4, 0, Result.success(
+        CurrencyScenarioArray.of(USD, DoubleArray.of(1, 2, 3)))));
+    test.calculationsComplete();
+
+    ScenarioPnlAggregation result = test.result();
+    assertThat(result.getFailures()).hasSize(4);
+    assertThat(result.getFailures().get(0)).isEqualTo(failure);
+    assertThat(result.getFailures().get(1).getReason()).isEqualTo(FailureReason.UNSUPPORTED);
+    assertThat(result.getFailures().get(2).getReason()).isEqualTo(FailureReason.CURRENCY_CONVERSION);
+    assertThat(result.getFailures().get(3).getReason()).isEqualTo(FailureReason.INVALID);
+    assertThat(result.getNodes()).hasSize(4);
+    assertValues(result.findNode(), 10, 20);
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    ScenarioPnlAggregation test = ScenarioPnlAggregation.of(
+        USD,
+        ImmutableMap.of(ImmutableList.of(), CurrencyScenarioArray.of(USD, DoubleArray.of(1, 2))),
+        ImmutableList.of());
+    coverImmutableBean(test);
+    ScenarioPnlAggregation test2 = ScenarioPnlAggregation.of(
+        GBP,
+        ImmutableMap.of(),
+        ImmutableList.of(Failure.of(FailureReason.ERROR, "Error")));
+    coverBeanEquals(test, test2);
+  }
+
+  //-------------------------------------------------------------------------
+  private static void assertValues(Optional<CurrencyScenarioArray> node, double... expected) {
+    assertThat(node).isPresent();
+    assertThat(node.get().getCurrency()).isEqualTo(USD);
+    DoubleArray values = node.get().getAmounts().getValues();
+    assertThat(values.equalWithTolerance(DoubleArray.ofUnsafe(expected), TOL)).isTrue();
+  }
+
+  private static final class BookTarget implements CalculationTarget {
+
+    private final List<String> path;
+
+    private BookTarget(String... path) {
+      this.path = ImmutableList.copyOf(path);
+    }
+
+    private List<String> getPath() {
+      return path;
+    }
+  }
+
+}
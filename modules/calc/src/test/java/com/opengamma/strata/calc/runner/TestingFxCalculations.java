@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.joda.convert.FromString;
+import org.joda.convert.ToString;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.MarketDataBox;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * A target and function converting amounts using FX rates, for testing calculation task runners.
+ * <p>
+ * The target can be written as a string, so tasks using it can be sent to a worker.
+ */
+public final class TestingFxCalculations {
+
+  /**
+   * The measure calculated by the function.
+   */
+  public static final Measure MEASURE = TestingMeasures.PAR_RATE;
+
+  //-------------------------------------------------------------------------
+  private TestingFxCalculations() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A target converting an amount using an FX rate, which is written as a string.
+   */
+  public static final class FxTarget implements CalculationTarget {
+
+    private final CurrencyPair pair;
+    private final double amount;
+
+    private FxTarget(CurrencyPair pair, double amount) {
+      this.pair = pair;
+      this.amount = amount;
+    }
+
+    public static FxTarget of(CurrencyPair pair, double amount) {
+      return new FxTarget(pair, amount);
+    }
+
+    @FromString
+    public static FxTarget parse(String str) {
+      String[] parts = str.split(" ");
+      return new FxTarget(CurrencyPair.parse(parts[0]), Double.parseDouble(parts[1]));
+    }
+
+    public CurrencyPair getPair() {
+      return pair;
+    }
+
+    public double getAmount() {
+      return amount;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj instanceof FxTarget) {
+        FxTarget other = (FxTarget) obj;
+        return pair.equals(other.pair) && amount == other.amount;
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return pair.hashCode() ^ Double.hashCode(amount);
+    }
+
+    @Override
+    @ToString
+    public String toString() {
+      return pair + " " + amount;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A function converting the amount of the target using the FX rate in each scenario.
+   */
+  public static class FxFunction implements CalculationFunction<FxTarget> {
+
+    @Override
+    public Class<FxTarget> targetType() {
+      return FxTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(MEASURE);
+    }
+
+    @Override
+    public Currency naturalCurrency(FxTarget target, ReferenceData refData) {
+      return target.pair.getCounter();
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        FxTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.builder().valueRequirements(FxRateId.of(target.pair)).build();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        FxTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      MarketDataBox<FxRate> rates = marketData.getValue(FxRateId.of(target.pair));
+      DoubleScenarioArray result = DoubleScenarioArray.of(
+          marketData.getScenarioCount(), i -> rates.getValue(i).fxRate(target.pair) * target.amount);
+      return ImmutableMap.of(MEASURE, Result.success(result));
+    }
+  }
+
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Checks the types named in the Joda-Beans compact binary form of a bean.
+ * <p>
+ * When reading, Joda-Beans loads every type named in the binary form, and creates values of types
+ * that are not beans using Joda-Convert. This walks the MessagePack structure of the binary form
+ * without loading any classes, finding the first type name that is not allowed by the serializer.
+ * <p>
+ * A type named with its package must be in an allowed package.
+ * Joda-Beans resolves a type named without a package as one of its basic types, a type named earlier
+ * or a type in the package of the root bean, thus these are allowed provided the root bean is named
+ * with its package. The basic type {@code Class} is not allowed, as its values name any class.
+ */
+final class BinaryBeanChecker {
+
+  // the MessagePack extension types used by Joda-Beans to name types
+  private static final int JODA_TYPE_BEAN = 0x20;
+  private static final int JODA_TYPE_META = 0x22;
+  // the sizes of float32, float64, uint8 to uint64 and int8 to int64
+  private static final int[] FIXED_SIZES = {4, 8, 1, 2, 4, 8, 1, 2, 4, 8};
+
+  /**
+   * The serializer.
+   */
+  private final BinarySerializer serializer;
+  /**
+   * The binary form of the bean.
+   */
+  private final byte[] bytes;
+  /**
+   * The position in the binary form.
+   */
+  private long position;
+  /**
+   * Whether the next type name is that of the root bean.
+   */
+  private boolean root = true;
+
+  // restricted constructor
+  private BinaryBeanChecker(BinarySerializer serializer, byte[] bytes) {
+    this.serializer = serializer;
+    this.bytes = bytes;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Finds the first type named in the binary form of a bean that the serializer does not allow.
+   *
+   * @param serializer  the serializer defining the allowed packages
+   * @param bytes  the Joda-Beans compact binary form
+   * @return the name of the type that is not allowed, null if all types are allowed
+   * @throws IllegalArgumentException if the binary form is invalid
+   */
+  static String findDisallowedType(BinarySerializer serializer, byte[] bytes) {
+    return new BinaryBeanChecker(serializer, bytes).findDisallowedType();
+  }
+
+  // walks the structure, counting the values still to be read rather than recursing
+  private String findDisallowedType() {
+    long remaining = 1;
+    while (remaining > 0) {
+      remaining--;
+      int tag = (int) readUnsigned(1);
+      if (tag <= 0x7F || tag >= 0xE0 || tag == 0xC0 || tag == 0xC2 || tag == 0xC3) {
+        // fixed integers, nil and booleans
+      } else if (tag <= 0x8F) {
+        remaining += 2L * (tag & 0x0F);
+      } else if (tag <= 0x9F) {
+        remaining += tag & 0x0F;
+      } else if (tag <= 0xBF) {
+        skip(tag & 0x1F);
+      } else if (tag >= 0xC4 && tag <= 0xC6) {
+        skip(readUnsigned(1 << (tag - 0xC4)));
+      } else if (tag >= 0xC7 && tag <= 0xC9) {
+        long length = readUnsigned(1 << (tag - 0xC7));
+        String disallowed = extension(length);
+        if (disallowed != null) {
+          return disallowed;
+        }
+      } else if (tag >= 0xCA && tag <= 0xD3) {
+        skip(FIXED_SIZES[tag - 0xCA]);
+      } else if (tag >= 0xD4 && tag <= 0xD8) {
+        String disallowed = extension(1 << (tag - 0xD4));
+        if (disallowed != null) {
+          return disallowed;
+        }
+      } else if (tag >= 0xD9 && tag <= 0xDB) {
+        skip(readUnsigned(1 << (tag - 0xD9)));
+      } else if (tag == 0xDC || tag == 0xDD) {
+        remaining += readUnsigned(tag == 0xDC ? 2 : 4);
+      } else if (tag == 0xDE || tag == 0xDF) {
+        remaining += 2 * readUnsigned(tag == 0xDE ? 2 : 4);
+      } else {
+        throw new IllegalArgumentException("Invalid binary form, unknown bean tag: " + tag);
+      }
+    }
+    if (position != bytes.length) {
+      throw new IllegalArgumentException("Invalid binary form, unexpected data after bean");
+    }
+    return null;
+  }
+
+  // reads an extension, returning the type name if it is not allowed
+  private String extension(long length) {
+    int type = (int) readUnsigned(1);
+    long start = position;
+    skip(length);
+    if (type < JODA_TYPE_BEAN || type > JODA_TYPE_META) {
+      return null;
+    }
+    String name = new String(bytes, (int) start, (int) length, UTF_8);
+    boolean rootType = root;
+    root = false;
+    String typeName = name;
+    while (typeName.endsWith("[]")) {
+      typeName = typeName.substring(0, typeName.length() - 2);
+    }
+    if (typeName.indexOf('.') >= 0) {
+      return serializer.isAllowedType(typeName) ? null : name;
+    }
+    return rootType || typeName.equals("Class") ? name : null;
+  }
+
+  // reads an unsigned big-endian value
+  private long readUnsigned(int size) {
+    long start = position;
+    skip(size);
+    long value = 0;
+    for (int i = 0; i < size; i++) {
+      value = (value << 8) | (bytes[(int) start + i] & 0xFF);
+    }
+    if (value < 0) {
+      throw new IllegalArgumentException("Invalid binary form, bean size too large");
+    }
+    return value;
+  }
+
+  // skips the specified number of bytes
+  private void skip(long length) {
+    if (length > bytes.length - position) {
+      throw new IllegalArgumentException("Invalid binary form, unexpected end of bean data");
+    }
+    position += length;
+  }
+
+}
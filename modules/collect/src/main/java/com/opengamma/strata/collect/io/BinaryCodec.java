@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A codec that writes and reads a single type in the compact binary format.
+ * <p>
+ * Implementations of this interface are registered with a {@link BinarySerializer}.
+ * Each codec writes the state of a value using the methods on {@link BinaryOutput},
+ * and reads it back in the same order using the matching methods on {@link BinaryInput}.
+ * <p>
+ * The name of the codec is written to the binary form, and is used to find the codec when reading.
+ * It must therefore be unique and must not change once data has been written.
+ * <p>
+ * Implementations must be immutable and thread-safe.
+ *
+ * @param <T>  the type of the value
+ */
+public interface BinaryCodec<T> {
+
+  /**
+   * Obtains a codec from functions that write and read the value.
+   *
+   * @param <T>  the type of the value
+   * @param name  the unique name of the codec
+   * @param type  the type of the value
+   * @param writer  the function that writes the value
+   * @param reader  the function that reads the value
+   * @return the codec
+   */
+  public static <T> BinaryCodec<T> of(
+      String name,
+      Class<T> type,
+      BiConsumer<T, BinaryOutput> writer,
+      Function<BinaryInput, T> reader) {
+
+    ArgChecker.notEmpty(name, "name");
+    ArgChecker.notNull(type, "type");
+    ArgChecker.notNull(writer, "writer");
+    ArgChecker.notNull(reader, "reader");
+    return new BinaryCodec<T>() {
+      @Override
+      public String getName() {
+        return name;
+      }
+
+      @Override
+      public Class<T> getType() {
+        return type;
+      }
+
+      @Override
+      public void write(T value, BinaryOutput output) {
+        writer.accept(value, output);
+      }
+
+      @Override
+      public T read(BinaryInput input) {
+        return reader.apply(input);
+      }
+
+      @Override
+      public String toString() {
+        return "BinaryCodec[" + name + "]";
+      }
+    };
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the name of the codec.
+   * <p>
+   * The name is written to the binary form and used to find the codec when reading.
+   *
+   * @return the unique name
+   */
+  public abstract String getName();
+
+  /**
+   * Gets the type handled by the codec.
+   * <p>
+   * The codec is used for values of this type, including subtypes.
+   *
+   * @return the type
+   */
+  public abstract Class<T> getType();
+
+  /**
+   * Writes the value.
+   *
+   * @param value  the value to write
+   * @param output  the output to write to
+   */
+  public abstract void write(T value, BinaryOutput output);
+
+  /**
+   * Reads the value.
+   * <p>
+   * The state must be read in the same order that it was written.
+   *
+   * @param input  the input to read from
+   * @return the value
+   */
+  public abstract T read(BinaryInput input);
+
+}
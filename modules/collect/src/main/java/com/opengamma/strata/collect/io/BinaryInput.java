@@ -0,0 +1,372 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.joda.beans.Bean;
+import org.joda.beans.ser.JodaBeanSer;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * The input used by a {@link BinaryCodec} to read a value.
+ * <p>
+ * Each method reads the form written by the matching method on {@link BinaryOutput}.
+ * <p>
+ * Instances are created by {@link BinarySerializer} and must only be used for a single value.
+ */
+public final class BinaryInput {
+
+  // the tags identifying how a value was written by BinaryOutput.writeObject
+  static final int TAG_NULL = 0;
+  static final int TAG_REFERENCE = 1;
+  static final int TAG_CODEC = 2;
+  static final int TAG_STRING = 3;
+  static final int TAG_DOUBLE = 4;
+  static final int TAG_INTEGER = 5;
+  static final int TAG_LONG = 6;
+  static final int TAG_BOOLEAN = 7;
+  static final int TAG_DATE = 8;
+  static final int TAG_LIST = 9;
+  static final int TAG_MAP = 10;
+  static final int TAG_CONVERT = 11;
+  static final int TAG_BEAN = 12;
+
+  /**
+   * The serializer.
+   */
+  private final BinarySerializer serializer;
+  /**
+   * The strings read so far, in the order they were written.
+   */
+  private final List<String> strings = new ArrayList<>();
+  /**
+   * The interned values read so far, in the order they were written.
+   */
+  private final List<Object> interned = new ArrayList<>();
+  /**
+   * The buffer.
+   */
+  private final byte[] buffer;
+  /**
+   * The position in the buffer.
+   */
+  private int position;
+
+  // creates an instance
+  BinaryInput(BinarySerializer serializer, byte[] buffer) {
+    this.serializer = serializer;
+    this.buffer = buffer;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Reads a boolean.
+   *
+   * @return the value
+   */
+  public boolean readBoolean() {
+    return readByte() != 0;
+  }
+
+  /**
+   * Reads an int.
+   *
+   * @return the value
+   */
+  public int readInt() {
+    return (int) readLong();
+  }
+
+  /**
+   * Reads a long.
+   *
+   * @return the value
+   */
+  public long readLong() {
+    long encoded = readVarLong();
+    return (encoded >>> 1) ^ -(encoded & 1);
+  }
+
+  /**
+   * Reads a double.
+   *
+   * @return the value
+   */
+  public double readDouble() {
+    checkAvailable(8);
+    return getDouble();
+  }
+
+  /**
+   * Reads an array of doubles.
+   *
+   * @return the values
+   */
+  public double[] readDoubles() {
+    int length = readSize();
+    checkAvailable(length * 8L);
+    double[] values = new double[length];
+    for (int i = 0; i < length; i++) {
+      values[i] = getDouble();
+    }
+    return values;
+  }
+
+  /**
+   * Reads an array of doubles.
+   *
+   * @return the values
+   */
+  public DoubleArray readDoubleArray() {
+    return DoubleArray.ofUnsafe(readDoubles());
+  }
+
+  /**
+   * Reads a date.
+   *
+   * @return the date
+   */
+  public LocalDate readLocalDate() {
+    return LocalDate.ofEpochDay(readLong());
+  }
+
+  /**
+   * Reads a string.
+   *
+   * @return the string
+   */
+  public String readString() {
+    int index = readSize();
+    if (index > 0) {
+      return checkIndex(strings, index - 1);
+    }
+    int length = readSize();
+    checkAvailable(length);
+    String value = new String(buffer, position, length, UTF_8);
+    position += length;
+    strings.add(value);
+    return value;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Reads a value written by {@link BinaryOutput#writeObject(Object)}.
+   * <p>
+   * Lists and maps are read as immutable collections.
+   *
+   * @param <T>  the expected type of the value
+   * @param type  the expected type of the value
+   * @return the value, may be null
+   * @throws IllegalArgumentException if the binary form is invalid or the value is not of the expected type
+   */
+  public <T> T readObject(Class<T> type) {
+    Object value = readObject();
+    if (value != null && !type.isInstance(value)) {
+      throw new IllegalArgumentException(
+          "Invalid binary form, expected " + type.getName() + " but found " + value.getClass().getName());
+    }
+    return type.cast(value);
+  }
+
+  /**
+   * Reads a list written by {@link BinaryOutput#writeObject(Object)}.
+   *
+   * @param <T>  the expected type of the elements
+   * @param elementType  the expected type of the elements
+   * @return the list
+   * @throws IllegalArgumentException if the binary form is invalid or the value is not of the expected type
+   */
+  @SuppressWarnings("unchecked")
+  public <T> ImmutableList<T> readList(Class<T> elementType) {
+    ImmutableList<?> list = readObject(ImmutableList.class);
+    for (Object item : list) {
+      checkType(item, elementType);
+    }
+    return (ImmutableList<T>) list;
+  }
+
+  /**
+   * Reads a map written by {@link BinaryOutput#writeObject(Object)}.
+   *
+   * @param <K>  the expected type of the keys
+   * @param <V>  the expected type of the values
+   * @param keyType  the expected type of the keys
+   * @param valueType  the expected type of the values
+   * @return the map
+   * @throws IllegalArgumentException if the binary form is invalid or the value is not of the expected type
+   */
+  @SuppressWarnings("unchecked")
+  public <K, V> ImmutableMap<K, V> readMap(Class<K> keyType, Class<V> valueType) {
+    ImmutableMap<?, ?> map = readObject(ImmutableMap.class);
+    for (Entry<?, ?> entry : map.entrySet()) {
+      checkType(entry.getKey(), keyType);
+      checkType(entry.getValue(), valueType);
+    }
+    return (ImmutableMap<K, V>) map;
+  }
+
+  /**
+   * Reads a value written by {@link BinaryOutput#writeInterned(Object)}.
+   *
+   * @param <T>  the expected type of the value
+   * @param type  the expected type of the value
+   * @return the value
+   * @throws IllegalArgumentException if the binary form is invalid or the value is not of the expected type
+   */
+  public <T> T readInterned(Class<T> type) {
+    int index = readSize();
+    if (index > 0) {
+      return checkType(checkIndex(interned, index - 1), type);
+    }
+    T value = readObject(type);
+    interned.add(value);
+    return value;
+  }
+
+  //-------------------------------------------------------------------------
+  // reads a value of any type
+  private Object readObject() {
+    int tag = readByte();
+    switch (tag) {
+      case TAG_NULL:
+        return null;
+      case TAG_REFERENCE:
+        return checkIndex(interned, readSize());
+      case TAG_CODEC:
+        return serializer.getCodec(readString()).read(this);
+      case TAG_STRING:
+        return readString();
+      case TAG_DOUBLE:
+        return readDouble();
+      case TAG_INTEGER:
+        return readInt();
+      case TAG_LONG:
+        return readLong();
+      case TAG_BOOLEAN:
+        return readBoolean();
+      case TAG_DATE:
+        return readLocalDate();
+      case TAG_LIST: {
+        int size = readSize();
+        List<Object> list = new ArrayList<>(Math.min(size, 1024));
+        for (int i = 0; i < size; i++) {
+          list.add(readObject());
+        }
+        return ImmutableList.copyOf(list);
+      }
+      case TAG_MAP: {
+        int size = readSize();
+        Map<Object, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+          Object key = readObject();
+          map.put(key, readObject());
+        }
+        return ImmutableMap.copyOf(map);
+      }
+      case TAG_CONVERT: {
+        Class<?> type = serializer.getType(readString());
+        Object value = JodaBeanSer.COMPACT.getConverter().convertFromString(type, readString());
+        interned.add(value);
+        return value;
+      }
+      case TAG_BEAN: {
+        int length = readSize();
+        checkAvailable(length);
+        byte[] bytes = new byte[length];
+        System.arraycopy(buffer, position, bytes, 0, length);
+        position += length;
+        String disallowed = BinaryBeanChecker.findDisallowedType(serializer, bytes);
+        if (disallowed != null) {
+          throw new IllegalArgumentException("Invalid binary form, type not allowed: " + disallowed);
+        }
+        Bean value = JodaBeanSer.COMPACT.binReader().read(bytes, Bean.class);
+        interned.add(value);
+        return value;
+      }
+      default:
+        throw new IllegalArgumentException("Invalid binary form, unknown tag: " + tag);
+    }
+  }
+
+  // checks the type of a value
+  private static <T> T checkType(Object value, Class<T> type) {
+    if (!type.isInstance(value)) {
+      throw new IllegalArgumentException("Invalid binary form, expected " + type.getName() + " but found " +
+          (value == null ? "null" : value.getClass().getName()));
+    }
+    return type.cast(value);
+  }
+
+  // checks the index of a reference
+  private static <T> T checkIndex(List<T> list, int index) {
+    if (index < 0 || index >= list.size()) {
+      throw new IllegalArgumentException("Invalid binary form, unknown reference: " + index);
+    }
+    return list.get(index);
+  }
+
+  //-------------------------------------------------------------------------
+  // reads a size or index
+  private int readSize() {
+    long value = readVarLong();
+    if (value > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Invalid binary form, size too large: " + value);
+    }
+    return (int) value;
+  }
+
+  // reads an unsigned variable length long
+  private long readVarLong() {
+    long result = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int next = readByte();
+      result |= (long) (next & 0x7F) << shift;
+      if ((next & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new IllegalArgumentException("Invalid binary form, variable length integer too long");
+  }
+
+  // reads a single byte
+  int readByte() {
+    checkAvailable(1);
+    return buffer[position++] & 0xFF;
+  }
+
+  // gets a double, availability must have been checked
+  private double getDouble() {
+    long bits = ((long) (buffer[position] & 0xFF) << 56) |
+        ((long) (buffer[position + 1] & 0xFF) << 48) |
+        ((long) (buffer[position + 2] & 0xFF) << 40) |
+        ((long) (buffer[position + 3] & 0xFF) << 32) |
+        ((long) (buffer[position + 4] & 0xFF) << 24) |
+        ((buffer[position + 5] & 0xFF) << 16) |
+        ((buffer[position + 6] & 0xFF) << 8) |
+        (buffer[position + 7] & 0xFF);
+    position += 8;
+    return Double.longBitsToDouble(bits);
+  }
+
+  // checks that the specified number of bytes can be read
+  private void checkAvailable(long length) {
+    if (position + length > buffer.length) {
+      throw new IllegalArgumentException("Invalid binary form, unexpected end of data");
+    }
+  }
+
+}
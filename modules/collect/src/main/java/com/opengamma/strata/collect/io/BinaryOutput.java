@@ -0,0 +1,336 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.joda.beans.Bean;
+import org.joda.beans.ser.JodaBeanSer;
+import org.joda.convert.StringConvert;
+import org.joda.convert.TypedStringConverter;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * The output used by a {@link BinaryCodec} to write a value.
+ * <p>
+ * Primitive values are written directly in a compact form.
+ * Integers are written using a variable length encoding, and doubles are written as eight bytes.
+ * <p>
+ * Instances are created by {@link BinarySerializer} and must only be used for a single value.
+ */
+public final class BinaryOutput {
+
+  /**
+   * The serializer.
+   */
+  private final BinarySerializer serializer;
+  /**
+   * The strings written so far, with the index used to refer to them.
+   */
+  private final Map<String, Integer> strings = new HashMap<>();
+  /**
+   * The interned values written so far, with the index used to refer to them.
+   */
+  private final Map<Object, Integer> interned = new HashMap<>();
+  /**
+   * The number of interned values written so far.
+   */
+  private int internedCount;
+  /**
+   * The buffer.
+   */
+  private byte[] buffer = new byte[1024];
+  /**
+   * The number of bytes written.
+   */
+  private int size;
+
+  // creates an instance
+  BinaryOutput(BinarySerializer serializer) {
+    this.serializer = serializer;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes a boolean.
+   *
+   * @param value  the value
+   */
+  public void writeBoolean(boolean value) {
+    writeByte(value ? 1 : 0);
+  }
+
+  /**
+   * Writes an int.
+   *
+   * @param value  the value
+   */
+  public void writeInt(int value) {
+    writeLong(value);
+  }
+
+  /**
+   * Writes a long.
+   * <p>
+   * Values close to zero, including negative values, use fewer bytes.
+   *
+   * @param value  the value
+   */
+  public void writeLong(long value) {
+    writeVarLong((value << 1) ^ (value >> 63));
+  }
+
+  /**
+   * Writes a double.
+   *
+   * @param value  the value
+   */
+  public void writeDouble(double value) {
+    ensureCapacity(8);
+    putDouble(value);
+  }
+
+  /**
+   * Writes an array of doubles.
+   * <p>
+   * The values are written directly as eight bytes each.
+   *
+   * @param values  the values
+   */
+  public void writeDoubles(double[] values) {
+    writeVarLong(values.length);
+    ensureCapacity(values.length * 8);
+    for (double value : values) {
+      putDouble(value);
+    }
+  }
+
+  /**
+   * Writes an array of doubles.
+   *
+   * @param values  the values
+   */
+  public void writeDoubleArray(DoubleArray values) {
+    writeDoubles(values.toArrayUnsafe());
+  }
+
+  /**
+   * Writes a date.
+   *
+   * @param date  the date
+   */
+  public void writeLocalDate(LocalDate date) {
+    writeLong(date.toEpochDay());
+  }
+
+  /**
+   * Writes a string.
+   * <p>
+   * Each distinct string is only written once, and later occurrences refer to it.
+   *
+   * @param value  the string
+   */
+  public void writeString(String value) {
+    Integer index = strings.get(value);
+    if (index != null) {
+      writeVarLong(index + 1);
+    } else {
+      writeVarLong(0);
+      byte[] bytes = value.getBytes(UTF_8);
+      writeVarLong(bytes.length);
+      writeBytes(bytes);
+      strings.put(value, strings.size());
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes a value of any supported type, which may be null.
+   * <p>
+   * The value is read using {@link BinaryInput#readObject(Class)}.
+   * See {@link BinarySerializer} for the supported types.
+   *
+   * @param value  the value
+   * @throws IllegalArgumentException if the value cannot be serialized
+   */
+  public void writeObject(Object value) {
+    if (value == null) {
+      writeByte(BinaryInput.TAG_NULL);
+      return;
+    }
+    BinaryCodec<?> codec = serializer.findCodec(value.getClass());
+    if (codec != null) {
+      writeByte(BinaryInput.TAG_CODEC);
+      writeString(codec.getName());
+      writeWithCodec(codec, value);
+    } else if (value instanceof String) {
+      writeByte(BinaryInput.TAG_STRING);
+      writeString((String) value);
+    } else if (value instanceof Double) {
+      writeByte(BinaryInput.TAG_DOUBLE);
+      writeDouble((Double) value);
+    } else if (value instanceof Integer) {
+      writeByte(BinaryInput.TAG_INTEGER);
+      writeInt((Integer) value);
+    } else if (value instanceof Long) {
+      writeByte(BinaryInput.TAG_LONG);
+      writeLong((Long) value);
+    } else if (value instanceof Boolean) {
+      writeByte(BinaryInput.TAG_BOOLEAN);
+      writeBoolean((Boolean) value);
+    } else if (value instanceof LocalDate) {
+      writeByte(BinaryInput.TAG_DATE);
+      writeLocalDate((LocalDate) value);
+    } else if (value instanceof List) {
+      List<?> list = (List<?>) value;
+      writeByte(BinaryInput.TAG_LIST);
+      writeVarLong(list.size());
+      for (Object item : list) {
+        writeObject(item);
+      }
+    } else if (value instanceof Map) {
+      Map<?, ?> map = (Map<?, ?>) value;
+      writeByte(BinaryInput.TAG_MAP);
+      writeVarLong(map.size());
+      for (Entry<?, ?> entry : map.entrySet()) {
+        writeObject(entry.getKey());
+        writeObject(entry.getValue());
+      }
+    } else if (!writeReference(value)) {
+      writeFallback(value);
+      intern(value);
+    }
+  }
+
+  /**
+   * Writes a value of any supported type, only writing it once.
+   * <p>
+   * The value is written using {@link #writeObject(Object)} the first time.
+   * Later occurrences of an equal value are written as a reference to the first.
+   * This is intended for values that occur many times, such as curve metadata.
+   * The value is read using {@link BinaryInput#readInterned(Class)}.
+   *
+   * @param value  the value, not null
+   * @throws IllegalArgumentException if the value cannot be serialized
+   */
+  public void writeInterned(Object value) {
+    Integer index = interned.get(value);
+    if (index != null) {
+      writeVarLong(index + 1);
+    } else {
+      writeVarLong(0);
+      writeObject(value);
+      intern(value);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // writes a value using the codec
+  @SuppressWarnings("unchecked")
+  private <T> void writeWithCodec(BinaryCodec<T> codec, Object value) {
+    codec.write((T) value, this);
+  }
+
+  // writes a reference to an interned value, returning false if not interned
+  private boolean writeReference(Object value) {
+    Integer index = interned.get(value);
+    if (index == null) {
+      return false;
+    }
+    writeByte(BinaryInput.TAG_REFERENCE);
+    writeVarLong(index);
+    return true;
+  }
+
+  // writes a value using Joda-Convert or Joda-Beans
+  private void writeFallback(Object value) {
+    StringConvert converter = JodaBeanSer.COMPACT.getConverter();
+    TypedStringConverter<Object> typed = converter.isConvertible(value.getClass()) ?
+        converter.findTypedConverterNoGenerics(value.getClass()) :
+        null;
+    if (typed != null && serializer.isAllowedType(typed.getEffectiveType().getName())) {
+      writeByte(BinaryInput.TAG_CONVERT);
+      writeString(typed.getEffectiveType().getName());
+      writeString(typed.convertToString(value));
+    } else if (value instanceof Bean) {
+      byte[] bytes = JodaBeanSer.COMPACT.binWriter().write((Bean) value);
+      String disallowed = BinaryBeanChecker.findDisallowedType(serializer, bytes);
+      if (disallowed != null) {
+        throw new IllegalArgumentException("Unable to serialize type: " + disallowed);
+      }
+      writeByte(BinaryInput.TAG_BEAN);
+      writeVarLong(bytes.length);
+      writeBytes(bytes);
+    } else {
+      throw new IllegalArgumentException("Unable to serialize type: " + value.getClass().getName());
+    }
+  }
+
+  // records an interned value, the reader records the value at the same point
+  private void intern(Object value) {
+    interned.put(value, internedCount++);
+  }
+
+  //-------------------------------------------------------------------------
+  // writes an unsigned variable length long
+  private void writeVarLong(long value) {
+    ensureCapacity(10);
+    long remaining = value;
+    while ((remaining & ~0x7FL) != 0) {
+      buffer[size++] = (byte) ((remaining & 0x7F) | 0x80);
+      remaining >>>= 7;
+    }
+    buffer[size++] = (byte) remaining;
+  }
+
+  // writes a single byte
+  void writeByte(int value) {
+    ensureCapacity(1);
+    buffer[size++] = (byte) value;
+  }
+
+  // writes the bytes
+  void writeBytes(byte[] bytes) {
+    ensureCapacity(bytes.length);
+    System.arraycopy(bytes, 0, buffer, size, bytes.length);
+    size += bytes.length;
+  }
+
+  // puts a double, capacity must have been checked
+  private void putDouble(double value) {
+    long bits = Double.doubleToRawLongBits(value);
+    buffer[size] = (byte) (bits >>> 56);
+    buffer[size + 1] = (byte) (bits >>> 48);
+    buffer[size + 2] = (byte) (bits >>> 40);
+    buffer[size + 3] = (byte) (bits >>> 32);
+    buffer[size + 4] = (byte) (bits >>> 24);
+    buffer[size + 5] = (byte) (bits >>> 16);
+    buffer[size + 6] = (byte) (bits >>> 8);
+    buffer[size + 7] = (byte) bits;
+    size += 8;
+  }
+
+  // ensures there is space for the specified number of bytes
+  private void ensureCapacity(int extra) {
+    if (size + extra > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+    }
+  }
+
+  // returns the bytes written
+  byte[] toByteArray() {
+    return Arrays.copyOf(buffer, size);
+  }
+
+}
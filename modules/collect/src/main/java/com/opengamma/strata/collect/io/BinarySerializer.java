@@ -0,0 +1,278 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Serializes objects to and from a compact binary format.
+ * <p>
+ * This is an alternative to the Joda-Beans serialization formats, intended for the transfer of
+ * large market data and result objects between processes. Values are written as follows:
+ * <ul>
+ *  <li>values with a registered {@link BinaryCodec} are written by the codec
+ *  <li>strings, primitive wrappers, dates, lists and maps are written directly
+ *  <li>values that can be converted to a string by Joda-Convert are written as the string,
+ *   provided the type is in an allowed package
+ *  <li>other Joda-Beans are written using the Joda-Beans compact binary format,
+ *   provided each type it names is allowed
+ * </ul>
+ * Strings, and values written as a string or Joda-Bean, are only written once.
+ * Later occurrences of an equal value are written as a reference to the first.
+ * This significantly reduces the size when the same metadata occurs many times.
+ * <p>
+ * Codecs for {@code DoubleArray}, {@code DoubleMatrix}, {@code LocalDateDoubleTimeSeries} and
+ * {@code Result} are always available. Codecs for other types are provided by each module.
+ * <p>
+ * The binary form names the types written as a string, and the types of Joda-Beans and their property values.
+ * When reading, the names are checked before any class is loaded. A type named with its package must be in
+ * an allowed package. Within a Joda-Bean, a type may also be named without its package, which Joda-Beans
+ * resolves as one of its basic types, such as {@code Double}, or as a type in the package of the bean.
+ * The basic type {@code Class} is rejected, as its values would name any class.
+ * The types that can be loaded and created by a binary form are therefore limited by the allowed packages.
+ * By default, only types in the {@code com.opengamma.strata} and {@code java.time} packages are allowed.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class BinarySerializer {
+
+  /**
+   * The header of the binary form, containing the format version.
+   */
+  private static final byte[] HEADER = {'S', 'B', 1};
+  /**
+   * The instance with the standard codecs.
+   */
+  private static final BinarySerializer STANDARD =
+      new BinarySerializer(ImmutableList.of(), ImmutableSet.of("com.opengamma.strata", "java.time"));
+
+  /**
+   * The codecs, excluding the standard codecs.
+   */
+  private final ImmutableList<BinaryCodec<?>> codecs;
+  /**
+   * The packages containing the types that may be named in the binary form.
+   */
+  private final ImmutableSet<String> allowedPackages;
+  /**
+   * The codecs keyed by name, including the standard codecs.
+   */
+  private final ImmutableMap<String, BinaryCodec<?>> codecsByName;
+  /**
+   * The codec found for each type, empty if there is no codec.
+   */
+  private final Map<Class<?>, Optional<BinaryCodec<?>>> codecsByType = new ConcurrentHashMap<>();
+  /**
+   * The types read from the binary form, keyed by class name.
+   */
+  private final Map<String, Class<?>> types = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance with the standard codecs.
+   *
+   * @return the serializer
+   */
+  public static BinarySerializer standard() {
+    return STANDARD;
+  }
+
+  /**
+   * Obtains an instance with the specified codecs in addition to the standard codecs.
+   * <p>
+   * A codec whose type is exactly the type of the value is used in preference to one
+   * whose type is a supertype. Otherwise, the first matching codec in the list is used.
+   *
+   * @param codecs  the codecs
+   * @return the serializer
+   * @throws IllegalArgumentException if two codecs have the same name
+   */
+  public static BinarySerializer of(List<? extends BinaryCodec<?>> codecs) {
+    return new BinarySerializer(ImmutableList.copyOf(codecs), STANDARD.allowedPackages);
+  }
+
+  // creates an instance
+  private BinarySerializer(ImmutableList<BinaryCodec<?>> codecs, ImmutableSet<String> allowedPackages) {
+    Map<String, BinaryCodec<?>> byName = new HashMap<>();
+    for (BinaryCodec<?> codec : codecs) {
+      ArgChecker.isTrue(byName.put(codec.getName(), codec) == null, "Duplicate codec name: {}", codec.getName());
+    }
+    for (BinaryCodec<?> codec : StandardBinaryCodecs.CODECS) {
+      ArgChecker.isTrue(byName.put(codec.getName(), codec) == null, "Duplicate codec name: {}", codec.getName());
+    }
+    this.codecs = codecs;
+    this.allowedPackages = allowedPackages;
+    this.codecsByName = ImmutableMap.copyOf(byName);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the codecs, excluding the standard codecs.
+   *
+   * @return the codecs
+   */
+  public ImmutableList<BinaryCodec<?>> getCodecs() {
+    return codecs;
+  }
+
+  /**
+   * Returns a serializer with the specified codecs in addition to those of this serializer.
+   *
+   * @param codecs  the additional codecs
+   * @return the combined serializer
+   * @throws IllegalArgumentException if two codecs have the same name
+   */
+  public BinarySerializer combinedWith(List<? extends BinaryCodec<?>> codecs) {
+    return new BinarySerializer(
+        ImmutableList.<BinaryCodec<?>>builder().addAll(this.codecs).addAll(codecs).build(), allowedPackages);
+  }
+
+  /**
+   * Gets the packages containing the types that may be named in the binary form.
+   * <p>
+   * Types in sub-packages are also allowed.
+   *
+   * @return the allowed packages
+   */
+  public ImmutableSet<String> getAllowedPackages() {
+    return allowedPackages;
+  }
+
+  /**
+   * Returns a serializer that also allows types in the specified packages to be named in the binary form.
+   * <p>
+   * Types in sub-packages are also allowed.
+   * Only packages whose types are safe to create from data read from the binary form should be allowed.
+   *
+   * @param packageNames  the additional package names, such as 'com.example.market'
+   * @return the serializer
+   */
+  public BinarySerializer withAllowedPackages(String... packageNames) {
+    ArgChecker.noNulls(packageNames, "packageNames");
+    return new BinarySerializer(
+        codecs, ImmutableSet.<String>builder().addAll(allowedPackages).add(packageNames).build());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes the value to the binary form.
+   *
+   * @param value  the value to write
+   * @return the binary form
+   * @throws IllegalArgumentException if the value, or any value it contains, cannot be serialized
+   */
+  public byte[] write(Object value) {
+    ArgChecker.notNull(value, "value");
+    BinaryOutput output = new BinaryOutput(this);
+    output.writeBytes(HEADER);
+    output.writeObject(value);
+    return output.toByteArray();
+  }
+
+  /**
+   * Reads a value from the binary form.
+   *
+   * @param <T>  the type of the value
+   * @param bytes  the binary form
+   * @param type  the expected type of the value
+   * @return the value
+   * @throws IllegalArgumentException if the binary form is invalid or the value is not of the expected type
+   */
+  public <T> T read(byte[] bytes, Class<T> type) {
+    ArgChecker.notNull(bytes, "bytes");
+    ArgChecker.notNull(type, "type");
+    BinaryInput input = new BinaryInput(this, bytes);
+    for (byte expected : HEADER) {
+      if (input.readByte() != expected) {
+        throw new IllegalArgumentException("Invalid binary form, header not recognized");
+      }
+    }
+    return input.readObject(type);
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the codec for the type, exact matches take priority
+  BinaryCodec<?> findCodec(Class<?> type) {
+    Optional<BinaryCodec<?>> cached = codecsByType.get(type);
+    if (cached == null) {
+      cached = lookupCodec(type);
+      codecsByType.put(type, cached);
+    }
+    return cached.orElse(null);
+  }
+
+  // searches the codecs
+  private Optional<BinaryCodec<?>> lookupCodec(Class<?> type) {
+    Iterable<BinaryCodec<?>> all = ImmutableList.<BinaryCodec<?>>builder()
+        .addAll(codecs)
+        .addAll(StandardBinaryCodecs.CODECS)
+        .build();
+    for (BinaryCodec<?> codec : all) {
+      if (codec.getType() == type) {
+        return Optional.of(codec);
+      }
+    }
+    for (BinaryCodec<?> codec : all) {
+      if (codec.getType().isAssignableFrom(type)) {
+        return Optional.of(codec);
+      }
+    }
+    return Optional.empty();
+  }
+
+  // gets the codec by name
+  BinaryCodec<?> getCodec(String name) {
+    BinaryCodec<?> codec = codecsByName.get(name);
+    if (codec == null) {
+      throw new IllegalArgumentException("Invalid binary form, unknown codec: " + name);
+    }
+    return codec;
+  }
+
+  // checks if the type is in an allowed package
+  boolean isAllowedType(String className) {
+    for (String packageName : allowedPackages) {
+      if (className.startsWith(packageName) && className.length() > packageName.length() &&
+          className.charAt(packageName.length()) == '.') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // loads a type by name, the name is checked before the type is loaded
+  Class<?> getType(String className) {
+    Class<?> type = types.get(className);
+    if (type == null) {
+      if (!isAllowedType(className)) {
+        throw new IllegalArgumentException("Invalid binary form, type not allowed: " + className);
+      }
+      try {
+        type = Class.forName(className);
+      } catch (ClassNotFoundException ex) {
+        throw new IllegalArgumentException("Invalid binary form, unknown type: " + className, ex);
+      }
+      types.put(className, type);
+    }
+    return type;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "BinarySerializer" + codecsByName.keySet() + allowedPackages;
+  }
+
+}
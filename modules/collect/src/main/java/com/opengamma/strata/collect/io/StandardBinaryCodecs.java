@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import java.time.LocalDate;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+
+/**
+ * The binary codecs that are always available to {@link BinarySerializer}.
+ */
+final class StandardBinaryCodecs {
+
+  /**
+   * The codec for {@code DoubleArray}.
+   */
+  static final BinaryCodec<DoubleArray> DOUBLE_ARRAY = BinaryCodec.of(
+      "DoubleArray",
+      DoubleArray.class,
+      (value, output) -> output.writeDoubleArray(value),
+      input -> input.readDoubleArray());
+  /**
+   * The codec for {@code DoubleMatrix}, written row by row.
+   */
+  static final BinaryCodec<DoubleMatrix> DOUBLE_MATRIX = BinaryCodec.of(
+      "DoubleMatrix",
+      DoubleMatrix.class,
+      StandardBinaryCodecs::writeMatrix,
+      StandardBinaryCodecs::readMatrix);
+  /**
+   * The codec for {@code LocalDateDoubleTimeSeries}, with each date written relative to the previous date.
+   */
+  static final BinaryCodec<LocalDateDoubleTimeSeries> TIME_SERIES = BinaryCodec.of(
+      "LocalDateDoubleTimeSeries",
+      LocalDateDoubleTimeSeries.class,
+      StandardBinaryCodecs::writeTimeSeries,
+      StandardBinaryCodecs::readTimeSeries);
+  /**
+   * The codec for {@code Result}, where the value or failure is written as an object.
+   */
+  @SuppressWarnings("rawtypes")
+  static final BinaryCodec<Result> RESULT = BinaryCodec.of(
+      "Result",
+      Result.class,
+      StandardBinaryCodecs::writeResult,
+      StandardBinaryCodecs::readResult);
+  /**
+   * The standard codecs.
+   */
+  static final ImmutableList<BinaryCodec<?>> CODECS = ImmutableList.of(
+      DOUBLE_ARRAY, DOUBLE_MATRIX, TIME_SERIES, RESULT);
+
+  //-------------------------------------------------------------------------
+  // writes a matrix
+  private static void writeMatrix(DoubleMatrix matrix, BinaryOutput output) {
+    output.writeInt(matrix.rowCount());
+    output.writeInt(matrix.columnCount());
+    for (double[] row : matrix.toArrayUnsafe()) {
+      output.writeDoubles(row);
+    }
+  }
+
+  // reads a matrix
+  private static DoubleMatrix readMatrix(BinaryInput input) {
+    int rows = input.readInt();
+    int columns = input.readInt();
+    if (rows == 0 || columns == 0) {
+      return DoubleMatrix.of(rows, columns);
+    }
+    double[][] array = new double[rows][];
+    for (int i = 0; i < rows; i++) {
+      array[i] = input.readDoubles();
+    }
+    return DoubleMatrix.ofUnsafe(array);
+  }
+
+  // writes a time-series
+  private static void writeTimeSeries(LocalDateDoubleTimeSeries series, BinaryOutput output) {
+    output.writeInt(series.size());
+    long[] previous = {0};
+    series.forEach((date, value) -> {
+      long epochDay = date.toEpochDay();
+      output.writeLong(epochDay - previous[0]);
+      output.writeDouble(value);
+      previous[0] = epochDay;
+    });
+  }
+
+  // reads a time-series
+  private static LocalDateDoubleTimeSeries readTimeSeries(BinaryInput input) {
+    int size = input.readInt();
+    LocalDate[] dates = new LocalDate[size];
+    double[] values = new double[size];
+    long epochDay = 0;
+    for (int i = 0; i < size; i++) {
+      epochDay += input.readLong();
+      dates[i] = LocalDate.ofEpochDay(epochDay);
+      values[i] = input.readDouble();
+    }
+    return LocalDateDoubleTimeSeries.builder().putAll(ImmutableList.copyOf(dates), values).build();
+  }
+
+  // writes a result
+  private static void writeResult(Result<?> result, BinaryOutput output) {
+    output.writeBoolean(result.isSuccess());
+    output.writeObject(result.isSuccess() ? result.getValue() : result.getFailure());
+  }
+
+  // reads a result
+  private static Result<?> readResult(BinaryInput input) {
+    if (input.readBoolean()) {
+      return Result.success(input.readObject(Object.class));
+    }
+    return Result.failure(input.readObject(Failure.class));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Restricted constructor.
+   */
+  private StandardBinaryCodecs() {
+  }
+
+}
@@ -7,8 +7,13 @@ package com.opengamma.strata.collect.io;
 
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamConstants;
@@ -38,6 +43,10 @@ import com.opengamma.strata.collect.Unchecked;
  * There is no support for namespaces.
  * All namespace prefixes are dropped.
  * There are cases where this can be a problem, but most of the time lenient parsing is helpful.
+ * <p>
+ * Where the whole file is too large to be held in memory,
+ * {@link #parseElements(ByteSource, Predicate, String, Consumer)} can be used to parse
+ * selected elements one at a time.
  */
 public final class XmlFile {
 
@@ -101,6 +110,85 @@ public final class XmlFile {
     });
   }
 
+  /**
+   * Parses the specified source as an XML file, passing each matching element to the consumer.
+   * <p>
+   * This parses the specified byte source expecting an XML file format.
+   * Unlike {@link #of(ByteSource, String)}, the tree of the whole file is not created.
+   * Instead, each element whose path matches the filter is parsed to an in-memory DOM-like
+   * structure and passed to the consumer before the rest of the file is read.
+   * Elements nested within a matching element are part of that element and are not matched separately.
+   * <p>
+   * The path of an element is the list of the names of the element and its ancestors,
+   * starting with the root element and ending with the element itself.
+   * Matching on the path, rather than the name alone, allows elements to be found at a specific
+   * position in the document. The list passed to the filter is only valid during the call.
+   * The parsed elements are discarded once consumed, thus the memory required depends
+   * on the size of the largest matching element rather than the size of the file.
+   * <p>
+   * Each element is passed to the consumer as an {@code XmlFile} with that element as the root.
+   * The references are captured in the same way as {@link #of(ByteSource, String)},
+   * but only within the scope of the matching element.
+   * 
+   * @param source  the XML source data
+   * @param elementPathFilter  the filter applied to the path of each element, true to parse the element
+   * @param refAttrName  the attribute name that should be parsed as a reference
+   * @param consumer  the consumer of the parsed elements, called in the order of the file
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static void parseElements(
+      ByteSource source,
+      Predicate<List<String>> elementPathFilter,
+      String refAttrName,
+      Consumer<XmlFile> consumer) {
+
+    ArgChecker.notNull(source, "source");
+    ArgChecker.notNull(elementPathFilter, "elementPathFilter");
+    ArgChecker.notNull(refAttrName, "refAttrName");
+    ArgChecker.notNull(consumer, "consumer");
+    Unchecked.wrap(() -> {
+      try (InputStream in = source.openBufferedStream()) {
+        XMLStreamReader xmlReader = xmlInputFactory().createXMLStreamReader(in);
+        try {
+          parseElements(xmlReader, elementPathFilter, refAttrName, consumer);
+        } finally {
+          xmlReader.close();
+        }
+      }
+    });
+  }
+
+  // parses the matching elements, skipping the rest of the file
+  private static void parseElements(
+      XMLStreamReader reader,
+      Predicate<List<String>> elementPathFilter,
+      String refAttr,
+      Consumer<XmlFile> consumer) {
+
+    List<String> path = new ArrayList<>();
+    List<String> pathView = Collections.unmodifiableList(path);
+    try {
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          path.add(reader.getLocalName());
+          if (elementPathFilter.test(pathView)) {
+            // the whole element is parsed, including its end
+            HashMap<String, XmlElement> refs = new HashMap<>();
+            XmlElement element = parse(reader, refAttr, refs);
+            consumer.accept(new XmlFile(element, refs));
+            path.remove(path.size() - 1);
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          path.remove(path.size() - 1);
+        }
+      }
+    } catch (XMLStreamException ex) {
+      throw new IllegalArgumentException(ex);
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Parses the tree from the StAX stream reader, capturing references.
@@ -0,0 +1,195 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Period;
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.joda.beans.impl.flexi.FlexiBean;
+import org.joda.beans.ser.JodaBeanSer;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.primitives.Bytes;
+import com.opengamma.strata.collect.SampleType;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.tuple.Pair;
+
+/**
+ * Test {@link BinarySerializer}.
+ */
+@Test
+public class BinarySerializerTest {
+
+  private static final BinarySerializer SERIALIZER = BinarySerializer.standard();
+
+  //-------------------------------------------------------------------------
+  public void test_simpleTypes() {
+    assertRoundTrip("Hello");
+    assertRoundTrip(1.5d);
+    assertRoundTrip(Double.NaN);
+    assertRoundTrip(-123);
+    assertRoundTrip(Long.MIN_VALUE);
+    assertRoundTrip(Long.MAX_VALUE);
+    assertRoundTrip(true);
+    assertRoundTrip(date(2016, 6, 30));
+    assertRoundTrip(date(1850, 1, 1));
+    assertRoundTrip(ImmutableList.of("a", 1d, "a"));
+    assertRoundTrip(ImmutableMap.of("a", ImmutableList.of(2), "b", date(2016, 6, 30)));
+  }
+
+  public void test_convertAndBean() {
+    assertRoundTrip(SampleType.of("sample"));
+    assertRoundTrip(Pair.of("a", 2d));
+  }
+
+  public void test_standardCodecs() {
+    assertRoundTrip(DoubleArray.of(1, 2, 3.5));
+    assertRoundTrip(DoubleArray.EMPTY);
+    assertRoundTrip(DoubleMatrix.of(2, 3, 1, 2, 3, 4, 5, 6));
+    assertRoundTrip(DoubleMatrix.EMPTY);
+    assertRoundTrip(LocalDateDoubleTimeSeries.builder()
+        .put(date(2016, 6, 28), 1d)
+        .put(date(2016, 6, 29), 2d)
+        .put(date(2016, 7, 5), 3d)
+        .build());
+    assertRoundTrip(LocalDateDoubleTimeSeries.empty());
+    assertRoundTrip(Result.success(DoubleArray.of(1, 2)));
+    assertRoundTrip(Result.failure(FailureReason.MISSING_DATA, "Missing {}", "curve"));
+  }
+
+  public void test_repeatedValuesWrittenOnce() {
+    Pair<String, Double> pair = Pair.of("metadata", 2d);
+    byte[] one = SERIALIZER.write(ImmutableList.of(pair));
+    byte[] many = SERIALIZER.write(ImmutableList.of(pair, pair, pair, pair));
+    assertEquals(many.length, one.length + 6);
+    byte[] strings = SERIALIZER.write(ImmutableList.of("metadata", "metadata"));
+    assertEquals(strings.length, SERIALIZER.write(ImmutableList.of("metadata")).length + 2);
+  }
+
+  public void test_customCodec() {
+    BinaryCodec<SampleType> codec = BinaryCodec.of(
+        "Sample",
+        SampleType.class,
+        (value, output) -> output.writeString(value.getName().toUpperCase(Locale.ENGLISH)),
+        input -> SampleType.of(input.readString()));
+    BinarySerializer test = SERIALIZER.combinedWith(ImmutableList.of(codec));
+    assertEquals(test.getCodecs(), ImmutableList.of(codec));
+    assertEquals(test.read(test.write(SampleType.of("sample")), SampleType.class), SampleType.of("SAMPLE"));
+    assertTrue(test.toString().contains("Sample"));
+    assertThrowsIllegalArg(() -> test.combinedWith(ImmutableList.of(codec)));
+    // the codec is unknown to the standard serializer
+    assertThrowsIllegalArg(() -> SERIALIZER.read(test.write(SampleType.of("sample")), SampleType.class));
+  }
+
+  public void test_interned() {
+    BinaryCodec<SampleType> codec = BinaryCodec.of(
+        "Sample",
+        SampleType.class,
+        (value, output) -> output.writeString(value.getName()),
+        input -> SampleType.of(input.readString()));
+    BinaryCodec<DoubleArray> listCodec = BinaryCodec.of(
+        "Repeated",
+        DoubleArray.class,
+        (value, output) -> {
+          output.writeInt(value.size());
+          for (int i = 0; i < value.size(); i++) {
+            output.writeInterned(SampleType.of("sample"));
+          }
+        },
+        input -> {
+          int size = input.readInt();
+          for (int i = 0; i < size; i++) {
+            assertEquals(input.readInterned(SampleType.class), SampleType.of("sample"));
+          }
+          return DoubleArray.filled(size);
+        });
+    BinarySerializer test = BinarySerializer.of(ImmutableList.of(codec, listCodec));
+    assertEquals(test.read(test.write(DoubleArray.filled(3)), DoubleArray.class), DoubleArray.filled(3));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_write_unsupported() {
+    assertThrowsIllegalArg(() -> SERIALIZER.write(new Object()));
+    assertThrowsIllegalArg(() -> SERIALIZER.write(ImmutableList.of(new Object())));
+  }
+
+  public void test_allowedPackages() {
+    assertEquals(SERIALIZER.getAllowedPackages(), ImmutableSet.of("com.opengamma.strata", "java.time"));
+    assertRoundTrip(Period.ofDays(2));
+    // a convertible type outside the allowed packages cannot be written
+    assertThrowsIllegalArg(() -> SERIALIZER.write(Locale.FRANCE));
+
+    BinarySerializer test = SERIALIZER.withAllowedPackages("java.util");
+    assertEquals(test.getAllowedPackages(), ImmutableSet.of("com.opengamma.strata", "java.time", "java.util"));
+    byte[] bytes = test.write(Locale.FRANCE);
+    assertEquals(test.read(bytes, Locale.class), Locale.FRANCE);
+    // a type outside the allowed packages is not loaded
+    assertThrowsIllegalArg(() -> SERIALIZER.read(bytes, Object.class));
+    assertThrowsIllegalArg(() -> SERIALIZER.withAllowedPackages("java.util.Loc").write(Locale.FRANCE));
+  }
+
+  public void test_beanTypes() {
+    assertRoundTrip(Pair.of(Pair.of(1, ImmutableList.of(Pair.of("x", 3L))), date(2016, 1, 1)));
+    // a bean naming a type outside the allowed packages cannot be written
+    FlexiBean flexi = new FlexiBean();
+    flexi.set("a", "b");
+    assertThrowsIllegalArg(() -> SERIALIZER.write(flexi));
+    assertThrowsIllegalArg(() -> SERIALIZER.write(Pair.of("a", flexi)));
+    assertThrowsIllegalArg(() -> SERIALIZER.write(Pair.of("a", Object.class)));
+
+    // a type outside the allowed packages is not loaded
+    assertThrowsIllegalArg(() -> SERIALIZER.read(beanForm(JodaBeanSer.COMPACT.binWriter().write(flexi)), Object.class));
+    byte[] nested = JodaBeanSer.COMPACT.binWriter().write(Pair.of("a", flexi));
+    assertThrowsIllegalArg(() -> SERIALIZER.read(beanForm(nested), Object.class));
+    byte[] nestedClass = JodaBeanSer.COMPACT.binWriter().write(Pair.of("a", Object.class));
+    assertThrowsIllegalArg(() -> SERIALIZER.read(beanForm(nestedClass), Object.class));
+    byte[] name = "java.lang.Thread".getBytes(StandardCharsets.UTF_8);
+    byte[] crafted = Bytes.concat(
+        new byte[] {(byte) 0x92, 1, (byte) 0x81, (byte) 0xC7, (byte) name.length, 0x20},
+        name,
+        new byte[] {(byte) 0xC0});
+    assertThrowsIllegalArg(() -> SERIALIZER.read(beanForm(crafted), Object.class));
+    // invalid bean data is rejected
+    byte[] valid = JodaBeanSer.COMPACT.binWriter().write(Pair.of("a", 2d));
+    assertEquals(SERIALIZER.read(beanForm(valid), Object.class), Pair.of("a", 2d));
+    assertThrowsIllegalArg(() -> SERIALIZER.read(beanForm(Arrays.copyOf(valid, valid.length - 1)), Object.class));
+    assertThrowsIllegalArg(() -> SERIALIZER.read(beanForm(Arrays.copyOf(valid, valid.length + 1)), Object.class));
+  }
+
+  public void test_read_invalid() {
+    byte[] bytes = SERIALIZER.write(DoubleArray.of(1, 2, 3));
+    assertThrowsIllegalArg(() -> SERIALIZER.read(bytes, String.class));
+    assertThrowsIllegalArg(() -> SERIALIZER.read(Arrays.copyOf(bytes, bytes.length - 1), DoubleArray.class));
+    assertThrowsIllegalArg(() -> SERIALIZER.read(new byte[] {1, 2, 3, 4}, DoubleArray.class));
+    assertThrowsIllegalArg(() -> SERIALIZER.read(new byte[] {'S', 'B', 1, 99}, DoubleArray.class));
+  }
+
+  //-------------------------------------------------------------------------
+  // the binary form of a bean with the specified Joda-Beans binary form, which must be under 128 bytes
+  private static byte[] beanForm(byte[] bean) {
+    return Bytes.concat(new byte[] {'S', 'B', 1, BinaryInput.TAG_BEAN, (byte) bean.length}, bean);
+  }
+
+  private static void assertRoundTrip(Object value) {
+    byte[] bytes = SERIALIZER.write(value);
+    assertEquals(SERIALIZER.read(bytes, Object.class), value);
+  }
+
+}
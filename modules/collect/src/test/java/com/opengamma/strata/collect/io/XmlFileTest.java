@@ -13,6 +13,7 @@ import static org.testng.Assert.assertFalse;
 import java.io.File;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -130,6 +131,56 @@ public class XmlFileTest {
     assertThrows(() -> XmlFile.of(source, "key"), UncheckedIOException.class);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_parseElements() {
+    ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
+    List<XmlFile> parsed = new ArrayList<>();
+    XmlFile.parseElements(source, path -> last(path).startsWith("leaf"), "key", parsed::add);
+    assertEquals(parsed.size(), 3);
+    assertEquals(parsed.get(0).getRoot(), LEAF1);
+    assertEquals(parsed.get(1).getRoot(), LEAF2A);
+    assertEquals(parsed.get(2).getRoot(), LEAF2B);
+    assertEquals(parsed.get(0).getReferences(), ImmutableMap.of());
+  }
+
+  public void test_parseElements_path() {
+    ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
+    List<XmlFile> parsed = new ArrayList<>();
+    XmlFile.parseElements(source, path -> path.equals(ImmutableList.of("base", "test", "leaf2")), "key", parsed::add);
+    assertEquals(parsed.size(), 2);
+    assertEquals(parsed.get(0).getRoot(), LEAF2A);
+    assertEquals(parsed.get(1).getRoot(), LEAF2B);
+    // the leaf elements are not direct children of the root
+    parsed.clear();
+    XmlFile.parseElements(source, path -> path.size() == 2 && last(path).startsWith("leaf"), "key", parsed::add);
+    assertEquals(parsed.size(), 0);
+  }
+
+  public void test_parseElements_nestedAndReferences() {
+    ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
+    List<XmlFile> parsed = new ArrayList<>();
+    XmlFile.parseElements(source, path -> last(path).equals("test") || last(path).equals("leaf1"), "key", parsed::add);
+    assertEquals(parsed.size(), 1);
+    XmlElement root = parsed.get(0).getRoot();
+    assertEquals(root, XmlElement.ofChildren("test", ATTR_MAP, CHILD_LIST_MULTI));
+    assertEquals(parsed.get(0).getReferences(), ImmutableMap.of("value", root));
+  }
+
+  public void test_parseElements_badEnd() {
+    ByteSource source = ByteSource.wrap(SAMPLE_BAD_END.getBytes(StandardCharsets.UTF_8));
+    assertThrowsIllegalArg(() -> XmlFile.parseElements(source, path -> last(path).equals("leaf1"), "", file -> {}));
+  }
+
+  public void test_parseElements_ioException() {
+    ByteSource source = Files.asByteSource(new File("/oh-dear-no-such-file"));
+    assertThrows(() -> XmlFile.parseElements(source, path -> true, "", file -> {}), UncheckedIOException.class);
+  }
+
+  // the name of the element at the end of the path
+  private static String last(List<String> path) {
+    return path.get(path.size() - 1);
+  }
+
   //-------------------------------------------------------------------------
   public void test_equalsHashCodeToString() {
     ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
@@ -138,8 +138,8 @@ public final class CurrencyScenarioArray
       throw new IllegalArgumentException(Messages.format(
           "Expected {} FX rates but received {}", amounts.size(), fxRateProvider.getScenarioCount()));
     }
-    DoubleArray convertedValues =
-        amounts.getValues().mapWithIndex((i, v) -> v * fxRateProvider.fxRate(getCurrency(), reportingCurrency, i));
+    DoubleArray fxRates = fxRateProvider.fxRates(getCurrency(), reportingCurrency);
+    DoubleArray convertedValues = amounts.getValues().multipliedBy(fxRates);
     return of(reportingCurrency, convertedValues);
   }
 
@@ -5,12 +5,21 @@
  */
 package com.opengamma.strata.data.scenario;
 
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
 import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.MarketDataFxRateProvider;
 import com.opengamma.strata.data.ObservableSource;
 
 /**
  * A provider of FX rates which takes its data from one scenario in a set of data for multiple scenarios.
+ * <p>
+ * The rates of each currency pair are found, and triangulated if necessary, once for all scenarios
+ * the first time the pair is requested. Subsequent requests for the pair are served from a cache.
+ * An instance is therefore intended to be shared by all the conversions of a calculation run.
  */
 class DefaultScenarioFxRateProvider implements ScenarioFxRateProvider {
 
@@ -24,6 +33,11 @@ class DefaultScenarioFxRateProvider implements ScenarioFxRateProvider {
    */
   private final ObservableSource source;
 
+  /**
+   * The rates of each scenario, keyed by currency pair, from base to counter.
+   */
+  private final ConcurrentHashMap<CurrencyPair, DoubleArray> rates = new ConcurrentHashMap<>();
+
   // creates an instance
   DefaultScenarioFxRateProvider(ScenarioMarketData marketData, ObservableSource source) {
     this.marketData = marketData;
@@ -35,6 +49,32 @@ class DefaultScenarioFxRateProvider implements ScenarioFxRateProvider {
     return marketData.getScenarioCount();
   }
 
+  @Override
+  public double fxRate(Currency baseCurrency, Currency counterCurrency, int scenarioIndex) {
+    if (baseCurrency.equals(counterCurrency)) {
+      return 1;
+    }
+    return fxRates(baseCurrency, counterCurrency).get(scenarioIndex);
+  }
+
+  @Override
+  public DoubleArray fxRates(Currency baseCurrency, Currency counterCurrency) {
+    if (baseCurrency.equals(counterCurrency)) {
+      return DoubleArray.filled(getScenarioCount(), 1);
+    }
+    // a failure to find a rate is not cached, the exception is thrown on each request
+    return rates.computeIfAbsent(CurrencyPair.of(baseCurrency, counterCurrency), this::lookupRates);
+  }
+
+  // finds the rates of all scenarios, triangulating if necessary
+  private DoubleArray lookupRates(CurrencyPair pair) {
+    double[] result = new double[getScenarioCount()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = fxRateProvider(i).fxRate(pair.getBase(), pair.getCounter());
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
   @Override
   public FxRateProvider fxRateProvider(int scenarioIndex) {
     return MarketDataFxRateProvider.of(marketData.scenario(scenarioIndex), source);
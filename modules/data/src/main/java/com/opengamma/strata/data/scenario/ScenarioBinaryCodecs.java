@@ -0,0 +1,183 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.io.BinaryCodec;
+import com.opengamma.strata.collect.io.BinaryInput;
+import com.opengamma.strata.collect.io.BinaryOutput;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * The binary codecs for scenario arrays and scenario market data.
+ * <p>
+ * These codecs write the values of each scenario array directly as an array of doubles.
+ * Market data is written as a map of identifier to value, allowing it to be sent to another process.
+ * They are intended to be registered with a {@link com.opengamma.strata.collect.io.BinarySerializer}.
+ */
+public final class ScenarioBinaryCodecs {
+
+  /**
+   * The codec for {@code DoubleScenarioArray}.
+   */
+  private static final BinaryCodec<DoubleScenarioArray> DOUBLE_ARRAY = BinaryCodec.of(
+      "DoubleScenarioArray",
+      DoubleScenarioArray.class,
+      (value, output) -> output.writeDoubleArray(value.getValues()),
+      input -> DoubleScenarioArray.of(input.readDoubleArray()));
+  /**
+   * The codec for {@code CurrencyScenarioArray}.
+   */
+  private static final BinaryCodec<CurrencyScenarioArray> CURRENCY_ARRAY = BinaryCodec.of(
+      "CurrencyScenarioArray",
+      CurrencyScenarioArray.class,
+      (value, output) -> {
+        output.writeObject(value.getCurrency());
+        output.writeDoubleArray(value.getAmounts().getValues());
+      },
+      input -> CurrencyScenarioArray.of(input.readObject(Currency.class), input.readDoubleArray()));
+  /**
+   * The codec for {@code MultiCurrencyScenarioArray}.
+   */
+  private static final BinaryCodec<MultiCurrencyScenarioArray> MULTI_CURRENCY_ARRAY = BinaryCodec.of(
+      "MultiCurrencyScenarioArray",
+      MultiCurrencyScenarioArray.class,
+      ScenarioBinaryCodecs::writeMultiCurrency,
+      ScenarioBinaryCodecs::readMultiCurrency);
+  /**
+   * The codec for {@code DefaultScenarioArray}, where each value is written as an object.
+   */
+  @SuppressWarnings("rawtypes")
+  private static final BinaryCodec<DefaultScenarioArray> DEFAULT_ARRAY = BinaryCodec.of(
+      "DefaultScenarioArray",
+      DefaultScenarioArray.class,
+      (value, output) -> output.writeObject(value.getValues()),
+      input -> DefaultScenarioArray.of(input.readList(Object.class)));
+  /**
+   * The codec for {@code EmptyMarketDataBox}, which has no content.
+   */
+  private static final BinaryCodec<EmptyMarketDataBox> EMPTY_BOX = BinaryCodec.of(
+      "EmptyMarketDataBox",
+      EmptyMarketDataBox.class,
+      (value, output) -> {
+      },
+      input -> (EmptyMarketDataBox) EmptyMarketDataBox.<Void>empty());
+  /**
+   * The codec for {@code SingleMarketDataBox}.
+   */
+  @SuppressWarnings("rawtypes")
+  private static final BinaryCodec<SingleMarketDataBox> SINGLE_BOX = BinaryCodec.of(
+      "SingleMarketDataBox",
+      SingleMarketDataBox.class,
+      (value, output) -> output.writeObject(value.getSingleValue()),
+      input -> SingleMarketDataBox.of(input.readObject(Object.class)));
+  /**
+   * The codec for {@code ScenarioMarketDataBox}.
+   */
+  @SuppressWarnings("rawtypes")
+  private static final BinaryCodec<ScenarioMarketDataBox> SCENARIO_BOX = BinaryCodec.of(
+      "ScenarioMarketDataBox",
+      ScenarioMarketDataBox.class,
+      (value, output) -> output.writeObject(value.getScenarioValue()),
+      input -> ScenarioMarketDataBox.of((ScenarioArray<?>) input.readObject(ScenarioArray.class)));
+  /**
+   * The codec for {@code ImmutableScenarioMarketData}.
+   */
+  private static final BinaryCodec<ImmutableScenarioMarketData> MARKET_DATA = BinaryCodec.of(
+      "ImmutableScenarioMarketData",
+      ImmutableScenarioMarketData.class,
+      ScenarioBinaryCodecs::writeMarketData,
+      ScenarioBinaryCodecs::readMarketData);
+  /**
+   * The codecs.
+   */
+  private static final ImmutableList<BinaryCodec<?>> CODECS = ImmutableList.of(
+      DOUBLE_ARRAY, CURRENCY_ARRAY, MULTI_CURRENCY_ARRAY, DEFAULT_ARRAY,
+      EMPTY_BOX, SINGLE_BOX, SCENARIO_BOX, MARKET_DATA);
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the binary codecs for scenario arrays and scenario market data.
+   * <p>
+   * The values held in the market data are written using the codecs registered for them.
+   *
+   * @return the codecs
+   */
+  public static ImmutableList<BinaryCodec<?>> codecs() {
+    return CODECS;
+  }
+
+  //-------------------------------------------------------------------------
+  // writes a multi-currency array, the size is needed when there are no currencies
+  private static void writeMultiCurrency(MultiCurrencyScenarioArray value, BinaryOutput output) {
+    Map<Currency, DoubleArray> values = value.getAmounts().getValues();
+    output.writeInt(value.getScenarioCount());
+    output.writeInt(values.size());
+    for (Entry<Currency, DoubleArray> entry : values.entrySet()) {
+      output.writeObject(entry.getKey());
+      output.writeDoubleArray(entry.getValue());
+    }
+  }
+
+  // reads a multi-currency array
+  private static MultiCurrencyScenarioArray readMultiCurrency(BinaryInput input) {
+    int scenarioCount = input.readInt();
+    int currencyCount = input.readInt();
+    if (currencyCount == 0) {
+      return MultiCurrencyScenarioArray.of(scenarioCount, i -> MultiCurrencyAmount.empty());
+    }
+    Map<Currency, DoubleArray> values = new TreeMap<>();
+    for (int i = 0; i < currencyCount; i++) {
+      Currency currency = input.readObject(Currency.class);
+      values.put(currency, input.readDoubleArray());
+    }
+    return MultiCurrencyScenarioArray.of(values);
+  }
+
+  // writes the market data
+  private static void writeMarketData(ImmutableScenarioMarketData value, BinaryOutput output) {
+    output.writeInt(value.getScenarioCount());
+    output.writeObject(value.getValuationDate());
+    output.writeObject(value.getValues());
+    output.writeObject(value.getTimeSeries());
+  }
+
+  // reads the market data
+  @SuppressWarnings("unchecked")
+  private static ImmutableScenarioMarketData readMarketData(BinaryInput input) {
+    int scenarioCount = input.readInt();
+    MarketDataBox<LocalDate> valuationDate = input.readObject(MarketDataBox.class);
+    Map<MarketDataId<?>, MarketDataBox<?>> values = readValues(input);
+    Map<ObservableId, LocalDateDoubleTimeSeries> timeSeries =
+        input.readMap(ObservableId.class, LocalDateDoubleTimeSeries.class);
+    return ImmutableScenarioMarketData.of(scenarioCount, valuationDate, values, timeSeries);
+  }
+
+  // reads the market data values, cast to the generic types used by the market data
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private static Map<MarketDataId<?>, MarketDataBox<?>> readValues(BinaryInput input) {
+    Map map = input.readMap(MarketDataId.class, MarketDataBox.class);
+    return map;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Restricted constructor.
+   */
+  private ScenarioBinaryCodecs() {
+  }
+
+}
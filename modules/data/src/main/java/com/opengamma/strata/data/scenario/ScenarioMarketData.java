@@ -269,6 +269,28 @@ public interface ScenarioMarketData {
     return new CombinedScenarioMarketData(this, other);
   }
 
+  /**
+   * Returns market data containing a contiguous range of the scenarios of this market data.
+   * <p>
+   * The result contains the scenarios from the first index, inclusive, to the second index, exclusive.
+   * Values that are the same in all scenarios are unaffected, whereas values that vary by scenario
+   * are restricted to the scenarios in the range. Time-series are unaffected.
+   * <p>
+   * This allows calculations over a large number of scenarios to be performed in chunks,
+   * see {@code CalculationTaskRunner}.
+   *
+   * @param fromIndex  the index of the first scenario, inclusive
+   * @param toIndexExclusive  the index of the last scenario, exclusive
+   * @return the market data containing the range of scenarios
+   * @throws IllegalArgumentException if the range is empty or outside the scenarios of this market data
+   */
+  public default ScenarioMarketData subScenarios(int fromIndex, int toIndexExclusive) {
+    if (fromIndex == 0 && toIndexExclusive == getScenarioCount()) {
+      return this;
+    }
+    return SubScenarioMarketData.of(this, fromIndex, toIndexExclusive);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Gets the time-series identifiers.
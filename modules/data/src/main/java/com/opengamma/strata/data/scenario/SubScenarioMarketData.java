@@ -0,0 +1,286 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableConstructor;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * A set of market data containing a contiguous range of the scenarios of an underlying set.
+ * <p>
+ * Values that are the same in all scenarios are returned unchanged.
+ * Values that vary by scenario are restricted to the scenarios in the range when they are first queried.
+ * Time-series are not affected by scenarios and are returned unchanged.
+ */
+@BeanDefinition(style = "light")
+final class SubScenarioMarketData
+    implements ScenarioMarketData, ImmutableBean, Serializable {
+
+  /**
+   * The underlying market data.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ScenarioMarketData underlying;
+  /**
+   * The index of the first scenario of the range in the underlying market data.
+   */
+  @PropertyDefinition
+  private final int firstScenarioIndex;
+  /**
+   * The number of scenarios in the range.
+   */
+  @PropertyDefinition(overrideGet = true)
+  private final int scenarioCount;
+  /**
+   * The valuation date, restricted to the range.
+   * Not a Joda-Beans property.
+   */
+  private transient final MarketDataBox<LocalDate> valuationDate;
+  /**
+   * The values that have been queried, restricted to the range, keyed by identifier.
+   * Not a Joda-Beans property.
+   */
+  private transient final ConcurrentHashMap<MarketDataId<?>, MarketDataBox<?>> values = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance containing a range of the scenarios of the underlying market data.
+   *
+   * @param underlying  the underlying market data
+   * @param fromIndex  the index of the first scenario, inclusive
+   * @param toIndexExclusive  the index of the last scenario, exclusive
+   * @return the market data for the range of scenarios
+   * @throws IllegalArgumentException if the range is invalid
+   */
+  static SubScenarioMarketData of(ScenarioMarketData underlying, int fromIndex, int toIndexExclusive) {
+    ArgChecker.notNull(underlying, "underlying");
+    checkRange(fromIndex, toIndexExclusive, underlying.getScenarioCount());
+    return new SubScenarioMarketData(underlying, fromIndex, toIndexExclusive - fromIndex);
+  }
+
+  //-------------------------------------------------------------------------
+  // constructor
+  @ImmutableConstructor
+  private SubScenarioMarketData(
+      ScenarioMarketData underlying,
+      int firstScenarioIndex,
+      int scenarioCount) {
+
+    this.underlying = ArgChecker.notNull(underlying, "underlying");
+    this.firstScenarioIndex = firstScenarioIndex;
+    this.scenarioCount = scenarioCount;
+    this.valuationDate = subBox(underlying.getValuationDate());
+  }
+
+  // deserialize transient
+  private Object readResolve() throws ObjectStreamException {
+    return new SubScenarioMarketData(underlying, firstScenarioIndex, scenarioCount);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public MarketDataBox<LocalDate> getValuationDate() {
+    return valuationDate;
+  }
+
+  @Override
+  public boolean containsValue(MarketDataId<?> id) {
+    return underlying.containsValue(id);
+  }
+
+  @Override
+  public <T> MarketDataBox<T> getValue(MarketDataId<T> id) {
+    // the cast is safe because the box was obtained from the underlying using the same identifier
+    @SuppressWarnings("unchecked")
+    MarketDataBox<T> box = (MarketDataBox<T>) values.computeIfAbsent(id, k -> subBox(underlying.getValue(id)));
+    return box;
+  }
+
+  @Override
+  public <T> Optional<MarketDataBox<T>> findValue(MarketDataId<T> id) {
+    if (values.containsKey(id)) {
+      return Optional.of(getValue(id));
+    }
+    return underlying.findValue(id).map(box -> {
+      @SuppressWarnings("unchecked")
+      MarketDataBox<T> subBox = (MarketDataBox<T>) values.computeIfAbsent(id, k -> subBox(box));
+      return subBox;
+    });
+  }
+
+  @Override
+  public Set<MarketDataId<?>> getIds() {
+    return underlying.getIds();
+  }
+
+  @Override
+  public <T> Set<MarketDataId<T>> findIds(MarketDataName<T> name) {
+    return underlying.findIds(name);
+  }
+
+  @Override
+  public Set<ObservableId> getTimeSeriesIds() {
+    return underlying.getTimeSeriesIds();
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries getTimeSeries(ObservableId id) {
+    return underlying.getTimeSeries(id);
+  }
+
+  @Override
+  public ScenarioMarketData subScenarios(int fromIndex, int toIndexExclusive) {
+    // avoids a chain of views when a range is divided further
+    checkRange(fromIndex, toIndexExclusive, scenarioCount);
+    return of(underlying, firstScenarioIndex + fromIndex, firstScenarioIndex + toIndexExclusive);
+  }
+
+  // checks the range is within the scenarios and not empty
+  private static void checkRange(int fromIndex, int toIndexExclusive, int scenarioCount) {
+    ArgChecker.isTrue(
+        fromIndex >= 0 && fromIndex < toIndexExclusive && toIndexExclusive <= scenarioCount,
+        "Invalid scenario range {} to {} for market data with {} scenarios",
+        fromIndex, toIndexExclusive, scenarioCount);
+  }
+
+  // restricts a box to the scenarios in the range, a box with a single value is unaffected
+  private <T> MarketDataBox<T> subBox(MarketDataBox<T> box) {
+    if (box.isSingleValue()) {
+      return box;
+    }
+    List<T> values = new ArrayList<>(scenarioCount);
+    for (int i = 0; i < scenarioCount; i++) {
+      values.add(box.getValue(firstScenarioIndex + i));
+    }
+    return MarketDataBox.ofScenarioValues(values);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code SubScenarioMarketData}.
+   */
+  private static MetaBean META_BEAN = LightMetaBean.of(SubScenarioMarketData.class);
+
+  /**
+   * The meta-bean for {@code SubScenarioMarketData}.
+   * @return the meta-bean, not null
+   */
+  public static MetaBean meta() {
+    return META_BEAN;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public MetaBean metaBean() {
+    return META_BEAN;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the underlying market data.
+   * @return the value of the property, not null
+   */
+  public ScenarioMarketData getUnderlying() {
+    return underlying;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the index of the first scenario of the range in the underlying market data.
+   * @return the value of the property
+   */
+  public int getFirstScenarioIndex() {
+    return firstScenarioIndex;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of scenarios in the range.
+   * @return the value of the property
+   */
+  @Override
+  public int getScenarioCount() {
+    return scenarioCount;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      SubScenarioMarketData other = (SubScenarioMarketData) obj;
+      return JodaBeanUtils.equal(underlying, other.underlying) &&
+          (firstScenarioIndex == other.firstScenarioIndex) &&
+          (scenarioCount == other.scenarioCount);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(underlying);
+    hash = hash * 31 + JodaBeanUtils.hashCode(firstScenarioIndex);
+    hash = hash * 31 + JodaBeanUtils.hashCode(scenarioCount);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(128);
+    buf.append("SubScenarioMarketData{");
+    buf.append("underlying").append('=').append(underlying).append(',').append(' ');
+    buf.append("firstScenarioIndex").append('=').append(firstScenarioIndex).append(',').append(' ');
+    buf.append("scenarioCount").append('=').append(JodaBeanUtils.toString(scenarioCount));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.io.BinarySerializer;
+import com.opengamma.strata.data.FxRateId;
+
+/**
+ * Test {@link ScenarioBinaryCodecs}.
+ */
+@Test
+public class ScenarioBinaryCodecsTest {
+
+  private static final BinarySerializer SERIALIZER = BinarySerializer.of(ScenarioBinaryCodecs.codecs());
+
+  public void test_roundTrip() {
+    assertRoundTrip(DoubleScenarioArray.of(DoubleArray.of(1, 2, 3)));
+    assertRoundTrip(CurrencyScenarioArray.of(GBP, DoubleArray.of(1, 2, 3)));
+    assertRoundTrip(MultiCurrencyScenarioArray.of(ImmutableMap.of(
+        GBP, DoubleArray.of(1, 2, 3),
+        USD, DoubleArray.of(4, 5, 6))));
+    assertRoundTrip(MultiCurrencyScenarioArray.of(2, i -> MultiCurrencyAmount.empty()));
+    assertRoundTrip(DefaultScenarioArray.of("a", "b", "a"));
+  }
+
+  public void test_valuesWrittenDirectly() {
+    DoubleScenarioArray array = DoubleScenarioArray.of(1000, i -> i * 1.5d);
+    byte[] bytes = SERIALIZER.write(array);
+    // eight bytes for each value, plus the header, codec name and size
+    assertEquals(bytes.length, 8000 + 3 + 1 + 21 + 2);
+  }
+
+  public void test_marketData() {
+    ImmutableScenarioMarketData marketData = ImmutableScenarioMarketData.builder(date(2016, 6, 30))
+        .addValue(FxRateId.of(GBP, USD), FxRate.of(GBP, USD, 1.4d))
+        .addScenarioValue(FxRateId.of(EUR, USD), ImmutableList.of(FxRate.of(EUR, USD, 1.1d), FxRate.of(EUR, USD, 1.2d)))
+        .build();
+    assertEquals(SERIALIZER.read(SERIALIZER.write(marketData), ScenarioMarketData.class), marketData);
+    ImmutableScenarioMarketData empty = ImmutableScenarioMarketData.empty();
+    assertEquals(SERIALIZER.read(SERIALIZER.write(empty), ScenarioMarketData.class), empty);
+  }
+
+  private static void assertRoundTrip(ScenarioArray<?> value) {
+    assertEquals(SERIALIZER.read(SERIALIZER.write(value), ScenarioArray.class), value);
+  }
+
+}
@@ -6,15 +6,20 @@
 package com.opengamma.strata.data.scenario;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
 
 import java.time.LocalDate;
 
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.MarketDataNotFoundException;
 import com.opengamma.strata.data.ObservableSource;
 
 @Test
@@ -51,4 +56,26 @@ public class ScenarioFxRateProviderTest {
     assertThat(defaultRateProvider.fxRate(Currency.GBP, Currency.USD, 0)).isEqualTo(1.4d);
     assertThat(sourceRateProvider.fxRate(Currency.GBP, Currency.USD, 0)).isEqualTo(1.41d);
   }
+
+  public void fxRates() {
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(LocalDate.of(2011, 3, 8))
+        .addScenarioValue(
+            FxRateId.of(Currency.GBP, Currency.USD),
+            ImmutableList.of(FxRate.of(Currency.GBP, Currency.USD, 1.4d), FxRate.of(Currency.GBP, Currency.USD, 1.6d)))
+        .addValue(FxRateId.of(Currency.EUR, Currency.USD), FxRate.of(Currency.EUR, Currency.USD, 1.1d))
+        .build();
+    ScenarioFxRateProvider test = ScenarioFxRateProvider.of(marketData);
+    assertThat(test.fxRates(Currency.GBP, Currency.USD)).isEqualTo(DoubleArray.of(1.4d, 1.6d));
+    assertThat(test.fxRates(Currency.USD, Currency.USD)).isEqualTo(DoubleArray.of(1d, 1d));
+    // triangulated via USD
+    DoubleArray cross = test.fxRates(Currency.GBP, Currency.EUR);
+    assertThat(cross.get(0)).isCloseTo(1.4d / 1.1d, within(1e-12));
+    assertThat(cross.get(1)).isCloseTo(1.6d / 1.1d, within(1e-12));
+    assertThat(test.fxRate(Currency.GBP, Currency.EUR, 1)).isEqualTo(cross.get(1));
+    // cached
+    assertThat(test.fxRates(Currency.GBP, Currency.EUR)).isSameAs(cross);
+    assertThatThrownBy(() -> test.fxRates(Currency.GBP, Currency.JPY))
+        .isInstanceOf(MarketDataNotFoundException.class);
+  }
+
 }
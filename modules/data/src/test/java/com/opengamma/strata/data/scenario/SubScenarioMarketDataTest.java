@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+
+/**
+ * Test {@link SubScenarioMarketData}.
+ */
+@Test
+public class SubScenarioMarketDataTest {
+
+  private static final LocalDate VAL_DATE = date(2016, 6, 30);
+  private static final TestObservableId ID1 = TestObservableId.of("1");
+  private static final TestObservableId ID2 = TestObservableId.of("2");
+  private static final TestObservableId ID3 = TestObservableId.of("3");
+  private static final LocalDateDoubleTimeSeries TIME_SERIES = LocalDateDoubleTimeSeries.builder()
+      .put(date(2016, 6, 29), 1)
+      .put(date(2016, 6, 30), 2)
+      .build();
+  private static final ScenarioMarketData MARKET_DATA = ImmutableScenarioMarketData.builder(VAL_DATE)
+      .addBox(ID1, MarketDataBox.ofScenarioValues(1.0, 1.1, 1.2, 1.3, 1.4))
+      .addBox(ID2, MarketDataBox.ofSingleValue(2.0))
+      .addTimeSeries(ID3, TIME_SERIES)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_subScenarios() {
+    ScenarioMarketData test = MARKET_DATA.subScenarios(1, 4);
+    assertThat(test.getScenarioCount()).isEqualTo(3);
+    assertThat(test.getValuationDate()).isEqualTo(MarketDataBox.ofSingleValue(VAL_DATE));
+    assertThat(test.getValue(ID1)).isEqualTo(MarketDataBox.ofScenarioValues(1.1, 1.2, 1.3));
+    assertThat(test.findValue(ID1)).hasValue(MarketDataBox.ofScenarioValues(1.1, 1.2, 1.3));
+    assertThat(test.getValue(ID2)).isEqualTo(MarketDataBox.ofSingleValue(2.0));
+    assertThat(test.findValue(ID3)).isEmpty();
+    assertThat(test.containsValue(ID1)).isTrue();
+    assertThat(test.containsValue(ID3)).isFalse();
+    assertThat(test.getIds()).isEqualTo(ImmutableSet.of(ID1, ID2));
+    assertThat(test.getTimeSeriesIds()).isEqualTo(ImmutableSet.of(ID3));
+    assertThat(test.getTimeSeries(ID3)).isEqualTo(TIME_SERIES);
+    assertThat(test.scenario(0).getValue(ID1)).isEqualTo(1.1);
+  }
+
+  public void test_subScenarios_restrictedOnce() {
+    ScenarioMarketData test = MARKET_DATA.subScenarios(1, 4);
+    MarketDataBox<Double> box = test.getValue(ID1);
+    assertThat(test.getValue(ID1)).isSameAs(box);
+    assertThat(test.findValue(ID1).get()).isSameAs(box);
+    ScenarioMarketData test2 = MARKET_DATA.subScenarios(1, 4);
+    MarketDataBox<Double> box2 = test2.findValue(ID1).get();
+    assertThat(test2.getValue(ID1)).isSameAs(box2);
+    assertThat(test2.findValue(ID1).get()).isSameAs(box2);
+  }
+
+  public void test_subScenarios_scenarioValuationDates() {
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(
+        MarketDataBox.ofScenarioValues(VAL_DATE, VAL_DATE.plusDays(1), VAL_DATE.plusDays(2)))
+        .addBox(ID1, MarketDataBox.ofScenarioValues(1.0, 1.1, 1.2))
+        .build();
+    ScenarioMarketData test = marketData.subScenarios(1, 3);
+    assertThat(test.getValuationDate())
+        .isEqualTo(MarketDataBox.ofScenarioValues(VAL_DATE.plusDays(1), VAL_DATE.plusDays(2)));
+  }
+
+  public void test_subScenarios_ofRange() {
+    ScenarioMarketData test = MARKET_DATA.subScenarios(1, 4).subScenarios(1, 3);
+    assertThat(test).isEqualTo(SubScenarioMarketData.of(MARKET_DATA, 2, 4));
+    assertThat(test.getValue(ID1)).isEqualTo(MarketDataBox.ofScenarioValues(1.2, 1.3));
+  }
+
+  public void test_subScenarios_all() {
+    assertThat(MARKET_DATA.subScenarios(0, 5)).isSameAs(MARKET_DATA);
+  }
+
+  public void test_subScenarios_invalid() {
+    assertThrowsIllegalArg(() -> MARKET_DATA.subScenarios(-1, 2));
+    assertThrowsIllegalArg(() -> MARKET_DATA.subScenarios(2, 2));
+    assertThrowsIllegalArg(() -> MARKET_DATA.subScenarios(2, 6));
+    assertThrowsIllegalArg(() -> MARKET_DATA.subScenarios(1, 4).subScenarios(1, 4));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    SubScenarioMarketData test = SubScenarioMarketData.of(MARKET_DATA, 1, 3);
+    coverImmutableBean(test);
+    SubScenarioMarketData test2 = SubScenarioMarketData.of(MARKET_DATA, 0, 2);
+    coverBeanEquals(test, test2);
+  }
+
+}
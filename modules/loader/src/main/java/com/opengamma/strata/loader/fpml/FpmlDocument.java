@@ -214,6 +214,35 @@ public final class FpmlDocument {
     this.refData = refData;
   }
 
+  // creates an instance for part of a document, reusing the parties of the whole document
+  private FpmlDocument(
+      XmlElement fpmlRootEl,
+      Map<String, XmlElement> references,
+      FpmlDocument partiesDocument) {
+
+    this.fpmlRoot = fpmlRootEl;
+    this.references = ImmutableMap.copyOf(references);
+    this.parties = partiesDocument.parties;
+    this.ourPartyHrefId = partiesDocument.ourPartyHrefId;
+    this.tradeInfoParser = partiesDocument.tradeInfoParser;
+    this.refData = partiesDocument.refData;
+  }
+
+  /**
+   * Returns a copy of this document for a part of the FpML document.
+   * <p>
+   * This is used when the FpML document is parsed incrementally.
+   * The parties and "our" party of this document are retained, avoiding the need to
+   * select the party again for each part.
+   * 
+   * @param fpmlRootEl  the FpML root element of the part
+   * @param references  the map of id/href to referenced element within the part
+   * @return the document for the part
+   */
+  FpmlDocument withPart(XmlElement fpmlRootEl, Map<String, XmlElement> references) {
+    return new FpmlDocument(fpmlRootEl, references, this);
+  }
+
   // parse all the root-level party elements
   private static ImmutableListMultimap<String, String> parseParties(XmlElement root) {
     ListMultimap<String, String> parties = ArrayListMultimap.create();
@@ -5,21 +5,31 @@
  */
 package com.opengamma.strata.loader.fpml;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.io.ByteSource;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.io.XmlElement;
 import com.opengamma.strata.collect.io.XmlFile;
 import com.opengamma.strata.collect.named.ExtendedEnum;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.product.Trade;
 
 /**
@@ -34,11 +44,20 @@ import com.opengamma.strata.product.Trade;
 public final class FpmlDocumentParser {
   // Notes: Streaming trades directly from the file is difficult due to the
   // need to parse the party element at the root, which is after the trades
+  // The incremental parse reads the file twice, once for the parties and once for the trades
 
   /**
    * The lookup of trade parsers.
    */
   static final ExtendedEnum<FpmlParserPlugin> ENUM_LOOKUP = ExtendedEnum.of(FpmlParserPlugin.class);
+  /**
+   * The maximum depth of the FpML root element, which may be within two levels of wrapper.
+   */
+  private static final int MAX_ROOT_DEPTH = 3;
+  /**
+   * The maximum depth of the parent of the trades, which may be within a grandchild of the FpML root.
+   */
+  private static final int MAX_TRADE_DEPTH = MAX_ROOT_DEPTH + 2;
 
   /**
    * The selector used to find "our" party within the set of parties in the FpML document.
@@ -194,6 +213,141 @@ public final class FpmlDocumentParser {
     return parseTrades(root, xmlFile.getReferences());
   }
 
+  /**
+   * Parses FpML from the specified source incrementally, passing each trade to the consumer.
+   * <p>
+   * This parses the specified byte source which must be an XML document.
+   * <p>
+   * Unlike {@link #parseTrades(ByteSource)}, the whole document is not held in memory.
+   * The source is read twice, first to find the {@code <party>} elements and the location of the trades,
+   * then to parse the {@code <trade>} elements. The FpML root element is found using the same rules as
+   * {@link #parseTrades(ByteSource)}, and only the parties and trades at the matching positions
+   * relative to the root are parsed.
+   * Each trade is parsed and passed to the consumer before the next one is read.
+   * References are resolved within the scope of the trade and the parties.
+   * 
+   * @param source  the source of the FpML XML document
+   * @param consumer  the consumer of the parsed trades, called in the order of the document
+   * @throws RuntimeException if a parse error occurred
+   */
+  public void parseTradesIncrementally(ByteSource source, Consumer<? super Trade> consumer) {
+    parseTradesIncrementally(source, 1, consumer);
+  }
+
+  /**
+   * Parses FpML from the specified source incrementally, parsing batches of trades in parallel.
+   * <p>
+   * This parses the specified byte source which must be an XML document.
+   * <p>
+   * This behaves as {@link #parseTradesIncrementally(ByteSource, Consumer)}, except that the
+   * {@code <trade>} elements are read in batches of the specified size, with the trades of each
+   * batch parsed in parallel. The trades are passed to the consumer in the order of the
+   * document, using the calling thread. At most one batch of trades is held in memory.
+   * 
+   * @param source  the source of the FpML XML document
+   * @param batchSize  the number of trades to parse in parallel, one to parse sequentially
+   * @param consumer  the consumer of the parsed trades, called in the order of the document
+   * @throws RuntimeException if a parse error occurred
+   */
+  public void parseTradesIncrementally(ByteSource source, int batchSize, Consumer<? super Trade> consumer) {
+    ArgChecker.notNull(source, "source");
+    ArgChecker.notNegativeOrZero(batchSize, "batchSize");
+    ArgChecker.notNull(consumer, "consumer");
+    // the parties are typically after the trades, so must be found first
+    // the FpML root is within two levels of wrapper, so only the first levels are searched
+    Map<List<String>, List<XmlFile>> partiesByParent = new LinkedHashMap<>();
+    Set<List<String>> tradeParents = new LinkedHashSet<>();
+    List<List<String>> matchedParent = new ArrayList<>(1);
+    XmlFile.parseElements(
+        source,
+        path -> {
+          String name = path.get(path.size() - 1);
+          List<String> parent = path.subList(0, path.size() - 1);
+          if (name.equals("trade") && parent.size() <= MAX_TRADE_DEPTH) {
+            tradeParents.add(ImmutableList.copyOf(parent));
+          } else if (name.equals("party") && parent.size() <= MAX_ROOT_DEPTH) {
+            matchedParent.add(ImmutableList.copyOf(parent));
+            return true;
+          }
+          return false;
+        },
+        FpmlDocument.ID,
+        partyFile -> partiesByParent.computeIfAbsent(matchedParent.remove(0), k -> new ArrayList<>()).add(partyFile));
+    Pair<List<String>, List<String>> rootAndTradeParent = findFpmlRootPath(partiesByParent.keySet(), tradeParents);
+    List<String> rootPath = rootAndTradeParent.getFirst();
+    List<String> tradeParent = rootAndTradeParent.getSecond();
+    List<XmlElement> partyEls = new ArrayList<>();
+    Map<String, XmlElement> partyRefs = new HashMap<>();
+    for (XmlFile partyFile : partiesByParent.get(rootPath)) {
+      partyEls.add(partyFile.getRoot());
+      partyRefs.putAll(partyFile.getReferences());
+    }
+    XmlElement partiesEl = XmlElement.ofChildren(rootPath.get(rootPath.size() - 1), ImmutableMap.of(), partyEls);
+    FpmlDocument partiesDocument = new FpmlDocument(partiesEl, partyRefs, ourPartySelector, tradeInfoParser, refData);
+    // parse the trades in batches
+    List<XmlFile> batch = new ArrayList<>(batchSize);
+    Predicate<List<String>> tradeFilter = path -> path.size() == tradeParent.size() + 1 &&
+        path.get(tradeParent.size()).equals("trade") &&
+        path.subList(0, tradeParent.size()).equals(tradeParent);
+    XmlFile.parseElements(source, tradeFilter, FpmlDocument.ID, tradeFile -> {
+      batch.add(tradeFile);
+      if (batch.size() == batchSize) {
+        parseTradeBatch(partiesDocument, batch, consumer);
+        batch.clear();
+      }
+    });
+    parseTradeBatch(partiesDocument, batch, consumer);
+  }
+
+  // parses a batch of trade elements, in parallel if there is more than one
+  private void parseTradeBatch(FpmlDocument partiesDocument, List<XmlFile> batch, Consumer<? super Trade> consumer) {
+    if (batch.size() == 1) {
+      consumer.accept(parseTrade(partiesDocument, batch.get(0)));
+    } else {
+      List<Trade> trades = batch.parallelStream()
+          .map(tradeFile -> parseTrade(partiesDocument, tradeFile))
+          .collect(toImmutableList());
+      trades.forEach(consumer);
+    }
+  }
+
+  // parses one trade element, combining it with the parties of the document
+  private Trade parseTrade(FpmlDocument partiesDocument, XmlFile tradeFile) {
+    XmlElement partiesEl = partiesDocument.getFpmlRoot();
+    XmlElement tradeEl = tradeFile.getRoot();
+    List<XmlElement> children = new ArrayList<>(partiesEl.getChildren());
+    children.add(tradeEl);
+    XmlElement fpmlRootEl = XmlElement.ofChildren(partiesEl.getName(), partiesEl.getAttributes(), children);
+    Map<String, XmlElement> references = new HashMap<>(partiesDocument.getReferences());
+    references.putAll(tradeFile.getReferences());
+    return parseTrade(partiesDocument.withPart(fpmlRootEl, references), tradeEl);
+  }
+
+  // finds the path of the FpML root element and of the parent of the trades from the paths of the parents
+  // of the party and trade elements, in document order, using the same rules as findFpmlRoot()
+  private static Pair<List<String>, List<String>> findFpmlRootPath(
+      Set<List<String>> partyParents,
+      Set<List<String>> tradeParents) {
+
+    // try the root element, then its children, then its grandchildren
+    for (int rootSize = 1; rootSize <= MAX_ROOT_DEPTH; rootSize++) {
+      for (List<String> root : partyParents) {
+        if (root.size() != rootSize) {
+          continue;
+        }
+        // trades that are siblings of the parties, or within a child or grandchild alongside the parties
+        for (int tradeParentSize = rootSize; tradeParentSize <= rootSize + 2; tradeParentSize++) {
+          for (List<String> tradeParent : tradeParents) {
+            if (tradeParent.size() == tradeParentSize && tradeParent.subList(0, rootSize).equals(root)) {
+              return Pair.of(root, tradeParent);
+            }
+          }
+        }
+      }
+    }
+    throw new FpmlParseException("Unable to find FpML root element");
+  }
+
   // intelligently finds the FpML root element
   private static XmlElement findFpmlRoot(XmlElement root) {
     XmlElement fpmlRoot = getFpmlRoot(root);
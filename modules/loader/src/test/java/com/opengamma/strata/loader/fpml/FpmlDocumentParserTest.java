@@ -41,11 +41,14 @@ import static com.opengamma.strata.product.common.PayReceive.RECEIVE;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.fail;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.Period;
 import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -426,6 +429,58 @@ public class FpmlDocumentParserTest {
     assertFra(trades, false);
   }
 
+  //-------------------------------------------------------------------------
+  public void fra_incremental() {
+    String location = "classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra.xml";
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    List<Trade> trades = new ArrayList<>();
+    FpmlDocumentParser.of(FpmlPartySelector.matching("Party2")).parseTradesIncrementally(resource, trades::add);
+    assertFra(trades, false);
+  }
+
+  public void fra_wrapper_clearingStatus_incremental() {
+    String location = "classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra-wrapper-clearing-status.xml";
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    List<Trade> trades = new ArrayList<>();
+    FpmlDocumentParser.of(FpmlPartySelector.matching("Party2")).parseTradesIncrementally(resource, trades::add);
+    assertFra(trades, false);
+  }
+
+  public void incremental_multipleTrades() throws IOException {
+    String location = "classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra.xml";
+    String xml = ResourceLocator.of(location).getCharSource().read();
+    String tradeXml = xml.substring(xml.indexOf("<trade>"), xml.indexOf("</trade>") + "</trade>".length());
+    String multiXml = xml.replace(tradeXml, tradeXml + tradeXml + tradeXml);
+    ByteSource resource = ByteSource.wrap(multiXml.getBytes(StandardCharsets.UTF_8));
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.matching("Party2"));
+    List<Trade> expected = parser.parseTrades(resource);
+    assertEquals(expected.size(), 3);
+
+    List<Trade> sequential = new ArrayList<>();
+    parser.parseTradesIncrementally(resource, sequential::add);
+    assertEquals(sequential, expected);
+    List<Trade> parallel = new ArrayList<>();
+    parser.parseTradesIncrementally(resource, 2, parallel::add);
+    assertEquals(parallel, expected);
+  }
+
+  public void incremental_nestedElements() throws IOException {
+    // trade and party elements that are not children of the FpML root are ignored
+    String location = "classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra.xml";
+    String xml = ResourceLocator.of(location).getCharSource().read();
+    String tradeXml = xml.substring(xml.indexOf("<trade>"), xml.indexOf("</trade>") + "</trade>".length());
+    String nestedXml = "<other>" + tradeXml + "<party id=\"party3\"><partyId>Party2</partyId></party></other>";
+    String wrappedXml = xml.replace("</dataDocument>", nestedXml + "</dataDocument>");
+    ByteSource resource = ByteSource.wrap(wrappedXml.getBytes(StandardCharsets.UTF_8));
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.matching("Party2"));
+    List<Trade> expected = parser.parseTrades(resource);
+    assertEquals(expected.size(), 1);
+
+    List<Trade> trades = new ArrayList<>();
+    parser.parseTradesIncrementally(resource, trades::add);
+    assertEquals(trades, expected);
+  }
+
   //-------------------------------------------------------------------------
   public void vanillaSwap() {
     String location = "classpath:com/opengamma/strata/loader/fpml/ird-ex01-vanilla-swap.xml";
@@ -0,0 +1,301 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.io.BinaryCodec;
+import com.opengamma.strata.collect.io.BinaryInput;
+import com.opengamma.strata.collect.io.BinaryOutput;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveGroup;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveInfoType;
+import com.opengamma.strata.market.curve.CurveMetadata;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.CurveParameterSize;
+import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+import com.opengamma.strata.market.curve.DefaultCurveMetadataBuilder;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.param.LabelDateParameterMetadata;
+import com.opengamma.strata.market.param.LabelParameterMetadata;
+import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.market.param.TenorDateParameterMetadata;
+import com.opengamma.strata.market.param.TenorParameterMetadata;
+import com.opengamma.strata.market.param.YearMonthDateParameterMetadata;
+
+/**
+ * The binary codecs for curves and sensitivities.
+ * <p>
+ * These codecs write the x-values, y-values and sensitivities directly as arrays of doubles.
+ * The common types of parameter metadata are written field by field.
+ * Curve metadata, and the lists of parameter metadata shared by curves and sensitivities,
+ * are only written once, with later occurrences written as a reference.
+ * They are intended to be registered with a {@link com.opengamma.strata.collect.io.BinarySerializer}.
+ */
+public final class MarketBinaryCodecs {
+
+  /**
+   * The codec for {@code DefaultCurveMetadata}.
+   */
+  private static final BinaryCodec<DefaultCurveMetadata> CURVE_METADATA = BinaryCodec.of(
+      "DefaultCurveMetadata",
+      DefaultCurveMetadata.class,
+      MarketBinaryCodecs::writeMetadata,
+      MarketBinaryCodecs::readMetadata);
+  /**
+   * The codec for {@code JacobianCalibrationMatrix}, typically part of the curve metadata.
+   */
+  private static final BinaryCodec<JacobianCalibrationMatrix> JACOBIAN = BinaryCodec.of(
+      "JacobianCalibrationMatrix",
+      JacobianCalibrationMatrix.class,
+      MarketBinaryCodecs::writeJacobian,
+      MarketBinaryCodecs::readJacobian);
+  /**
+   * The codec for {@code InterpolatedNodalCurve}.
+   */
+  private static final BinaryCodec<InterpolatedNodalCurve> INTERPOLATED_CURVE = BinaryCodec.of(
+      "InterpolatedNodalCurve",
+      InterpolatedNodalCurve.class,
+      MarketBinaryCodecs::writeCurve,
+      MarketBinaryCodecs::readCurve);
+  /**
+   * The codec for {@code CurveGroup}.
+   */
+  private static final BinaryCodec<CurveGroup> CURVE_GROUP = BinaryCodec.of(
+      "CurveGroup",
+      CurveGroup.class,
+      (value, output) -> {
+        output.writeObject(value.getName());
+        output.writeObject(value.getDiscountCurves());
+        output.writeObject(value.getForwardCurves());
+      },
+      input -> CurveGroup.of(
+          input.readObject(CurveGroupName.class),
+          input.readMap(Currency.class, Curve.class),
+          input.readMap(Index.class, Curve.class)));
+  /**
+   * The codec for {@code CurrencyParameterSensitivity}.
+   */
+  private static final BinaryCodec<CurrencyParameterSensitivity> SENSITIVITY = BinaryCodec.of(
+      "CurrencyParameterSensitivity",
+      CurrencyParameterSensitivity.class,
+      MarketBinaryCodecs::writeSensitivity,
+      MarketBinaryCodecs::readSensitivity);
+  /**
+   * The codec for {@code CurrencyParameterSensitivities}.
+   */
+  private static final BinaryCodec<CurrencyParameterSensitivities> SENSITIVITIES = BinaryCodec.of(
+      "CurrencyParameterSensitivities",
+      CurrencyParameterSensitivities.class,
+      (value, output) -> output.writeObject(value.getSensitivities()),
+      input -> CurrencyParameterSensitivities.of(input.readList(CurrencyParameterSensitivity.class)));
+  /**
+   * The codec for {@code TenorDateParameterMetadata}.
+   */
+  private static final BinaryCodec<TenorDateParameterMetadata> TENOR_DATE_METADATA = BinaryCodec.of(
+      "TenorDateParameterMetadata",
+      TenorDateParameterMetadata.class,
+      (value, output) -> {
+        output.writeLocalDate(value.getDate());
+        output.writeObject(value.getTenor());
+        output.writeString(value.getLabel());
+      },
+      input -> TenorDateParameterMetadata.of(input.readLocalDate(), input.readObject(Tenor.class), input.readString()));
+  /**
+   * The codec for {@code YearMonthDateParameterMetadata}.
+   */
+  private static final BinaryCodec<YearMonthDateParameterMetadata> YEAR_MONTH_DATE_METADATA = BinaryCodec.of(
+      "YearMonthDateParameterMetadata",
+      YearMonthDateParameterMetadata.class,
+      (value, output) -> {
+        output.writeLocalDate(value.getDate());
+        output.writeObject(value.getYearMonth());
+        output.writeString(value.getLabel());
+      },
+      input -> YearMonthDateParameterMetadata.of(
+          input.readLocalDate(), input.readObject(YearMonth.class), input.readString()));
+  /**
+   * The codec for {@code LabelDateParameterMetadata}.
+   */
+  private static final BinaryCodec<LabelDateParameterMetadata> LABEL_DATE_METADATA = BinaryCodec.of(
+      "LabelDateParameterMetadata",
+      LabelDateParameterMetadata.class,
+      (value, output) -> {
+        output.writeLocalDate(value.getDate());
+        output.writeString(value.getLabel());
+      },
+      input -> LabelDateParameterMetadata.of(input.readLocalDate(), input.readString()));
+  /**
+   * The codec for {@code TenorParameterMetadata}.
+   */
+  private static final BinaryCodec<TenorParameterMetadata> TENOR_METADATA = BinaryCodec.of(
+      "TenorParameterMetadata",
+      TenorParameterMetadata.class,
+      (value, output) -> {
+        output.writeObject(value.getTenor());
+        output.writeString(value.getLabel());
+      },
+      input -> TenorParameterMetadata.of(input.readObject(Tenor.class), input.readString()));
+  /**
+   * The codec for {@code LabelParameterMetadata}.
+   */
+  private static final BinaryCodec<LabelParameterMetadata> LABEL_METADATA = BinaryCodec.of(
+      "LabelParameterMetadata",
+      LabelParameterMetadata.class,
+      (value, output) -> output.writeString(value.getLabel()),
+      input -> LabelParameterMetadata.of(input.readString()));
+  /**
+   * The codecs.
+   */
+  private static final ImmutableList<BinaryCodec<?>> CODECS =
+      ImmutableList.of(
+      CURVE_METADATA,
+      JACOBIAN,
+      INTERPOLATED_CURVE,
+      CURVE_GROUP,
+      SENSITIVITY,
+      SENSITIVITIES,
+      TENOR_DATE_METADATA,
+      YEAR_MONTH_DATE_METADATA,
+      LABEL_DATE_METADATA,
+      TENOR_METADATA,
+      LABEL_METADATA);
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the binary codecs for curves and sensitivities.
+   *
+   * @return the codecs
+   */
+  public static ImmutableList<BinaryCodec<?>> codecs() {
+    return CODECS;
+  }
+
+  //-------------------------------------------------------------------------
+  // writes curve metadata
+  private static void writeMetadata(DefaultCurveMetadata metadata, BinaryOutput output) {
+    output.writeObject(metadata.getCurveName());
+    output.writeObject(metadata.getXValueType());
+    output.writeObject(metadata.getYValueType());
+    output.writeObject(metadata.getInfo());
+    Optional<List<ParameterMetadata>> parameterMetadata = metadata.getParameterMetadata();
+    output.writeBoolean(parameterMetadata.isPresent());
+    if (parameterMetadata.isPresent()) {
+      output.writeInterned(parameterMetadata.get());
+    }
+  }
+
+  // reads curve metadata
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private static DefaultCurveMetadata readMetadata(BinaryInput input) {
+    DefaultCurveMetadataBuilder builder = DefaultCurveMetadata.builder()
+        .curveName(input.readObject(CurveName.class))
+        .xValueType(input.readObject(ValueType.class))
+        .yValueType(input.readObject(ValueType.class));
+    for (Entry<CurveInfoType, Object> entry : input.readMap(CurveInfoType.class, Object.class).entrySet()) {
+      builder.addInfo(entry.getKey(), entry.getValue());
+    }
+    if (input.readBoolean()) {
+      builder.parameterMetadata(readParameterMetadata(input));
+    }
+    return builder.build();
+  }
+
+  // writes a Jacobian matrix
+  private static void writeJacobian(JacobianCalibrationMatrix jacobian, BinaryOutput output) {
+    output.writeInt(jacobian.getCurveCount());
+    for (CurveParameterSize size : jacobian.getOrder()) {
+      output.writeObject(size.getName());
+      output.writeInt(size.getParameterCount());
+    }
+    output.writeObject(jacobian.getJacobianMatrix());
+  }
+
+  // reads a Jacobian matrix
+  private static JacobianCalibrationMatrix readJacobian(BinaryInput input) {
+    int curveCount = input.readInt();
+    List<CurveParameterSize> order = new ArrayList<>(curveCount);
+    for (int i = 0; i < curveCount; i++) {
+      CurveName name = input.readObject(CurveName.class);
+      order.add(CurveParameterSize.of(name, input.readInt()));
+    }
+    return JacobianCalibrationMatrix.of(order, input.readObject(DoubleMatrix.class));
+  }
+
+  // writes a curve
+  private static void writeCurve(InterpolatedNodalCurve curve, BinaryOutput output) {
+    output.writeInterned(curve.getMetadata());
+    output.writeDoubleArray(curve.getXValues());
+    output.writeDoubleArray(curve.getYValues());
+    output.writeObject(curve.getInterpolator());
+    output.writeObject(curve.getExtrapolatorLeft());
+    output.writeObject(curve.getExtrapolatorRight());
+  }
+
+  // reads a curve
+  private static InterpolatedNodalCurve readCurve(BinaryInput input) {
+    return InterpolatedNodalCurve.of(
+        input.readInterned(CurveMetadata.class),
+        input.readDoubleArray(),
+        input.readDoubleArray(),
+        input.readObject(CurveInterpolator.class),
+        input.readObject(CurveExtrapolator.class),
+        input.readObject(CurveExtrapolator.class));
+  }
+
+  // writes a sensitivity, the parameter metadata is typically the same as the curve
+  private static void writeSensitivity(CurrencyParameterSensitivity sensitivity, BinaryOutput output) {
+    output.writeObject(sensitivity.getMarketDataName());
+    output.writeInterned(sensitivity.getParameterMetadata());
+    output.writeObject(sensitivity.getCurrency());
+    output.writeDoubleArray(sensitivity.getSensitivity());
+  }
+
+  // reads a sensitivity
+  private static CurrencyParameterSensitivity readSensitivity(BinaryInput input) {
+    return CurrencyParameterSensitivity.of(
+        input.readObject(MarketDataName.class),
+        readParameterMetadata(input),
+        input.readObject(Currency.class),
+        input.readDoubleArray());
+  }
+
+  // reads an interned list of parameter metadata
+  @SuppressWarnings("unchecked")
+  private static List<ParameterMetadata> readParameterMetadata(BinaryInput input) {
+    List<?> list = input.readInterned(List.class);
+    for (Object item : list) {
+      if (!(item instanceof ParameterMetadata)) {
+        throw new IllegalArgumentException("Invalid binary form, expected ParameterMetadata");
+      }
+    }
+    return (List<ParameterMetadata>) list;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Restricted constructor.
+   */
+  private MarketBinaryCodecs() {
+  }
+
+}
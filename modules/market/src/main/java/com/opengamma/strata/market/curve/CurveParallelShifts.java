@@ -84,8 +84,23 @@ public final class CurveParallelShifts
   }
 
   //-------------------------------------------------------------------------
+  /**
+   * Applies the shifts to the curve.
+   * <p>
+   * If the input contains a single curve, the result holds the curve and the shift amounts,
+   * creating the shifted curve of each scenario when requested, see {@link ShiftedCurveScenarioArray}.
+   *
+   * @param curve  the curve to shift
+   * @param refData  the reference data
+   * @return the shifted curves
+   */
   @Override
   public MarketDataBox<Curve> applyTo(MarketDataBox<Curve> curve, ReferenceData refData) {
+    if (curve.isSingleValue()) {
+      log.debug("Applying {} parallel shifts to curve '{}'", shiftType, curve.getSingleValue().getName());
+      return MarketDataBox.ofScenarioValue(
+          ShiftedCurveScenarioArray.ofParallelShifts(curve.getSingleValue(), shiftType, shiftAmounts));
+    }
     return curve.mapWithIndex(getScenarioCount(), this::applyShift);
   }
 
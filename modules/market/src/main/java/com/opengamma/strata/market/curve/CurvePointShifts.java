@@ -111,12 +111,41 @@ public final class CurvePointShifts
 
   //-------------------------------------------------------------------------
 
+  /**
+   * Applies the shifts to the curve.
+   * <p>
+   * If the input contains a single curve, the result holds the curve and the shifts of each
+   * of its parameters, creating the shifted curve of each scenario when requested,
+   * see {@link ShiftedCurveScenarioArray}.
+   *
+   * @param marketData  the curve to shift
+   * @param refData  the reference data
+   * @return the shifted curves
+   */
   @Override
   public MarketDataBox<Curve> applyTo(MarketDataBox<Curve> marketData, ReferenceData refData) {
     log.debug("Applying {} point shift to curve '{}'", shiftType, marketData.getValue(0).getName());
+    if (marketData.isSingleValue()) {
+      Curve curve = marketData.getSingleValue();
+      return MarketDataBox.ofScenarioValue(
+          ShiftedCurveScenarioArray.ofParameterShifts(curve, shiftType, parameterShifts(curve)));
+    }
     return marketData.mapWithIndex(shifts.rowCount(), (curve, scenarioIndex) -> applyShifts(scenarioIndex, curve));
   }
 
+  // the shifts of each parameter of the curve, one row per scenario
+  private DoubleMatrix parameterShifts(Curve curve) {
+    int paramCount = curve.getParameterCount();
+    int[] columns = new int[paramCount];
+    for (int i = 0; i < paramCount; i++) {
+      columns[i] = nodeIndex(curve.getParameterMetadata(i));
+    }
+    return DoubleMatrix.of(
+        shifts.rowCount(),
+        paramCount,
+        (scenarioIndex, paramIndex) -> columns[paramIndex] < 0 ? 0 : shifts.get(scenarioIndex, columns[paramIndex]));
+  }
+
   private Curve applyShifts(int scenarioIndex, Curve curve) {
     return curve.withPerturbation((index, value, meta) -> {
       Double shiftAmount = shiftForNode(scenarioIndex, meta);
@@ -130,17 +159,23 @@ public final class CurvePointShifts
   }
 
   private double shiftForNode(int scenarioIndex, ParameterMetadata meta) {
+    int nodeIndex = nodeIndex(meta);
+    return nodeIndex < 0 ? 0 : shifts.get(scenarioIndex, nodeIndex);
+  }
+
+  // the column of the node in the shifts matrix, -1 if the node is not shifted
+  private int nodeIndex(ParameterMetadata meta) {
     Integer nodeIndex = nodeIndices.get(meta.getIdentifier());
 
     if (nodeIndex != null) {
-      return shifts.get(scenarioIndex, nodeIndex);
+      return nodeIndex;
     }
     nodeIndex = nodeIndices.get(meta.getLabel());
 
     if (nodeIndex != null) {
-      return shifts.get(scenarioIndex, nodeIndex);
+      return nodeIndex;
     }
-    return 0;
+    return -1;
   }
 
   //------------------------- AUTOGENERATED START -------------------------
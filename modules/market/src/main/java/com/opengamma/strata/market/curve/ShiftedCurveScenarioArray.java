@@ -0,0 +1,512 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableValidator;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectFieldsBeanBuilder;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.market.ShiftType;
+
+/**
+ * Container for a curve shifted in multiple scenarios.
+ * <p>
+ * This class is a more efficient alternative to storing a complete curve for each scenario
+ * using {@code MarketDataBox.ofScenarioValues}.
+ * <p>
+ * It stores a single base curve and a primitive matrix of shifts, with one row per scenario.
+ * The curve of a scenario is created from the base curve and the shifts of the scenario when requested.
+ * The memory footprint is therefore that of the shifts rather than that of a curve per scenario.
+ * <p>
+ * The shifts are either parallel, with a single column applied to the whole curve, or
+ * parameter shifts, with one column for each parameter of the base curve.
+ */
+@BeanDefinition(builderScope = "private")
+public final class ShiftedCurveScenarioArray
+    implements ScenarioArray<Curve>, ImmutableBean {
+
+  /**
+   * The base curve to which the shifts are applied.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Curve curve;
+  /**
+   * The type of shift applied to the curve.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ShiftType shiftType;
+  /**
+   * The shifts, with one row for each scenario.
+   * <p>
+   * If the shifts are parallel there is a single column, otherwise there is
+   * one column for each parameter of the curve.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleMatrix shifts;
+  /**
+   * Whether the shifts are parallel shifts of the whole curve.
+   * <p>
+   * If true, the curve of each scenario is a {@link ParallelShiftedCurve}.
+   * If false, the shifts are applied to the parameters of the curve.
+   */
+  @PropertyDefinition
+  private final boolean parallel;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance applying a parallel shift to the curve in each scenario.
+   *
+   * @param curve  the base curve
+   * @param shiftType  the type of shift
+   * @param shiftAmounts  the amount of the shift, one for each scenario
+   * @return the scenario array
+   */
+  public static ShiftedCurveScenarioArray ofParallelShifts(
+      Curve curve,
+      ShiftType shiftType,
+      DoubleArray shiftAmounts) {
+
+    DoubleMatrix shifts = DoubleMatrix.of(shiftAmounts.size(), 1, (row, column) -> shiftAmounts.get(row));
+    return new ShiftedCurveScenarioArray(curve, shiftType, shifts, true);
+  }
+
+  /**
+   * Obtains an instance applying a shift to each parameter of the curve in each scenario.
+   * <p>
+   * The matrix has one row for each scenario and one column for each parameter of the curve.
+   *
+   * @param curve  the base curve
+   * @param shiftType  the type of shift
+   * @param shifts  the shifts, with one row for each scenario and one column for each curve parameter
+   * @return the scenario array
+   */
+  public static ShiftedCurveScenarioArray ofParameterShifts(
+      Curve curve,
+      ShiftType shiftType,
+      DoubleMatrix shifts) {
+
+    return new ShiftedCurveScenarioArray(curve, shiftType, shifts, false);
+  }
+
+  @ImmutableValidator
+  private void validate() {
+    int expectedColumns = parallel ? 1 : curve.getParameterCount();
+    ArgChecker.isTrue(
+        shifts.columnCount() == expectedColumns,
+        "Shifts must have {} columns but found {}",
+        expectedColumns,
+        shifts.columnCount());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int getScenarioCount() {
+    return shifts.rowCount();
+  }
+
+  /**
+   * Gets the curve for the specified scenario.
+   * <p>
+   * The curve is created from the base curve each time this method is called.
+   * Callers that use the curve of a scenario many times should retain it.
+   *
+   * @param scenarioIndex  the index of the scenario
+   * @return the shifted curve of the scenario
+   */
+  @Override
+  public Curve get(int scenarioIndex) {
+    ArgChecker.inRange(scenarioIndex, 0, shifts.rowCount(), "scenarioIndex");
+    if (parallel) {
+      return ParallelShiftedCurve.of(curve, shiftType, shifts.get(scenarioIndex, 0));
+    }
+    return curve.withPerturbation(
+        (index, value, meta) -> shiftType.applyShift(value, shifts.get(scenarioIndex, index)));
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code ShiftedCurveScenarioArray}.
+   * @return the meta-bean, not null
+   */
+  public static ShiftedCurveScenarioArray.Meta meta() {
+    return ShiftedCurveScenarioArray.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(ShiftedCurveScenarioArray.Meta.INSTANCE);
+  }
+
+  private ShiftedCurveScenarioArray(
+      Curve curve,
+      ShiftType shiftType,
+      DoubleMatrix shifts,
+      boolean parallel) {
+    JodaBeanUtils.notNull(curve, "curve");
+    JodaBeanUtils.notNull(shiftType, "shiftType");
+    JodaBeanUtils.notNull(shifts, "shifts");
+    this.curve = curve;
+    this.shiftType = shiftType;
+    this.shifts = shifts;
+    this.parallel = parallel;
+    validate();
+  }
+
+  @Override
+  public ShiftedCurveScenarioArray.Meta metaBean() {
+    return ShiftedCurveScenarioArray.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the base curve to which the shifts are applied.
+   * @return the value of the property, not null
+   */
+  public Curve getCurve() {
+    return curve;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the type of shift applied to the curve.
+   * @return the value of the property, not null
+   */
+  public ShiftType getShiftType() {
+    return shiftType;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the shifts, with one row for each scenario.
+   * <p>
+   * If the shifts are parallel there is a single column, otherwise there is
+   * one column for each parameter of the curve.
+   * @return the value of the property, not null
+   */
+  public DoubleMatrix getShifts() {
+    return shifts;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets whether the shifts are parallel shifts of the whole curve.
+   * <p>
+   * If true, the curve of each scenario is a {@link ParallelShiftedCurve}.
+   * If false, the shifts are applied to the parameters of the curve.
+   * @return the value of the property
+   */
+  public boolean isParallel() {
+    return parallel;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      ShiftedCurveScenarioArray other = (ShiftedCurveScenarioArray) obj;
+      return JodaBeanUtils.equal(curve, other.curve) &&
+          JodaBeanUtils.equal(shiftType, other.shiftType) &&
+          JodaBeanUtils.equal(shifts, other.shifts) &&
+          (parallel == other.parallel);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(curve);
+    hash = hash * 31 + JodaBeanUtils.hashCode(shiftType);
+    hash = hash * 31 + JodaBeanUtils.hashCode(shifts);
+    hash = hash * 31 + JodaBeanUtils.hashCode(parallel);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(160);
+    buf.append("ShiftedCurveScenarioArray{");
+    buf.append("curve").append('=').append(curve).append(',').append(' ');
+    buf.append("shiftType").append('=').append(shiftType).append(',').append(' ');
+    buf.append("shifts").append('=').append(shifts).append(',').append(' ');
+    buf.append("parallel").append('=').append(JodaBeanUtils.toString(parallel));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code ShiftedCurveScenarioArray}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code curve} property.
+     */
+    private final MetaProperty<Curve> curve = DirectMetaProperty.ofImmutable(
+        this, "curve", ShiftedCurveScenarioArray.class, Curve.class);
+    /**
+     * The meta-property for the {@code shiftType} property.
+     */
+    private final MetaProperty<ShiftType> shiftType = DirectMetaProperty.ofImmutable(
+        this, "shiftType", ShiftedCurveScenarioArray.class, ShiftType.class);
+    /**
+     * The meta-property for the {@code shifts} property.
+     */
+    private final MetaProperty<DoubleMatrix> shifts = DirectMetaProperty.ofImmutable(
+        this, "shifts", ShiftedCurveScenarioArray.class, DoubleMatrix.class);
+    /**
+     * The meta-property for the {@code parallel} property.
+     */
+    private final MetaProperty<Boolean> parallel = DirectMetaProperty.ofImmutable(
+        this, "parallel", ShiftedCurveScenarioArray.class, Boolean.TYPE);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "curve",
+        "shiftType",
+        "shifts",
+        "parallel");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 95027439:  // curve
+          return curve;
+        case 893345500:  // shiftType
+          return shiftType;
+        case -903338959:  // shifts
+          return shifts;
+        case 1171402247:  // parallel
+          return parallel;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends ShiftedCurveScenarioArray> builder() {
+      return new ShiftedCurveScenarioArray.Builder();
+    }
+
+    @Override
+    public Class<? extends ShiftedCurveScenarioArray> beanType() {
+      return ShiftedCurveScenarioArray.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code curve} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Curve> curve() {
+      return curve;
+    }
+
+    /**
+     * The meta-property for the {@code shiftType} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ShiftType> shiftType() {
+      return shiftType;
+    }
+
+    /**
+     * The meta-property for the {@code shifts} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<DoubleMatrix> shifts() {
+      return shifts;
+    }
+
+    /**
+     * The meta-property for the {@code parallel} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Boolean> parallel() {
+      return parallel;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case 95027439:  // curve
+          return ((ShiftedCurveScenarioArray) bean).getCurve();
+        case 893345500:  // shiftType
+          return ((ShiftedCurveScenarioArray) bean).getShiftType();
+        case -903338959:  // shifts
+          return ((ShiftedCurveScenarioArray) bean).getShifts();
+        case 1171402247:  // parallel
+          return ((ShiftedCurveScenarioArray) bean).isParallel();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code ShiftedCurveScenarioArray}.
+   */
+  private static final class Builder extends DirectFieldsBeanBuilder<ShiftedCurveScenarioArray> {
+
+    private Curve curve;
+    private ShiftType shiftType;
+    private DoubleMatrix shifts;
+    private boolean parallel;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case 95027439:  // curve
+          return curve;
+        case 893345500:  // shiftType
+          return shiftType;
+        case -903338959:  // shifts
+          return shifts;
+        case 1171402247:  // parallel
+          return parallel;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case 95027439:  // curve
+          this.curve = (Curve) newValue;
+          break;
+        case 893345500:  // shiftType
+          this.shiftType = (ShiftType) newValue;
+          break;
+        case -903338959:  // shifts
+          this.shifts = (DoubleMatrix) newValue;
+          break;
+        case 1171402247:  // parallel
+          this.parallel = (Boolean) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public Builder set(MetaProperty<?> property, Object value) {
+      super.set(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(String propertyName, String value) {
+      setString(meta().metaProperty(propertyName), value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(MetaProperty<?> property, String value) {
+      super.setString(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setAll(Map<String, ? extends Object> propertyValueMap) {
+      super.setAll(propertyValueMap);
+      return this;
+    }
+
+    @Override
+    public ShiftedCurveScenarioArray build() {
+      return new ShiftedCurveScenarioArray(
+          curve,
+          shiftType,
+          shifts,
+          parallel);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(160);
+      buf.append("ShiftedCurveScenarioArray.Builder{");
+      buf.append("curve").append('=').append(JodaBeanUtils.toString(curve)).append(',').append(' ');
+      buf.append("shiftType").append('=').append(JodaBeanUtils.toString(shiftType)).append(',').append(' ');
+      buf.append("shifts").append('=').append(JodaBeanUtils.toString(shifts)).append(',').append(' ');
+      buf.append("parallel").append('=').append(JodaBeanUtils.toString(parallel));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
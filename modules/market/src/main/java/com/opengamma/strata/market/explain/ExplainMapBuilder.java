@@ -17,6 +17,11 @@ import com.opengamma.strata.collect.ArgChecker;
  * A builder for the map of explanatory values.
  * <p>
  * This is a mutable builder for {@link ExplainMap} that must be used from a single thread.
+ * <p>
+ * A builder obtained from {@link ExplainTable#builder()} populates a columnar {@link ExplainTable} instead,
+ * avoiding the creation of a map for each entry. The same methods are used to populate it.
+ * When populating a table, {@code double} and {@code int} values are stored without boxing,
+ * and the builder of a closed list entry is reused for the next entry.
  */
 public final class ExplainMapBuilder {
 
@@ -25,15 +30,55 @@ public final class ExplainMapBuilder {
    */
   private final ExplainMapBuilder parent;
   /**
-   * The map of explanatory values.
+   * The map of explanatory values, null if populating a table.
+   */
+  private final Map<ExplainKey<?>, Object> map;
+  /**
+   * The table being populated, null if populating a map.
+   */
+  private final ExplainTable.Builder table;
+  /**
+   * The row of the table being populated, changed when the builder is reused for another entry.
    */
-  private final Map<ExplainKey<?>, Object> map = new LinkedHashMap<>();
+  private int row;
+  /**
+   * The builder for list entries when populating a table, reused once the entry is closed.
+   */
+  private ExplainMapBuilder tableChild;
 
   /**
    * Creates a new instance.
    */
   ExplainMapBuilder() {
     this.parent = null;
+    this.map = new LinkedHashMap<>();
+    this.table = null;
+    this.row = 0;
+  }
+
+  /**
+   * Creates a new instance populating a table.
+   * 
+   * @param table  the table to populate
+   */
+  ExplainMapBuilder(ExplainTable.Builder table) {
+    this.parent = null;
+    this.map = null;
+    this.table = table;
+    this.row = table.addRow(-1, null);
+  }
+
+  /**
+   * Creates a new instance populating a row of a table.
+   * 
+   * @param parent  the parent builder
+   * @param listKey  the key of the list containing the row
+   */
+  private ExplainMapBuilder(ExplainMapBuilder parent, ExplainKey<?> listKey) {
+    this.parent = parent;
+    this.map = null;
+    this.table = parent.table;
+    this.row = table.addRow(parent.row, listKey);
   }
 
   /**
@@ -43,6 +88,9 @@ public final class ExplainMapBuilder {
    */
   ExplainMapBuilder(ExplainMapBuilder parent) {
     this.parent = parent;
+    this.map = new LinkedHashMap<>();
+    this.table = null;
+    this.row = 0;
   }
 
   //-------------------------------------------------------------------------
@@ -56,6 +104,8 @@ public final class ExplainMapBuilder {
    * Once opened, the child builder resulting from this method must be used.
    * The method {@link #closeListEntry(ExplainKey)} must be used to close the
    * child and receive an instance of the parent back again.
+   * When populating a table, the child builder must not be used once closed,
+   * as it is reused for the next list entry.
    * 
    * @param <R>  the type of the value
    * @param key  the list key to open
@@ -63,6 +113,16 @@ public final class ExplainMapBuilder {
    */
   @SuppressWarnings("unchecked")
   public <R extends List<?>> ExplainMapBuilder openListEntry(ExplainKey<R> key) {
+    if (table != null) {
+      // the child is a new row of the table, following this row and its earlier children
+      // entries are populated one at a time, so the builder of the closed entry is reused
+      if (tableChild == null) {
+        tableChild = new ExplainMapBuilder(this, key);
+      } else {
+        tableChild.row = table.addRow(row, key);
+      }
+      return tableChild;
+    }
     // list entry is a ExplainMapBuilder, making use of erasure in generics
     // builder is converted to ExplainMap when entry is closed
     ExplainMapBuilder child = new ExplainMapBuilder(this);
@@ -88,6 +148,9 @@ public final class ExplainMapBuilder {
    * @return the parent builder
    */
   public <R extends List<?>> ExplainMapBuilder closeListEntry(ExplainKey<R> key) {
+    if (table != null) {
+      return parent;
+    }
     Object value = parent.map.get(key);
     if (value instanceof ArrayList == false) {
       throw new IllegalStateException("ExplainMapBuilder.closeList() called but no list found to close");
@@ -134,10 +197,14 @@ public final class ExplainMapBuilder {
   public <R extends List<?>> ExplainMapBuilder addListEntryWithIndex(ExplainKey<R> key, Consumer<ExplainMapBuilder> consumer) {
     ExplainMapBuilder child = openListEntry(key);
     // find index
-    Object value = map.get(key);
-    @SuppressWarnings("unchecked")
-    ArrayList<Object> list = (ArrayList<Object>) value;
-    child.put(ExplainKey.ENTRY_INDEX, list.size() - 1);
+    if (table != null) {
+      child.put(ExplainKey.ENTRY_INDEX, table.countChildren(row, key) - 1);
+    } else {
+      Object value = map.get(key);
+      @SuppressWarnings("unchecked")
+      ArrayList<Object> list = (ArrayList<Object>) value;
+      child.put(ExplainKey.ENTRY_INDEX, list.size() - 1);
+    }
     consumer.accept(child);
     return child.closeListEntry(key);
   }
@@ -156,7 +223,51 @@ public final class ExplainMapBuilder {
   public <R> ExplainMapBuilder put(ExplainKey<R> key, R value) {
     ArgChecker.notNull(key, "key");
     ArgChecker.notNull(value, "value");
-    map.put(key, value);
+    if (table != null) {
+      table.put(row, key, value);
+    } else {
+      map.put(key, value);
+    }
+    return this;
+  }
+
+  /**
+   * Puts a single {@code double} value into the map.
+   * <p>
+   * If the key already exists, the value will be replaced.
+   * When populating a table, the value is stored without boxing.
+   * 
+   * @param key  the key to add
+   * @param value  the value to add
+   * @return this builder
+   */
+  public ExplainMapBuilder put(ExplainKey<Double> key, double value) {
+    ArgChecker.notNull(key, "key");
+    if (table != null) {
+      table.putDouble(row, key, value);
+    } else {
+      map.put(key, value);
+    }
+    return this;
+  }
+
+  /**
+   * Puts a single {@code int} value into the map.
+   * <p>
+   * If the key already exists, the value will be replaced.
+   * When populating a table, the value is stored without boxing.
+   * 
+   * @param key  the key to add
+   * @param value  the value to add
+   * @return this builder
+   */
+  public ExplainMapBuilder put(ExplainKey<Integer> key, int value) {
+    ArgChecker.notNull(key, "key");
+    if (table != null) {
+      table.putInt(row, key, value);
+    } else {
+      map.put(key, value);
+    }
     return this;
   }
 
@@ -167,7 +278,26 @@ public final class ExplainMapBuilder {
    * @return the resulting map
    */
   public ExplainMap build() {
+    if (table != null) {
+      return buildTable().toExplainMap();
+    }
     return ExplainMap.of(map);
   }
 
+  /**
+   * Builds the table.
+   * <p>
+   * This is only available if the builder was obtained from {@link ExplainTable#builder()}.
+   * 
+   * @return the resulting table
+   * @throws IllegalStateException if the builder is not populating a table
+   */
+  public ExplainTable buildTable() {
+    if (table == null) {
+      throw new IllegalStateException(
+          "ExplainMapBuilder.buildTable() called but builder was not created by ExplainTable");
+    }
+    return table.build();
+  }
+
 }
@@ -0,0 +1,626 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.explain;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A columnar table of explanatory values.
+ * <p>
+ * This is an alternative form of {@link ExplainMap}, designed for explaining a large number of calculations.
+ * Each entry of the explanation tree is a row of the table, with the rows in depth-first order,
+ * such that the root entry is row zero and each entry is followed by its nested list entries.
+ * Each key is a column of the table, holding the values of the key for all the rows.
+ * <p>
+ * Values of type {@code Double}, {@code Integer}, {@code LocalDate} and {@code CurrencyAmount}
+ * are stored in primitive arrays, avoiding an object per value. The columns can be read without
+ * boxing using {@link #getDouble(int, ExplainKey)}, {@link #getCurrency(int, ExplainKey)}
+ * and {@link #getEpochDay(int, ExplainKey)}.
+ * <p>
+ * A table is created by an {@link ExplainMapBuilder} obtained from {@link #builder()}, so that
+ * any code populating an explain map can populate a table instead.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class ExplainTable {
+
+  /**
+   * The number of rows.
+   */
+  private final int rowCount;
+  /**
+   * The parent row of each row, -1 for the root.
+   */
+  private final int[] parents;
+  /**
+   * The key of the list containing each row, null for the root.
+   */
+  private final ExplainKey<?>[] listKeys;
+  /**
+   * The columns, keyed by explain key.
+   */
+  private final ImmutableMap<ExplainKey<?>, Column> columns;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a builder for creating the table.
+   * <p>
+   * The builder is used in exactly the same way as when creating an {@link ExplainMap},
+   * with the table being obtained using {@link ExplainMapBuilder#buildTable()}.
+   *
+   * @return the builder
+   */
+  public static ExplainMapBuilder builder() {
+    return new ExplainMapBuilder(new Builder());
+  }
+
+  // creates an instance
+  private ExplainTable(
+      int rowCount,
+      int[] parents,
+      ExplainKey<?>[] listKeys,
+      ImmutableMap<ExplainKey<?>, Column> columns) {
+
+    this.rowCount = rowCount;
+    this.parents = parents;
+    this.listKeys = listKeys;
+    this.columns = columns;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of rows, which is the number of entries in the explanation.
+   *
+   * @return the number of rows
+   */
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Gets the keys of the values in the table, which are the columns.
+   * <p>
+   * The keys of nested lists are not columns, see {@link #getListKey(int)}.
+   *
+   * @return the keys
+   */
+  public ImmutableSet<ExplainKey<?>> getKeys() {
+    return columns.keySet();
+  }
+
+  /**
+   * Gets the parent of a row.
+   *
+   * @param row  the row index
+   * @return the index of the parent row, -1 for the root
+   */
+  public int getParent(int row) {
+    ArgChecker.inRange(row, 0, rowCount, "row");
+    return parents[row];
+  }
+
+  /**
+   * Gets the key of the list containing a row.
+   *
+   * @param row  the row index
+   * @return the key of the list in the parent row, empty for the root
+   */
+  public Optional<ExplainKey<?>> getListKey(int row) {
+    ArgChecker.inRange(row, 0, rowCount, "row");
+    return Optional.ofNullable(listKeys[row]);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if a row has a value for a key.
+   *
+   * @param row  the row index
+   * @param key  the key
+   * @return true if there is a value
+   */
+  public boolean contains(int row, ExplainKey<?> key) {
+    ArgChecker.inRange(row, 0, rowCount, "row");
+    Column column = columns.get(key);
+    return column != null && column.present.get(row);
+  }
+
+  /**
+   * Gets a value by row and key.
+   * <p>
+   * Values stored in primitive form are converted to objects by this method.
+   *
+   * @param <R>  the type of the key
+   * @param row  the row index
+   * @param key  the key to lookup
+   * @return the value associated with the key
+   */
+  @SuppressWarnings("unchecked")
+  public <R> Optional<R> get(int row, ExplainKey<R> key) {
+    if (!contains(row, key)) {
+      return Optional.empty();
+    }
+    return Optional.of((R) columns.get(key).get(row));
+  }
+
+  /**
+   * Gets a numeric value by row and key, without boxing.
+   * <p>
+   * This returns the value of a {@code Double} or {@code Integer} column,
+   * or the amount of a {@code CurrencyAmount} column.
+   *
+   * @param row  the row index
+   * @param key  the key to lookup
+   * @return the value
+   * @throws IllegalArgumentException if there is no numeric value for the row and key
+   */
+  public double getDouble(int row, ExplainKey<?> key) {
+    Column column = presentColumn(row, key);
+    if (column instanceof DoubleColumn) {
+      return ((DoubleColumn) column).values[row];
+    }
+    if (column instanceof AmountColumn) {
+      return ((AmountColumn) column).amounts[row];
+    }
+    if (column instanceof IntColumn) {
+      return ((IntColumn) column).values[row];
+    }
+    throw new IllegalArgumentException("Value is not numeric for key: " + key);
+  }
+
+  /**
+   * Gets the currency of a {@code CurrencyAmount} value by row and key.
+   *
+   * @param row  the row index
+   * @param key  the key to lookup
+   * @return the currency
+   * @throws IllegalArgumentException if there is no currency amount for the row and key
+   */
+  public Currency getCurrency(int row, ExplainKey<CurrencyAmount> key) {
+    Column column = presentColumn(row, key);
+    if (column instanceof AmountColumn) {
+      return ((AmountColumn) column).currencies[row];
+    }
+    throw new IllegalArgumentException("Value is not a currency amount for key: " + key);
+  }
+
+  /**
+   * Gets a date value by row and key as an epoch day, without creating the date.
+   *
+   * @param row  the row index
+   * @param key  the key to lookup
+   * @return the epoch day of the date
+   * @throws IllegalArgumentException if there is no date for the row and key
+   */
+  public long getEpochDay(int row, ExplainKey<LocalDate> key) {
+    Column column = presentColumn(row, key);
+    if (column instanceof DateColumn) {
+      return ((DateColumn) column).epochDays[row];
+    }
+    throw new IllegalArgumentException("Value is not a date for key: " + key);
+  }
+
+  // finds the column, checking the value is present
+  private Column presentColumn(int row, ExplainKey<?> key) {
+    ArgChecker.isTrue(contains(row, key), "No value for key {} in row {}", key, row);
+    return columns.get(key);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Converts this table to the equivalent explain map.
+   * <p>
+   * The map is equal to the one that would have been produced by populating an explain map directly.
+   * Within each entry, the values are in column order, followed by the nested lists.
+   *
+   * @return the explain map
+   */
+  public ExplainMap toExplainMap() {
+    List<Map<ExplainKey<?>, Object>> maps = new ArrayList<>(rowCount);
+    for (int row = 0; row < rowCount; row++) {
+      Map<ExplainKey<?>, Object> map = new LinkedHashMap<>();
+      for (Entry<ExplainKey<?>, Column> entry : columns.entrySet()) {
+        if (entry.getValue().present.get(row)) {
+          map.put(entry.getKey(), entry.getValue().get(row));
+        }
+      }
+      maps.add(map);
+    }
+    // the children follow their parent, so processing in reverse builds the children first
+    ExplainMap[] built = new ExplainMap[rowCount];
+    for (int row = rowCount - 1; row >= 0; row--) {
+      built[row] = ExplainMap.of(maps.get(row));
+      if (row > 0) {
+        @SuppressWarnings("unchecked")
+        List<ExplainMap> list = (List<ExplainMap>) maps.get(parents[row])
+            .computeIfAbsent(listKeys[row], k -> new ArrayList<ExplainMap>());
+        list.add(0, built[row]);
+      }
+    }
+    return built[0];
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "ExplainTable[rows=" + rowCount + ", keys=" + columns.keySet() + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The mutable state used to build a table.
+   */
+  static final class Builder {
+
+    /**
+     * The number of rows.
+     */
+    private int rowCount;
+    /**
+     * The parent row of each row.
+     */
+    private int[] parents = new int[16];
+    /**
+     * The key of the list containing each row.
+     */
+    private ExplainKey<?>[] listKeys = new ExplainKey<?>[16];
+    /**
+     * The number of children of each row, indexed by parent row, keyed by list key.
+     */
+    private final Map<ExplainKey<?>, int[]> childCounts = new HashMap<>();
+    /**
+     * The columns, in order of first use.
+     */
+    private final Map<ExplainKey<?>, Column> columns = new LinkedHashMap<>();
+
+    // adds a row, returning its index
+    int addRow(int parent, ExplainKey<?> listKey) {
+      if (rowCount == parents.length) {
+        parents = Arrays.copyOf(parents, rowCount * 2);
+        listKeys = Arrays.copyOf(listKeys, rowCount * 2);
+      }
+      parents[rowCount] = parent;
+      listKeys[rowCount] = listKey;
+      if (listKey != null) {
+        int[] counts = childCounts.get(listKey);
+        if (counts == null || parent >= counts.length) {
+          counts = Arrays.copyOf(counts == null ? new int[0] : counts, Math.max(parents.length, parent + 1));
+          childCounts.put(listKey, counts);
+        }
+        counts[parent]++;
+      }
+      return rowCount++;
+    }
+
+    // counts the children of a row in a list
+    int countChildren(int row, ExplainKey<?> listKey) {
+      int[] counts = childCounts.get(listKey);
+      return counts == null || row >= counts.length ? 0 : counts[row];
+    }
+
+    // sets a value, changing the column to hold objects if the value does not fit
+    void put(int row, ExplainKey<?> key, Object value) {
+      Column column = columns.get(key);
+      if (column == null) {
+        column = Column.of(value);
+        columns.put(key, column);
+      } else if (!column.accepts(value)) {
+        column = column.toObjectColumn(rowCount);
+        columns.put(key, column);
+      }
+      column.ensureCapacity(row + 1);
+      column.set(row, value);
+      column.present.set(row);
+    }
+
+    // sets a double value, avoiding boxing unless the column holds other values
+    void putDouble(int row, ExplainKey<?> key, double value) {
+      Column column = columns.get(key);
+      if (column == null) {
+        column = new DoubleColumn();
+        columns.put(key, column);
+      } else if (!(column instanceof DoubleColumn)) {
+        put(row, key, value);
+        return;
+      }
+      DoubleColumn doubles = (DoubleColumn) column;
+      doubles.ensureCapacity(row + 1);
+      doubles.values[row] = value;
+      doubles.present.set(row);
+    }
+
+    // sets an int value, avoiding boxing unless the column holds other values
+    void putInt(int row, ExplainKey<?> key, int value) {
+      Column column = columns.get(key);
+      if (column == null) {
+        column = new IntColumn();
+        columns.put(key, column);
+      } else if (!(column instanceof IntColumn)) {
+        put(row, key, value);
+        return;
+      }
+      IntColumn ints = (IntColumn) column;
+      ints.ensureCapacity(row + 1);
+      ints.values[row] = value;
+      ints.present.set(row);
+    }
+
+    // builds the table
+    ExplainTable build() {
+      ImmutableMap.Builder<ExplainKey<?>, Column> built = ImmutableMap.builder();
+      for (Entry<ExplainKey<?>, Column> entry : columns.entrySet()) {
+        built.put(entry.getKey(), entry.getValue().trimmed(rowCount));
+      }
+      return new ExplainTable(
+          rowCount, Arrays.copyOf(parents, rowCount), Arrays.copyOf(listKeys, rowCount), built.build());
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A column of values, with the rows that have a value.
+   */
+  private abstract static class Column {
+    /**
+     * The rows that have a value.
+     */
+    final BitSet present = new BitSet();
+
+    // creates a column suitable for the value
+    static Column of(Object value) {
+      if (value instanceof Double) {
+        return new DoubleColumn();
+      }
+      if (value instanceof CurrencyAmount) {
+        return new AmountColumn();
+      }
+      if (value instanceof LocalDate) {
+        return new DateColumn();
+      }
+      if (value instanceof Integer) {
+        return new IntColumn();
+      }
+      return new ObjectColumn();
+    }
+
+    // checks if the value can be stored in this column
+    abstract boolean accepts(Object value);
+
+    // ensures the column can hold the number of rows
+    abstract void ensureCapacity(int size);
+
+    // sets the value of a row
+    abstract void set(int row, Object value);
+
+    // gets the value of a row as an object
+    abstract Object get(int row);
+
+    // copies the column with the specified number of rows
+    abstract Column trimmed(int size);
+
+    // converts to a column of objects
+    Column toObjectColumn(int size) {
+      ObjectColumn column = new ObjectColumn();
+      column.ensureCapacity(size);
+      for (int row = present.nextSetBit(0); row >= 0; row = present.nextSetBit(row + 1)) {
+        column.values[row] = get(row);
+      }
+      column.present.or(present);
+      return column;
+    }
+
+    // the new capacity for the size
+    static int capacity(int current, int size) {
+      return Math.max(size, Math.max(16, current * 2));
+    }
+  }
+
+  /**
+   * A column of {@code Double} values.
+   */
+  private static final class DoubleColumn extends Column {
+    double[] values = new double[0];
+
+    @Override
+    boolean accepts(Object value) {
+      return value instanceof Double;
+    }
+
+    @Override
+    void ensureCapacity(int size) {
+      if (size > values.length) {
+        values = Arrays.copyOf(values, capacity(values.length, size));
+      }
+    }
+
+    @Override
+    void set(int row, Object value) {
+      values[row] = (Double) value;
+    }
+
+    @Override
+    Object get(int row) {
+      return values[row];
+    }
+
+    @Override
+    Column trimmed(int size) {
+      DoubleColumn column = new DoubleColumn();
+      column.values = Arrays.copyOf(values, size);
+      column.present.or(present);
+      return column;
+    }
+  }
+
+  /**
+   * A column of {@code Integer} values.
+   */
+  private static final class IntColumn extends Column {
+    int[] values = new int[0];
+
+    @Override
+    boolean accepts(Object value) {
+      return value instanceof Integer;
+    }
+
+    @Override
+    void ensureCapacity(int size) {
+      if (size > values.length) {
+        values = Arrays.copyOf(values, capacity(values.length, size));
+      }
+    }
+
+    @Override
+    void set(int row, Object value) {
+      values[row] = (Integer) value;
+    }
+
+    @Override
+    Object get(int row) {
+      return values[row];
+    }
+
+    @Override
+    Column trimmed(int size) {
+      IntColumn column = new IntColumn();
+      column.values = Arrays.copyOf(values, size);
+      column.present.or(present);
+      return column;
+    }
+  }
+
+  /**
+   * A column of {@code LocalDate} values, stored as epoch days.
+   */
+  private static final class DateColumn extends Column {
+    long[] epochDays = new long[0];
+
+    @Override
+    boolean accepts(Object value) {
+      return value instanceof LocalDate;
+    }
+
+    @Override
+    void ensureCapacity(int size) {
+      if (size > epochDays.length) {
+        epochDays = Arrays.copyOf(epochDays, capacity(epochDays.length, size));
+      }
+    }
+
+    @Override
+    void set(int row, Object value) {
+      epochDays[row] = ((LocalDate) value).toEpochDay();
+    }
+
+    @Override
+    Object get(int row) {
+      return LocalDate.ofEpochDay(epochDays[row]);
+    }
+
+    @Override
+    Column trimmed(int size) {
+      DateColumn column = new DateColumn();
+      column.epochDays = Arrays.copyOf(epochDays, size);
+      column.present.or(present);
+      return column;
+    }
+  }
+
+  /**
+   * A column of {@code CurrencyAmount} values, stored as amounts and currencies.
+   */
+  private static final class AmountColumn extends Column {
+    double[] amounts = new double[0];
+    Currency[] currencies = new Currency[0];
+
+    @Override
+    boolean accepts(Object value) {
+      return value instanceof CurrencyAmount;
+    }
+
+    @Override
+    void ensureCapacity(int size) {
+      if (size > amounts.length) {
+        int capacity = capacity(amounts.length, size);
+        amounts = Arrays.copyOf(amounts, capacity);
+        currencies = Arrays.copyOf(currencies, capacity);
+      }
+    }
+
+    @Override
+    void set(int row, Object value) {
+      CurrencyAmount amount = (CurrencyAmount) value;
+      amounts[row] = amount.getAmount();
+      currencies[row] = amount.getCurrency();
+    }
+
+    @Override
+    Object get(int row) {
+      return CurrencyAmount.of(currencies[row], amounts[row]);
+    }
+
+    @Override
+    Column trimmed(int size) {
+      AmountColumn column = new AmountColumn();
+      column.amounts = Arrays.copyOf(amounts, size);
+      column.currencies = Arrays.copyOf(currencies, size);
+      column.present.or(present);
+      return column;
+    }
+  }
+
+  /**
+   * A column of other values.
+   */
+  private static final class ObjectColumn extends Column {
+    Object[] values = new Object[0];
+
+    @Override
+    boolean accepts(Object value) {
+      return true;
+    }
+
+    @Override
+    void ensureCapacity(int size) {
+      if (size > values.length) {
+        values = Arrays.copyOf(values, capacity(values.length, size));
+      }
+    }
+
+    @Override
+    void set(int row, Object value) {
+      values[row] = value;
+    }
+
+    @Override
+    Object get(int row) {
+      return values[row];
+    }
+
+    @Override
+    Column trimmed(int size) {
+      ObjectColumn column = new ObjectColumn();
+      column.values = Arrays.copyOf(values, size);
+      column.present.or(present);
+      return column;
+    }
+  }
+
+}
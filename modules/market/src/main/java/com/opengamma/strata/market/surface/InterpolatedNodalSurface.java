@@ -284,6 +284,11 @@ public final class InterpolatedNodalSurface
     return boundInterpolator.interpolate(x, y);
   }
 
+  @Override
+  public DoubleArray zValues(DoubleArray xValues, DoubleArray yValues) {
+    return boundInterpolator.interpolate(xValues, yValues);
+  }
+
   @Override
   public UnitParameterSensitivity zValueParameterSensitivity(double x, double y) {
     DoubleArray sensitivityValues = boundInterpolator.parameterSensitivity(x, y);
@@ -11,6 +11,7 @@ import java.util.List;
 import java.util.stream.IntStream;
 
 import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.DoublesPair;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
@@ -98,6 +99,22 @@ public interface Surface extends ParameterizedData {
     return zValue(xyPair.getFirst(), xyPair.getSecond());
   }
 
+  /**
+   * Computes the z-values for the specified x-values and y-values.
+   * <p>
+   * The x-values and y-values are matched by index, the result having one z-value for each x/y point.
+   * Implementations may override this to share work between the points.
+   * 
+   * @param xValues  the x-values to find the z-values for
+   * @param yValues  the y-values to find the z-values for
+   * @return the values at the x/y points
+   * @throws IllegalArgumentException if the arrays do not have the same size
+   */
+  public default DoubleArray zValues(DoubleArray xValues, DoubleArray yValues) {
+    ArgChecker.isTrue(xValues.size() == yValues.size(), "Arrays of x-values and y-values must have same size");
+    return DoubleArray.of(xValues.size(), i -> zValue(xValues.get(i), yValues.get(i)));
+  }
+
   /**
    * Computes the sensitivity of the z-value with respect to the surface parameters.
    * <p>
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.market.surface.interpolator;
 
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 
 /**
@@ -26,6 +27,22 @@ public interface BoundSurfaceInterpolator {
    */
   public abstract double interpolate(double x, double y);
 
+  /**
+   * Computes the z-values for the specified x-y-values by interpolation.
+   * <p>
+   * The x-values and y-values are matched by index, the result having one z-value for each x-y-value.
+   * Implementations may override this to share work between the points.
+   * 
+   * @param xValues  the x-values to find the z-values for
+   * @param yValues  the y-values to find the z-values for
+   * @return the values at the x-y-values
+   * @throws RuntimeException if the z-values cannot be calculated
+   */
+  public default DoubleArray interpolate(DoubleArray xValues, DoubleArray yValues) {
+    ArgChecker.isTrue(xValues.size() == yValues.size(), "Arrays of x-values and y-values must have same size");
+    return DoubleArray.of(xValues.size(), i -> interpolate(xValues.get(i), yValues.get(i)));
+  }
+
   /**
    * Computes the sensitivity of the x-y-value with respect to the surface parameters.
    * <p>
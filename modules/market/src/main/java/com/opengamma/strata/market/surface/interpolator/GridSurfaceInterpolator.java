@@ -27,11 +27,13 @@ import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
 import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.curve.interpolator.BoundCurveExtrapolator;
 import com.opengamma.strata.market.curve.interpolator.BoundCurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
 
 /**
  * A surface interpolator that is based on two curve interpolators.
@@ -149,6 +151,7 @@ public final class GridSurfaceInterpolator
     double[] uniqueX = new double[size];
     double[] tempY = new double[size];
     double[] tempZ = new double[size];
+    int[] countsSameX = new int[size];
     ImmutableList.Builder<BoundCurveInterpolator> yInterpBuilder = ImmutableList.builder();
     int i = 0;
     while (i < size) {
@@ -178,6 +181,7 @@ public final class GridSurfaceInterpolator
         DoubleArray zValuesSameX = DoubleArray.ofUnsafe(Arrays.copyOf(tempZ, countSameX));
         yInterpBuilder.add(yInterpolator.bind(yValuesSameX, zValuesSameX, yExtrapolatorLeft, yExtrapolatorRight));
       }
+      countsSameX[countUniqueX] = countSameX;
       countUniqueX++;
     }
     if (countUniqueX == 1) {
@@ -185,19 +189,27 @@ public final class GridSurfaceInterpolator
     }
     DoubleArray uniqueXArray = DoubleArray.ofUnsafe(Arrays.copyOf(uniqueX, countUniqueX));
     BoundCurveInterpolator[] yInterps = yInterpBuilder.build().toArray(new BoundCurveInterpolator[0]);
-    return new Bound(xInterpolator, xExtrapolatorLeft, xExtrapolatorRight, size, uniqueXArray, yInterps);
+    int[] yParamSizes = Arrays.copyOf(countsSameX, countUniqueX);
+    return new Bound(
+        xInterpolator, xExtrapolatorLeft, xExtrapolatorRight, size, yParamSizes, uniqueXArray, yInterps);
   }
 
   //-------------------------------------------------------------------------
   /**
    * Bound interpolator.
+   * <p>
+   * When the x-value interpolator is linear, the x-values within the range of the nodes are interpolated
+   * directly from the two neighbouring y-value interpolators, without binding a curve interpolator.
    */
   static class Bound implements BoundSurfaceInterpolator {
     private final CurveInterpolator xInterpolator;
     private final CurveExtrapolator xExtrapolatorLeft;
     private final CurveExtrapolator xExtrapolatorRight;
     private final DoubleArray xValuesUnique;
+    private final double[] xValuesUniqueArray;
+    private final boolean linearX;
     private final int paramSize;
+    private final int[] yParamSizes;
     private final BoundCurveInterpolator[] yInterpolators;
 
     Bound(
@@ -205,6 +217,7 @@ public final class GridSurfaceInterpolator
         CurveExtrapolator xExtrapolatorLeft,
         CurveExtrapolator xExtrapolatorRight,
         int paramSize,
+        int[] yParamSizes,
         DoubleArray xValuesUnique,
         BoundCurveInterpolator[] yInterpolators) {
 
@@ -212,37 +225,119 @@ public final class GridSurfaceInterpolator
       this.xExtrapolatorLeft = xExtrapolatorLeft;
       this.xExtrapolatorRight = xExtrapolatorRight;
       this.xValuesUnique = xValuesUnique;
+      this.xValuesUniqueArray = xValuesUnique.toArrayUnsafe();
+      this.linearX = xInterpolator.equals(CurveInterpolators.LINEAR);
       this.paramSize = paramSize;
+      this.yParamSizes = yParamSizes;
       this.yInterpolators = yInterpolators;
     }
 
     //-------------------------------------------------------------------------
     @Override
     public double interpolate(double x, double y) {
-      // use each y-interpolator to find the z-value for each unique x
-      DoubleArray zValuesEffective = DoubleArray.of(yInterpolators.length, i -> yInterpolators[i].interpolate(y));
-      // interpolate unique x-values against derived z-values
-      return xInterpolator.bind(xValuesUnique, zValuesEffective, xExtrapolatorLeft, xExtrapolatorRight).interpolate(x);
+      if (isLinearWithinNodes(x)) {
+        return interpolateLinear(x, y);
+      }
+      return bindX(y).interpolate(x);
+    }
+
+    @Override
+    public DoubleArray interpolate(DoubleArray xValues, DoubleArray yValues) {
+      int size = xValues.size();
+      ArgChecker.isTrue(size == yValues.size(), "Arrays of x-values and y-values must have same size");
+      double[] result = new double[size];
+      // the bound x-interpolator is reused while the y-value does not change
+      BoundCurveInterpolator xInterp = null;
+      double xInterpY = Double.NaN;
+      for (int i = 0; i < size; i++) {
+        double x = xValues.get(i);
+        double y = yValues.get(i);
+        if (isLinearWithinNodes(x)) {
+          result[i] = interpolateLinear(x, y);
+        } else {
+          if (xInterp == null || Double.doubleToLongBits(y) != Double.doubleToLongBits(xInterpY)) {
+            xInterp = bindX(y);
+            xInterpY = y;
+          }
+          result[i] = xInterp.interpolate(x);
+        }
+      }
+      return DoubleArray.ofUnsafe(result);
     }
 
     @Override
     public DoubleArray parameterSensitivity(double x, double y) {
       int uniqueX = yInterpolators.length;
       final DoubleArray[] ySens = new DoubleArray[uniqueX];
+      if (isLinearWithinNodes(x)) {
+        // only the two y-interpolators around the x-value have a non-zero sensitivity
+        double[] xSens = new double[uniqueX];
+        int lowerIndex = lowerBoundIndex(x);
+        if (lowerIndex == uniqueX - 1) {
+          xSens[lowerIndex] = 1d;
+          ySens[lowerIndex] = yInterpolators[lowerIndex].parameterSensitivity(y);
+        } else {
+          double x1 = xValuesUniqueArray[lowerIndex];
+          double x2 = xValuesUniqueArray[lowerIndex + 1];
+          double a = (x2 - x) / (x2 - x1);
+          xSens[lowerIndex] = a;
+          xSens[lowerIndex + 1] = 1 - a;
+          ySens[lowerIndex] = yInterpolators[lowerIndex].parameterSensitivity(y);
+          ySens[lowerIndex + 1] = yInterpolators[lowerIndex + 1].parameterSensitivity(y);
+        }
+        return project(DoubleArray.ofUnsafe(xSens), ySens);
+      }
       // use each y-interpolator to find the z-value sensitivity for each unique x
       for (int i = 0; i < uniqueX; i++) {
         ySens[i] = yInterpolators[i].parameterSensitivity(y);
       }
-      // use each y-interpolator to find the z-value for each unique x
-      DoubleArray zValuesEffective = DoubleArray.of(uniqueX, i -> yInterpolators[i].interpolate(y));
       // find the sensitivity of the unique x-values against derived z-values
-      DoubleArray xSens = xInterpolator
-          .bind(xValuesUnique, zValuesEffective, xExtrapolatorLeft, xExtrapolatorRight)
-          .parameterSensitivity(x);
-
+      DoubleArray xSens = bindX(y).parameterSensitivity(x);
       return project(xSens, ySens);
     }
 
+    // checks if the x-value can be linearly interpolated between the two neighbouring nodes
+    private boolean isLinearWithinNodes(double x) {
+      return linearX && x >= xValuesUniqueArray[0] && x <= xValuesUniqueArray[xValuesUniqueArray.length - 1];
+    }
+
+    // linear interpolation in x, matching the linear curve interpolator
+    private double interpolateLinear(double x, double y) {
+      int lowerIndex = lowerBoundIndex(x);
+      double z1 = yInterpolators[lowerIndex].interpolate(y);
+      if (lowerIndex == yInterpolators.length - 1) {
+        return z1;
+      }
+      double x1 = xValuesUniqueArray[lowerIndex];
+      double z2 = yInterpolators[lowerIndex + 1].interpolate(y);
+      double gradient = (z2 - z1) / (xValuesUniqueArray[lowerIndex + 1] - x1);
+      return z1 + (x - x1) * gradient;
+    }
+
+    // binds the x-interpolator to the z-values derived from each y-interpolator at the y-value
+    private BoundCurveInterpolator bindX(double y) {
+      DoubleArray zValuesEffective = DoubleArray.of(yInterpolators.length, i -> yInterpolators[i].interpolate(y));
+      return xInterpolator.bind(xValuesUnique, zValuesEffective, xExtrapolatorLeft, xExtrapolatorRight);
+    }
+
+    // the index of the largest unique x-value less than or equal to the x-value, the x-value being within the nodes
+    private int lowerBoundIndex(double x) {
+      int lo = 1;
+      int hi = xValuesUniqueArray.length - 1;
+      while (lo <= hi) {
+        int mid = (lo + hi) >>> 1;
+        double midVal = xValuesUniqueArray[mid];
+        if (midVal < x) {
+          lo = mid + 1;
+        } else if (midVal > x) {
+          hi = mid - 1;
+        } else {
+          return mid;
+        }
+      }
+      return lo - 1;
+    }
+
     // project sensitivities back to parameters
     private DoubleArray project(DoubleArray xSens, DoubleArray[] ySens) {
       int countParam = 0;
@@ -250,6 +345,11 @@ public final class GridSurfaceInterpolator
       for (int i = 0; i < xSens.size(); i++) {
         double xs = xSens.get(i);
         DoubleArray ys = ySens[i];
+        if (ys == null) {
+          // zero sensitivity to the y-interpolator, skip its parameters
+          countParam += yParamSizes[i];
+          continue;
+        }
         for (int j = 0; j < ys.size(); j++) {
           paramSens[countParam++] = xs * ys.get(j);
         }
@@ -0,0 +1,136 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.joda.beans.ser.JodaBeanSer;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.io.BinarySerializer;
+import com.opengamma.strata.market.curve.CurveGroup;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.CurveParameterSize;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.market.param.TenorDateParameterMetadata;
+
+/**
+ * Test {@link MarketBinaryCodecs}.
+ */
+@Test
+public class MarketBinaryCodecsTest {
+
+  private static final BinarySerializer SERIALIZER = BinarySerializer.of(MarketBinaryCodecs.codecs());
+  private static final LocalDate VAL_DATE = date(2016, 6, 30);
+  private static final int SIZE = 20;
+
+  //-------------------------------------------------------------------------
+  public void test_curveMetadata() {
+    assertRoundTrip(Curves.zeroRates("Simple", DayCounts.ACT_365F));
+    assertRoundTrip(metadata(CurveName.of("Discount")));
+  }
+
+  public void test_curve() {
+    assertRoundTrip(curve("Discount"));
+    assertRoundTrip(InterpolatedNodalCurve.of(
+        Curves.zeroRates("Simple", DayCounts.ACT_365F),
+        DoubleArray.of(1, 2, 3),
+        DoubleArray.of(0.01, 0.02, 0.025),
+        CurveInterpolators.LINEAR,
+        CurveExtrapolators.FLAT,
+        CurveExtrapolators.LINEAR));
+  }
+
+  public void test_curveGroup() {
+    assertRoundTrip(curveGroup());
+  }
+
+  public void test_sensitivities() {
+    assertRoundTrip(sensitivities());
+    assertRoundTrip(CurrencyParameterSensitivities.empty());
+  }
+
+  public void test_smallerThanJodaBeans() {
+    CurveGroup group = curveGroup();
+    assertTrue(SERIALIZER.write(group).length < JodaBeanSer.COMPACT.binWriter().write(group).length);
+    CurrencyParameterSensitivities sensitivities = sensitivities();
+    assertTrue(SERIALIZER.write(sensitivities).length < JodaBeanSer.COMPACT.binWriter().write(sensitivities).length);
+  }
+
+  //-------------------------------------------------------------------------
+  private static void assertRoundTrip(Object value) {
+    assertEquals(SERIALIZER.read(SERIALIZER.write(value), Object.class), value);
+  }
+
+  private static List<ParameterMetadata> parameterMetadata() {
+    ImmutableList.Builder<ParameterMetadata> builder = ImmutableList.builder();
+    for (int i = 0; i < SIZE; i++) {
+      builder.add(TenorDateParameterMetadata.of(VAL_DATE.plusMonths(6 * (i + 1)), Tenor.ofMonths(6 * (i + 1))));
+    }
+    return builder.build();
+  }
+
+  private static DefaultCurveMetadata metadata(CurveName name) {
+    // calibrated values use the full precision of a double
+    JacobianCalibrationMatrix jacobian = JacobianCalibrationMatrix.of(
+        ImmutableList.of(CurveParameterSize.of(name, SIZE)),
+        DoubleMatrix.of(SIZE, SIZE, (i, j) -> 1d / (1 + i + j)));
+    return DefaultCurveMetadata.builder()
+        .curveName(name)
+        .xValueType(ValueType.YEAR_FRACTION)
+        .yValueType(ValueType.ZERO_RATE)
+        .dayCount(DayCounts.ACT_365F)
+        .jacobian(jacobian)
+        .parameterMetadata(parameterMetadata())
+        .build();
+  }
+
+  private static InterpolatedNodalCurve curve(String name) {
+    return InterpolatedNodalCurve.of(
+        metadata(CurveName.of(name)),
+        DoubleArray.of(SIZE, i -> (i + 1) / 2d),
+        DoubleArray.of(SIZE, i -> 0.01 + i * 0.001),
+        CurveInterpolators.NATURAL_CUBIC_SPLINE);
+  }
+
+  private static CurveGroup curveGroup() {
+    return CurveGroup.of(
+        CurveGroupName.of("Group"),
+        ImmutableMap.of(GBP, curve("Discount")),
+        ImmutableMap.of(GBP_LIBOR_3M, curve("Forward")));
+  }
+
+  private static CurrencyParameterSensitivities sensitivities() {
+    return CurrencyParameterSensitivities.of(
+        CurrencyParameterSensitivity.of(
+            CurveName.of("Discount"), parameterMetadata(), GBP, DoubleArray.of(SIZE, i -> i * 10d)),
+        CurrencyParameterSensitivity.of(
+            CurveName.of("Forward"), parameterMetadata(), GBP, DoubleArray.of(SIZE, i -> i * 20d)));
+  }
+
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.market.ShiftType;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+
+/**
+ * Test {@link ShiftedCurveScenarioArray}.
+ */
+@Test
+public class ShiftedCurveScenarioArrayTest {
+
+  private static final Curve CURVE = InterpolatedNodalCurve.of(
+      Curves.zeroRates("curve", DayCounts.ACT_365F),
+      DoubleArray.of(1, 2, 3),
+      DoubleArray.of(5, 6, 7),
+      CurveInterpolators.LOG_LINEAR);
+
+  //-------------------------------------------------------------------------
+  public void test_ofParallelShifts() {
+    ShiftedCurveScenarioArray test =
+        ShiftedCurveScenarioArray.ofParallelShifts(CURVE, ShiftType.ABSOLUTE, DoubleArray.of(1d, 2d));
+    assertThat(test.getCurve()).isEqualTo(CURVE);
+    assertThat(test.getShiftType()).isEqualTo(ShiftType.ABSOLUTE);
+    assertThat(test.getShifts()).isEqualTo(DoubleMatrix.of(2, 1, 1d, 2d));
+    assertThat(test.isParallel()).isTrue();
+    assertThat(test.getScenarioCount()).isEqualTo(2);
+    assertThat(test.get(0)).isEqualTo(ParallelShiftedCurve.absolute(CURVE, 1d));
+    assertThat(test.get(1)).isEqualTo(ParallelShiftedCurve.absolute(CURVE, 2d));
+    assertThrows(() -> test.get(2), IllegalArgumentException.class);
+  }
+
+  public void test_ofParameterShifts() {
+    DoubleMatrix shifts = DoubleMatrix.of(2, 3, 0.1d, 0d, 0.2d, 0d, 0.3d, 0d);
+    ShiftedCurveScenarioArray test = ShiftedCurveScenarioArray.ofParameterShifts(CURVE, ShiftType.RELATIVE, shifts);
+    assertThat(test.getShifts()).isEqualTo(shifts);
+    assertThat(test.isParallel()).isFalse();
+    assertThat(test.getScenarioCount()).isEqualTo(2);
+    assertThat(test.get(0)).isEqualTo(CURVE.withParameter(0, 5.5d).withParameter(2, 8.4d));
+    assertThat(test.get(1)).isEqualTo(CURVE.withParameter(1, 7.8d));
+    assertThat(test.stream().count()).isEqualTo(2);
+  }
+
+  public void test_get_onDemand() {
+    DoubleMatrix shifts = DoubleMatrix.of(2, 3, 0.1d, 0d, 0.2d, 0d, 0.3d, 0d);
+    ShiftedCurveScenarioArray test = ShiftedCurveScenarioArray.ofParameterShifts(CURVE, ShiftType.RELATIVE, shifts);
+    assertThat(test.get(1)).isNotSameAs(test.get(1));
+    assertThat(test.get(1)).isEqualTo(test.get(1));
+  }
+
+  public void test_ofParameterShifts_wrongColumnCount() {
+    DoubleMatrix shifts = DoubleMatrix.of(1, 2, 0.1d, 0.2d);
+    assertThrowsIllegalArg(() -> ShiftedCurveScenarioArray.ofParameterShifts(CURVE, ShiftType.RELATIVE, shifts));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    ShiftedCurveScenarioArray test =
+        ShiftedCurveScenarioArray.ofParallelShifts(CURVE, ShiftType.ABSOLUTE, DoubleArray.of(1d, 2d));
+    coverImmutableBean(test);
+    ShiftedCurveScenarioArray test2 =
+        ShiftedCurveScenarioArray.ofParameterShifts(CURVE, ShiftType.RELATIVE, DoubleMatrix.of(1, 3, 1d, 2d, 3d));
+    coverBeanEquals(test, test2);
+  }
+
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.explain;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+
+/**
+ * Test {@link ExplainTable}.
+ */
+@Test
+public class ExplainTableTest {
+
+  private static final LocalDate DATE1 = date(2015, 6, 30);
+  private static final LocalDate DATE2 = date(2015, 9, 30);
+  private static final CurrencyAmount AMOUNT1 = CurrencyAmount.of(GBP, 1000);
+  private static final CurrencyAmount AMOUNT2 = CurrencyAmount.of(GBP, 2000);
+
+  // populates a builder with two legs, each with payment periods
+  private static final Consumer<ExplainMapBuilder> POPULATOR = builder -> {
+    builder.put(ExplainKey.ENTRY_TYPE, "Swap");
+    builder.addListEntryWithIndex(ExplainKey.LEGS, leg -> {
+      leg.put(ExplainKey.PRESENT_VALUE, AMOUNT1);
+      leg.addListEntry(ExplainKey.PAYMENT_PERIODS, period -> period
+          .put(ExplainKey.PAYMENT_DATE, DATE1)
+          .put(ExplainKey.DISCOUNT_FACTOR, 0.99d)
+          .put(ExplainKey.ACCRUAL_DAYS, 91));
+      leg.addListEntry(ExplainKey.PAYMENT_PERIODS, period -> period
+          .put(ExplainKey.PAYMENT_DATE, DATE2)
+          .put(ExplainKey.DISCOUNT_FACTOR, 0.98d));
+    });
+    builder.addListEntryWithIndex(ExplainKey.LEGS, leg -> {
+      leg.put(ExplainKey.PRESENT_VALUE, AMOUNT2);
+    });
+    builder.put(ExplainKey.PRESENT_VALUE, AMOUNT1.plus(AMOUNT2));
+  };
+
+  //-------------------------------------------------------------------------
+  public void test_builder() {
+    ExplainMapBuilder builder = ExplainTable.builder();
+    POPULATOR.accept(builder);
+    ExplainTable test = builder.buildTable();
+    assertEquals(test.getRowCount(), 5);
+    assertEquals(test.getKeys(), ImmutableSet.of(
+        ExplainKey.ENTRY_TYPE,
+        ExplainKey.ENTRY_INDEX,
+        ExplainKey.PRESENT_VALUE,
+        ExplainKey.PAYMENT_DATE,
+        ExplainKey.DISCOUNT_FACTOR,
+        ExplainKey.ACCRUAL_DAYS));
+    // structure
+    assertEquals(test.getParent(0), -1);
+    assertEquals(test.getListKey(0), Optional.empty());
+    assertEquals(test.getParent(1), 0);
+    assertEquals(test.getListKey(1), Optional.of(ExplainKey.LEGS));
+    assertEquals(test.getParent(2), 1);
+    assertEquals(test.getListKey(2), Optional.of(ExplainKey.PAYMENT_PERIODS));
+    assertEquals(test.getParent(3), 1);
+    assertEquals(test.getParent(4), 0);
+    // values
+    assertEquals(test.get(0, ExplainKey.ENTRY_TYPE), Optional.of("Swap"));
+    assertEquals(test.get(0, ExplainKey.PRESENT_VALUE), Optional.of(AMOUNT1.plus(AMOUNT2)));
+    assertEquals(test.get(1, ExplainKey.ENTRY_INDEX), Optional.of(0));
+    assertEquals(test.get(4, ExplainKey.ENTRY_INDEX), Optional.of(1));
+    assertEquals(test.get(2, ExplainKey.PAYMENT_DATE), Optional.of(DATE1));
+    assertEquals(test.get(3, ExplainKey.ACCRUAL_DAYS), Optional.empty());
+    assertEquals(test.get(3, ExplainKey.FORWARD_RATE), Optional.empty());
+    assertEquals(test.contains(2, ExplainKey.ACCRUAL_DAYS), true);
+    assertEquals(test.contains(3, ExplainKey.ACCRUAL_DAYS), false);
+    assertThrowsIllegalArg(() -> test.getParent(5));
+    assertThrowsIllegalArg(() -> test.contains(-1, ExplainKey.ACCRUAL_DAYS));
+  }
+
+  public void test_primitiveAccess() {
+    ExplainMapBuilder builder = ExplainTable.builder();
+    POPULATOR.accept(builder);
+    ExplainTable test = builder.buildTable();
+    assertEquals(test.getDouble(2, ExplainKey.DISCOUNT_FACTOR), 0.99d);
+    assertEquals(test.getDouble(3, ExplainKey.DISCOUNT_FACTOR), 0.98d);
+    assertEquals(test.getDouble(2, ExplainKey.ACCRUAL_DAYS), 91d);
+    assertEquals(test.getDouble(4, ExplainKey.PRESENT_VALUE), 2000d);
+    assertEquals(test.getCurrency(4, ExplainKey.PRESENT_VALUE), GBP);
+    assertEquals(test.getEpochDay(3, ExplainKey.PAYMENT_DATE), DATE2.toEpochDay());
+    assertThrowsIllegalArg(() -> test.getDouble(0, ExplainKey.ENTRY_TYPE));
+    assertThrowsIllegalArg(() -> test.getDouble(3, ExplainKey.ACCRUAL_DAYS));
+    assertThrowsIllegalArg(() -> test.getEpochDay(2, ExplainKey.END_DATE));
+  }
+
+  public void test_mixedTypes() {
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    ExplainKey<Object> key = (ExplainKey) ExplainKey.COMBINED_RATE;
+    ExplainMapBuilder builder = ExplainTable.builder();
+    builder.put(key, 1.5d);
+    builder.addListEntry(ExplainKey.LEGS, leg -> leg.put(key, "Mixed"));
+    ExplainTable test = builder.buildTable();
+    assertEquals(test.get(0, key), Optional.of(1.5d));
+    assertEquals(test.get(1, key), Optional.of("Mixed"));
+    assertThrowsIllegalArg(() -> test.getDouble(0, key));
+  }
+
+  public void test_mixedPrimitiveTypes() {
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    ExplainKey<Integer> key = (ExplainKey) ExplainKey.COMBINED_RATE;
+    ExplainMapBuilder builder = ExplainTable.builder();
+    builder.put(ExplainKey.COMBINED_RATE, 1.5d);
+    builder.addListEntry(ExplainKey.LEGS, leg -> leg.put(key, 2));
+    ExplainTable test = builder.buildTable();
+    assertEquals(test.get(0, ExplainKey.COMBINED_RATE), Optional.of(1.5d));
+    assertEquals(test.get(1, key), Optional.of(2));
+  }
+
+  public void test_openListEntry_reused() {
+    ExplainMapBuilder builder = ExplainTable.builder();
+    ExplainMapBuilder leg1 = builder.openListEntry(ExplainKey.LEGS);
+    leg1.put(ExplainKey.ACCRUAL_DAYS, 1);
+    builder = leg1.closeListEntry(ExplainKey.LEGS);
+    ExplainMapBuilder leg2 = builder.openListEntry(ExplainKey.LEGS);
+    leg2.put(ExplainKey.ACCRUAL_DAYS, 2);
+    builder = leg2.closeListEntry(ExplainKey.LEGS);
+    ExplainTable test = builder.buildTable();
+    assertSame(leg2, leg1);
+    assertEquals(test.getRowCount(), 3);
+    assertEquals(test.get(1, ExplainKey.ACCRUAL_DAYS), Optional.of(1));
+    assertEquals(test.get(2, ExplainKey.ACCRUAL_DAYS), Optional.of(2));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_toExplainMap() {
+    ExplainMapBuilder mapBuilder = ExplainMap.builder();
+    POPULATOR.accept(mapBuilder);
+    ExplainMapBuilder tableBuilder = ExplainTable.builder();
+    POPULATOR.accept(tableBuilder);
+    ExplainMap expected = mapBuilder.build();
+    assertEquals(tableBuilder.buildTable().toExplainMap(), expected);
+    assertEquals(tableBuilder.build(), expected);
+  }
+
+  public void test_buildTable_notTable() {
+    assertThrows(() -> ExplainMap.builder().buildTable(), IllegalStateException.class);
+  }
+
+  public void test_toString() {
+    ExplainTable test = ExplainTable.builder().put(ExplainKey.ACCRUAL_DAYS, 2).buildTable();
+    assertEquals(test.toString(), "ExplainTable[rows=1, keys=[AccrualDays]]");
+  }
+
+}
@@ -108,6 +108,16 @@ public class InterpolatedNodalSurfaceTest {
     assertTrue(sensiValues.equalWithTolerance(sensiValuesInterp, 1e-8));
   }
 
+  public void test_lookup_batch() {
+    InterpolatedNodalSurface test = InterpolatedNodalSurface.of(METADATA, XVALUES, YVALUES, ZVALUES, INTERPOLATOR);
+    DoubleArray xValues = DoubleArray.of(0d, 1d, 1.5d, 5d);
+    DoubleArray yValues = DoubleArray.of(1.5d, 3d, 3.7d, 3.7d);
+    DoubleArray computed = test.zValues(xValues, yValues);
+    for (int i = 0; i < xValues.size(); i++) {
+      assertThat(computed.get(i)).isEqualTo(test.zValue(xValues.get(i), yValues.get(i)));
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_withMetadata() {
     InterpolatedNodalSurface base = InterpolatedNodalSurface.of(METADATA, XVALUES, YVALUES, ZVALUES, INTERPOLATOR);
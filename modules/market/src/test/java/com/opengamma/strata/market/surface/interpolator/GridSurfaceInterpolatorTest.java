@@ -105,6 +105,43 @@ public class GridSurfaceInterpolatorTest {
     }
   }
 
+  public void test_interpolation_batch() {
+    GridSurfaceInterpolator test = GridSurfaceInterpolator.of(
+        LINEAR, FLAT, FLAT, LINEAR, FLAT, FLAT);
+    BoundSurfaceInterpolator bci = test.bind(X_DATA, Y_DATA, Z_DATA);
+    DoubleArray xValues = X_TEST.concat(-0.5, 3.5, 0.7, 3.0);
+    DoubleArray yValues = Y_TEST.concat(4.2, 4.2, 4.2, 4.2);
+    DoubleArray computed = bci.interpolate(xValues, yValues);
+    assertEquals(computed.size(), xValues.size());
+    for (int i = 0; i < xValues.size(); i++) {
+      assertEquals(computed.get(i), bci.interpolate(xValues.get(i), yValues.get(i)), TOL);
+    }
+    assertThrowsIllegalArg(() -> bci.interpolate(X_TEST, Y_TEST.subArray(1)));
+  }
+
+  public void test_parameterSensitivity() {
+    double eps = 1.0e-6;
+    DoubleArray xValues = X_TEST.concat(-0.5, 3.5, 1.0, 3.0);
+    DoubleArray yValues = Y_TEST.concat(4.2, 4.2, 3.3, 4.6);
+    for (GridSurfaceInterpolator test : new GridSurfaceInterpolator[] {
+        GridSurfaceInterpolator.of(LINEAR, FLAT, FLAT, LINEAR, FLAT, FLAT),
+        GridSurfaceInterpolator.of(DOUBLE_QUADRATIC, FLAT, FLAT, LINEAR, FLAT, FLAT)}) {
+      BoundSurfaceInterpolator bci = test.bind(X_DATA, Y_DATA, Z_DATA);
+      for (int i = 0; i < xValues.size(); i++) {
+        double x = xValues.get(i);
+        double y = yValues.get(i);
+        DoubleArray computed = bci.parameterSensitivity(x, y);
+        assertEquals(computed.size(), Z_DATA.size());
+        for (int j = 0; j < Z_DATA.size(); j++) {
+          BoundSurfaceInterpolator bumpedUp = test.bind(X_DATA, Y_DATA, Z_DATA.with(j, Z_DATA.get(j) + eps));
+          BoundSurfaceInterpolator bumpedDw = test.bind(X_DATA, Y_DATA, Z_DATA.with(j, Z_DATA.get(j) - eps));
+          double expected = 0.5 * (bumpedUp.interpolate(x, y) - bumpedDw.interpolate(x, y)) / eps;
+          assertEquals(computed.get(j), expected, eps);
+        }
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     GridSurfaceInterpolator test = GridSurfaceInterpolator.of(
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.integration;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -60,13 +61,15 @@ public class GaussHermiteQuadratureIntegrator1D extends GaussianQuadratureIntegr
     ArgChecker.notNull(function, "function");
     ArgChecker.notNull(lower, "lower");
     ArgChecker.notNull(upper, "upper");
-    if (lower.equals(LIMITS[0]) && upper.equals(LIMITS[1])) {
-      return new Function<Double, Double>() {
-        @Override
-        public Double apply(Double x) {
-          return Math.exp(x * x) * function.apply(x);
-        }
-      };
+    DoubleUnaryOperator integral = getIntegralFunctionPrimitive(function::apply, lower, upper);
+    return integral::applyAsDouble;
+  }
+
+  @Override
+  public DoubleUnaryOperator getIntegralFunctionPrimitive(DoubleUnaryOperator function, double lower, double upper) {
+    ArgChecker.notNull(function, "function");
+    if (lower == LIMITS[0] && upper == LIMITS[1]) {
+      return x -> Math.exp(x * x) * function.applyAsDouble(x);
     }
     throw new UnsupportedOperationException("Limits for this integration method are +/-infinity");
   }
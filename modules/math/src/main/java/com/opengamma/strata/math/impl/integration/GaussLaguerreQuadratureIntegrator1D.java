@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.integration;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 /**
@@ -52,13 +53,14 @@ public class GaussLaguerreQuadratureIntegrator1D extends GaussianQuadratureInteg
    */
   @Override
   public Function<Double, Double> getIntegralFunction(Function<Double, Double> function, Double lower, Double upper) {
-    if (lower.equals(LIMITS[0]) && upper.equals(LIMITS[1])) {
-      return new Function<Double, Double>() {
-        @Override
-        public Double apply(Double x) {
-          return function.apply(x) * Math.exp(x);
-        }
-      };
+    DoubleUnaryOperator integral = getIntegralFunctionPrimitive(x -> function.apply(x), lower, upper);
+    return integral::applyAsDouble;
+  }
+
+  @Override
+  public DoubleUnaryOperator getIntegralFunctionPrimitive(DoubleUnaryOperator function, double lower, double upper) {
+    if (lower == LIMITS[0] && upper == LIMITS[1]) {
+      return x -> function.applyAsDouble(x) * Math.exp(x);
     }
     throw new UnsupportedOperationException("Limits for Gauss-Laguerre integration are 0 and +infinity");
   }
@@ -6,6 +6,7 @@
 package com.opengamma.strata.math.impl.integration;
 
 import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -29,7 +30,7 @@ import com.opengamma.strata.math.impl.function.special.OrthogonalPolynomialFunct
  * (see {@link OrthogonalPolynomialFunctionGenerator} and {@link GaussLaguerreWeightAndAbscissaFunction}).
  * 
  */
-public abstract class GaussianQuadratureIntegrator1D extends Integrator1D<Double, Double> {
+public abstract class GaussianQuadratureIntegrator1D extends RealFunctionIntegrator1D {
 
   private final int _n;
   private final QuadratureWeightAndAbscissaFunction _generator;
@@ -51,12 +52,10 @@ public abstract class GaussianQuadratureIntegrator1D extends Integrator1D<Double
    * {@inheritDoc}
    */
   @Override
-  public Double integrate(Function<Double, Double> function, Double lower, Double upper) {
+  public double integratePrimitive(DoubleUnaryOperator function, double lower, double upper) {
     ArgChecker.notNull(function, "function");
-    ArgChecker.notNull(lower, "lower");
-    ArgChecker.notNull(upper, "upper");
-    Function<Double, Double> integral = getIntegralFunction(function, lower, upper);
-    return integrateFromPolyFunc(integral);
+    DoubleUnaryOperator integral = getIntegralFunctionPrimitive(function, lower, upper);
+    return integrateFromPolyFuncPrimitive(integral);
   }
 
   /**
@@ -71,13 +70,25 @@ public abstract class GaussianQuadratureIntegrator1D extends Integrator1D<Double
    * @return The integral 
    */
   public double integrateFromPolyFunc(Function<Double, Double> polyFunction) {
+    ArgChecker.notNull(polyFunction, "polyFunction");
+    return integrateFromPolyFuncPrimitive(polyFunction::apply);
+  }
+
+  /**
+   * Integrates a function $f(x)$ of primitive doubles, see {@link #integrateFromPolyFunc(Function)}.
+   * 
+   * @param polyFunction The function $f(x)$ rather than the full function $g(x) = W(x)f(x)$
+   *  This should be well approximated by a polynomial.
+   * @return The integral 
+   */
+  public double integrateFromPolyFuncPrimitive(DoubleUnaryOperator polyFunction) {
     ArgChecker.notNull(polyFunction, "polyFunction");
     double[] abscissas = _quadrature.getAbscissas();
     int n = abscissas.length;
     double[] weights = _quadrature.getWeights();
     double sum = 0;
     for (int i = 0; i < n; i++) {
-      sum += polyFunction.apply(abscissas[i]) * weights[i];
+      sum += polyFunction.applyAsDouble(abscissas[i]) * weights[i];
     }
     return sum;
   }
@@ -99,6 +110,23 @@ public abstract class GaussianQuadratureIntegrator1D extends Integrator1D<Double
       Double lower,
       Double upper);
 
+  /**
+   * Returns a function of primitive doubles that is valid for both the type of quadrature
+   * and the limits of integration.
+   * <p>
+   * By default this wraps {@link #getIntegralFunction(Function, Double, Double)}.
+   * 
+   * @param function The function to be integrated, not null
+   * @param lower The lower integration limit
+   * @param upper The upper integration limit
+   * @return A function in the appropriate form for integration
+   */
+  public DoubleUnaryOperator getIntegralFunctionPrimitive(DoubleUnaryOperator function, double lower, double upper) {
+    ArgChecker.notNull(function, "function");
+    Function<Double, Double> integral = getIntegralFunction(function::applyAsDouble, lower, upper);
+    return integral::apply;
+  }
+
   @Override
   public int hashCode() {
     int prime = 31;
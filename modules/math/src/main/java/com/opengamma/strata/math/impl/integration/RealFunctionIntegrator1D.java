@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.integration;
+
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Function;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Class for defining the integration of 1-D real functions.
+ * <p>
+ * The integration is defined on functions of primitive doubles,
+ * see {@link #integratePrimitive(DoubleUnaryOperator, double, double)}.
+ * Integration of boxed functions is supported and delegates to the primitive form.
+ */
+public abstract class RealFunctionIntegrator1D extends Integrator1D<Double, Double> {
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Double integrate(Function<Double, Double> f, Double lower, Double upper) {
+    ArgChecker.notNull(f, "f");
+    ArgChecker.notNull(lower, "lower bound");
+    ArgChecker.notNull(upper, "upper bound");
+    return integratePrimitive(f::apply, lower.doubleValue(), upper.doubleValue());
+  }
+
+  /**
+   * 1-D integration method for functions of primitive doubles.
+   * <p>
+   * The function is evaluated without boxing.
+   *
+   * @param f  the function to integrate, not null
+   * @param lower  the lower bound
+   * @param upper  the upper bound
+   * @return the result of the integration
+   */
+  public abstract double integratePrimitive(DoubleUnaryOperator f, double lower, double upper);
+
+}
@@ -5,7 +5,8 @@
  */
 package com.opengamma.strata.math.impl.integration;
 
-import java.util.function.Function;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleUnaryOperator;
 
 import com.opengamma.strata.collect.ArgChecker;
 
@@ -15,7 +16,7 @@ import com.opengamma.strata.collect.ArgChecker;
  * maths. It is a very robust integrator and should be used before trying more
  * specialised methods.
  */
-public class RungeKuttaIntegrator1D extends Integrator1D<Double, Double> {
+public class RungeKuttaIntegrator1D extends RealFunctionIntegrator1D {
 
   private static final double DEF_TOL = 1e-10;
   private static final double STEP_SIZE_LIMIT = 1e-50;
@@ -73,9 +74,8 @@ public class RungeKuttaIntegrator1D extends Integrator1D<Double, Double> {
   }
 
   @Override
-  public Double integrate(Function<Double, Double> f, Double lower, Double upper) {
-    ArgChecker.notNull(lower, "lower");
-    ArgChecker.notNull(upper, "upper");
+  public double integratePrimitive(DoubleUnaryOperator f, double lower, double upper) {
+    ArgChecker.notNull(f, "f");
     if (Double.isNaN(lower) || Double.isInfinite(lower) || Double.isInfinite(upper) || Double.isNaN(upper)) {
       throw new IllegalArgumentException("lower or upper was NaN or Inf");
     }
@@ -83,18 +83,18 @@ public class RungeKuttaIntegrator1D extends Integrator1D<Double, Double> {
     double h = (upper - lower) / _minSteps;
     double f1, f2, f3, x;
     x = lower;
-    f1 = f.apply(x);
+    f1 = f.applyAsDouble(x);
     if (Double.isNaN(f1) || Double.isInfinite(f1)) {
       throw new IllegalArgumentException("function evaluation returned NaN or Inf");
     }
 
     double result = 0.0;
     for (int i = 0; i < _minSteps; i++) {
-      f2 = f.apply(x + h / 2.0);
+      f2 = f.applyAsDouble(x + h / 2.0);
       if (Double.isNaN(f2) || Double.isInfinite(f2)) {
         throw new IllegalArgumentException("function evaluation returned NaN or Inf");
       }
-      f3 = f.apply(x + h);
+      f3 = f.applyAsDouble(x + h);
       if (Double.isNaN(f3) || Double.isInfinite(f3)) {
         throw new IllegalArgumentException("function evaluation returned NaN or Inf");
       }
@@ -106,8 +106,89 @@ public class RungeKuttaIntegrator1D extends Integrator1D<Double, Double> {
     return result;
   }
 
+  /**
+   * Integrates a vector-valued function, evaluating the function once at each point.
+   * <p>
+   * The step is refined until every component of the integral satisfies the tolerances.
+   * Several integrals over the same interval thus share the evaluations of the function,
+   * rather than each integral evaluating the function separately.
+   * The function must return an array of the same length at every point.
+   *
+   * @param f  the function returning the values of the integrands at a point
+   * @param lower  the lower bound
+   * @param upper  the upper bound
+   * @return the integrals, one for each component of the function
+   */
+  public double[] integrateVector(DoubleFunction<double[]> f, double lower, double upper) {
+    ArgChecker.notNull(f, "f");
+    if (Double.isNaN(lower) || Double.isInfinite(lower) || Double.isInfinite(upper) || Double.isNaN(upper)) {
+      throw new IllegalArgumentException("lower or upper was NaN or Inf");
+    }
+
+    double h = (upper - lower) / _minSteps;
+    double x = lower;
+    double[] f1 = f.apply(x);
+    checkVectorEvaluation(f1);
+    double[] result = new double[f1.length];
+    for (int i = 0; i < _minSteps; i++) {
+      double[] f2 = f.apply(x + h / 2.0);
+      checkVectorEvaluation(f2);
+      double[] f3 = f.apply(x + h);
+      checkVectorEvaluation(f3);
+      addRungeKuttaFourthOrder(f, x, h, f1, f2, f3, result);
+      f1 = f3;
+      x += h;
+    }
+    return result;
+  }
+
+  // checks the values at the endpoints and midpoints of the initial steps
+  private static void checkVectorEvaluation(double[] values) {
+    for (double value : values) {
+      if (Double.isNaN(value) || Double.isInfinite(value)) {
+        throw new IllegalArgumentException("function evaluation returned NaN or Inf");
+      }
+    }
+  }
+
+  // the vector form of calculateRungeKuttaFourthOrder, adding the integrals over the step to the result
+  private void addRungeKuttaFourthOrder(
+      DoubleFunction<double[]> f,
+      double x,
+      double h,
+      double[] fl,
+      double[] fm,
+      double[] fu,
+      double[] result) {
+
+    double[] f1 = f.apply(x + 0.25 * h);
+    double[] f2 = f.apply(x + 0.75 * h);
+    for (int j = 0; j < result.length; j++) {
+      if (Double.isNaN(f1[j]) || Double.isInfinite(f1[j]) || Double.isNaN(f2[j]) || Double.isInfinite(f2[j])) {
+        throw new IllegalStateException("f.evaluate returned NaN or Inf");
+      }
+    }
+    boolean converged = true;
+    for (int j = 0; j < result.length && converged; j++) {
+      double ya = h * (fl[j] + 4.0 * fm[j] + fu[j]) / 6.0;
+      double yb = h * (fl[j] + 2.0 * fm[j] + 4.0 * (f1[j] + f2[j]) + fu[j]) / 12.0;
+      converged = Math.abs(ya - yb) < _absTol + _relTol * Math.max(Math.abs(ya), Math.abs(yb));
+    }
+    // can't keep halving the step size
+    if (converged || h < STEP_SIZE_LIMIT) {
+      for (int j = 0; j < result.length; j++) {
+        double ya = h * (fl[j] + 4.0 * fm[j] + fu[j]) / 6.0;
+        double yb = h * (fl[j] + 2.0 * fm[j] + 4.0 * (f1[j] + f2[j]) + fu[j]) / 12.0;
+        result[j] += yb + (yb - ya) / 15.0;
+      }
+      return;
+    }
+    addRungeKuttaFourthOrder(f, x, h / 2.0, fl, f1, fm, result);
+    addRungeKuttaFourthOrder(f, x + h / 2.0, h / 2.0, fm, f2, fu, result);
+  }
+
   private double calculateRungeKuttaFourthOrder(
-      Function<Double, Double> f,
+      DoubleUnaryOperator f,
       double x,
       double h,
       double fl,
@@ -119,11 +200,11 @@ public class RungeKuttaIntegrator1D extends Integrator1D<Double, Double> {
     //        Double.isNaN(fu) || Double.isInfinite(fu)) {
     //      throw new OpenGammaRuntimeException("h was Inf or NaN");
     //    }
-    double f1 = f.apply(x + 0.25 * h);
+    double f1 = f.applyAsDouble(x + 0.25 * h);
     if (Double.isNaN(f1) || Double.isInfinite(f1)) {
       throw new IllegalStateException("f.evaluate returned NaN or Inf");
     }
-    double f2 = f.apply(x + 0.75 * h);
+    double f2 = f.applyAsDouble(x + 0.75 * h);
     if (Double.isNaN(f2) || Double.isInfinite(f2)) {
       throw new IllegalStateException("f.evaluate returned NaN or Inf");
     }
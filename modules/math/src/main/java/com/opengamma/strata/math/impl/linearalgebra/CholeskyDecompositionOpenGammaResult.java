@@ -50,7 +50,8 @@ public class CholeskyDecompositionOpenGammaResult implements CholeskyDecompositi
 
   @Override
   public DoubleArray solve(DoubleArray b) {
-    return b;
+    ArgChecker.notNull(b, "b");
+    return DoubleArray.ofUnsafe(solve(b.toArrayUnsafe()));
   }
 
   @Override
@@ -82,25 +83,38 @@ public class CholeskyDecompositionOpenGammaResult implements CholeskyDecompositi
     int nbCol = b.columnCount();
     ArgChecker.isTrue(nbRow == _lArray.length, "b array of incorrect size");
     double[][] x = b.toArray();
-    // L Y = B (Y stored in x array)
-    for (int loopcol = 0; loopcol < nbCol; loopcol++) {
-      for (int looprow = 0; looprow < nbRow; looprow++) {
-        x[looprow][loopcol] /= _lArray[looprow][looprow];
-        for (int j = looprow + 1; j < nbRow; j++) {
-          x[j][loopcol] -= x[looprow][loopcol] * _lArray[j][looprow];
+    // L Y = B (Y stored in x array), all the columns being solved in a single pass
+    for (int looprow = 0; looprow < nbRow; looprow++) {
+      double[] xRow = x[looprow];
+      double lDiag = _lArray[looprow][looprow];
+      for (int loopcol = 0; loopcol < nbCol; loopcol++) {
+        xRow[loopcol] /= lDiag;
+      }
+      for (int j = looprow + 1; j < nbRow; j++) {
+        double[] xj = x[j];
+        double lj = _lArray[j][looprow];
+        for (int loopcol = 0; loopcol < nbCol; loopcol++) {
+          xj[loopcol] -= xRow[loopcol] * lj;
         }
       }
     }
     // L^T X = Y
-    for (int loopcol = 0; loopcol < nbCol; loopcol++) {
-      for (int looprow = nbRow - 1; looprow >= -0; looprow--) {
-        x[looprow][loopcol] /= _lArray[looprow][looprow];
-        for (int j = 0; j < looprow; j++) {
-          x[j][loopcol] -= x[looprow][loopcol] * _lArray[looprow][j];
+    for (int looprow = nbRow - 1; looprow >= 0; looprow--) {
+      double[] xRow = x[looprow];
+      double[] lRow = _lArray[looprow];
+      double lDiag = lRow[looprow];
+      for (int loopcol = 0; loopcol < nbCol; loopcol++) {
+        xRow[loopcol] /= lDiag;
+      }
+      for (int j = 0; j < looprow; j++) {
+        double[] xj = x[j];
+        double lj = lRow[j];
+        for (int loopcol = 0; loopcol < nbCol; loopcol++) {
+          xj[loopcol] -= xRow[loopcol] * lj;
         }
       }
     }
-    return DoubleMatrix.copyOf(x);
+    return DoubleMatrix.ofUnsafe(x);
   }
 
   @Override
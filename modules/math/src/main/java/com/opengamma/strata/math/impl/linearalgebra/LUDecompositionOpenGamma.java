@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * OpenGamma implementation of the LU decomposition with partial pivoting.
+ * <p>
+ * The decomposition operates directly on the arrays of the matrix, without conversion to Commons Math structures.
+ * It follows the same algorithm as the Commons Math implementation, Crout's method with row pivoting,
+ * so the results are identical to those of {@link LUDecompositionCommons}.
+ * As with that implementation, a singular matrix causes an {@code IllegalArgumentException}
+ * when the matrix is decomposed, rather than when the decomposition is used to solve a system.
+ * <p>
+ * Callers that decompose many matrices of the same size, such as root finders, can provide
+ * a workspace array that is reused for each decomposition, see {@link #apply(DoubleMatrix, double[][])}.
+ */
+public class LUDecompositionOpenGamma extends Decomposition<LUDecompositionResult> {
+
+  /**
+   * The default threshold below which a pivot is considered to be zero and the matrix singular.
+   */
+  public static final double DEFAULT_SINGULARITY_THRESHOLD = 1e-11;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LUDecompositionResult apply(DoubleMatrix x) {
+    ArgChecker.notNull(x, "x");
+    ArgChecker.isTrue(x.isSquare(), "Matrix not square");
+    return decompose(x.toArray());
+  }
+
+  /**
+   * Performs the decomposition using a caller-provided workspace.
+   * <p>
+   * The matrix is copied into the workspace, which is then decomposed in place.
+   * The result refers to the workspace, thus it is only valid until the workspace is next used.
+   * If the workspace is null or of the wrong size, a new workspace is allocated, which can be obtained
+   * from {@link LUDecompositionOpenGammaResult#getWorkspace()} for use in the next decomposition.
+   *
+   * @param x  the matrix to decompose
+   * @param workspace  the workspace, may be null
+   * @return the decomposition
+   */
+  public LUDecompositionOpenGammaResult apply(DoubleMatrix x, double[][] workspace) {
+    ArgChecker.notNull(x, "x");
+    ArgChecker.isTrue(x.isSquare(), "Matrix not square");
+    int size = x.rowCount();
+    double[][] lu = workspace;
+    if (lu == null || lu.length != size || (size > 0 && lu[0].length != size)) {
+      lu = new double[size][size];
+    }
+    double[][] data = x.toArrayUnsafe();
+    for (int i = 0; i < size; i++) {
+      System.arraycopy(data[i], 0, lu[i], 0, size);
+    }
+    return decompose(lu);
+  }
+
+  // decomposes the array in place
+  private static LUDecompositionOpenGammaResult decompose(double[][] lu) {
+    int size = lu.length;
+    int[] pivot = new int[size];
+    for (int i = 0; i < size; i++) {
+      pivot[i] = i;
+    }
+    boolean even = true;
+    for (int col = 0; col < size; col++) {
+      // upper
+      for (int row = 0; row < col; row++) {
+        double[] luRow = lu[row];
+        double sum = luRow[col];
+        for (int i = 0; i < row; i++) {
+          sum -= luRow[i] * lu[i][col];
+        }
+        luRow[col] = sum;
+      }
+      // lower
+      int max = col;
+      double largest = Double.NEGATIVE_INFINITY;
+      for (int row = col; row < size; row++) {
+        double[] luRow = lu[row];
+        double sum = luRow[col];
+        for (int i = 0; i < col; i++) {
+          sum -= luRow[i] * lu[i][col];
+        }
+        luRow[col] = sum;
+        if (Math.abs(sum) > largest) {
+          largest = Math.abs(sum);
+          max = row;
+        }
+      }
+      ArgChecker.isTrue(
+          Math.abs(lu[max][col]) >= DEFAULT_SINGULARITY_THRESHOLD,
+          "Matrix is singular; could not perform LU decomposition");
+      // pivot
+      if (max != col) {
+        double[] tmp = lu[max];
+        lu[max] = lu[col];
+        lu[col] = tmp;
+        int tmpPivot = pivot[max];
+        pivot[max] = pivot[col];
+        pivot[col] = tmpPivot;
+        even = !even;
+      }
+      double luDiag = lu[col][col];
+      for (int row = col + 1; row < size; row++) {
+        lu[row][col] /= luDiag;
+      }
+    }
+    return new LUDecompositionOpenGammaResult(lu, pivot, even);
+  }
+
+}
@@ -0,0 +1,184 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Results of the OpenGamma implementation of LU decomposition ({@link LUDecompositionOpenGamma}).
+ * <p>
+ * The $\mathbf{L}$ and $\mathbf{U}$ matrices are stored packed in a single array, the unit diagonal of
+ * $\mathbf{L}$ being implicit. The matrices are only created when requested.
+ */
+public class LUDecompositionOpenGammaResult implements LUDecompositionResult {
+
+  /**
+   * The packed L and U matrices, in pivoted row order.
+   */
+  private final double[][] _lu;
+  /**
+   * The pivot permutation vector.
+   */
+  private final int[] _pivot;
+  /**
+   * Whether the number of row permutations is even.
+   */
+  private final boolean _even;
+
+  /**
+   * Constructor.
+   * @param lu The packed L and U matrices
+   * @param pivot The pivot permutation vector
+   * @param even Whether the number of row permutations is even
+   */
+  LUDecompositionOpenGammaResult(double[][] lu, int[] pivot, boolean even) {
+    _lu = lu;
+    _pivot = pivot;
+    _even = even;
+  }
+
+  /**
+   * Gets the workspace holding the packed decomposition.
+   * <p>
+   * The workspace can be passed to {@link LUDecompositionOpenGamma#apply(DoubleMatrix, double[][])}
+   * to be reused, at which point this result becomes invalid.
+   * @return the workspace
+   */
+  public double[][] getWorkspace() {
+    return _lu;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getDeterminant() {
+    double determinant = _even ? 1 : -1;
+    for (int i = 0; i < _lu.length; i++) {
+      determinant *= _lu[i][i];
+    }
+    return determinant;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix getL() {
+    return DoubleMatrix.of(_lu.length, _lu.length, (i, j) -> i > j ? _lu[i][j] : (i == j ? 1d : 0d));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix getU() {
+    return DoubleMatrix.of(_lu.length, _lu.length, (i, j) -> i <= j ? _lu[i][j] : 0d);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix getP() {
+    return DoubleMatrix.of(_lu.length, _lu.length, (i, j) -> _pivot[i] == j ? 1d : 0d);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int[] getPivot() {
+    return _pivot.clone();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleArray solve(DoubleArray b) {
+    ArgChecker.notNull(b, "b");
+    return DoubleArray.ofUnsafe(solve(b.toArrayUnsafe()));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double[] solve(double[] b) {
+    ArgChecker.notNull(b, "b");
+    int size = _pivot.length;
+    ArgChecker.isTrue(b.length == size, "b array of incorrect size");
+    double[] bp = new double[size];
+    for (int row = 0; row < size; row++) {
+      bp[row] = b[_pivot[row]];
+    }
+    // L y = b
+    for (int col = 0; col < size; col++) {
+      double bpCol = bp[col];
+      for (int i = col + 1; i < size; i++) {
+        bp[i] -= bpCol * _lu[i][col];
+      }
+    }
+    // U x = y
+    for (int col = size - 1; col >= 0; col--) {
+      bp[col] /= _lu[col][col];
+      double bpCol = bp[col];
+      for (int i = 0; i < col; i++) {
+        bp[i] -= bpCol * _lu[i][col];
+      }
+    }
+    return bp;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * All the right-hand sides are solved in a single pass over the decomposition.
+   */
+  @Override
+  public DoubleMatrix solve(DoubleMatrix b) {
+    ArgChecker.notNull(b, "b");
+    int size = _pivot.length;
+    ArgChecker.isTrue(b.rowCount() == size, "b matrix of incorrect size");
+    int nColB = b.columnCount();
+    double[][] bp = new double[size][];
+    for (int row = 0; row < size; row++) {
+      bp[row] = b.rowArray(_pivot[row]);
+    }
+    // L Y = B
+    for (int col = 0; col < size; col++) {
+      double[] bpCol = bp[col];
+      for (int i = col + 1; i < size; i++) {
+        double[] bpI = bp[i];
+        double luICol = _lu[i][col];
+        for (int j = 0; j < nColB; j++) {
+          bpI[j] -= bpCol[j] * luICol;
+        }
+      }
+    }
+    // U X = Y
+    for (int col = size - 1; col >= 0; col--) {
+      double[] bpCol = bp[col];
+      double luDiag = _lu[col][col];
+      for (int j = 0; j < nColB; j++) {
+        bpCol[j] /= luDiag;
+      }
+      for (int i = 0; i < col; i++) {
+        double[] bpI = bp[i];
+        double luICol = _lu[i][col];
+        for (int j = 0; j < nColB; j++) {
+          bpI[j] -= bpCol[j] * luICol;
+        }
+      }
+    }
+    return DoubleMatrix.ofUnsafe(bp);
+  }
+
+}
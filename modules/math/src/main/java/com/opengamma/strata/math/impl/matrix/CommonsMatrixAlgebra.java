@@ -175,8 +175,7 @@ public class CommonsMatrixAlgebra extends MatrixAlgebra {
   public DoubleMatrix getTranspose(Matrix m) {
     ArgChecker.notNull(m, "m");
     if (m instanceof DoubleMatrix) {
-      RealMatrix temp = CommonsMathWrapper.wrap((DoubleMatrix) m);
-      return CommonsMathWrapper.unwrap(temp.transpose());
+      return MatrixKernels.transpose((DoubleMatrix) m);
     }
     throw new IllegalArgumentException("Can only find transpose of DoubleMatrix; have " + m.getClass());
   }
@@ -195,16 +194,16 @@ public class CommonsMatrixAlgebra extends MatrixAlgebra {
     ArgChecker.notNull(m2, "m2");
     ArgChecker.isTrue(!(m1 instanceof DoubleArray), "Cannot have 1D matrix as first argument");
     if (m1 instanceof DoubleMatrix) {
-      RealMatrix t1 = CommonsMathWrapper.wrap((DoubleMatrix) m1);
-      RealMatrix t2;
+      DoubleMatrix matrix = (DoubleMatrix) m1;
       if (m2 instanceof DoubleArray) {
-        t2 = CommonsMathWrapper.wrapAsMatrix((DoubleArray) m2);
+        // the vector is treated as a column matrix, so the result is a column matrix
+        DoubleArray product = MatrixKernels.multiply(matrix, (DoubleArray) m2);
+        return DoubleMatrix.of(product.size(), 1, product.toArrayUnsafe());
       } else if (m2 instanceof DoubleMatrix) {
-        t2 = CommonsMathWrapper.wrap((DoubleMatrix) m2);
+        return MatrixKernels.multiply(matrix, (DoubleMatrix) m2);
       } else {
         throw new IllegalArgumentException("Can only have 1D or 2D matrix as second argument");
       }
-      return CommonsMathWrapper.unwrap(t1.multiply(t2));
     }
     throw new IllegalArgumentException("Can only multiply 2D and 1D matrices");
   }
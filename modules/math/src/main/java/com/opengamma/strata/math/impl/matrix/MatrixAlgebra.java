@@ -278,27 +278,19 @@ public abstract class MatrixAlgebra {
    */
   public DoubleMatrix matrixTransposeMultiplyMatrix(DoubleMatrix a) {
     ArgChecker.notNull(a, "a");
-    int n = a.rowCount();
-    int m = a.columnCount();
-
-    double[][] data = new double[m][m];
-    for (int i = 0; i < m; i++) {
-      double sum = 0d;
-      for (int k = 0; k < n; k++) {
-        sum += a.get(k, i) * a.get(k, i);
-      }
-      data[i][i] = sum;
+    return MatrixKernels.transposeMultiplySelf(a);
+  }
 
-      for (int j = i + 1; j < m; j++) {
-        sum = 0d;
-        for (int k = 0; k < n; k++) {
-          sum += a.get(k, i) * a.get(k, j);
-        }
-        data[i][j] = sum;
-        data[j][i] = sum;
-      }
-    }
-    return DoubleMatrix.ofUnsafe(data);
+  /**
+   * Compute $A^T B$, where A and B are matrices, without forming the transpose of A.
+   * @param a The first matrix
+   * @param b The second matrix
+   * @return The result of $A^T B$
+   */
+  public DoubleMatrix matrixTransposeMultiplyMatrix(DoubleMatrix a, DoubleMatrix b) {
+    ArgChecker.notNull(a, "a");
+    ArgChecker.notNull(b, "b");
+    return MatrixKernels.transposeMultiply(a, b);
   }
 
 }
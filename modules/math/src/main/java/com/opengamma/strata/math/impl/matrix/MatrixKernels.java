@@ -0,0 +1,232 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.matrix;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Dense matrix kernels operating directly on the arrays underlying {@link DoubleMatrix}.
+ * <p>
+ * The kernels traverse the rows of the matrices, which are contiguous in memory, and work on blocks
+ * of columns and inner indices so that the rows in use stay in the cache for large matrices.
+ * Each element of a product is summed in increasing order of the inner index, so the results
+ * are identical to those of the textbook triple loop.
+ */
+final class MatrixKernels {
+
+  /**
+   * The size of a block, chosen so that a block of a few rows fits in the L1 cache.
+   */
+  private static final int BLOCK = 64;
+
+  /**
+   * Restricted constructor.
+   */
+  private MatrixKernels() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Multiplies two matrices, $\mathbf{C} = \mathbf{AB}$.
+   *
+   * @param a  the first matrix
+   * @param b  the second matrix
+   * @return the product
+   */
+  static DoubleMatrix multiply(DoubleMatrix a, DoubleMatrix b) {
+    ArgChecker.isTrue(
+        a.columnCount() == b.rowCount(),
+        "Matrix size mismatch. m1 is " + a.rowCount() + " by " + a.columnCount() +
+            ", but m2 is " + b.rowCount() + " by " + b.columnCount());
+    int rows = a.rowCount();
+    int inner = a.columnCount();
+    int columns = b.columnCount();
+    if (rows == 0 || columns == 0) {
+      return DoubleMatrix.EMPTY;
+    }
+    double[][] aData = a.toArrayUnsafe();
+    double[][] bData = b.toArrayUnsafe();
+    double[][] result = new double[rows][columns];
+    for (int kk = 0; kk < inner; kk += BLOCK) {
+      int kEnd = Math.min(kk + BLOCK, inner);
+      for (int jj = 0; jj < columns; jj += BLOCK) {
+        int jEnd = Math.min(jj + BLOCK, columns);
+        for (int i = 0; i < rows; i++) {
+          double[] aRow = aData[i];
+          double[] resultRow = result[i];
+          for (int k = kk; k < kEnd; k++) {
+            double aik = aRow[k];
+            double[] bRow = bData[k];
+            for (int j = jj; j < jEnd; j++) {
+              resultRow[j] += aik * bRow[j];
+            }
+          }
+        }
+      }
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
+  /**
+   * Multiplies the transpose of the first matrix by the second, $\mathbf{C} = \mathbf{A}^T\mathbf{B}$.
+   * <p>
+   * The transpose is not created.
+   *
+   * @param a  the first matrix
+   * @param b  the second matrix
+   * @return the product
+   */
+  static DoubleMatrix transposeMultiply(DoubleMatrix a, DoubleMatrix b) {
+    ArgChecker.isTrue(
+        a.rowCount() == b.rowCount(),
+        "Matrix size mismatch. m1 is " + a.rowCount() + " by " + a.columnCount() +
+            ", but m2 is " + b.rowCount() + " by " + b.columnCount());
+    int rows = a.columnCount();
+    int inner = a.rowCount();
+    int columns = b.columnCount();
+    if (rows == 0 || columns == 0) {
+      return DoubleMatrix.EMPTY;
+    }
+    double[][] aData = a.toArrayUnsafe();
+    double[][] bData = b.toArrayUnsafe();
+    double[][] result = new double[rows][columns];
+    for (int kk = 0; kk < inner; kk += BLOCK) {
+      int kEnd = Math.min(kk + BLOCK, inner);
+      for (int jj = 0; jj < columns; jj += BLOCK) {
+        int jEnd = Math.min(jj + BLOCK, columns);
+        for (int i = 0; i < rows; i++) {
+          double[] resultRow = result[i];
+          for (int k = kk; k < kEnd; k++) {
+            double aki = aData[k][i];
+            double[] bRow = bData[k];
+            for (int j = jj; j < jEnd; j++) {
+              resultRow[j] += aki * bRow[j];
+            }
+          }
+        }
+      }
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
+  /**
+   * Multiplies the transpose of a matrix by itself, $\mathbf{C} = \mathbf{A}^T\mathbf{A}$.
+   * <p>
+   * Only the upper triangle is calculated, the lower triangle is filled by symmetry.
+   *
+   * @param a  the matrix
+   * @return the product
+   */
+  static DoubleMatrix transposeMultiplySelf(DoubleMatrix a) {
+    int size = a.columnCount();
+    int inner = a.rowCount();
+    if (size == 0) {
+      return DoubleMatrix.EMPTY;
+    }
+    double[][] aData = a.toArrayUnsafe();
+    double[][] result = new double[size][size];
+    for (int kk = 0; kk < inner; kk += BLOCK) {
+      int kEnd = Math.min(kk + BLOCK, inner);
+      for (int i = 0; i < size; i++) {
+        double[] resultRow = result[i];
+        for (int k = kk; k < kEnd; k++) {
+          double[] aRow = aData[k];
+          double aki = aRow[i];
+          for (int j = i; j < size; j++) {
+            resultRow[j] += aki * aRow[j];
+          }
+        }
+      }
+    }
+    for (int i = 1; i < size; i++) {
+      for (int j = 0; j < i; j++) {
+        result[i][j] = result[j][i];
+      }
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
+  /**
+   * Multiplies a matrix by a vector, $c = \mathbf{A}b$.
+   *
+   * @param a  the matrix
+   * @param b  the vector
+   * @return the product
+   */
+  static DoubleArray multiply(DoubleMatrix a, DoubleArray b) {
+    ArgChecker.isTrue(a.columnCount() == b.size(), "Matrix/vector size mismatch");
+    int rows = a.rowCount();
+    int inner = b.size();
+    double[][] aData = a.toArrayUnsafe();
+    double[] bData = b.toArrayUnsafe();
+    double[] result = new double[rows];
+    for (int i = 0; i < rows; i++) {
+      double[] aRow = aData[i];
+      double sum = 0d;
+      for (int k = 0; k < inner; k++) {
+        sum += aRow[k] * bData[k];
+      }
+      result[i] = sum;
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Multiplies a vector by a matrix, $c = a^T\mathbf{B}$.
+   *
+   * @param a  the vector
+   * @param b  the matrix
+   * @return the product
+   */
+  static DoubleArray multiply(DoubleArray a, DoubleMatrix b) {
+    ArgChecker.isTrue(b.rowCount() == a.size(), "Matrix/vector size mismatch");
+    int inner = a.size();
+    int columns = b.columnCount();
+    double[] aData = a.toArrayUnsafe();
+    double[][] bData = b.toArrayUnsafe();
+    double[] result = new double[columns];
+    for (int k = 0; k < inner; k++) {
+      double ak = aData[k];
+      double[] bRow = bData[k];
+      for (int j = 0; j < columns; j++) {
+        result[j] += ak * bRow[j];
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Transposes a matrix.
+   *
+   * @param a  the matrix
+   * @return the transpose
+   */
+  static DoubleMatrix transpose(DoubleMatrix a) {
+    int rows = a.rowCount();
+    int columns = a.columnCount();
+    if (rows == 0 || columns == 0) {
+      return DoubleMatrix.EMPTY;
+    }
+    double[][] aData = a.toArrayUnsafe();
+    double[][] result = new double[columns][rows];
+    for (int ii = 0; ii < rows; ii += BLOCK) {
+      int iEnd = Math.min(ii + BLOCK, rows);
+      for (int jj = 0; jj < columns; jj += BLOCK) {
+        int jEnd = Math.min(jj + BLOCK, columns);
+        for (int i = ii; i < iEnd; i++) {
+          double[] aRow = aData[i];
+          for (int j = jj; j < jEnd; j++) {
+            result[j][i] = aRow[j];
+          }
+        }
+      }
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
+}
@@ -150,8 +150,7 @@ public class OGMatrixAlgebra extends MatrixAlgebra {
   public DoubleMatrix getTranspose(Matrix m) {
     ArgChecker.notNull(m, "m");
     if (m instanceof DoubleMatrix) {
-      DoubleMatrix matrix = (DoubleMatrix) m;
-      return DoubleMatrix.of(matrix.columnCount(), matrix.rowCount(), (i, j) -> matrix.get(j, i));
+      return MatrixKernels.transpose((DoubleMatrix) m);
     }
     throw new IllegalArgumentException("Can only take transpose of DoubleMatrix; have " + m.getClass());
   }
@@ -173,11 +172,11 @@ public class OGMatrixAlgebra extends MatrixAlgebra {
     } else if (m1 instanceof DoubleArray && m2 instanceof TridiagonalMatrix) {
       return multiply((DoubleArray) m1, (TridiagonalMatrix) m2);
     } else if (m1 instanceof DoubleMatrix && m2 instanceof DoubleMatrix) {
-      return multiply((DoubleMatrix) m1, (DoubleMatrix) m2);
+      return MatrixKernels.multiply((DoubleMatrix) m1, (DoubleMatrix) m2);
     } else if (m1 instanceof DoubleMatrix && m2 instanceof DoubleArray) {
-      return multiply((DoubleMatrix) m1, (DoubleArray) m2);
+      return MatrixKernels.multiply((DoubleMatrix) m1, (DoubleArray) m2);
     } else if (m1 instanceof DoubleArray && m2 instanceof DoubleMatrix) {
-      return multiply((DoubleArray) m1, (DoubleMatrix) m2);
+      return MatrixKernels.multiply((DoubleArray) m1, (DoubleMatrix) m2);
     }
     throw new IllegalArgumentException(
         "Can only multiply two DoubleMatrix; a DoubleMatrix and a DoubleArray; " +
@@ -193,36 +192,6 @@ public class OGMatrixAlgebra extends MatrixAlgebra {
     throw new UnsupportedOperationException();
   }
 
-  private DoubleMatrix multiply(DoubleMatrix m1, DoubleMatrix m2) {
-    int p = m2.rowCount();
-    ArgChecker.isTrue(
-        m1.columnCount() == p,
-        "Matrix size mismatch. m1 is " + m1.rowCount() + " by " + m1.columnCount() +
-            ", but m2 is " + m2.rowCount() + " by " + m2.columnCount());
-    return DoubleMatrix.of(
-        m1.rowCount(),
-        m2.columnCount(),
-        (i, j) -> {
-          double sum = 0d;
-          for (int k = 0; k < p; k++) {
-            sum += m1.get(i, k) * m2.get(k, j);
-          }
-          return sum;
-        });
-  }
-
-  private DoubleArray multiply(DoubleMatrix matrix, DoubleArray vector) {
-    int n = vector.size();
-    ArgChecker.isTrue(matrix.columnCount() == n, "Matrix/vector size mismatch");
-    return DoubleArray.of(matrix.rowCount(), i -> {
-      double sum = 0;
-      for (int j = 0; j < n; j++) {
-        sum += matrix.get(i, j) * vector.get(j);
-      }
-      return sum;
-    });
-  }
-
   private DoubleArray multiply(TridiagonalMatrix matrix, DoubleArray vector) {
     double[] a = matrix.getLowerSubDiagonalData();
     double[] b = matrix.getDiagonalData();
@@ -240,18 +209,6 @@ public class OGMatrixAlgebra extends MatrixAlgebra {
     return DoubleArray.ofUnsafe(res);
   }
 
-  private DoubleArray multiply(DoubleArray vector, DoubleMatrix matrix) {
-    int n = vector.size();
-    ArgChecker.isTrue(matrix.rowCount() == n, "Matrix/vector size mismatch");
-    return DoubleArray.of(matrix.columnCount(), i -> {
-      double sum = 0;
-      for (int j = 0; j < n; j++) {
-        sum += vector.get(j) * matrix.get(j, i);
-      }
-      return sum;
-    });
-  }
-
   private DoubleArray multiply(DoubleArray vector, TridiagonalMatrix matrix) {
     double[] a = matrix.getLowerSubDiagonalData();
     double[] b = matrix.getDiagonalData();
@@ -0,0 +1,139 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Brownian bridge construction of Brownian motion paths.
+ * <p>
+ * A path of a Brownian motion $W$ observed at the variances $v_0 < v_1 < ... < v_{n-1}$ is built from
+ * independent standard normal numbers. The first number gives the terminal value $W(v_{n-1})$, the next
+ * ones fill the midpoints of the remaining intervals by conditional sampling, bisecting the intervals in turn.
+ * <p>
+ * The resulting paths have the same distribution as those built from increments, but most of the
+ * variance of the path is carried by the first numbers. This makes the construction well suited to
+ * quasi-random sequences, whose first dimensions are the most uniformly distributed.
+ * <p>
+ * The variances are those of the process at the observation dates. For a standard Brownian motion they are the
+ * times, for a Gaussian martingale with time-dependent volatility they are the integrated squared volatilities.
+ */
+public final class BrownianBridge {
+
+  /**
+   * The index in the path filled at each step.
+   */
+  private final int[] bridgeIndex;
+  /**
+   * The index after the left known point at each step, zero if the left point is the origin.
+   */
+  private final int[] leftIndex;
+  /**
+   * The index of the right known point at each step.
+   */
+  private final int[] rightIndex;
+  /**
+   * The weight of the left known point at each step.
+   */
+  private final double[] leftWeight;
+  /**
+   * The weight of the right known point at each step.
+   */
+  private final double[] rightWeight;
+  /**
+   * The conditional standard deviation at each step.
+   */
+  private final double[] stdDev;
+
+  /**
+   * Creates an instance.
+   *
+   * @param variances  the variances of the process at the observation dates, positive and strictly increasing
+   */
+  public BrownianBridge(DoubleArray variances) {
+    ArgChecker.notNull(variances, "variances");
+    int size = variances.size();
+    ArgChecker.isTrue(size > 0, "At least one variance is required");
+    ArgChecker.isTrue(variances.get(0) > 0d, "Variances must be positive");
+    for (int i = 1; i < size; i++) {
+      ArgChecker.isTrue(variances.get(i) > variances.get(i - 1), "Variances must be strictly increasing");
+    }
+    double[] t = variances.toArrayUnsafe();
+    this.bridgeIndex = new int[size];
+    this.leftIndex = new int[size];
+    this.rightIndex = new int[size];
+    this.leftWeight = new double[size];
+    this.rightWeight = new double[size];
+    this.stdDev = new double[size];
+    // map[i] is non-zero once point i is filled, point size-1 being filled first
+    int[] map = new int[size];
+    map[size - 1] = 1;
+    bridgeIndex[0] = size - 1;
+    stdDev[0] = Math.sqrt(t[size - 1]);
+    int j = 0;
+    for (int i = 1; i < size; i++) {
+      while (map[j] != 0) {
+        j++;
+      }
+      int k = j;
+      while (map[k] == 0) {
+        k++;
+      }
+      // points j to k-1 are not filled, point k is
+      int l = j + ((k - 1 - j) >> 1);
+      map[l] = i;
+      bridgeIndex[i] = l;
+      leftIndex[i] = j;
+      rightIndex[i] = k;
+      double tLeft = j == 0 ? 0d : t[j - 1];
+      leftWeight[i] = (t[k] - t[l]) / (t[k] - tLeft);
+      rightWeight[i] = (t[l] - tLeft) / (t[k] - tLeft);
+      stdDev[i] = Math.sqrt((t[l] - tLeft) * (t[k] - t[l]) / (t[k] - tLeft));
+      j = k + 1;
+      if (j >= size) {
+        j = 0;
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of observation dates, which is also the number of normal numbers used by a path.
+   *
+   * @return the size
+   */
+  public int size() {
+    return bridgeIndex.length;
+  }
+
+  /**
+   * Builds a path from standard normal numbers.
+   * <p>
+   * The values of the process at the observation dates are written in the path array.
+   * The arrays may be flat buffers holding several vectors, in which case the offsets locate the vectors.
+   *
+   * @param normals  the array containing the standard normal numbers
+   * @param normalsOffset  the index of the first normal number
+   * @param path  the array to which the path is written
+   * @param pathOffset  the index of the first element of the path
+   */
+  public void buildPath(double[] normals, int normalsOffset, double[] path, int pathOffset) {
+    int size = bridgeIndex.length;
+    path[pathOffset + size - 1] = stdDev[0] * normals[normalsOffset];
+    for (int i = 1; i < size; i++) {
+      int j = leftIndex[i];
+      int k = rightIndex[i];
+      int l = bridgeIndex[i];
+      double value = rightWeight[i] * path[pathOffset + k] + stdDev[i] * normals[normalsOffset + i];
+      if (j != 0) {
+        value += leftWeight[i] * path[pathOffset + j - 1];
+      }
+      path[pathOffset + l] = value;
+    }
+  }
+
+}
@@ -76,4 +76,13 @@ public class NormalRandomNumberGenerator
     return result;
   }
 
+  @Override
+  public void fill(double[] buffer, int offset, int size) {
+    ArgChecker.notNull(buffer, "buffer");
+    ArgChecker.notNegative(size, "size");
+    for (int i = offset; i < offset + size; i++) {
+      buffer[i] = normal.nextRandom();
+    }
+  }
+
 }
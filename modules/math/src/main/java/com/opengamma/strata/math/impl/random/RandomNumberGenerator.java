@@ -29,4 +29,17 @@ public interface RandomNumberGenerator {
    */
   List<double[]> getVectors(int arraySize, int listSize);
 
+  /**
+   * Fills part of an array with random numbers.
+   * <p>
+   * This allows random numbers to be generated into a flat buffer without intermediate arrays.
+   * 
+   * @param buffer  the array to fill
+   * @param offset  the index of the first element to fill
+   * @param size  the number of elements to fill
+   */
+  default void fill(double[] buffer, int offset, int size) {
+    System.arraycopy(getVector(size), 0, buffer, offset, size);
+  }
+
 }
@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.math3.random.SobolSequenceGenerator;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+import cern.jet.stat.Probability;
+
+/**
+ * Quasi-random generator of standard normal vectors based on a Sobol sequence.
+ * <p>
+ * Each vector is a point of the Sobol low-discrepancy sequence in the unit hypercube,
+ * mapped to standard normal coordinates by the inverse cumulative distribution function.
+ * The point at the origin, the first of the sequence, is skipped.
+ * <p>
+ * The dimension is fixed on creation and all vectors have that size. The dimension is at most 1000.
+ * The sequence can be positioned with {@link #skipTo(int)}, which allows disjoint ranges of the sequence
+ * to be generated independently, for example by different threads each using their own instance.
+ * <p>
+ * This class is based on the <a href="http://commons.apache.org/proper/commons-math/">Commons Math library</a>
+ * implementation of {@link SobolSequenceGenerator}. It is mutable and not thread-safe.
+ */
+public class SobolNormalRandomNumberGenerator
+    implements RandomNumberGenerator {
+
+  /**
+   * The dimension of the vectors.
+   */
+  private final int dimension;
+  /**
+   * The underlying uniform sequence.
+   */
+  private final SobolSequenceGenerator sequence;
+
+  /**
+   * Creates an instance.
+   *
+   * @param dimension  the dimension of the vectors, from 1 to 1000
+   */
+  public SobolNormalRandomNumberGenerator(int dimension) {
+    ArgChecker.inRangeInclusive(dimension, 1, 1000, "dimension");
+    this.dimension = dimension;
+    this.sequence = new SobolSequenceGenerator(dimension);
+    this.sequence.nextVector();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the dimension of the vectors.
+   *
+   * @return the dimension
+   */
+  public int getDimension() {
+    return dimension;
+  }
+
+  /**
+   * Positions the generator so that the next vector is the one with the specified index.
+   * <p>
+   * The index is zero-based and excludes the skipped origin, thus the first vector has index zero.
+   *
+   * @param index  the index of the next vector
+   */
+  public void skipTo(int index) {
+    ArgChecker.notNegative(index, "index");
+    // the Commons method consumes the point at the index, the origin having index zero
+    sequence.skipTo(index);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public double[] getVector(int size) {
+    double[] result = new double[size];
+    fill(result, 0, size);
+    return result;
+  }
+
+  @Override
+  public List<double[]> getVectors(int arraySize, int listSize) {
+    ArgChecker.notNegative(listSize, "listSize");
+    List<double[]> result = new ArrayList<>(listSize);
+    for (int i = 0; i < listSize; i++) {
+      result.add(getVector(arraySize));
+    }
+    return result;
+  }
+
+  @Override
+  public void fill(double[] buffer, int offset, int size) {
+    ArgChecker.notNull(buffer, "buffer");
+    ArgChecker.isTrue(size == dimension, "Size must be equal to the dimension {}, but was {}", dimension, size);
+    double[] uniform = sequence.nextVector();
+    for (int i = 0; i < size; i++) {
+      buffer[offset + i] = Probability.normalInverse(uniform[i]);
+    }
+  }
+
+}
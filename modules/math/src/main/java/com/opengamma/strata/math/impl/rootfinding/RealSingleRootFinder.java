@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.rootfinding;
 
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -12,6 +13,10 @@ import com.opengamma.strata.math.impl.function.DoubleFunction1D;
 
 /**
  * Parent class for root-finders that find a single real root $x$ for a function $f(x)$.  
+ * <p>
+ * Root-finders may also operate on functions of primitive doubles,
+ * see {@link #getRootPrimitive(DoubleUnaryOperator, double, double)}.
+ * The root-finders in this package implement the primitive form and delegate the boxed form to it.
  */
 public abstract class RealSingleRootFinder implements SingleRootFinder<Double, Double> {
 
@@ -24,6 +29,22 @@ public abstract class RealSingleRootFinder implements SingleRootFinder<Double, D
 
   public abstract Double getRoot(Function<Double, Double> function, Double x1, Double x2);
 
+  /**
+   * Finds the root of a function of primitive doubles between two bounds.
+   * <p>
+   * By default this delegates to {@link #getRoot(Function, Double, Double)}.
+   * Subclasses may override this to evaluate the function without boxing.
+   * 
+   * @param function The function, not null
+   * @param x1 The first bound
+   * @param x2 The second bound
+   * @return The root
+   */
+  public double getRootPrimitive(DoubleUnaryOperator function, double x1, double x2) {
+    ArgChecker.notNull(function, "function");
+    return getRoot(function::applyAsDouble, x1, x2);
+  }
+
   /**
    * Tests that the inputs to the root-finder are not null, and that a root is bracketed by the bounding values.
    * 
@@ -40,6 +61,20 @@ public abstract class RealSingleRootFinder implements SingleRootFinder<Double, D
     ArgChecker.isTrue(function.apply(x1) * function.apply(x2) <= 0, "x1 and x2 do not bracket a root");
   }
 
+  /**
+   * Tests that the inputs to the root-finder are not null, and that a root is bracketed by the bounding values.
+   * 
+   * @param function The function, not null
+   * @param x1 The first bound, not null
+   * @param x2 The second bound, not null, must be greater than x1
+   * @throws IllegalArgumentException if x1 and x2 do not bracket a root
+   */
+  protected void checkInputsPrimitive(DoubleUnaryOperator function, double x1, double x2) {
+    ArgChecker.notNull(function, "function");
+    ArgChecker.isTrue(x1 <= x2, "x1 must be less or equal to  x2");
+    ArgChecker.isTrue(function.applyAsDouble(x1) * function.applyAsDouble(x2) <= 0, "x1 and x2 do not bracket a root");
+  }
+
   /**
    * Tests that the inputs to the root-finder are not null, and that a root is bracketed by the bounding values.
    * 
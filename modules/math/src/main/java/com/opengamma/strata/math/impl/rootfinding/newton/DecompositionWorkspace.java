@@ -0,0 +1,48 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.rootfinding.newton;
+
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.impl.linearalgebra.Decomposition;
+import com.opengamma.strata.math.impl.linearalgebra.DecompositionResult;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionOpenGamma;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionOpenGammaResult;
+
+/**
+ * Workspace for the matrix decompositions of a single root finding solve.
+ * <p>
+ * If the decomposition is {@link LUDecompositionOpenGamma}, the array holding the decomposition
+ * is reused for successive iterations of the solve, rather than allocated for each iteration.
+ * <p>
+ * This class is mutable and not thread-safe. A new instance is created for each solve.
+ */
+public final class DecompositionWorkspace {
+
+  /**
+   * The array holding the last LU decomposition, null until first used.
+   */
+  private double[][] _lu;
+
+  /**
+   * Creates an empty workspace.
+   */
+  public DecompositionWorkspace() {
+  }
+
+  // decomposes the matrix, reusing the workspace where possible
+  // the result is only valid until the workspace is next used
+  // as with the Commons Math implementation, a singular matrix causes an exception during decomposition
+  DecompositionResult decompose(Decomposition<?> decomposition, DoubleMatrix matrix) {
+    if (decomposition instanceof LUDecompositionOpenGamma) {
+      LUDecompositionOpenGamma lu = (LUDecompositionOpenGamma) decomposition;
+      LUDecompositionOpenGammaResult result = lu.apply(matrix, _lu);
+      _lu = result.getWorkspace();
+      return result;
+    }
+    return decomposition.apply(matrix);
+  }
+
+}
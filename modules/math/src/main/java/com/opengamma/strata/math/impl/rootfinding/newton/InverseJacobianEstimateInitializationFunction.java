@@ -12,9 +12,13 @@ import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.math.impl.linearalgebra.Decomposition;
 import com.opengamma.strata.math.impl.linearalgebra.DecompositionResult;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionOpenGamma;
 
 /**
- * 
+ * Initialization function that inverts the Jacobian using a decomposition.
+ * <p>
+ * If the decomposition is {@link LUDecompositionOpenGamma}, the array holding the decomposition
+ * is reused for the successive iterations of a solve, see {@link DecompositionWorkspace}.
  */
 public class InverseJacobianEstimateInitializationFunction implements NewtonRootFinderMatrixInitializationFunction {
 
@@ -27,10 +31,20 @@ public class InverseJacobianEstimateInitializationFunction implements NewtonRoot
 
   @Override
   public DoubleMatrix getInitializedMatrix(Function<DoubleArray, DoubleMatrix> jacobianFunction, DoubleArray x) {
+    return getInitializedMatrix(jacobianFunction, x, new DecompositionWorkspace());
+  }
+
+  @Override
+  public DoubleMatrix getInitializedMatrix(
+      Function<DoubleArray, DoubleMatrix> jacobianFunction,
+      DoubleArray x,
+      DecompositionWorkspace workspace) {
+
     ArgChecker.notNull(jacobianFunction, "jacobianFunction");
     ArgChecker.notNull(x, "x");
+    ArgChecker.notNull(workspace, "workspace");
     DoubleMatrix estimate = jacobianFunction.apply(x);
-    DecompositionResult decompositionResult = _decomposition.apply(estimate);
+    DecompositionResult decompositionResult = workspace.decompose(_decomposition, estimate);
     return decompositionResult.solve(DoubleMatrix.identity(x.size()));
   }
 
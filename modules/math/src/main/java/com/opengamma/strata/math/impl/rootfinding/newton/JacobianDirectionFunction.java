@@ -10,9 +10,13 @@ import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.math.impl.linearalgebra.Decomposition;
 import com.opengamma.strata.math.impl.linearalgebra.DecompositionResult;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionOpenGamma;
 
 /**
- * 
+ * Direction function that solves the Jacobian estimate for the function value using a decomposition.
+ * <p>
+ * If the decomposition is {@link LUDecompositionOpenGamma}, the array holding the decomposition
+ * is reused for the successive iterations of a solve, see {@link DecompositionWorkspace}.
  */
 public class JacobianDirectionFunction implements NewtonRootFinderDirectionFunction {
 
@@ -25,9 +29,15 @@ public class JacobianDirectionFunction implements NewtonRootFinderDirectionFunct
 
   @Override
   public DoubleArray getDirection(DoubleMatrix estimate, DoubleArray y) {
+    return getDirection(estimate, y, new DecompositionWorkspace());
+  }
+
+  @Override
+  public DoubleArray getDirection(DoubleMatrix estimate, DoubleArray y, DecompositionWorkspace workspace) {
     ArgChecker.notNull(estimate, "estimate");
     ArgChecker.notNull(y, "y");
-    DecompositionResult result = _decomposition.apply(estimate);
+    ArgChecker.notNull(workspace, "workspace");
+    DecompositionResult result = workspace.decompose(_decomposition, estimate);
     return result.solve(y);
   }
 
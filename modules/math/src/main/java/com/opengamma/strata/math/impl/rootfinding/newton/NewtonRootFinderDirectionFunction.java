@@ -15,4 +15,18 @@ public interface NewtonRootFinderDirectionFunction {
 
   DoubleArray getDirection(DoubleMatrix estimate, DoubleArray y);
 
+  /**
+   * Gets the direction, using a workspace that is shared by the iterations of a single solve.
+   * <p>
+   * The default implementation ignores the workspace.
+   *
+   * @param estimate  the estimate of the Jacobian
+   * @param y  the function value
+   * @param workspace  the workspace of the solve
+   * @return the direction
+   */
+  default DoubleArray getDirection(DoubleMatrix estimate, DoubleArray y, DecompositionWorkspace workspace) {
+    return getDirection(estimate, y);
+  }
+
 }
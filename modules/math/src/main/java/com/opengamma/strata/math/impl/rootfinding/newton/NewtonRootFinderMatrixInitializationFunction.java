@@ -17,4 +17,22 @@ public interface NewtonRootFinderMatrixInitializationFunction {
 
   DoubleMatrix getInitializedMatrix(Function<DoubleArray, DoubleMatrix> jacobianFunction, DoubleArray x);
 
+  /**
+   * Gets the initialized matrix, using a workspace that is shared by the iterations of a single solve.
+   * <p>
+   * The default implementation ignores the workspace.
+   *
+   * @param jacobianFunction  the function to calculate the Jacobian
+   * @param x  the position
+   * @param workspace  the workspace of the solve
+   * @return the initialized matrix
+   */
+  default DoubleMatrix getInitializedMatrix(
+      Function<DoubleArray, DoubleMatrix> jacobianFunction,
+      DoubleArray x,
+      DecompositionWorkspace workspace) {
+
+    return getInitializedMatrix(jacobianFunction, x);
+  }
+
 }
@@ -75,11 +75,12 @@ public class NewtonVectorRootFinder extends VectorRootFinder {
     checkInputs(function, startPosition);
 
     DataBundle data = new DataBundle();
+    DecompositionWorkspace workspace = data.getWorkspace();
     DoubleArray y = function.apply(startPosition);
     data.setX(startPosition);
     data.setY(y);
     data.setG0(_algebra.getInnerProduct(y, y));
-    DoubleMatrix estimate = _initializationFunction.getInitializedMatrix(jacobianFunction, startPosition);
+    DoubleMatrix estimate = _initializationFunction.getInitializedMatrix(jacobianFunction, startPosition, workspace);
 
     if (!getNextPosition(function, estimate, data)) {
       if (isConverged(data)) {
@@ -93,7 +94,7 @@ public class NewtonVectorRootFinder extends VectorRootFinder {
     while (!isConverged(data)) {
       // Want to reset the Jacobian every so often even if backtracking is working
       if ((jacReconCount) % FULL_RECALC_FREQ == 0) {
-        estimate = _initializationFunction.getInitializedMatrix(jacobianFunction, data.getX());
+        estimate = _initializationFunction.getInitializedMatrix(jacobianFunction, data.getX(), workspace);
         jacReconCount = 1;
       } else {
         estimate = _updateFunction.getUpdatedMatrix(
@@ -102,7 +103,7 @@ public class NewtonVectorRootFinder extends VectorRootFinder {
       }
       // if backtracking fails, could be that Jacobian estimate has drifted too far
       if (!getNextPosition(function, estimate, data)) {
-        estimate = _initializationFunction.getInitializedMatrix(jacobianFunction, data.getX());
+        estimate = _initializationFunction.getInitializedMatrix(jacobianFunction, data.getX(), workspace);
         jacReconCount = 1;
         if (!getNextPosition(function, estimate, data)) {
           if (isConverged(data)) {
@@ -135,7 +136,7 @@ public class NewtonVectorRootFinder extends VectorRootFinder {
       DoubleMatrix estimate,
       DataBundle data) {
 
-    DoubleArray p = _directionFunction.getDirection(estimate, data.getY());
+    DoubleArray p = _directionFunction.getDirection(estimate, data.getY(), data.getWorkspace());
     if (data.getLambda0() < 1.0) {
       data.setLambda0(1.0);
     } else {
@@ -244,6 +245,8 @@ public class NewtonVectorRootFinder extends VectorRootFinder {
     private DoubleArray _y;
     private DoubleArray _deltaX;
     private DoubleArray _x;
+    // the decompositions of a solve share a workspace
+    private final DecompositionWorkspace _workspace = new DecompositionWorkspace();
 
     public double getG0() {
       return _g0;
@@ -281,6 +284,10 @@ public class NewtonVectorRootFinder extends VectorRootFinder {
       return _x;
     }
 
+    public DecompositionWorkspace getWorkspace() {
+      return _workspace;
+    }
+
     public void setG0(double g0) {
       _g0 = g0;
     }
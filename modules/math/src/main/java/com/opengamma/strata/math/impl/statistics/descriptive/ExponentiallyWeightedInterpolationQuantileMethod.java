@@ -104,17 +104,18 @@ public final class ExponentiallyWeightedInterpolationQuantileMethod
       boolean isExtrapolated,
       boolean isEs){
     int nbData = sample.size();
-    double[] w = weights(nbData);
-    /* Sorting data and keeping weight information. The arrays are modified */
-    double[] s = sample.toArray();
-    DoubleArrayMath.sortPairs(s, w);
-
+    double[] weights = weights(nbData);
+    /* Sorting data once, keeping the order, from which the sorted weights are derived. */
     double[] s2 = sample.toArray();
     double[] order = new double[s2.length];
     for (int i = 0; i < s2.length; i++) {
       order[i] = i;
     }
     DoubleArrayMath.sortPairs(s2, order);
+    double[] w = new double[nbData];
+    for (int i = 0; i < nbData; i++) {
+      w[i] = weights[(int) order[i]];
+    }
     /* Find the index. */
     double runningWeight = 0.0d;
     int index = nbData;
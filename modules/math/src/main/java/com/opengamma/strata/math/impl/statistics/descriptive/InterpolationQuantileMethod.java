@@ -61,6 +61,12 @@ public abstract class InterpolationQuantileMethod
     return losses / level;
   }
 
+  @Override
+  protected int selectionIndex(double level, int sampleSize) {
+    double adjustedLevel = checkIndex(level * sampleCorrection(sampleSize) + indexCorrection(), sampleSize, true);
+    return (int) Math.floor(adjustedLevel) - 1;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Internal method returning the index correction for the specific implementation.
@@ -5,11 +5,19 @@
  */
 package com.opengamma.strata.math.impl.statistics.descriptive;
 
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 
 /**
  * Abstract method to estimate quantiles and expected shortfalls from sample observations.
+ * <p>
+ * When the sample is unsorted, a full sort is not necessary. Where the implementation provides
+ * the {@linkplain #selectionIndex(double, int) selection index}, the observations used
+ * are found by selection in linear time instead.
  */
 public abstract class QuantileCalculationMethod {
 
@@ -43,14 +51,15 @@ public abstract class QuantileCalculationMethod {
    * If index value computed from the level is outside of the sample data range, 
    * {@code IllegalArgumentException} is thrown. 
    * <p> 
-   * The sample observations are supposed to be unsorted, the first step is to sort the data.
+   * The sample observations are supposed to be unsorted, the first step is to select the
+   * observations used in the estimation.
    * 
    * @param level  the quantile level
    * @param sample  the sample observations
    * @return The quantile estimation
    */
   public double quantileFromUnsorted(double level, DoubleArray sample) {
-    return quantileFromSorted(level, sample.sorted());
+    return quantileFromSorted(level, selectFromUnsorted(level, sample));
   }
 
   /**
@@ -83,14 +92,15 @@ public abstract class QuantileCalculationMethod {
    * If index value computed from the level is outside of the sample data range, the nearest data point is used, i.e., 
    * quantile is computed with flat extrapolation. 
    * <p> 
-   * The sample observations are supposed to be unsorted, the first step is to sort the data.
+   * The sample observations are supposed to be unsorted, the first step is to select the
+   * observations used in the estimation.
    * 
    * @param level  the quantile level
    * @param sample  the sample observations
    * @return The quantile estimation
    */
   public double quantileWithExtrapolationFromUnsorted(double level, DoubleArray sample) {
-    return quantileWithExtrapolationFromSorted(level, sample.sorted());
+    return quantileWithExtrapolationFromSorted(level, selectFromUnsorted(level, sample));
   }
 
   //-------------------------------------------------------------------------
@@ -126,14 +136,74 @@ public abstract class QuantileCalculationMethod {
    * expected short fall is computed with flat extrapolation.
    * Thus this is coherent to {@link #quantileWithExtrapolationFromUnsorted(double, DoubleArray)}.
    * <p> 
-   * The sample observations are supposed to be unsorted, the first step is to sort the data.
+   * The sample observations are supposed to be unsorted, the first step is to select the
+   * observations used in the estimation.
    * 
    * @param level  the quantile level
    * @param sample  the sample observations
    * @return The expected shortfall estimation
    */
   public double expectedShortfallFromUnsorted(double level, DoubleArray sample) {
-    return expectedShortfallFromSorted(level, sample.sorted());
+    return expectedShortfallFromSorted(level, selectFromUnsorted(level, sample));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Compute the quantile estimation for each row of a matrix of samples.
+   * <p>
+   * Each row of the matrix is a separate set of unsorted sample observations,
+   * such as the profit and loss of a portfolio in each scenario.
+   * The estimation of each row is as per {@link #quantileFromUnsorted(double, DoubleArray)}.
+   * The rows are processed in parallel.
+   * 
+   * @param level  the quantile level
+   * @param samples  the sample observations, one sample per row
+   * @return the quantile estimation of each row
+   */
+  public DoubleArray quantileFromUnsorted(double level, DoubleMatrix samples) {
+    return applyToRows(samples, sample -> quantileFromUnsorted(level, sample));
+  }
+
+  /**
+   * Compute the quantile estimation for each row of a matrix of samples, with extrapolation.
+   * <p>
+   * Each row of the matrix is a separate set of unsorted sample observations,
+   * such as the profit and loss of a portfolio in each scenario.
+   * The estimation of each row is as per {@link #quantileWithExtrapolationFromUnsorted(double, DoubleArray)}.
+   * The rows are processed in parallel.
+   * 
+   * @param level  the quantile level
+   * @param samples  the sample observations, one sample per row
+   * @return the quantile estimation of each row
+   */
+  public DoubleArray quantileWithExtrapolationFromUnsorted(double level, DoubleMatrix samples) {
+    return applyToRows(samples, sample -> quantileWithExtrapolationFromUnsorted(level, sample));
+  }
+
+  /**
+   * Compute the expected shortfall for each row of a matrix of samples.
+   * <p>
+   * Each row of the matrix is a separate set of unsorted sample observations,
+   * such as the profit and loss of a portfolio in each scenario.
+   * The estimation of each row is as per {@link #expectedShortfallFromUnsorted(double, DoubleArray)}.
+   * The rows are processed in parallel.
+   * 
+   * @param level  the quantile level
+   * @param samples  the sample observations, one sample per row
+   * @return the expected shortfall estimation of each row
+   */
+  public DoubleArray expectedShortfallFromUnsorted(double level, DoubleMatrix samples) {
+    return applyToRows(samples, sample -> expectedShortfallFromUnsorted(level, sample));
+  }
+
+  // applies the function to each row of the matrix in parallel
+  private static DoubleArray applyToRows(DoubleMatrix samples, ToDoubleFunction<DoubleArray> fn) {
+    ArgChecker.notNull(samples, "samples");
+    double[] result = IntStream.range(0, samples.rowCount())
+        .parallel()
+        .mapToDouble(i -> fn.applyAsDouble(samples.row(i)))
+        .toArray();
+    return DoubleArray.ofUnsafe(result);
   }
 
   //-------------------------------------------------------------------------
@@ -161,6 +231,104 @@ public abstract class QuantileCalculationMethod {
    */
   protected abstract double expectedShortfall(double level, DoubleArray sortedSample);
 
+  /**
+   * Obtains the index of the lowest observation used in the computation, in the sorted sample.
+   * <p>
+   * The quantile and expected shortfall are computed from a small number of observations at known
+   * positions in the sorted sample, and from the set of observations below them.
+   * This returns the zero-based position {@code k} of the lower of these observations, such that
+   * the computation only depends on the observations at positions {@code 0}, {@code k} and {@code k + 1}
+   * and on the set of observations at positions below {@code k}.
+   * This is used to avoid sorting the whole sample when the sample is unsorted.
+   * <p>
+   * The index should be computed with flat extrapolation, as the level is checked by the computation itself.
+   * The default implementation returns -1, indicating that the whole sample is to be sorted.
+   * 
+   * @param level  the quantile level
+   * @param sampleSize  the sample size
+   * @return the index of the lowest observation used, -1 if the sample must be fully sorted
+   */
+  protected int selectionIndex(double level, int sampleSize) {
+    return -1;
+  }
+
+  // partially sorts the sample such that the observations used at the level are at their sorted position
+  private DoubleArray selectFromUnsorted(double level, DoubleArray sample) {
+    int size = sample.size();
+    int index = size > 0 ? selectionIndex(level, size) : -1;
+    if (index < 0 || index >= size) {
+      return sample.sorted();
+    }
+    double[] array = sample.toArray();
+    select(array, index);
+    moveMinimum(array, 0, index);
+    moveMinimum(array, index + 1, size);
+    return DoubleArray.ofUnsafe(array);
+  }
+
+  // selects the k-th smallest value, with lower values before it and higher values after it
+  private static void select(double[] array, int k) {
+    int left = 0;
+    int right = array.length - 1;
+    while (left < right) {
+      // median of three as pivot
+      int mid = (left + right) >>> 1;
+      if (array[mid] < array[left]) {
+        swap(array, left, mid);
+      }
+      if (array[right] < array[left]) {
+        swap(array, left, right);
+      }
+      if (array[right] < array[mid]) {
+        swap(array, mid, right);
+      }
+      double pivot = array[mid];
+      int i = left;
+      int j = right;
+      while (i <= j) {
+        while (array[i] < pivot) {
+          i++;
+        }
+        while (array[j] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          swap(array, i, j);
+          i++;
+          j--;
+        }
+      }
+      if (k <= j) {
+        right = j;
+      } else if (k >= i) {
+        left = i;
+      } else {
+        return;
+      }
+    }
+  }
+
+  // moves the smallest value in the range to the start of the range
+  private static void moveMinimum(double[] array, int fromIndex, int toIndexExclusive) {
+    if (fromIndex >= toIndexExclusive) {
+      return;
+    }
+    int minIndex = fromIndex;
+    for (int i = fromIndex + 1; i < toIndexExclusive; i++) {
+      if (array[i] < array[minIndex]) {
+        minIndex = i;
+      }
+    }
+    swap(array, fromIndex, minIndex);
+  }
+
+  // swaps two values
+  private static void swap(double[] array, int i, int j) {
+    double temp = array[i];
+    array[i] = array[j];
+    array[j] = temp;
+  }
+
   /**
    * Check the index is within the sample data range. 
    * 
@@ -118,4 +118,37 @@ public class RungeKuttaIntegrator1DTest {
 
   }
 
+  @Test
+  public void testPrimitive() {
+    final double eps = 1e-9;
+    final RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(eps, eps, 10);
+    assertEquals(integrator.integrate(MIX_NORM, -30d, 30d), integrator.integrate(x -> MIX_NORM.apply(x), -30d, 30d), 0d);
+    assertEquals(4.0, integrator.integrate(x -> x * x * x, 0d, 2d), eps);
+  }
+
+  @Test
+  public void testVector() {
+    final double eps = 1e-9;
+    final RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(eps, eps, 10);
+    int[] count = new int[1];
+    double[] result = integrator.integrateVector(x -> {
+      count[0]++;
+      return new double[] {MIX_NORM.apply(x), CUBE.apply(x)};
+    }, -30d, 30d);
+    assertEquals(integrator.integrate(MIX_NORM, -30d, 30d), result[0], eps);
+    assertEquals(0d, result[1], eps);
+    // the cube is integrated on the points refined for the mixed normal
+    int[] countNorm = new int[1];
+    integrator.integratePrimitive(x -> {
+      countNorm[0]++;
+      return MIX_NORM.apply(x);
+    }, -30d, 30d);
+    assertEquals(countNorm[0], count[0]);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testVectorNaN() {
+    new RungeKuttaIntegrator1D().integrateVector(x -> new double[] {1d, Double.NaN}, 0d, 1d);
+  }
+
 }
@@ -60,6 +60,16 @@ public class CholeskyDecompositionOpenGammaTest {
     ArrayAsserts.assertArrayEquals("Cholesky decomposition OpenGamma - solve", b, ax.toArray(), 1.0E-10);
   }
 
+  /**
+   * Tests solve Ax = b from A and b with b as a DoubleArray.
+   */
+  public void solveDoubleArray() {
+    CholeskyDecompositionResult result = CDOG.apply(A5);
+    double[] b = new double[] {1.0, 2.0, 3.0, 4.0, -1.0};
+    DoubleArray x = result.solve(DoubleArray.copyOf(b));
+    ArrayAsserts.assertArrayEquals("Cholesky decomposition OpenGamma - solve", result.solve(b), x.toArray(), 1.0E-15);
+  }
+
   /**
    * Tests solve AX = B from A and B.
    */
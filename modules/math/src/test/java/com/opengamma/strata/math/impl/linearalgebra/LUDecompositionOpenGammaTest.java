@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertSame;
+
+import org.testng.annotations.Test;
+import org.testng.internal.junit.ArrayAsserts;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Tests the LU decomposition OpenGamma implementation.
+ */
+@Test
+public class LUDecompositionOpenGammaTest {
+
+  private static final LUDecompositionOpenGamma LU_OG = new LUDecompositionOpenGamma();
+  private static final Decomposition<LUDecompositionResult> LU_COMMONS = new LUDecompositionCommons();
+  private static final DoubleMatrix A = DoubleMatrix.copyOf(
+      new double[][] { {1, 2, -1}, {4, 3, 1}, {2, 2, 3}});
+  private static final DoubleMatrix A4 = DoubleMatrix.copyOf(
+      new double[][] {
+          {2.0, -1.0, 0.5, 3.0},
+          {-4.0, 6.0, 1.0, 0.0},
+          {1.0, 2.0, 9.0, -2.0},
+          {0.5, 7.0, -3.0, 1.0}});
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNullObjectMatrix() {
+    LU_OG.apply((DoubleMatrix) null);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testSingular() {
+    LU_OG.apply(DoubleMatrix.copyOf(new double[][] { {1, 2}, {2, 4}}));
+  }
+
+  /**
+   * Tests the decomposition is identical to the Commons implementation.
+   */
+  public void compareCommons() {
+    for (DoubleMatrix matrix : new DoubleMatrix[] {A, A4}) {
+      LUDecompositionResult expected = LU_COMMONS.apply(matrix);
+      LUDecompositionResult test = LU_OG.apply(matrix);
+      assertEquals(expected.getL(), test.getL());
+      assertEquals(expected.getU(), test.getU());
+      assertEquals(expected.getP(), test.getP());
+      ArrayAsserts.assertArrayEquals(expected.getPivot(), test.getPivot());
+      assertEquals(expected.getDeterminant(), test.getDeterminant(), 0d);
+    }
+  }
+
+  /**
+   * Tests solve Ax = b and AX = B give the same results as the Commons implementation.
+   */
+  public void solve() {
+    LUDecompositionResult expected = LU_COMMONS.apply(A4);
+    LUDecompositionResult test = LU_OG.apply(A4);
+    double[] b = new double[] {1.0, 2.0, 3.0, 4.0};
+    ArrayAsserts.assertArrayEquals(expected.solve(b), test.solve(b), 0d);
+    assertEquals(expected.solve(DoubleArray.copyOf(b)), test.solve(DoubleArray.copyOf(b)));
+    DoubleMatrix bMatrix = DoubleMatrix.copyOf(new double[][] { {1.0, -1.0}, {2.0, 0.5}, {3.0, 2.0}, {4.0, -3.0}});
+    assertEquals(expected.solve(bMatrix), test.solve(bMatrix));
+  }
+
+  /**
+   * Tests the workspace is reused.
+   */
+  public void workspace() {
+    LUDecompositionOpenGammaResult first = LU_OG.apply(A4, null);
+    double[][] workspace = first.getWorkspace();
+    DoubleMatrix scaled = A4.multipliedBy(2d);
+    LUDecompositionOpenGammaResult second = LU_OG.apply(scaled, workspace);
+    assertSame(workspace, second.getWorkspace());
+    assertEquals(LU_OG.apply(scaled).getU(), second.getU());
+    LUDecompositionOpenGammaResult third = LU_OG.apply(A, workspace);
+    assertEquals(LU_OG.apply(A).getL(), third.getL());
+    assertEquals(3, third.getWorkspace().length);
+  }
+
+}
@@ -124,4 +124,30 @@ public class OGMatrixAlgebraTest {
     AssertMatrix.assertEqualsMatrix(aTaRef, aTa, 1e-15);
   }
 
+  @Test
+  public void matrixTransposeMultiplyTwoMatricesTest() {
+    DoubleMatrix a = DoubleMatrix.copyOf(new double[][] { {1.0, 2.0, 3.0}, {-3.0, 1.3, 7.0}});
+    DoubleMatrix b = DoubleMatrix.copyOf(new double[][] { {0.5, -1.0}, {2.0, 4.0}});
+    DoubleMatrix aTb = ALGEBRA.matrixTransposeMultiplyMatrix(a, b);
+    DoubleMatrix aTbRef = (DoubleMatrix) ALGEBRA.multiply(ALGEBRA.getTranspose(a), b);
+    AssertMatrix.assertEqualsMatrix(aTbRef, aTb, 1e-15);
+  }
+
+  @Test
+  public void testMultiplyLargerThanBlock() {
+    DoubleMatrix a = DoubleMatrix.of(150, 70, (i, j) -> RANDOM.nextRandom());
+    DoubleMatrix b = DoubleMatrix.of(70, 130, (i, j) -> RANDOM.nextRandom());
+    DoubleMatrix expected = DoubleMatrix.of(150, 130, (i, j) -> {
+      double sum = 0d;
+      for (int k = 0; k < 70; k++) {
+        sum += a.get(i, k) * b.get(k, j);
+      }
+      return sum;
+    });
+    assertEquals(expected, ALGEBRA.multiply(a, b));
+    assertEquals(ALGEBRA.getTranspose(a), DoubleMatrix.of(70, 150, (i, j) -> a.get(j, i)));
+    assertEquals(ALGEBRA.matrixTransposeMultiplyMatrix(a), ALGEBRA.multiply(ALGEBRA.getTranspose(a), a));
+    assertEquals(ALGEBRA.matrixTransposeMultiplyMatrix(ALGEBRA.getTranspose(a), b), expected);
+  }
+
 }
@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link BrownianBridge}.
+ */
+@Test
+public class BrownianBridgeTest {
+
+  private static final DoubleArray VARIANCES = DoubleArray.of(0.1, 0.25, 0.3, 0.7, 1.2, 1.25, 2.0);
+
+  /**
+   * The path is linear in the normal numbers, the covariance of the path is min(v_i, v_j).
+   */
+  public void test_covariance() {
+    BrownianBridge bridge = new BrownianBridge(VARIANCES);
+    int size = VARIANCES.size();
+    assertEquals(bridge.size(), size);
+    // matrix[j][i] is the value at date i for the unit normal vector j
+    double[][] matrix = new double[size][size];
+    for (int j = 0; j < size; j++) {
+      double[] normals = new double[size + 1];
+      normals[j + 1] = 1d;
+      double[] path = new double[size + 2];
+      bridge.buildPath(normals, 1, path, 2);
+      System.arraycopy(path, 2, matrix[j], 0, size);
+    }
+    for (int i1 = 0; i1 < size; i1++) {
+      for (int i2 = 0; i2 < size; i2++) {
+        double covariance = 0d;
+        for (int j = 0; j < size; j++) {
+          covariance += matrix[j][i1] * matrix[j][i2];
+        }
+        assertEquals(covariance, Math.min(VARIANCES.get(i1), VARIANCES.get(i2)), 1e-14);
+      }
+    }
+  }
+
+  public void test_terminal() {
+    BrownianBridge bridge = new BrownianBridge(VARIANCES);
+    double[] normals = new double[] {1.5, 0d, 0d, 0d, 0d, 0d, 0d};
+    double[] path = new double[VARIANCES.size()];
+    bridge.buildPath(normals, 0, path, 0);
+    for (int i = 0; i < VARIANCES.size(); i++) {
+      assertEquals(path[i], 1.5 * VARIANCES.get(i) / Math.sqrt(2.0), 1e-14);
+    }
+  }
+
+  public void test_single() {
+    BrownianBridge bridge = new BrownianBridge(DoubleArray.of(4d));
+    double[] path = new double[1];
+    bridge.buildPath(new double[] {0.5}, 0, path, 0);
+    assertEquals(path[0], 1d, 0d);
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> new BrownianBridge(DoubleArray.EMPTY));
+    assertThrowsIllegalArg(() -> new BrownianBridge(DoubleArray.of(0d, 1d)));
+    assertThrowsIllegalArg(() -> new BrownianBridge(DoubleArray.of(1d, 1d)));
+  }
+
+}
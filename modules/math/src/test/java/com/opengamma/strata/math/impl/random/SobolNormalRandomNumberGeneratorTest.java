@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+import org.testng.internal.junit.ArrayAsserts;
+
+/**
+ * Test {@link SobolNormalRandomNumberGenerator}.
+ */
+@Test
+public class SobolNormalRandomNumberGeneratorTest {
+
+  public void test_array() {
+    SobolNormalRandomNumberGenerator generator = new SobolNormalRandomNumberGenerator(3);
+    assertEquals(generator.getDimension(), 3);
+    double[] result = generator.getVector(3);
+    assertEquals(result.length, 3);
+    // first point after the origin is the centre of the hypercube
+    ArrayAsserts.assertArrayEquals(new double[3], result, 1e-15);
+  }
+
+  public void test_list() {
+    List<double[]> result = new SobolNormalRandomNumberGenerator(10).getVectors(10, 50);
+    assertEquals(result.size(), 50);
+    for (double[] d : result) {
+      assertEquals(d.length, 10);
+    }
+  }
+
+  public void test_skipTo() {
+    SobolNormalRandomNumberGenerator generator = new SobolNormalRandomNumberGenerator(4);
+    List<double[]> expected = generator.getVectors(4, 20);
+    SobolNormalRandomNumberGenerator other = new SobolNormalRandomNumberGenerator(4);
+    other.skipTo(13);
+    double[] buffer = new double[6];
+    other.fill(buffer, 2, 4);
+    for (int i = 0; i < 4; i++) {
+      assertEquals(buffer[2 + i], expected.get(13)[i], 0d);
+    }
+  }
+
+  public void test_moments() {
+    int nbPoints = 4095;
+    SobolNormalRandomNumberGenerator generator = new SobolNormalRandomNumberGenerator(2);
+    double sum = 0d;
+    double sum2 = 0d;
+    for (int i = 0; i < nbPoints; i++) {
+      double[] point = generator.getVector(2);
+      sum += point[1];
+      sum2 += point[1] * point[1];
+    }
+    assertEquals(sum / nbPoints, 0d, 1e-10);
+    assertEquals(sum2 / nbPoints, 1d, 1e-2);
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> new SobolNormalRandomNumberGenerator(0));
+    assertThrowsIllegalArg(() -> new SobolNormalRandomNumberGenerator(1001));
+    assertThrowsIllegalArg(() -> new SobolNormalRandomNumberGenerator(2).getVector(3));
+    assertThrowsIllegalArg(() -> new SobolNormalRandomNumberGenerator(2).skipTo(-1));
+  }
+
+}
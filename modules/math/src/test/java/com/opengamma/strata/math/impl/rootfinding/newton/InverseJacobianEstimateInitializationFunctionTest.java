@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.rootfinding.newton;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.AssertJUnit.assertEquals;
 
 import java.util.function.Function;
@@ -54,8 +55,31 @@ public class InverseJacobianEstimateInitializationFunctionTest {
   }
 
   public void test() {
-    DoubleMatrix m1 = ESTIMATE.getInitializedMatrix(J, X);
-    DoubleMatrix m2 = J.apply(X);
+    assertInverse(ESTIMATE.getInitializedMatrix(J, X), X);
+  }
+
+  public void testLuWorkspace() {
+    InverseJacobianEstimateInitializationFunction estimate =
+        new InverseJacobianEstimateInitializationFunction(DecompositionFactory.LU_OG);
+    DecompositionWorkspace workspace = new DecompositionWorkspace();
+    DoubleArray x2 = DoubleArray.of(1, 2);
+    assertInverse(estimate.getInitializedMatrix(J, X, workspace), X);
+    assertInverse(estimate.getInitializedMatrix(J, x2, workspace), x2);
+    assertInverse(estimate.getInitializedMatrix(J, X, workspace), X);
+    assertInverse(estimate.getInitializedMatrix(J, X), X);
+  }
+
+  public void testSingular() {
+    // both LU decompositions fail when decomposing a singular matrix
+    DoubleArray x = DoubleArray.of(0, 1);
+    assertThrowsIllegalArg(() -> new InverseJacobianEstimateInitializationFunction(DecompositionFactory.LU_COMMONS)
+        .getInitializedMatrix(J, x));
+    assertThrowsIllegalArg(() -> new InverseJacobianEstimateInitializationFunction(DecompositionFactory.LU_OG)
+        .getInitializedMatrix(J, x));
+  }
+
+  private void assertInverse(DoubleMatrix m1, DoubleArray x) {
+    DoubleMatrix m2 = J.apply(x);
     DoubleMatrix m3 = (DoubleMatrix) (ALGEBRA.multiply(m1, m2));
     DoubleMatrix identity = DoubleMatrix.identity(2);
     for (int i = 0; i < 2; i++) {
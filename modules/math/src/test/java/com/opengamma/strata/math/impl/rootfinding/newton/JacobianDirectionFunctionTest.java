@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.math.impl.rootfinding.newton;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.AssertJUnit.assertEquals;
 
 import org.testng.annotations.Test;
@@ -52,4 +53,35 @@ public class JacobianDirectionFunctionTest {
     assertEquals(direction.get(2), 1. / X2, eps);
   }
 
+  public void testLuWorkspace() {
+    double eps = 1e-9;
+    JacobianDirectionFunction f = new JacobianDirectionFunction(DecompositionFactory.LU_OG);
+    DoubleMatrix m2 = DoubleMatrix.copyOf(new double[][] { {0, 2, 0}, {4, 0, 0}, {0, 0, 5}});
+    DecompositionWorkspace workspace = new DecompositionWorkspace();
+    for (int i = 0; i < 2; i++) {
+      DoubleArray direction = f.getDirection(M, Y, workspace);
+      assertEquals(direction.get(0), 1. / X0, eps);
+      assertEquals(direction.get(1), 1. / X1, eps);
+      assertEquals(direction.get(2), 1. / X2, eps);
+      DoubleArray direction2 = f.getDirection(m2, Y, workspace);
+      assertEquals(direction2.get(0), 1. / 4, eps);
+      assertEquals(direction2.get(1), 1. / 2, eps);
+      assertEquals(direction2.get(2), 1. / 5, eps);
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNullWorkspace() {
+    F.getDirection(M, Y, null);
+  }
+
+  public void testSingular() {
+    // both LU decompositions fail when decomposing a singular matrix
+    DoubleMatrix singular = DoubleMatrix.copyOf(new double[][] { {1, 2, 3}, {2, 4, 6}, {0, 0, 1}});
+    JacobianDirectionFunction commons = new JacobianDirectionFunction(DecompositionFactory.LU_COMMONS);
+    JacobianDirectionFunction openGamma = new JacobianDirectionFunction(DecompositionFactory.LU_OG);
+    assertThrowsIllegalArg(() -> commons.getDirection(singular, Y));
+    assertThrowsIllegalArg(() -> openGamma.getDirection(singular, Y));
+  }
+
 }
@@ -8,11 +8,13 @@ package com.opengamma.strata.math.impl.statistics.descriptive;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.Assert.assertEquals;
 
+import java.util.Random;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.math.impl.integration.RungeKuttaIntegrator1D;
 
 /**
@@ -604,4 +606,76 @@ public class QuantileCalculationMethodTest {
     assertEquals(QUANTILE_SAMPLE1_INTERPOLATION.quantileWithExtrapolationFromSorted(LEVEL5, SORTED_100), 0.9813, TOL);
   }
 
+  //-------------------------------------------------------------------------
+  public void unsorted_selection() {
+    QuantileCalculationMethod[] methods = {QUANTILE_INDEX_ABOVE, QUANTILE_NEAREST_INDEX, QUANTILE_SAMPLE1_NEAREST_INDEX,
+        QUANTILE_SAMPLE_INTERPOLATION, QUANTILE_SAMPLE1_INTERPOLATION, QUANTILE_MIDWAY_INTERPOLATION,
+        ExcelInterpolationQuantileMethod.DEFAULT};
+    double[] levels = {LEVEL1, LEVEL2, LEVEL3, LEVEL4, LEVEL5, 0.01, 0.5};
+    DoubleArray unsorted = shuffle(SORTED_123, 1);
+    for (QuantileCalculationMethod method : methods) {
+      for (double level : levels) {
+        assertEquals(
+            method.quantileWithExtrapolationFromUnsorted(level, unsorted),
+            method.quantileWithExtrapolationFromSorted(level, SORTED_123),
+            TOL);
+        assertEquals(
+            method.expectedShortfallFromUnsorted(level, unsorted),
+            method.expectedShortfallFromSorted(level, SORTED_123),
+            TOL);
+      }
+    }
+    assertThrowsIllegalArg(() -> QUANTILE_SAMPLE1_INTERPOLATION.quantileFromUnsorted(LEVEL4, unsorted));
+    assertThrowsIllegalArg(() -> QUANTILE_SAMPLE1_INTERPOLATION.quantileFromUnsorted(LEVEL5, unsorted));
+  }
+
+  public void unsorted_selection_duplicates() {
+    Random random = new Random(3);
+    DoubleArray unsorted = DoubleArray.of(1000, i -> random.nextInt(10));
+    DoubleArray sorted = unsorted.sorted();
+    for (double level : new double[] {0.001, 0.01, 0.025, 0.5, 0.975, 0.99}) {
+      assertEquals(
+          QUANTILE_NEAREST_INDEX.quantileFromUnsorted(level, unsorted),
+          QUANTILE_NEAREST_INDEX.quantileFromSorted(level, sorted),
+          TOL);
+      assertEquals(
+          QUANTILE_SAMPLE_INTERPOLATION.expectedShortfallFromUnsorted(level, unsorted),
+          QUANTILE_SAMPLE_INTERPOLATION.expectedShortfallFromSorted(level, sorted),
+          TOL);
+    }
+  }
+
+  public void unsorted_matrix() {
+    DoubleMatrix samples = DoubleMatrix.ofArrayObjects(3, SAMPLE_SIZE_100, i -> shuffle(SORTED_100, i));
+    DoubleArray quantiles = QUANTILE_SAMPLE_INTERPOLATION.quantileFromUnsorted(LEVEL3, samples);
+    DoubleArray quantilesExtrapolated =
+        QUANTILE_SAMPLE_INTERPOLATION.quantileWithExtrapolationFromUnsorted(LEVEL5, samples);
+    DoubleArray shortfalls = QUANTILE_SAMPLE_INTERPOLATION.expectedShortfallFromUnsorted(LEVEL3, samples);
+    assertEquals(quantiles.size(), 3);
+    for (int i = 0; i < 3; i++) {
+      assertEquals(quantiles.get(i), QUANTILE_SAMPLE_INTERPOLATION.quantileFromSorted(LEVEL3, SORTED_100), TOL);
+      assertEquals(
+          quantilesExtrapolated.get(i),
+          QUANTILE_SAMPLE_INTERPOLATION.quantileWithExtrapolationFromSorted(LEVEL5, SORTED_100),
+          TOL);
+      assertEquals(
+          shortfalls.get(i),
+          QUANTILE_SAMPLE_INTERPOLATION.expectedShortfallFromSorted(LEVEL3, SORTED_100),
+          TOL);
+    }
+  }
+
+  // shuffles the sample with a fixed seed
+  private static DoubleArray shuffle(DoubleArray sample, long seed) {
+    double[] array = sample.toArray();
+    Random random = new Random(seed);
+    for (int i = array.length - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      double temp = array[i];
+      array[i] = array[j];
+      array[j] = temp;
+    }
+    return DoubleArray.ofUnsafe(array);
+  }
+
 }
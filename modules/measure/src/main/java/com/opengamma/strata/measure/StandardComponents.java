@@ -9,11 +9,16 @@ import java.util.List;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.calc.CalculationRunner;
+import com.opengamma.strata.calc.ResultsBinaryCodecs;
+import com.opengamma.strata.calc.marketdata.MarketDataCache;
 import com.opengamma.strata.calc.marketdata.MarketDataFactory;
 import com.opengamma.strata.calc.marketdata.MarketDataFunction;
 import com.opengamma.strata.calc.marketdata.ObservableDataProvider;
 import com.opengamma.strata.calc.marketdata.TimeSeriesProvider;
 import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.collect.io.BinarySerializer;
+import com.opengamma.strata.data.scenario.ScenarioBinaryCodecs;
+import com.opengamma.strata.market.MarketBinaryCodecs;
 import com.opengamma.strata.measure.capfloor.IborCapFloorTradeCalculationFunction;
 import com.opengamma.strata.measure.credit.CdsTradeCalculationFunction;
 import com.opengamma.strata.measure.curve.CurveGroupMarketDataFunction;
@@ -35,6 +40,7 @@ import com.opengamma.strata.measure.security.SecurityPositionCalculationFunction
 import com.opengamma.strata.measure.security.SecurityTradeCalculationFunction;
 import com.opengamma.strata.measure.swap.SwapTradeCalculationFunction;
 import com.opengamma.strata.measure.swaption.SwaptionTradeCalculationFunction;
+import com.opengamma.strata.pricer.rate.RatesProviderBinaryCodecs;
 import com.opengamma.strata.product.GenericSecurityTrade;
 import com.opengamma.strata.product.SecurityPosition;
 import com.opengamma.strata.product.SecurityTrade;
@@ -89,6 +95,14 @@ public class StandardComponents {
       new SwaptionTradeCalculationFunction(),
       new TermDepositTradeCalculationFunction());
 
+  /**
+   * The standard binary serializer.
+   */
+  private static final BinarySerializer BINARY_SERIALIZER = BinarySerializer.of(ScenarioBinaryCodecs.codecs())
+      .combinedWith(ResultsBinaryCodecs.codecs())
+      .combinedWith(MarketBinaryCodecs.codecs())
+      .combinedWith(RatesProviderBinaryCodecs.codecs());
+
   /**
    * Restricted constructor.
    */
@@ -125,6 +139,28 @@ public class StandardComponents {
     return MarketDataFactory.of(observableDataProvider, TimeSeriesProvider.none(), marketDataFunctions());
   }
 
+  /**
+   * Returns a market data factory containing the standard set of market data functions,
+   * reusing market data built by earlier runs.
+   * <p>
+   * This factory can create market data values from other market data. For example it
+   * can create calibrated curves given a set of market quotes for the points on the curve.
+   * Values built from the same inputs by an earlier run, such as calibrated curve groups,
+   * are obtained from the cache instead of being built again.
+   * <p>
+   * The set of functions are the ones provided by {@link #marketDataFunctions()}.
+   *
+   * @param observableDataProvider  the provider of observable data
+   * @param cache  the cache of market data built by earlier runs
+   * @return a market data factory containing the standard set of market data functions
+   */
+  public static MarketDataFactory marketDataFactory(
+      ObservableDataProvider observableDataProvider,
+      MarketDataCache cache) {
+
+    return MarketDataFactory.of(observableDataProvider, TimeSeriesProvider.none(), cache, marketDataFunctions());
+  }
+
   /**
    * Returns the standard market data functions used to build market data values from other market data.
    * <p>
@@ -179,4 +215,24 @@ public class StandardComponents {
     return STANDARD;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the standard binary serializer.
+   * <p>
+   * This serializer writes market data and results in a compact binary format, suitable for
+   * transferring them between processes. It includes codecs for:
+   * <ul>
+   *  <li>Curve groups, curves and curve metadata
+   *  <li>Rates providers and FX matrices
+   *  <li>Parameter sensitivities
+   *  <li>Scenario arrays
+   *  <li>Calculation results
+   * </ul>
+   *
+   * @return the standard binary serializer
+   */
+  public static BinarySerializer binarySerializer() {
+    return BINARY_SERIALIZER;
+  }
+
 }
@@ -11,6 +11,7 @@ import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
@@ -113,6 +114,12 @@ public class CurveGroupMarketDataFunction implements MarketDataFunction<CurveGro
     return CurveGroupId.class;
   }
 
+  @Override
+  public Optional<String> getCacheConfiguration() {
+    // the calibration measures are identified by name
+    return Optional.of(calibrationMeasures.getName() + calibrationMeasures.getTradeTypes());
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Builds a curve group given the configuration for the group and a set of market data.
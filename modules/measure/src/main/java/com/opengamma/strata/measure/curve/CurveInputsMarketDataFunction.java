@@ -203,6 +203,12 @@ public final class CurveInputsMarketDataFunction implements MarketDataFunction<C
     return CurveInputsId.class;
   }
 
+  @Override
+  public Optional<String> getCacheConfiguration() {
+    // the function has no state
+    return Optional.of("");
+  }
+
   /**
    * Returns requirements for the market data needed by the curve nodes to build trades.
    *
@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.measure.curve;
 
+import java.util.Optional;
+
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.marketdata.MarketDataConfig;
 import com.opengamma.strata.calc.marketdata.MarketDataFunction;
@@ -60,4 +62,10 @@ public class CurveMarketDataFunction
     return CurveId.class;
   }
 
+  @Override
+  public Optional<String> getCacheConfiguration() {
+    // the function has no state
+    return Optional.of("");
+  }
+
 }
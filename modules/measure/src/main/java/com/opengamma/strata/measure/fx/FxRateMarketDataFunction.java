@@ -58,4 +58,10 @@ public class FxRateMarketDataFunction implements MarketDataFunction<FxRate, FxRa
     return FxRateId.class;
   }
 
+  @Override
+  public Optional<String> getCacheConfiguration() {
+    // the function has no state
+    return Optional.of("");
+  }
+
 }
@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.joda.beans.Bean;
+import org.joda.beans.ser.JodaBeanSer;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.ColumnName;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.io.BinarySerializer;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.pricer.curve.CalibrationEurStandard;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Vague performance test comparing the binary serializer with Joda-Beans.
+ * <p>
+ * The size and the time to write and read are reported for a calibrated rates provider,
+ * parameter sensitivities and a set of results.
+ */
+public class BinarySerializerPerformance {
+
+  private static final BinarySerializer SERIALIZER = StandardComponents.binarySerializer();
+  private static final int ITERATIONS = 1_000;
+
+  public static void main(String[] args) throws Exception {
+    ImmutableRatesProvider provider = provider();
+    CurrencyParameterSensitivities sensitivities = sensitivities(provider);
+    Results results = results();
+    for (int i = 0; i < 5; i++) {
+      System.out.println("Run " + i);
+      process("RatesProvider", provider, ImmutableRatesProvider.class);
+      process("Sensitivities", sensitivities, CurrencyParameterSensitivities.class);
+      process("Results", results, Results.class);
+    }
+  }
+
+  private static <T extends Bean> void process(String name, T value, Class<T> type) {
+    byte[] binary = SERIALIZER.write(value);
+    byte[] joda = JodaBeanSer.COMPACT.binWriter().write(value);
+    System.out.println(name + " size: binary " + binary.length + " bytes, Joda-Beans " + joda.length + " bytes");
+
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      SERIALIZER.read(SERIALIZER.write(value), type);
+    }
+    long binaryTime = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    String jodaTime;
+    try {
+      for (int i = 0; i < ITERATIONS; i++) {
+        JodaBeanSer.COMPACT.binReader().read(JodaBeanSer.COMPACT.binWriter().write(value), type);
+      }
+      jodaTime = (System.nanoTime() - start) / 1000 / ITERATIONS + " us";
+    } catch (RuntimeException ex) {
+      // Joda-Beans compact binary is unable to read DoubleMatrix, such as a Jacobian in the curve metadata
+      jodaTime = "unable to read";
+    }
+    System.out.println(
+        name + " write and read: binary " + binaryTime / 1000 / ITERATIONS + " us, Joda-Beans " + jodaTime);
+  }
+
+  //-------------------------------------------------------------------------
+  private static ImmutableRatesProvider provider() {
+    return (ImmutableRatesProvider) CalibrationEurStandard.calibrateEurStandard(
+        LocalDate.of(2015, 7, 24),
+        new double[] {0.0010, 0.0020, 0.0030, 0.0040},
+        new Period[] {Period.ofYears(2), Period.ofYears(5), Period.ofYears(10), Period.ofYears(30)},
+        0.0050,
+        new double[] {0.0051, 0.0052, 0.0053},
+        new double[] {0.0054, 0.0055, 0.0056, 0.0057},
+        new Period[] {Period.ofMonths(3), Period.ofMonths(6), Period.ofMonths(9)},
+        new Period[] {Period.ofYears(2), Period.ofYears(5), Period.ofYears(10), Period.ofYears(30)},
+        0.001,
+        new double[] {0.011, 0.012},
+        new double[] {0.013, 0.014, 0.015, 0.016, 0.017},
+        new Period[] {Period.ofMonths(3), Period.ofMonths(6)},
+        new Period[] {Period.ofYears(2), Period.ofYears(3), Period.ofYears(5), Period.ofYears(10), Period.ofYears(30)});
+  }
+
+  private static CurrencyParameterSensitivities sensitivities(ImmutableRatesProvider provider) {
+    List<CurrencyParameterSensitivity> sensitivities = new ArrayList<>();
+    for (Curve curve : provider.getIndexCurves().values()) {
+      sensitivities.add(curve.createParameterSensitivity(
+          Currency.EUR, DoubleArray.of(curve.getParameterCount(), i -> 1000d / (i + 3))));
+    }
+    return CurrencyParameterSensitivities.of(sensitivities);
+  }
+
+  private static Results results() {
+    List<ColumnHeader> columns = ImmutableList.of(
+        ColumnHeader.of(ColumnName.of("PV"), Measures.PRESENT_VALUE),
+        ColumnHeader.of(ColumnName.of("Accrued"), Measures.ACCRUED_INTEREST));
+    List<Result<?>> cells = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      int row = i;
+      cells.add(Result.success(CurrencyScenarioArray.of(
+          Currency.EUR, DoubleArray.of(10, j -> 1_000_000d * (row + j) / 7d))));
+      cells.add(Result.success(CurrencyScenarioArray.of(
+          Currency.EUR, DoubleArray.of(10, j -> 1_000d * (row + j) / 3d))));
+    }
+    return Results.of(columns, cells);
+  }
+
+}
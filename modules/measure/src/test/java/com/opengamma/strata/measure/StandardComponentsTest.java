@@ -10,13 +10,24 @@ import static org.testng.Assert.assertEquals;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.ColumnName;
+import com.opengamma.strata.calc.Results;
 import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.io.BinarySerializer;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
 import com.opengamma.strata.measure.deposit.TermDepositTradeCalculationFunctionTest;
 import com.opengamma.strata.measure.fra.FraTradeCalculationFunctionTest;
 import com.opengamma.strata.measure.fx.FxNdfTradeCalculationFunctionTest;
 import com.opengamma.strata.measure.fx.FxSingleTradeCalculationFunctionTest;
 import com.opengamma.strata.measure.fx.FxSwapTradeCalculationFunctionTest;
 import com.opengamma.strata.measure.swap.SwapTradeCalculationFunctionTest;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 
 /**
  * Test {@link StandardComponents}.
@@ -34,6 +45,16 @@ public class StandardComponentsTest {
     assertEquals(test.findFunction(TermDepositTradeCalculationFunctionTest.TRADE).isPresent(), true);
   }
 
+  public void test_binarySerializer() {
+    BinarySerializer test = StandardComponents.binarySerializer();
+    ImmutableRatesProvider provider = RatesProviderDataSets.MULTI_GBP;
+    assertEquals(test.read(test.write(provider), ImmutableRatesProvider.class), provider);
+    Results results = Results.of(
+        ImmutableList.of(ColumnHeader.of(ColumnName.of("PV"), Measures.PRESENT_VALUE)),
+        ImmutableList.of(Result.success(CurrencyScenarioArray.of(Currency.GBP, DoubleArray.of(1, 2)))));
+    assertEquals(test.read(test.write(results), Results.class), results);
+  }
+
   public void coverage() {
     coverPrivateConstructor(StandardComponents.class);
   }
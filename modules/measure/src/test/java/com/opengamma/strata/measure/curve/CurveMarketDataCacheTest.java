@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.curve;
+
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.measure.StandardComponents.marketDataFactory;
+import static com.opengamma.strata.measure.curve.CurveTestUtils.id;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.IborIndices;
+import com.opengamma.strata.calc.marketdata.BuiltMarketData;
+import com.opengamma.strata.calc.marketdata.MarketDataCache;
+import com.opengamma.strata.calc.marketdata.MarketDataConfig;
+import com.opengamma.strata.calc.marketdata.MarketDataFactory;
+import com.opengamma.strata.calc.marketdata.MarketDataFunction;
+import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
+import com.opengamma.strata.calc.marketdata.ObservableDataProvider;
+import com.opengamma.strata.calc.marketdata.TimeSeriesProvider;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.curve.CurveGroupId;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurveDefinition;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.pricer.curve.CalibrationMeasures;
+
+/**
+ * Test the caching of calibrated curves built by {@link CurveGroupMarketDataFunction}.
+ */
+@Test
+public class CurveMarketDataCacheTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = date(2011, 3, 8);
+  private static final InterpolatedNodalCurveDefinition CURVE_DEFN = CurveTestUtils.fraSwapCurveDefinition();
+  private static final CurveGroupName GROUP_NAME = CurveGroupName.of("Curve Group");
+  private static final CurveGroupDefinition GROUP_DEFN = CurveGroupDefinition.builder()
+      .name(GROUP_NAME)
+      .addCurve(CURVE_DEFN, Currency.USD, IborIndices.USD_LIBOR_3M)
+      .build();
+  private static final MarketDataConfig CONFIG = MarketDataConfig.builder().add(GROUP_NAME, GROUP_DEFN).build();
+  private static final CurveGroupId GROUP_ID = CurveGroupId.of(GROUP_NAME);
+  private static final CurveId CURVE_ID = CurveId.of(GROUP_NAME, CURVE_DEFN.getName());
+  private static final MarketDataRequirements REQUIREMENTS = MarketDataRequirements.builder()
+      .addValues(GROUP_ID, CURVE_ID)
+      .build();
+  private static final MarketData QUOTES = MarketData.of(
+      VAL_DATE,
+      ImmutableMap.of(
+          id("fra3x6"), 0.0037,
+          id("fra6x9"), 0.0054,
+          id("swap1y"), 0.005,
+          id("swap2y"), 0.0087,
+          id("swap3y"), 0.012));
+
+  private Path directory;
+
+  @BeforeMethod
+  public void createDirectory() throws IOException {
+    directory = Files.createTempDirectory("curvecache");
+  }
+
+  @AfterMethod
+  public void deleteDirectory() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(directory);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_roundTrip() throws IOException {
+    BuiltMarketData built = marketDataFactory(ObservableDataProvider.none(), MarketDataCache.ofDirectory(directory))
+        .create(REQUIREMENTS, CONFIG, QUOTES, REF_DATA);
+    long fileCount = fileCount();
+    assertThat(fileCount).isGreaterThan(0);
+
+    // a later run with the same quotes reads the calibrated curves from the cache
+    BuiltMarketData cached = marketDataFactory(ObservableDataProvider.none(), MarketDataCache.ofDirectory(directory))
+        .create(REQUIREMENTS, CONFIG, QUOTES, REF_DATA);
+    assertThat(cached.getValue(GROUP_ID)).isEqualTo(built.getValue(GROUP_ID));
+    assertThat(cached.getValue(CURVE_ID)).isEqualTo(built.getValue(CURVE_ID));
+    assertThat(fileCount()).isEqualTo(fileCount);
+  }
+
+  public void test_calibrationMeasures() throws IOException {
+    marketDataFactory(ObservableDataProvider.none(), MarketDataCache.ofDirectory(directory))
+        .create(REQUIREMENTS, CONFIG, QUOTES, REF_DATA);
+    long fileCount = fileCount();
+
+    // a function with different calibration measures does not use the cached curve group
+    List<MarketDataFunction<?, ?>> functions = ImmutableList.<MarketDataFunction<?, ?>>builder()
+        .addAll(StandardComponents.marketDataFunctions().stream()
+            .filter(fn -> !(fn instanceof CurveGroupMarketDataFunction))
+            .iterator())
+        .add(new CurveGroupMarketDataFunction(CalibrationMeasures.MARKET_QUOTE))
+        .build();
+    MarketDataFactory factory = MarketDataFactory.of(
+        ObservableDataProvider.none(), TimeSeriesProvider.none(), MarketDataCache.ofDirectory(directory), functions);
+    factory.create(REQUIREMENTS, CONFIG, QUOTES, REF_DATA);
+    assertThat(fileCount()).isGreaterThan(fileCount);
+  }
+
+  // counts the files in the cache directory
+  private long fileCount() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.count();
+    }
+  }
+
+}
@@ -0,0 +1,396 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.DE_BONDS;
+import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.GB_BUMP_DMO;
+import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.US_STREET;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.CompoundedRateType;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.product.bond.FixedCouponBondPaymentPeriod;
+import com.opengamma.strata.product.bond.FixedCouponBondYieldConvention;
+import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
+
+/**
+ * Pricer computing yield and z-spread analytics for portfolios of fixed coupon bonds.
+ * <p>
+ * The analytics are the same as those of {@link DiscountingFixedCouponBondProductPricer},
+ * but are computed for many bonds at once.
+ * The cash flows of each bond are extracted once into arrays, then the yield or z-spread is solved
+ * by Newton iteration using the analytic derivative of the dirty price.
+ * The modified duration and convexity are obtained from the same evaluation as the yield.
+ * The bonds are processed in parallel.
+ * <p>
+ * Bonds for which no closed form applies, or for which the Newton iteration does not converge,
+ * are computed using {@link DiscountingFixedCouponBondProductPricer}.
+ *
+ * <h4>Price</h4>
+ * Strata uses <i>decimal prices</i> for bonds in the trade model, pricers and market data.
+ * For example, a price of 99.32% is represented in Strata by 0.9932.
+ */
+public class DiscountingFixedCouponBondBatchPricer {
+
+  /**
+   * Default implementation.
+   */
+  public static final DiscountingFixedCouponBondBatchPricer DEFAULT =
+      new DiscountingFixedCouponBondBatchPricer(DiscountingFixedCouponBondProductPricer.DEFAULT);
+
+  /**
+   * The maximum number of Newton iterations.
+   */
+  private static final int MAX_ITERATIONS = 50;
+  /**
+   * The accuracy of the Newton iteration.
+   */
+  private static final double ACCURACY = 1e-14;
+  /**
+   * The year fraction below which the discount factor is one, as in the discount factors implementations.
+   */
+  private static final double EFFECTIVE_ZERO = 1e-10;
+
+  /**
+   * Pricer for {@link ResolvedFixedCouponBond}.
+   */
+  private final DiscountingFixedCouponBondProductPricer productPricer;
+
+  /**
+   * Creates an instance.
+   *
+   * @param productPricer  the pricer for {@link ResolvedFixedCouponBond}
+   */
+  public DiscountingFixedCouponBondBatchPricer(DiscountingFixedCouponBondProductPricer productPricer) {
+    this.productPricer = ArgChecker.notNull(productPricer, "productPricer");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the yields, modified durations and convexities of fixed coupon bonds from dirty prices.
+   * <p>
+   * The dirty prices must be fractional.
+   * The results are the same as those of {@link DiscountingFixedCouponBondProductPricer#yieldFromDirtyPrice},
+   * {@link DiscountingFixedCouponBondProductPricer#modifiedDurationFromYield} and
+   * {@link DiscountingFixedCouponBondProductPricer#convexityFromYield}, up to the accuracy of the root-finding.
+   *
+   * @param bonds  the products
+   * @param settlementDates  the settlement dates, one per product
+   * @param dirtyPrices  the dirty prices, one per product
+   * @return the yield analytics of the products
+   */
+  public FixedCouponBondYieldAnalytics yieldAnalyticsFromDirtyPrices(
+      List<ResolvedFixedCouponBond> bonds,
+      List<LocalDate> settlementDates,
+      DoubleArray dirtyPrices) {
+
+    ArgChecker.notNull(bonds, "bonds");
+    ArgChecker.notNull(settlementDates, "settlementDates");
+    ArgChecker.notNull(dirtyPrices, "dirtyPrices");
+    int nbBonds = bonds.size();
+    ArgChecker.isTrue(settlementDates.size() == nbBonds, "Settlement dates must match bonds in size");
+    ArgChecker.isTrue(dirtyPrices.size() == nbBonds, "Dirty prices must match bonds in size");
+    double[] yields = new double[nbBonds];
+    double[] durations = new double[nbBonds];
+    double[] convexities = new double[nbBonds];
+    IntStream.range(0, nbBonds).parallel().forEach(i -> {
+      ResolvedFixedCouponBond bond = bonds.get(i);
+      LocalDate settlementDate = settlementDates.get(i);
+      double dirtyPrice = dirtyPrices.get(i);
+      YieldCashFlows cashFlows = yieldCashFlows(bond, settlementDate);
+      if (cashFlows == null) {
+        yields[i] = productPricer.yieldFromDirtyPrice(bond, settlementDate, dirtyPrice);
+        durations[i] = productPricer.modifiedDurationFromYield(bond, settlementDate, yields[i]);
+        convexities[i] = productPricer.convexityFromYield(bond, settlementDate, yields[i]);
+        return;
+      }
+      double yield = cashFlows.solveYield(dirtyPrice, bond.getFixedRate());
+      if (Double.isNaN(yield)) {
+        yield = productPricer.yieldFromDirtyPrice(bond, settlementDate, dirtyPrice);
+      }
+      double[] values = cashFlows.priceAndDerivatives(yield);
+      yields[i] = yield;
+      durations[i] = -values[1] / values[0];
+      convexities[i] = values[2] / values[0];
+    });
+    return FixedCouponBondYieldAnalytics.of(
+        DoubleArray.ofUnsafe(yields), DoubleArray.ofUnsafe(durations), DoubleArray.ofUnsafe(convexities));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the z-spreads of fixed coupon bonds from curves and dirty prices.
+   * <p>
+   * The z-spread is a parallel shift applied to continuously compounded rates or periodic
+   * compounded rates of the discounting curve associated to the bond (Issuer Entity)
+   * to match the dirty price.
+   * The results are the same as those of
+   * {@link DiscountingFixedCouponBondProductPricer#zSpreadFromCurvesAndDirtyPrice},
+   * up to the accuracy of the root-finding.
+   *
+   * @param bonds  the products
+   * @param provider  the discounting provider
+   * @param refData  the reference data used to calculate the settlement date
+   * @param dirtyPrices  the dirty prices, one per product
+   * @param compoundedRateType  the compounded rate type
+   * @param periodsPerYear  the number of periods per year
+   * @return the z-spreads of the products
+   */
+  public DoubleArray zSpreadsFromCurvesAndDirtyPrices(
+      List<ResolvedFixedCouponBond> bonds,
+      LegalEntityDiscountingProvider provider,
+      ReferenceData refData,
+      DoubleArray dirtyPrices,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear) {
+
+    ArgChecker.notNull(bonds, "bonds");
+    ArgChecker.notNull(provider, "provider");
+    ArgChecker.notNull(refData, "refData");
+    ArgChecker.notNull(dirtyPrices, "dirtyPrices");
+    ArgChecker.notNull(compoundedRateType, "compoundedRateType");
+    int nbBonds = bonds.size();
+    ArgChecker.isTrue(dirtyPrices.size() == nbBonds, "Dirty prices must match bonds in size");
+    if (compoundedRateType.equals(CompoundedRateType.PERIODIC)) {
+      ArgChecker.notNegativeOrZero(periodsPerYear, "periodsPerYear");
+    }
+    double[] zSpreads = new double[nbBonds];
+    IntStream.range(0, nbBonds).parallel().forEach(i -> {
+      ResolvedFixedCouponBond bond = bonds.get(i);
+      double dirtyPrice = dirtyPrices.get(i);
+      ZSpreadCashFlows cashFlows = zSpreadCashFlows(bond, provider, refData, compoundedRateType, periodsPerYear);
+      double zSpread = cashFlows.solveZSpread(dirtyPrice);
+      if (Double.isNaN(zSpread)) {
+        zSpread = productPricer.zSpreadFromCurvesAndDirtyPrice(
+            bond, provider, refData, dirtyPrice, compoundedRateType, periodsPerYear);
+      }
+      zSpreads[i] = zSpread;
+    });
+    return DoubleArray.ofUnsafe(zSpreads);
+  }
+
+  //-------------------------------------------------------------------------
+  // extracts the cash flows used by the standard yield conventions, null if the product pricer must be used
+  private YieldCashFlows yieldCashFlows(ResolvedFixedCouponBond bond, LocalDate settlementDate) {
+    FixedCouponBondYieldConvention yieldConv = bond.getYieldConvention();
+    if (!yieldConv.equals(US_STREET) && !yieldConv.equals(GB_BUMP_DMO) && !yieldConv.equals(DE_BONDS)) {
+      return null;
+    }
+    ImmutableList<FixedCouponBondPaymentPeriod> payments = bond.getPeriodicPayments();
+    int nCoupon = payments.size() - productPricer.couponIndex(payments, settlementDate);
+    if (nCoupon == 1 && (yieldConv.equals(US_STREET) || yieldConv.equals(DE_BONDS))) {
+      return null;
+    }
+    double fixedRate = bond.getFixedRate();
+    double[] coupons = new double[payments.size()];
+    int nbCoupons = 0;
+    for (FixedCouponBondPaymentPeriod period : payments) {
+      if ((period.hasExCouponPeriod() && !settlementDate.isAfter(period.getDetachmentDate())) ||
+          (!period.hasExCouponPeriod() && period.getPaymentDate().isAfter(settlementDate))) {
+        coupons[nbCoupons++] = fixedRate * period.getYearFraction();
+      }
+    }
+    if (nbCoupons == 0) {
+      return null;
+    }
+    return new YieldCashFlows(
+        Arrays.copyOf(coupons, nbCoupons),
+        bond.getFrequency().eventsPerYear(),
+        productPricer.factorToNextCoupon(bond, settlementDate));
+  }
+
+  // extracts the cash flows and discount factors used by the z-spread
+  private ZSpreadCashFlows zSpreadCashFlows(
+      ResolvedFixedCouponBond bond,
+      LegalEntityDiscountingProvider provider,
+      ReferenceData refData,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear) {
+
+    LocalDate settlementDate = bond.getSettlementDateOffset().adjust(provider.getValuationDate(), refData);
+    DiscountFactors discountFactors = provider.issuerCurveDiscountFactors(
+        bond.getLegalEntityId(), bond.getCurrency()).getDiscountFactors();
+    LocalDate valuationDate = discountFactors.getValuationDate();
+    ImmutableList<FixedCouponBondPaymentPeriod> payments = bond.getPeriodicPayments();
+    double[] amounts = new double[payments.size() + 1];
+    LocalDate[] dates = new LocalDate[payments.size() + 1];
+    int nbFlows = 0;
+    for (FixedCouponBondPaymentPeriod period : payments) {
+      if (period.getDetachmentDate().isAfter(settlementDate) && !period.getPaymentDate().isBefore(valuationDate)) {
+        amounts[nbFlows] = period.getFixedRate() * period.getNotional() * period.getYearFraction();
+        dates[nbFlows++] = period.getPaymentDate();
+      }
+    }
+    Payment nominal = bond.getNominalPayment();
+    if (!valuationDate.isAfter(nominal.getDate())) {
+      amounts[nbFlows] = nominal.getAmount();
+      dates[nbFlows++] = nominal.getDate();
+    }
+    double[] times = new double[nbFlows];
+    double[] dfs = new double[nbFlows];
+    for (int i = 0; i < nbFlows; i++) {
+      times[i] = discountFactors.relativeYearFraction(dates[i]);
+      dfs[i] = discountFactors.discountFactor(times[i]);
+    }
+    double repoDf = provider.repoCurveDiscountFactors(
+        bond.getSecurityId(), bond.getLegalEntityId(), bond.getCurrency()).discountFactor(settlementDate);
+    return new ZSpreadCashFlows(
+        Arrays.copyOf(amounts, nbFlows),
+        times,
+        dfs,
+        repoDf * bond.getNotional(),
+        compoundedRateType.equals(CompoundedRateType.PERIODIC) ? periodsPerYear : 0);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The cash flows of a bond under the standard yield conventions.
+   * <p>
+   * The dirty price is $P(y) = F^{-f}\left(\sum_k c_k F^{-k} + F^{-(n-1)}\right)$,
+   * where $F = 1 + y/m$, $m$ is the number of coupons per year, $f$ the factor to the next coupon,
+   * $c_k$ the remaining coupons and $n$ their number.
+   */
+  private static final class YieldCashFlows {
+    private final double[] coupons;
+    private final double couponPerYear;
+    private final double factorToNextCoupon;
+
+    private YieldCashFlows(double[] coupons, double couponPerYear, double factorToNextCoupon) {
+      this.coupons = coupons;
+      this.couponPerYear = couponPerYear;
+      this.factorToNextCoupon = factorToNextCoupon;
+    }
+
+    // returns the dirty price and its first and second derivatives with respect to the yield
+    private double[] priceAndDerivatives(double yield) {
+      double factorOnPeriod = 1d + yield / couponPerYear;
+      double v = 1d / factorOnPeriod;
+      double f = factorToNextCoupon;
+      int n = coupons.length;
+      double pv = 0d;
+      double d1 = 0d;
+      double d2 = 0d;
+      double vk = 1d;
+      for (int k = 0; k < n; k++) {
+        double c = coupons[k] * vk;
+        pv += c;
+        d1 += c * (k + f);
+        d2 += c * (k + f) * (k + f + 1);
+        vk *= v;
+      }
+      double nominal = vk * factorOnPeriod;
+      pv += nominal;
+      d1 += nominal * (n - 1 + f);
+      d2 += nominal * (n - 1 + f) * (n + f);
+      double scale = Math.pow(factorOnPeriod, -f);
+      double dScale = scale * v / couponPerYear;
+      return new double[] {pv * scale, -d1 * dScale, d2 * dScale * v / couponPerYear};
+    }
+
+    // solves the yield by Newton iteration, NaN if not converged
+    private double solveYield(double dirtyPrice, double initialGuess) {
+      double yield = initialGuess;
+      for (int i = 0; i < MAX_ITERATIONS; i++) {
+        double[] values = priceAndDerivatives(yield);
+        double step = (values[0] - dirtyPrice) / values[1];
+        yield -= step;
+        if (!Double.isFinite(yield) || 1d + yield / couponPerYear <= 0d) {
+          return Double.NaN;
+        }
+        if (Math.abs(step) < ACCURACY) {
+          return yield;
+        }
+      }
+      return Double.NaN;
+    }
+  }
+
+  /**
+   * The cash flows of a bond discounted with z-spread.
+   * <p>
+   * The dirty price is $P(z) = \sum_j a_j D_j(z) / (D_{repo} N)$, where $a_j$ are the amounts, $D_j(z)$ the
+   * discount factors with z-spread, $D_{repo}$ the repo discount factor to settlement and $N$ the notional.
+   */
+  private static final class ZSpreadCashFlows {
+    private final double[] amounts;
+    private final double[] times;
+    private final double[] discountFactors;
+    // the base of the periodic compounding, only used if periodic
+    private final double[] periodicBases;
+    private final double priceDenominator;
+    // zero if continuous
+    private final int periodsPerYear;
+
+    private ZSpreadCashFlows(
+        double[] amounts,
+        double[] times,
+        double[] discountFactors,
+        double priceDenominator,
+        int periodsPerYear) {
+
+      this.amounts = amounts;
+      this.times = times;
+      this.discountFactors = discountFactors;
+      this.priceDenominator = priceDenominator;
+      this.periodsPerYear = periodsPerYear;
+      this.periodicBases = new double[amounts.length];
+      if (periodsPerYear > 0) {
+        for (int j = 0; j < amounts.length; j++) {
+          periodicBases[j] = Math.pow(discountFactors[j], -1d / periodsPerYear / times[j]);
+        }
+      }
+    }
+
+    // solves the z-spread by Newton iteration, NaN if not converged
+    private double solveZSpread(double dirtyPrice) {
+      double zSpread = 0d;
+      double target = dirtyPrice * priceDenominator;
+      for (int i = 0; i < MAX_ITERATIONS; i++) {
+        double pv = 0d;
+        double dPv = 0d;
+        for (int j = 0; j < amounts.length; j++) {
+          double time = times[j];
+          if (Math.abs(time) < EFFECTIVE_ZERO) {
+            pv += amounts[j];
+            continue;
+          }
+          if (periodsPerYear > 0) {
+            double ratePeriodicAnnualPlusOne = periodicBases[j] + zSpread / periodsPerYear;
+            if (!(ratePeriodicAnnualPlusOne > 0d)) {
+              return Double.NaN;
+            }
+            double df = Math.pow(ratePeriodicAnnualPlusOne, -periodsPerYear * time);
+            pv += amounts[j] * df;
+            dPv -= amounts[j] * time * df / ratePeriodicAnnualPlusOne;
+          } else {
+            double df = discountFactors[j] * Math.exp(-zSpread * time);
+            pv += amounts[j] * df;
+            dPv -= amounts[j] * time * df;
+          }
+        }
+        double step = (pv - target) / dPv;
+        zSpread -= step;
+        if (!Double.isFinite(zSpread)) {
+          return Double.NaN;
+        }
+        if (Math.abs(step) < ACCURACY) {
+          return zSpread;
+        }
+      }
+      return Double.NaN;
+    }
+  }
+
+}
@@ -11,7 +11,7 @@ import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.J
 import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.US_STREET;
 
 import java.time.LocalDate;
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
@@ -317,15 +317,10 @@ public class DiscountingFixedCouponBondProductPricer {
       CompoundedRateType compoundedRateType,
       int periodsPerYear) {
 
-    final Function<Double, Double> residual = new Function<Double, Double>() {
-      @Override
-      public Double apply(final Double z) {
-        return dirtyPriceFromCurvesWithZSpread(
-            bond, provider, refData, z, compoundedRateType, periodsPerYear) - dirtyPrice;
-      }
-    };
-    double[] range = ROOT_BRACKETER.getBracketedPoints(residual, -0.01, 0.01); // Starting range is [-1%, 1%]
-    return ROOT_FINDER.getRoot(residual, range[0], range[1]);
+    DoubleUnaryOperator residual = z -> dirtyPriceFromCurvesWithZSpread(
+        bond, provider, refData, z, compoundedRateType, periodsPerYear) - dirtyPrice;
+    double[] range = ROOT_BRACKETER.getBracketedPointsPrimitive(residual, -0.01, 0.01); // Starting range is [-1%, 1%]
+    return ROOT_FINDER.getRootPrimitive(residual, range[0], range[1]);
   }
 
   //-------------------------------------------------------------------------
@@ -613,14 +608,9 @@ public class DiscountingFixedCouponBondProductPricer {
       return (bond.getFixedRate() + (1d - cleanPrice) / maturity) / cleanPrice;
     }
 
-    final Function<Double, Double> priceResidual = new Function<Double, Double>() {
-      @Override
-      public Double apply(final Double y) {
-        return dirtyPriceFromYield(bond, settlementDate, y) - dirtyPrice;
-      }
-    };
-    double[] range = ROOT_BRACKETER.getBracketedPoints(priceResidual, 0.00, 0.20);
-    double yield = ROOT_FINDER.getRoot(priceResidual, range[0], range[1]);
+    DoubleUnaryOperator priceResidual = y -> dirtyPriceFromYield(bond, settlementDate, y) - dirtyPrice;
+    double[] range = ROOT_BRACKETER.getBracketedPointsPrimitive(priceResidual, 0.00, 0.20);
+    double yield = ROOT_FINDER.getRootPrimitive(priceResidual, range[0], range[1]);
     return yield;
   }
 
@@ -808,7 +798,8 @@ public class DiscountingFixedCouponBondProductPricer {
   }
 
   //-------------------------------------------------------------------------
-  private double factorToNextCoupon(ResolvedFixedCouponBond bond, LocalDate settlementDate) {
+  // the fraction of the current coupon period remaining after the settlement date
+  double factorToNextCoupon(ResolvedFixedCouponBond bond, LocalDate settlementDate) {
     if (bond.getPeriodicPayments().get(0).getStartDate().isAfter(settlementDate)) {
       return 0d;
     }
@@ -818,7 +809,8 @@ public class DiscountingFixedCouponBondProductPricer {
     return (factorPeriod - factorSpot) / factorPeriod;
   }
 
-  private int couponIndex(ImmutableList<FixedCouponBondPaymentPeriod> list, LocalDate date) {
+  // the index of the first coupon period ending after the date
+  int couponIndex(ImmutableList<FixedCouponBondPaymentPeriod> list, LocalDate date) {
     int nbCoupon = list.size();
     int couponIndex = 0;
     for (int loopcpn = 0; loopcpn < nbCoupon; ++loopcpn) {
@@ -0,0 +1,200 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import java.io.Serializable;
+import java.util.Set;
+
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableValidator;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * The yield analytics of a portfolio of fixed coupon bonds.
+ * <p>
+ * This holds the yield, modified duration and convexity of each bond, in the order of the bonds.
+ * The values are as defined by {@link DiscountingFixedCouponBondProductPricer#yieldFromDirtyPrice},
+ * {@link DiscountingFixedCouponBondProductPricer#modifiedDurationFromYield} and
+ * {@link DiscountingFixedCouponBondProductPricer#convexityFromYield}.
+ */
+@BeanDefinition(style = "light")
+public final class FixedCouponBondYieldAnalytics
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The yields of the bonds.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleArray yields;
+  /**
+   * The modified durations of the bonds.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleArray modifiedDurations;
+  /**
+   * The convexities of the bonds.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleArray convexities;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the yields, modified durations and convexities.
+   *
+   * @param yields  the yields
+   * @param modifiedDurations  the modified durations
+   * @param convexities  the convexities
+   * @return the analytics
+   */
+  public static FixedCouponBondYieldAnalytics of(
+      DoubleArray yields,
+      DoubleArray modifiedDurations,
+      DoubleArray convexities) {
+
+    return new FixedCouponBondYieldAnalytics(yields, modifiedDurations, convexities);
+  }
+
+  @ImmutableValidator
+  private void validate() {
+    ArgChecker.isTrue(yields.size() == modifiedDurations.size(), "Modified durations must match yields in size");
+    ArgChecker.isTrue(yields.size() == convexities.size(), "Convexities must match yields in size");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of bonds.
+   *
+   * @return the number of bonds
+   */
+  public int size() {
+    return yields.size();
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code FixedCouponBondYieldAnalytics}.
+   */
+  private static MetaBean META_BEAN = LightMetaBean.of(FixedCouponBondYieldAnalytics.class);
+
+  /**
+   * The meta-bean for {@code FixedCouponBondYieldAnalytics}.
+   * @return the meta-bean, not null
+   */
+  public static MetaBean meta() {
+    return META_BEAN;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private FixedCouponBondYieldAnalytics(
+      DoubleArray yields,
+      DoubleArray modifiedDurations,
+      DoubleArray convexities) {
+    JodaBeanUtils.notNull(yields, "yields");
+    JodaBeanUtils.notNull(modifiedDurations, "modifiedDurations");
+    JodaBeanUtils.notNull(convexities, "convexities");
+    this.yields = yields;
+    this.modifiedDurations = modifiedDurations;
+    this.convexities = convexities;
+    validate();
+  }
+
+  @Override
+  public MetaBean metaBean() {
+    return META_BEAN;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the yields of the bonds.
+   * @return the value of the property, not null
+   */
+  public DoubleArray getYields() {
+    return yields;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the modified durations of the bonds.
+   * @return the value of the property, not null
+   */
+  public DoubleArray getModifiedDurations() {
+    return modifiedDurations;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the convexities of the bonds.
+   * @return the value of the property, not null
+   */
+  public DoubleArray getConvexities() {
+    return convexities;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      FixedCouponBondYieldAnalytics other = (FixedCouponBondYieldAnalytics) obj;
+      return JodaBeanUtils.equal(yields, other.yields) &&
+          JodaBeanUtils.equal(modifiedDurations, other.modifiedDurations) &&
+          JodaBeanUtils.equal(convexities, other.convexities);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(yields);
+    hash = hash * 31 + JodaBeanUtils.hashCode(modifiedDurations);
+    hash = hash * 31 + JodaBeanUtils.hashCode(convexities);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(128);
+    buf.append("FixedCouponBondYieldAnalytics{");
+    buf.append("yields").append('=').append(yields).append(',').append(' ');
+    buf.append("modifiedDurations").append('=').append(modifiedDurations).append(',').append(' ');
+    buf.append("convexities").append('=').append(JodaBeanUtils.toString(convexities));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
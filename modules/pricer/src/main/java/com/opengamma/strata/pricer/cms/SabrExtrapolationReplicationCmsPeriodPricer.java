@@ -13,7 +13,8 @@ import static com.opengamma.strata.market.model.SabrParameterType.RHO;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.OptionalDouble;
-import java.util.function.Function;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleUnaryOperator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,7 +23,6 @@ import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
-import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
@@ -99,6 +99,20 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
    * For expiry below that value, the forward rate is used for present value.
    */
   private static final double MIN_TIME = 1e-4;
+  /**
+   * The integrator used for present value and curve sensitivity.
+   */
+  private static final RungeKuttaIntegrator1D INTEGRATOR = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL, NUM_ITER);
+  /**
+   * The integrator used for SABR parameter sensitivity.
+   */
+  private static final RungeKuttaIntegrator1D INTEGRATOR_VEGA =
+      new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL_VEGA, NUM_ITER);
+  /**
+   * The integrator used for strike sensitivity.
+   */
+  private static final RungeKuttaIntegrator1D INTEGRATOR_STRIKE =
+      new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL_STRIKE, NUM_ITER);
 
   /**
    * Pricer for the underlying swap.
@@ -204,15 +218,15 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
         cmsPeriod, swap, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor, cutOffStrike, eta);
     double factor = dfPayment / intProv.h(forward) * intProv.g(forward);
     double strikePart = factor * intProv.k(strikeCpn) * intProv.bs(strikeCpn);
-    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL, NUM_ITER);
+    RungeKuttaIntegrator1D integrator = INTEGRATOR;
     double integralPart = 0d;
-    Function<Double, Double> integrant = intProv.integrant();
+    DoubleUnaryOperator integrant = intProv.integrant();
     try {
       if (intProv.getPutCall().isCall()) {
         integralPart = dfPayment *
             integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
       } else {
-        integralPart = -dfPayment * integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+        integralPart = -dfPayment * integrator.integratePrimitive(integrant, -shift + ZERO_SHIFT, strikeCpn);
       }
     } catch (Exception e) {
       throw new MathException(e);
@@ -324,23 +338,24 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
         .relativeYearFraction(cmsPeriod.getPaymentDate(), swap.getStartDate());
     CmsDeltaIntegrantProvider intProv = new CmsDeltaIntegrantProvider(
         cmsPeriod, swap, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor, cutOffStrike, eta);
-    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL, NUM_ITER);
+    RungeKuttaIntegrator1D integrator = INTEGRATOR;
     double[] bs = intProv.bsbsp(strikeCpn);
     double[] n = intProv.getNnp();
     double strikePartPrice = intProv.k(strikeCpn) * n[0] * bs[0];
     double integralPartPrice = 0d;
     double integralPart = 0d;
-    Function<Double, Double> integrant = intProv.integrant();
-    Function<Double, Double> integrantDelta = intProv.integrantDelta();
+    // the price and delta integrals are computed together, sharing the evaluations of the Black price
+    DoubleFunction<double[]> integrant = intProv.integrantPriceDelta();
     try {
       if (intProv.getPutCall().isCall()) {
-        integralPartPrice =
+        double[] integrals =
             integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
-        integralPart = dfPayment *
-            integrateCall(integrator, integrantDelta, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+        integralPartPrice = integrals[0];
+        integralPart = dfPayment * integrals[1];
       } else {
-        integralPartPrice = -integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
-        integralPart = -dfPayment * integrator.integrate(integrantDelta, -shift, strikeCpn);
+        double[] integrals = integrator.integrateVector(integrant, -shift + ZERO_SHIFT, strikeCpn);
+        integralPartPrice = -integrals[0];
+        integralPart = -dfPayment * integrals[1];
       }
     } catch (Exception e) {
       throw new MathException(e);
@@ -404,23 +419,27 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
     double[] strikePartPrice = intProv.getSabrExtrapolation()
         .priceAdjointSabr(Math.max(0d, strikeCpn + shift), intProv.getPutCall()) // handle tiny but negative number
         .getDerivatives().multipliedBy(factor2).toArray();
-    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL_VEGA, NUM_ITER);
-    double[] totalSensi = new double[4];
-    for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
-      double integralPart = 0d;
-      Function<Double, Double> integrant = intProv.integrantVega(loopparameter);
-      try {
-        if (intProv.getPutCall().isCall()) {
-          integralPart = dfPayment *
-              integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
-        } else {
-          integralPart = -dfPayment * integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+    RungeKuttaIntegrator1D integrator = INTEGRATOR_VEGA;
+    // the integrals for the four parameters are computed together, sharing the evaluations of the SABR price adjoint
+    DoubleFunction<double[]> integrant = intProv.integrantVega();
+    double[] integralPart;
+    try {
+      if (intProv.getPutCall().isCall()) {
+        integralPart =
+            integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
+      } else {
+        integralPart = integrator.integrateVector(integrant, -shift + ZERO_SHIFT, strikeCpn);
+        for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
+          integralPart[loopparameter] = -integralPart[loopparameter];
         }
-      } catch (Exception e) {
-        throw new RuntimeException(e);
       }
-      totalSensi[loopparameter] =
-          (strikePartPrice[loopparameter] + integralPart) * cmsPeriod.getNotional() * cmsPeriod.getYearFraction();
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+    double[] totalSensi = new double[4];
+    for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
+      totalSensi[loopparameter] = (strikePartPrice[loopparameter] + dfPayment * integralPart[loopparameter]) *
+          cmsPeriod.getNotional() * cmsPeriod.getYearFraction();
     }
     SwaptionVolatilitiesName name = swaptionVolatilities.getName();
     return PointSensitivityBuilder.of(
@@ -486,17 +505,17 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
     CmsIntegrantProvider intProv = new CmsIntegrantProvider(
         cmsPeriod, swap, swaptionVolatilities, forward, strike, expiryTime, tenor, cutOffStrike, eta);
     double factor = dfPayment * intProv.g(forward) / intProv.h(forward);
-    RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL_STRIKE, NUM_ITER);
+    RungeKuttaIntegrator1D integrator = INTEGRATOR_STRIKE;
     double[] kpkpp = intProv.kpkpp(strike);
     double firstPart;
     double thirdPart;
-    Function<Double, Double> integrant = intProv.integrantDualDelta();
+    DoubleUnaryOperator integrant = intProv.integrantDualDelta();
     if (intProv.getPutCall().isCall()) {
       firstPart = -kpkpp[0] * intProv.bs(strike);
       thirdPart = integrateCall(integrator, integrant, swaptionVolatilities, forward, strike, expiryTime, tenor);
     } else {
       firstPart = -kpkpp[0] * intProv.bs(strike);
-      thirdPart = -integrator.integrate(integrant, -shift + ZERO_SHIFT, strike);
+      thirdPart = -integrator.integratePrimitive(integrant, -shift + ZERO_SHIFT, strike);
     }
     double secondPart =
         intProv.k(strike) * intProv.getSabrExtrapolation().priceDerivativeStrike(strike + shift, intProv.getPutCall());
@@ -523,7 +542,7 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
 
   private double integrateCall(
       RungeKuttaIntegrator1D integrator,
-      Function<Double, Double> integrant,
+      DoubleUnaryOperator integrant,
       SabrSwaptionVolatilities swaptionVolatilities,
       double forward,
       double strike,
@@ -531,19 +550,15 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
       double tenor) {
 
     double res;
-    double vol = swaptionVolatilities.volatility(expiryTime, tenor, forward, forward);
-    double upper0 = Math.max(
-        forward * Math.exp(6d * vol * Math.sqrt(expiryTime)),
-        Math.max(cutOffStrike, 2d * strike));  // To ensure that the integral covers a good part of the smile
-    double upper = Math.min(upper0, 1d); // To ensure that we don't miss the meaningful part
-    res = integrator.integrate(integrant, strike, upper);
-    double reminder = integrant.apply(upper) * upper;
+    double upper = integrationUpper(swaptionVolatilities, forward, strike, expiryTime, tenor);
+    res = integrator.integratePrimitive(integrant, strike, upper);
+    double reminder = integrant.applyAsDouble(upper) * upper;
     double error = reminder / res;
     int count = 0;
     while (Math.abs(error) > integrator.getRelativeTolerance() && count < MAX_COUNT) {
-      res += integrator.integrate(integrant, upper, 2d * upper);
+      res += integrator.integratePrimitive(integrant, upper, 2d * upper);
       upper *= 2d;
-      reminder = integrant.apply(upper) * upper;
+      reminder = integrant.applyAsDouble(upper) * upper;
       error = reminder / res;
       ++count;
       if (count == MAX_COUNT) {
@@ -554,6 +569,65 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
     return res;
   }
 
+  // integrates several integrands together, extending the upper bound until the tail of each is negligible
+  private double[] integrateCall(
+      RungeKuttaIntegrator1D integrator,
+      DoubleFunction<double[]> integrant,
+      SabrSwaptionVolatilities swaptionVolatilities,
+      double forward,
+      double strike,
+      double expiryTime,
+      double tenor) {
+
+    double upper = integrationUpper(swaptionVolatilities, forward, strike, expiryTime, tenor);
+    double[] res = integrator.integrateVector(integrant, strike, upper);
+    int count = 0;
+    while (!isTailNegligible(integrator, integrant.apply(upper), upper, res) && count < MAX_COUNT) {
+      double[] tail = integrator.integrateVector(integrant, upper, 2d * upper);
+      for (int i = 0; i < res.length; i++) {
+        res[i] += tail[i];
+      }
+      upper *= 2d;
+      ++count;
+      if (count == MAX_COUNT) {
+        log.info("Maximum iteration count, " + MAX_COUNT + ", has been reached. Relative error is greater than " +
+            integrator.getRelativeTolerance());
+      }
+    }
+    return res;
+  }
+
+  // the initial upper bound of the integration for a call
+  private double integrationUpper(
+      SabrSwaptionVolatilities swaptionVolatilities,
+      double forward,
+      double strike,
+      double expiryTime,
+      double tenor) {
+
+    double vol = swaptionVolatilities.volatility(expiryTime, tenor, forward, forward);
+    double upper0 = Math.max(
+        forward * Math.exp(6d * vol * Math.sqrt(expiryTime)),
+        Math.max(cutOffStrike, 2d * strike));  // To ensure that the integral covers a good part of the smile
+    return Math.min(upper0, 1d); // To ensure that we don't miss the meaningful part
+  }
+
+  // checks whether the remainder beyond the upper bound is within the tolerance for every integral
+  private static boolean isTailNegligible(
+      RungeKuttaIntegrator1D integrator,
+      double[] integrantAtUpper,
+      double upper,
+      double[] res) {
+
+    for (int i = 0; i < res.length; i++) {
+      double error = integrantAtUpper[i] * upper / res[i];
+      if (Math.abs(error) > integrator.getRelativeTolerance()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   //explain PV for an Cms period
   public void explainPresentValue(
       CmsPeriod period, 
@@ -641,6 +715,15 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
       return shift;
     }
 
+    /**
+     * Gets the factor field.
+     * 
+     * @return the factor
+     */
+    protected double getFactor() {
+      return factor;
+    }
+
     /**
      * Gets the sabrExtrapolation field.
      * 
@@ -690,33 +773,30 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
      * 
      * @return the integrant
      */
-    Function<Double, Double> integrant() {
-      return new Function<Double, Double>() {
-        @Override
-        public Double apply(Double x) {
-          double[] kD = kpkpp(x);
-          // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
-          return factor * (kD[1] * (x - strike) + 2d * kD[0]) * bs(x);
-        }
+    DoubleUnaryOperator integrant() {
+      return x -> {
+        double[] kD = kpkpp(x);
+        // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
+        return factor * (kD[1] * (x - strike) + 2d * kD[0]) * bs(x);
       };
     }
 
     /**
-     * Obtains the integrant sensitivity to the i-th SABR parameter.
+     * Obtains the integrant sensitivity to the SABR parameters.
+     * <p>
+     * The values are the sensitivities to alpha, beta, rho and nu.
+     * The SABR price adjoint is computed once for each point.
      * 
-     * @param i  the index of SABR parameters
      * @return the vega integrant
      */
-    Function<Double, Double> integrantVega(int i) {
-      return new Function<Double, Double>() {
-        @Override
-        public Double apply(Double x) {
-          double[] kD = kpkpp(x);
-          // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
-          double xShifted = Math.max(x + shift, 0d); // handle tiny but negative number
-          DoubleArray priceDerivativeSABR = getSabrExtrapolation().priceAdjointSabr(xShifted, putCall).getDerivatives();
-          return priceDerivativeSABR.get(i) * (factor * (kD[1] * (x - strike) + 2d * kD[0]));
-        }
+    DoubleFunction<double[]> integrantVega() {
+      return x -> {
+        double[] kD = kpkpp(x);
+        // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
+        double xShifted = Math.max(x + shift, 0d); // handle tiny but negative number
+        return getSabrExtrapolation().priceAdjointSabr(xShifted, putCall).getDerivatives()
+            .multipliedBy(factor * (kD[1] * (x - strike) + 2d * kD[0]))
+            .toArrayUnsafe();
       };
     }
 
@@ -725,14 +805,11 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
      * 
      * @return the dual delta integrant
      */
-    Function<Double, Double> integrantDualDelta() {
-      return new Function<Double, Double>() {
-        @Override
-        public Double apply(Double x) {
-          double[] kD = kpkpp(x);
-          // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
-          return -kD[1] * bs(x);
-        }
+    DoubleUnaryOperator integrantDualDelta() {
+      return x -> {
+        double[] kD = kpkpp(x);
+        // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
+        return -kD[1] * bs(x);
       };
     }
 
@@ -863,19 +940,20 @@ public class SabrExtrapolationReplicationCmsPeriodPricer {
     }
 
     /**
-     * Obtains the integrant sensitivity to forward.
+     * Obtains the integrant used in price replication and its sensitivity to forward.
+     * <p>
+     * The first value is the price integrant and the second value is the delta integrant.
+     * The Black price and its derivative are computed once for each point.
      * 
-     * @return the delta integrant
+     * @return the price and delta integrant
      */
-    Function<Double, Double> integrantDelta() {
-      return new Function<Double, Double>() {
-        @Override
-        public Double apply(Double x) {
-          double[] kD = kpkpp(x);
-          // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
-          double[] bs = bsbsp(x);
-          return (kD[1] * (x - getStrike()) + 2d * kD[0]) * (nnp[1] * bs[0] + nnp[0] * bs[1]);
-        }
+    DoubleFunction<double[]> integrantPriceDelta() {
+      return x -> {
+        double[] kD = kpkpp(x);
+        // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
+        double[] bs = bsbsp(x);
+        double kTerm = kD[1] * (x - getStrike()) + 2d * kD[0];
+        return new double[] {getFactor() * kTerm * bs[0], kTerm * (nnp[1] * bs[0] + nnp[0] * bs[1])};
       };
     }
 
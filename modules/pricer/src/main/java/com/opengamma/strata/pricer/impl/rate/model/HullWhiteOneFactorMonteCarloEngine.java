@@ -0,0 +1,229 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.rate.model;
+
+import static com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorMonteCarloPaths.BLOCK_SIZE;
+
+import java.util.stream.IntStream;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.random.BrownianBridge;
+import com.opengamma.strata.math.impl.random.NormalRandomNumberGenerator;
+import com.opengamma.strata.math.impl.random.RandomNumberGenerator;
+import com.opengamma.strata.math.impl.random.SobolNormalRandomNumberGenerator;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+import cern.jet.random.engine.MersenneTwister64;
+
+/**
+ * Monte Carlo simulation of the Hull-White one factor model with piecewise constant volatility.
+ * <p>
+ * The engine simulates the state of the model at a set of times in the forward measure of a numeraire time.
+ * See {@link HullWhiteOneFactorMonteCarloPaths} for the description of the state and its use in pricing.
+ * <p>
+ * The normal numbers are either pseudo-random, from a Mersenne twister generator, or quasi-random,
+ * from a Sobol sequence. The paths are built from the normal numbers either by increments or by
+ * Brownian bridge, the latter being recommended with Sobol sequences. Antithetic paths can be added,
+ * in which case each simulated path is followed by its opposite.
+ * <p>
+ * The paths are simulated in parallel by blocks of fixed size, each block having its own generator:
+ * a Sobol generator positioned at the start of the block, or a pseudo-random generator seeded from
+ * the seed of the engine and the block index. The paths are thus identical from one run to the next,
+ * whatever the number of threads.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class HullWhiteOneFactorMonteCarloEngine {
+
+  /**
+   * The model.
+   */
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+
+  /**
+   * The source of the normal numbers.
+   */
+  public enum Sequence {
+    /**
+     * Pseudo-random numbers from a Mersenne twister generator.
+     */
+    PSEUDO_RANDOM,
+    /**
+     * Quasi-random numbers from a Sobol sequence.
+     */
+    SOBOL,
+  }
+
+  /**
+   * The number of paths.
+   */
+  private final int pathCount;
+  /**
+   * The source of the normal numbers.
+   */
+  private final Sequence sequence;
+  /**
+   * Whether the paths are built by Brownian bridge.
+   */
+  private final boolean brownianBridge;
+  /**
+   * Whether antithetic paths are used.
+   */
+  private final boolean antithetic;
+  /**
+   * The seed of the pseudo-random numbers.
+   */
+  private final long seed;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an engine using a Sobol sequence and a Brownian bridge.
+   *
+   * @param pathCount  the number of paths
+   * @return the engine
+   */
+  public static HullWhiteOneFactorMonteCarloEngine ofSobol(int pathCount) {
+    return new HullWhiteOneFactorMonteCarloEngine(pathCount, Sequence.SOBOL, true, false, 0L);
+  }
+
+  /**
+   * Obtains an engine using pseudo-random numbers and antithetic paths.
+   *
+   * @param pathCount  the number of paths, even
+   * @param seed  the seed of the pseudo-random numbers
+   * @return the engine
+   */
+  public static HullWhiteOneFactorMonteCarloEngine ofPseudoRandom(int pathCount, long seed) {
+    return new HullWhiteOneFactorMonteCarloEngine(pathCount, Sequence.PSEUDO_RANDOM, false, true, seed);
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param pathCount  the number of paths, even if antithetic paths are used
+   * @param sequence  the source of the normal numbers
+   * @param brownianBridge  whether the paths are built by Brownian bridge
+   * @param antithetic  whether antithetic paths are used
+   * @param seed  the seed of the pseudo-random numbers, not used for Sobol sequences
+   */
+  public HullWhiteOneFactorMonteCarloEngine(
+      int pathCount,
+      Sequence sequence,
+      boolean brownianBridge,
+      boolean antithetic,
+      long seed) {
+
+    ArgChecker.isTrue(pathCount > 0, "Path count must be positive");
+    ArgChecker.notNull(sequence, "sequence");
+    ArgChecker.isTrue(!antithetic || pathCount % 2 == 0, "Path count must be even when antithetic paths are used");
+    this.pathCount = pathCount;
+    this.sequence = sequence;
+    this.brownianBridge = brownianBridge;
+    this.antithetic = antithetic;
+    this.seed = seed;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of paths.
+   *
+   * @return the number of paths
+   */
+  public int getPathCount() {
+    return pathCount;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Simulates the paths of the model.
+   * <p>
+   * The state is simulated at the times, which must be positive and strictly increasing.
+   * The numeraire time is typically the last payment time of the instrument to price.
+   * With Sobol sequences, the number of times is at most 1000.
+   *
+   * @param parameters  the Hull-White model parameters
+   * @param times  the simulation times
+   * @param numeraireTime  the numeraire time
+   * @return the paths
+   */
+  public HullWhiteOneFactorMonteCarloPaths simulate(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters,
+      DoubleArray times,
+      double numeraireTime) {
+
+    ArgChecker.notNull(parameters, "parameters");
+    ArgChecker.notNull(times, "times");
+    int nbTimes = times.size();
+    ArgChecker.isTrue(nbTimes > 0, "At least one time is required");
+    ArgChecker.isTrue(times.get(0) > 0d, "Times must be positive");
+    double meanReversion = parameters.getMeanReversion();
+    double[] variances = new double[nbTimes];
+    double[] stdDevIncrements = new double[nbTimes];
+    double previousTime = 0d;
+    double previousVariance = 0d;
+    for (int i = 0; i < nbTimes; i++) {
+      double time = times.get(i);
+      ArgChecker.isTrue(time > previousTime, "Times must be strictly increasing");
+      // alpha with numeraire at zero and bond at infinity is the increment standard deviation divided by a
+      double alpha = MODEL.alpha(parameters, previousTime, time, 0d, Double.POSITIVE_INFINITY);
+      stdDevIncrements[i] = meanReversion * alpha;
+      variances[i] = previousVariance + stdDevIncrements[i] * stdDevIncrements[i];
+      previousTime = time;
+      previousVariance = variances[i];
+    }
+    BrownianBridge bridge = brownianBridge ? new BrownianBridge(DoubleArray.ofUnsafe(variances)) : null;
+    int nbDraws = antithetic ? pathCount / 2 : pathCount;
+    int nbBlocks = (nbDraws + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    double[] states = new double[pathCount * nbTimes];
+    IntStream.range(0, nbBlocks).parallel().forEach(block -> {
+      RandomNumberGenerator generator = generator(block, nbTimes);
+      double[] normals = new double[nbTimes];
+      int end = Math.min(nbDraws, (block + 1) * BLOCK_SIZE);
+      for (int draw = block * BLOCK_SIZE; draw < end; draw++) {
+        generator.fill(normals, 0, nbTimes);
+        int path = antithetic ? 2 * draw : draw;
+        int offset = path * nbTimes;
+        if (bridge != null) {
+          bridge.buildPath(normals, 0, states, offset);
+        } else {
+          double state = 0d;
+          for (int i = 0; i < nbTimes; i++) {
+            state += stdDevIncrements[i] * normals[i];
+            states[offset + i] = state;
+          }
+        }
+        if (antithetic) {
+          for (int i = 0; i < nbTimes; i++) {
+            states[offset + nbTimes + i] = -states[offset + i];
+          }
+        }
+      }
+    });
+    return new HullWhiteOneFactorMonteCarloPaths(pathCount, times, numeraireTime, meanReversion, variances, states);
+  }
+
+  // creates the generator of a block of draws
+  private RandomNumberGenerator generator(int block, int dimension) {
+    if (sequence == Sequence.SOBOL) {
+      SobolNormalRandomNumberGenerator generator = new SobolNormalRandomNumberGenerator(dimension);
+      generator.skipTo(block * BLOCK_SIZE);
+      return generator;
+    }
+    return new NormalRandomNumberGenerator(0d, 1d, new MersenneTwister64(blockSeed(seed, block)));
+  }
+
+  // mixes the seed and the block index, using the SplitMix64 finalizer
+  private static int blockSeed(long seed, int block) {
+    long z = seed + (block + 1) * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    z = z ^ (z >>> 31);
+    return (int) (z ^ (z >>> 32));
+  }
+
+}
@@ -0,0 +1,198 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.rate.model;
+
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.IntStream;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Monte Carlo paths of the Hull-White one factor model.
+ * <p>
+ * The paths are simulated in the forward measure associated to the numeraire $P(.,T)$, the zero-coupon bond
+ * paying at the numeraire time $T$. In that measure, the process
+ * $Z(t) = \int_0^t \sigma(s) e^{as} dW(s)$ is a Gaussian martingale of variance
+ * $v(t) = \int_0^t \sigma(s)^2 e^{2as} ds$ and the zero-coupon bonds at time $t$ are given by
+ * $$
+ * \frac{P(t,u)}{P(t,T)} = \frac{P(0,u)}{P(0,T)} \exp\left(-A(u) Z(t) - \frac{1}{2} A(u)^2 v(t)\right)
+ * \quad \text{with} \quad A(u) = \frac{e^{-aT} - e^{-au}}{a}.
+ * $$
+ * The value today of a cash flow $V$ paid at time $t$ is $P(0,T)$ times the expectation of $V / P(t,T)$.
+ * <p>
+ * The values of $Z$ are stored in a flat array, path by path, each path having one value per simulation time.
+ * The class is independent of the discounting curve, the initial ratios $P(0,u)/P(0,T)$ being provided by the caller.
+ */
+public final class HullWhiteOneFactorMonteCarloPaths {
+
+  /**
+   * The number of paths in each block of a parallel reduction.
+   */
+  static final int BLOCK_SIZE = 1024;
+
+  /**
+   * The number of paths.
+   */
+  private final int pathCount;
+  /**
+   * The simulation times.
+   */
+  private final DoubleArray times;
+  /**
+   * The numeraire time.
+   */
+  private final double numeraireTime;
+  /**
+   * The mean reversion.
+   */
+  private final double meanReversion;
+  /**
+   * The variances of the state at the simulation times.
+   */
+  private final double[] variances;
+  /**
+   * The states, path by path.
+   */
+  private final double[] states;
+
+  // creates an instance, the arrays are not copied
+  HullWhiteOneFactorMonteCarloPaths(
+      int pathCount,
+      DoubleArray times,
+      double numeraireTime,
+      double meanReversion,
+      double[] variances,
+      double[] states) {
+
+    this.pathCount = pathCount;
+    this.times = times;
+    this.numeraireTime = numeraireTime;
+    this.meanReversion = meanReversion;
+    this.variances = variances;
+    this.states = states;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of paths.
+   *
+   * @return the number of paths
+   */
+  public int getPathCount() {
+    return pathCount;
+  }
+
+  /**
+   * Gets the simulation times.
+   *
+   * @return the times
+   */
+  public DoubleArray getTimes() {
+    return times;
+  }
+
+  /**
+   * Gets the numeraire time.
+   *
+   * @return the numeraire time
+   */
+  public double getNumeraireTime() {
+    return numeraireTime;
+  }
+
+  /**
+   * Gets the variances $v(t)$ of the state at the simulation times.
+   *
+   * @return the variances
+   */
+  public DoubleArray getVariances() {
+    return DoubleArray.ofUnsafe(variances);
+  }
+
+  /**
+   * Gets the states of all the paths.
+   * <p>
+   * The state of path {@code p} at time index {@code i} is at index {@code p * times.size() + i}.
+   *
+   * @return the states
+   */
+  public DoubleArray getStates() {
+    return DoubleArray.ofUnsafe(states);
+  }
+
+  /**
+   * Gets the state of a path at a simulation time.
+   *
+   * @param path  the path index
+   * @param timeIndex  the simulation time index
+   * @return the state
+   */
+  public double getState(int path, int timeIndex) {
+    return states[path * variances.length + timeIndex];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the factor $A(u)$ of a zero-coupon bond.
+   * <p>
+   * The factor depends only on the bond maturity and can be computed once for all paths.
+   *
+   * @param bondMaturity  the bond maturity time
+   * @return the factor
+   */
+  public double bondFactor(double bondMaturity) {
+    return (Math.exp(-meanReversion * numeraireTime) - Math.exp(-meanReversion * bondMaturity)) / meanReversion;
+  }
+
+  /**
+   * Calculates the ratio of a zero-coupon bond to the numeraire on a path.
+   * <p>
+   * This is $P(t,u)/P(t,T)$ at the simulation time $t$, where $u$ is the maturity of the bond.
+   *
+   * @param path  the path index
+   * @param timeIndex  the simulation time index
+   * @param bondFactor  the factor of the bond, see {@link #bondFactor(double)}
+   * @param initialRatio  the ratio $P(0,u)/P(0,T)$
+   * @return the ratio
+   */
+  public double bondRatio(int path, int timeIndex, double bondFactor, double initialRatio) {
+    double state = states[path * variances.length + timeIndex];
+    return initialRatio * Math.exp(-bondFactor * state - 0.5 * bondFactor * bondFactor * variances[timeIndex]);
+  }
+
+  /**
+   * Calculates the mean of a value over the paths.
+   * <p>
+   * The function receives the path index and returns the value of the path.
+   * The paths are processed in parallel. The sums are computed by fixed blocks of paths and
+   * combined in a fixed order, thus the result does not depend on the scheduling of the threads.
+   * <p>
+   * For a value expressed in units of the numeraire, the mean multiplied by $P(0,T)$ is the present value.
+   *
+   * @param pathValue  the function computing the value of a path
+   * @return the mean
+   */
+  public double mean(IntToDoubleFunction pathValue) {
+    ArgChecker.notNull(pathValue, "pathValue");
+    int nbBlocks = (pathCount + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    double[] blockSums = new double[nbBlocks];
+    IntStream.range(0, nbBlocks).parallel().forEach(block -> {
+      int end = Math.min(pathCount, (block + 1) * BLOCK_SIZE);
+      double sum = 0d;
+      for (int path = block * BLOCK_SIZE; path < end; path++) {
+        sum += pathValue.applyAsDouble(path);
+      }
+      blockSums[block] = sum;
+    });
+    double total = 0d;
+    for (int block = 0; block < nbBlocks; block++) {
+      total += blockSums[block];
+    }
+    return total / pathCount;
+  }
+
+}
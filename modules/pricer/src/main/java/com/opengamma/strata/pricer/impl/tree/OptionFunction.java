@@ -131,4 +131,40 @@ public interface OptionFunction {
             transitionProbability.get(j, 1) * value.get(j + 1) + transitionProbability.get(j, 0) * value.get(j)));
   }
 
+  /**
+   * Computes the option values in the intermediate nodes into a buffer.
+   * <p>
+   * This is equivalent to {@link #getNextOptionValues(double, DoubleMatrix, DoubleArray, DoubleArray, int)},
+   * except that the option values are read from and written to arrays supplied by the caller.
+   * The (2*i+3) values of the (i+1)-th layer start at {@code valueOffset} in {@code value} and
+   * the (2*i+1) values of the i-th layer are written from {@code resultOffset} in {@code result}.
+   * This allows the backward induction to reuse the same arrays at every layer.
+   * <p>
+   * The default implementation delegates to the method above, thus allocates.
+   * Implementations should override this method to avoid the allocation.
+   * 
+   * @param discountFactor  the discount factor between the two layers
+   * @param transitionProbability  the transition probability
+   * @param stateValue  the state value
+   * @param value  the array containing the option values in the (i+1)-th layer
+   * @param valueOffset  the index of the first option value in the (i+1)-th layer
+   * @param result  the array to which the option values in the i-th layer are written
+   * @param resultOffset  the index of the first option value in the i-th layer
+   * @param i  the step number for which the next option values are computed
+   */
+  public default void getNextOptionValues(
+      double discountFactor,
+      DoubleMatrix transitionProbability,
+      DoubleArray stateValue,
+      double[] value,
+      int valueOffset,
+      double[] result,
+      int resultOffset,
+      int i) {
+
+    DoubleArray valueArray = DoubleArray.copyOf(value, valueOffset, valueOffset + 2 * i + 3);
+    DoubleArray resultArray = getNextOptionValues(discountFactor, transitionProbability, stateValue, valueArray, i);
+    resultArray.copyInto(result, resultOffset);
+  }
+
 }
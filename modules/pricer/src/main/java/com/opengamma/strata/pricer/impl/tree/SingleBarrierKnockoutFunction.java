@@ -96,21 +96,36 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
       DoubleArray values,
       int i) {
 
+    double[] res = new double[2 * i + 1];
+    getNextOptionValues(discountFactor, transitionProbability, stateValue, values.toArrayUnsafe(), 0, res, 0, i);
+    return DoubleArray.ofUnsafe(res);
+  }
+
+  @Override
+  public void getNextOptionValues(
+      double discountFactor,
+      DoubleMatrix transitionProbability,
+      DoubleArray stateValue,
+      double[] values,
+      int valuesOffset,
+      double[] res,
+      int resOffset,
+      int i) {
+
     int nNodes = 2 * i + 1;
-    double[] res = new double[nNodes];
     double barrierLevel = getBarrierLevel(i);
     double rebate = getRebate(i);
     boolean isDown = getBarrierType().isDown();
     for (int j = 0; j < nNodes; ++j) {
-      if ((isDown && stateValue.get(j) <= barrierLevel) ||
-          (!isDown && stateValue.get(j) >= barrierLevel)) {
-        res[j] = rebate;
+      if (isKnockedOut(isDown, stateValue.get(j), barrierLevel)) {
+        res[resOffset + j] = rebate;
       } else {
         double upProb = transitionProbability.get(j, 2);
         double middleProb = transitionProbability.get(j, 1);
         double downProb = transitionProbability.get(j, 0);
-        res[j] = discountFactor *
-            (upProb * values.get(j + 2) + middleProb * values.get(j + 1) + downProb * values.get(j));
+        int index = valuesOffset + j;
+        res[resOffset + j] = discountFactor *
+            (upProb * values[index + 2] + middleProb * values[index + 1] + downProb * values[index]);
       }
     }
     // modification if barrier lies between two consecutive nodes 
@@ -120,15 +135,20 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
       double ub = stateValue.get(index + 1) - barrierLevel;
       double ud = stateValue.get(index + 1) - stateValue.get(index);
       if (isDown) {
-        res[index + 1] = 0.5 * res[index + 1] + 0.5 * (bd * rebate + ub * res[index + 1]) / ud;
+        int k = resOffset + index + 1;
+        res[k] = 0.5 * res[k] + 0.5 * (bd * rebate + ub * res[k]) / ud;
       } else {
-        res[index] = 0.5 * res[index] + 0.5 * (ub * rebate + bd * res[index]) / ud;
+        int k = resOffset + index;
+        res[k] = 0.5 * res[k] + 0.5 * (ub * rebate + bd * res[k]) / ud;
       }
     }
-    return DoubleArray.ofUnsafe(res);
   }
 
   //-------------------------------------------------------------------------
+  private static boolean isKnockedOut(boolean isDown, double stateValue, double barrierLevel) {
+    return (isDown && stateValue <= barrierLevel) || (!isDown && stateValue >= barrierLevel);
+  }
+
   private int getLowerBoundIndex(DoubleArray set, double value) {
     int n = set.size();
     if (value < set.get(0)) {
@@ -5,9 +5,13 @@
  */
 package com.opengamma.strata.pricer.impl.tree;
 
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
 
 /**
@@ -17,6 +21,8 @@ import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
  * and the option to price is specified by {@code OptionFunction}. 
  * <p>
  * Option pricing with non-uniform tree is realised by specifying {@code RecombiningTrinomialTreeData}.
+ * The backward induction on such a tree reuses two buffers for the option values, swapped at each layer,
+ * and several options can be priced on the same tree in a single backward induction.
  */
 public class TrinomialTree {
 
@@ -76,14 +82,27 @@ public class TrinomialTree {
       OptionFunction function,
       RecombiningTrinomialTreeData data) {
 
-    int nSteps = data.getNumberOfSteps();
-    ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
-    for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
-          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
-    }
-    return values.get(0);
+    double[] prices = new double[1];
+    backwardInduction(ImmutableList.of(function), data, prices, null);
+    return prices[0];
+  }
+
+  /**
+   * Price options under the specified trinomial tree gird.
+   * <p>
+   * The options, for example with different strikes or barriers, are priced in a single backward induction.
+   * 
+   * @param functions  the options
+   * @param data  the trinomial tree data
+   * @return the option prices, in the order of the options
+   */
+  public DoubleArray optionPrice(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data) {
+
+    double[] prices = new double[functions.size()];
+    backwardInduction(functions, data, prices, null);
+    return DoubleArray.ofUnsafe(prices);
   }
 
   /**
@@ -100,21 +119,78 @@ public class TrinomialTree {
       OptionFunction function,
       RecombiningTrinomialTreeData data) {
 
+    return optionPriceAdjoint(ImmutableList.of(function), data).get(0);
+  }
+
+  /**
+   * Compute option prices and deltas under the specified trinomial tree gird.
+   * <p>
+   * The options, for example with different strikes or barriers, are priced in a single backward induction.
+   * The delta is the first derivative of the price with respect to spot, and approximated by the data embedded in 
+   * the trinomial tree.
+   * 
+   * @param functions  the options
+   * @param data  the trinomial tree data
+   * @return the option prices and spot deltas, in the order of the options
+   */
+  public List<ValueDerivatives> optionPriceAdjoint(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data) {
+
+    int nFunctions = functions.size();
+    double[] prices = new double[nFunctions];
+    double[] deltas = new double[nFunctions];
+    backwardInduction(functions, data, prices, deltas);
+    ImmutableList.Builder<ValueDerivatives> builder = ImmutableList.builder();
+    for (int k = 0; k < nFunctions; ++k) {
+      builder.add(ValueDerivatives.of(prices[k], DoubleArray.of(deltas[k])));
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  // backward induction of several options, the deltas are computed if the array is not null
+  private void backwardInduction(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data,
+      double[] prices,
+      double[] deltas) {
+
     int nSteps = data.getNumberOfSteps();
-    ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
-    double delta = 0d;
+    int nFunctions = functions.size();
+    int nNodes = 2 * nSteps + 1;
+    // two buffers swapped at each layer, each holding the values of all the options
+    double[] values = new double[nFunctions * nNodes];
+    double[] nextValues = new double[nFunctions * nNodes];
+    DoubleArray stateValueAtExpiry = data.getStateValueAtLayer(nSteps);
+    for (int k = 0; k < nFunctions; ++k) {
+      OptionFunction function = functions.get(k);
+      ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
+      function.getPayoffAtExpiryTrinomial(stateValueAtExpiry).copyInto(values, k * nNodes);
+    }
     for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
-          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
-      if (i == 1) {
-        DoubleArray stateValue = data.getStateValueAtLayer(1);
-        double d1 = (values.get(2) - values.get(1)) / (stateValue.get(2) - stateValue.get(1));
-        double d2 = (values.get(1) - values.get(0)) / (stateValue.get(1) - stateValue.get(0));
-        delta = 0.5 * (d1 + d2);
+      double discountFactor = data.getDiscountFactorAtLayer(i);
+      DoubleMatrix probability = data.getProbabilityAtLayer(i);
+      DoubleArray stateValue = data.getStateValueAtLayer(i);
+      for (int k = 0; k < nFunctions; ++k) {
+        functions.get(k).getNextOptionValues(
+            discountFactor, probability, stateValue, values, k * nNodes, nextValues, k * nNodes, i);
       }
+      double[] swap = values;
+      values = nextValues;
+      nextValues = swap;
+      if (i == 1 && deltas != null) {
+        for (int k = 0; k < nFunctions; ++k) {
+          int offset = k * nNodes;
+          double d1 = (values[offset + 2] - values[offset + 1]) / (stateValue.get(2) - stateValue.get(1));
+          double d2 = (values[offset + 1] - values[offset]) / (stateValue.get(1) - stateValue.get(0));
+          deltas[k] = 0.5 * (d1 + d2);
+        }
+      }
+    }
+    for (int k = 0; k < nFunctions; ++k) {
+      prices[k] = values[k * nNodes];
     }
-    return ValueDerivatives.of(values.get(0), DoubleArray.of(delta));
   }
 
 }
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.io.BinaryCodec;
+import com.opengamma.strata.collect.io.BinaryInput;
+import com.opengamma.strata.collect.io.BinaryOutput;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.market.curve.Curve;
+
+/**
+ * The binary codecs for rates providers.
+ * <p>
+ * The curves and time-series are written using the codecs registered for them, such as
+ * {@link com.opengamma.strata.market.MarketBinaryCodecs}.
+ * They are intended to be registered with a {@link com.opengamma.strata.collect.io.BinarySerializer}.
+ */
+public final class RatesProviderBinaryCodecs {
+
+  /**
+   * The codec for {@code FxMatrix}.
+   */
+  private static final BinaryCodec<FxMatrix> FX_MATRIX = BinaryCodec.of(
+      "FxMatrix",
+      FxMatrix.class,
+      (value, output) -> {
+        output.writeObject(FxMatrix.meta().currencies().get(value));
+        output.writeObject(value.getRates());
+      },
+      input -> FxMatrix.meta().builder()
+          .set(FxMatrix.meta().currencies(), input.readMap(Currency.class, Integer.class))
+          .set(FxMatrix.meta().rates(), input.readObject(DoubleMatrix.class))
+          .build());
+  /**
+   * The codec for {@code ImmutableRatesProvider}.
+   */
+  private static final BinaryCodec<ImmutableRatesProvider> RATES_PROVIDER = BinaryCodec.of(
+      "ImmutableRatesProvider",
+      ImmutableRatesProvider.class,
+      RatesProviderBinaryCodecs::writeProvider,
+      RatesProviderBinaryCodecs::readProvider);
+  /**
+   * The codecs.
+   */
+  private static final ImmutableList<BinaryCodec<?>> CODECS = ImmutableList.of(FX_MATRIX, RATES_PROVIDER);
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the binary codecs for rates providers.
+   *
+   * @return the codecs
+   */
+  public static ImmutableList<BinaryCodec<?>> codecs() {
+    return CODECS;
+  }
+
+  //-------------------------------------------------------------------------
+  // writes the provider
+  private static void writeProvider(ImmutableRatesProvider provider, BinaryOutput output) {
+    output.writeLocalDate(provider.getValuationDate());
+    output.writeObject(provider.getFxRateProvider());
+    output.writeObject(provider.getDiscountCurves());
+    output.writeObject(provider.getIndexCurves());
+    output.writeObject(provider.getTimeSeries());
+  }
+
+  // reads the provider
+  private static ImmutableRatesProvider readProvider(BinaryInput input) {
+    return ImmutableRatesProvider.builder(input.readLocalDate())
+        .fxRateProvider(input.readObject(FxRateProvider.class))
+        .discountCurves(input.readMap(Currency.class, Curve.class))
+        .indexCurves(input.readMap(Index.class, Curve.class))
+        .timeSeries(input.readMap(Index.class, LocalDateDoubleTimeSeries.class))
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Restricted constructor.
+   */
+  private RatesProviderBinaryCodecs() {
+  }
+
+}
@@ -21,6 +21,7 @@ import com.opengamma.strata.market.amount.CashFlows;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
+import com.opengamma.strata.market.explain.ExplainTable;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.swap.KnownAmountSwapPaymentPeriod;
@@ -630,6 +631,22 @@ public class DiscountingSwapLegPricer {
     return builder.build();
   }
 
+  /**
+   * Explain present value for a swap leg, in columnar form.
+   * <p>
+   * The table holds the same information as {@link #explainPresentValue(ResolvedSwapLeg, RatesProvider)},
+   * but is cheaper to create and hold when explaining a large number of legs.
+   * 
+   * @param leg  the swap leg
+   * @param provider  the rates provider
+   * @return the explain PV table
+   */
+  public ExplainTable explainPresentValueTable(ResolvedSwapLeg leg, RatesProvider provider) {
+    ExplainMapBuilder builder = ExplainTable.builder();
+    explainPresentValueInternal(leg, provider, builder);
+    return builder.buildTable();
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the currency exposure of the swap leg.
@@ -21,6 +21,7 @@ import com.opengamma.strata.market.amount.CashFlows;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
+import com.opengamma.strata.market.explain.ExplainTable;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.rate.FixedRateComputation;
@@ -452,12 +453,33 @@ public class DiscountingSwapProductPricer {
    */
   public ExplainMap explainPresentValue(ResolvedSwap swap, RatesProvider provider) {
     ExplainMapBuilder builder = ExplainMap.builder();
+    explainPresentValue(swap, provider, builder);
+    return builder.build();
+  }
+
+  /**
+   * Explains the present value of the swap product, in columnar form.
+   * <p>
+   * This returns the same explanatory information as {@link #explainPresentValue(ResolvedSwap, RatesProvider)}
+   * as a table, which is cheaper to create and hold when explaining a large number of swaps.
+   * 
+   * @param swap  the product
+   * @param provider  the rates provider
+   * @return the explanatory information
+   */
+  public ExplainTable explainPresentValueTable(ResolvedSwap swap, RatesProvider provider) {
+    ExplainMapBuilder builder = ExplainTable.builder();
+    explainPresentValue(swap, provider, builder);
+    return builder.buildTable();
+  }
+
+  // populates the builder with the explanation of the swap
+  private void explainPresentValue(ResolvedSwap swap, RatesProvider provider, ExplainMapBuilder builder) {
     builder.put(ExplainKey.ENTRY_TYPE, "Swap");
     for (ResolvedSwapLeg leg : swap.getLegs()) {
       builder.addListEntryWithIndex(
           ExplainKey.LEGS, child -> legPricer.explainPresentValueInternal(leg, provider, child));
     }
-    return builder.build();
   }
 
   //-------------------------------------------------------------------------
@@ -11,6 +11,7 @@ import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.market.amount.CashFlows;
 import com.opengamma.strata.market.explain.ExplainMap;
+import com.opengamma.strata.market.explain.ExplainTable;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.swap.ResolvedSwap;
@@ -99,6 +100,20 @@ public class DiscountingSwapTradePricer {
     return productPricer.explainPresentValue(trade.getProduct(), provider);
   }
 
+  /**
+   * Explains the present value of the swap trade, in columnar form.
+   * <p>
+   * This returns the same explanatory information as {@link #explainPresentValue(ResolvedSwapTrade, RatesProvider)}
+   * as a table, which is cheaper to create and hold when explaining a large number of trades.
+   * 
+   * @param trade  the trade
+   * @param provider  the rates provider
+   * @return the explanatory information
+   */
+  public ExplainTable explainPresentValueTable(ResolvedSwapTrade trade, RatesProvider provider) {
+    return productPricer.explainPresentValueTable(trade.getProduct(), provider);
+  }
+
   /**
    * Calculates the present value sensitivity of the swap trade.
    * <p>
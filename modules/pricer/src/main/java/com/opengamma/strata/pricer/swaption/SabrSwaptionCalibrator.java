@@ -70,6 +70,12 @@ public class SabrSwaptionCalibrator {
   
   /** The root-finder used in the Alpha calibration to ATM volatility. */
   private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder();
+  /** The limit on rho for a warm start, within the limits of the SABR model fitter. */
+  private static final double WARM_START_RHO_LIMIT = 0.99d;
+  /** The lower limit on nu for a warm start, within the limits of the SABR model fitter. */
+  private static final double WARM_START_NU_LOWER_LIMIT = 0.011d;
+  /** The upper limit on nu for a warm start, within the limits of the SABR model fitter. */
+  private static final double WARM_START_NU_UPPER_LIMIT = 2.49d;
 
   /**
    * The default instance of the class.
@@ -113,7 +119,8 @@ public class SabrSwaptionCalibrator {
     return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, refData);
   }
 
-  private SabrSwaptionCalibrator(
+  // package-private so that tests can observe the least square fits
+  SabrSwaptionCalibrator(
       SabrVolatilityFormula sabrVolatilityFormula,
       DiscountingSwapProductPricer swapPricer,
       ReferenceData refData) {
@@ -188,6 +195,68 @@ public class SabrSwaptionCalibrator {
       Surface shiftSurface,
       boolean stopOnMathException) {
 
+    return calibrate(
+        definition, calibrationDateTime, data, ratesProvider, betaSurface, shiftSurface, stopOnMathException, null);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrate SABR parameters to a set of raw swaption data, starting from previously calibrated parameters.
+   * <p>
+   * The SABR parameters are calibrated with fixed beta and fixed shift surfaces.
+   * The raw data can be (shifted) log-normal volatilities, normal volatilities or option prices
+   * <p>
+   * The alpha, rho and nu of the previous calibration, typically the one of the previous day, are used as
+   * the starting point of the least square fit for each expiry/tenor. The standard set of starting points
+   * is only used when the previous parameters are outside the limits of the fitter or the fit from them fails.
+   *
+   * @param definition  the definition of the calibration to be performed
+   * @param calibrationDateTime  the data and time of the calibration
+   * @param data  the map of raw option data, keyed by tenor
+   * @param ratesProvider  the rate provider used to compute the swap forward rates
+   * @param betaSurface  the beta surface
+   * @param shiftSurface  the shift surface
+   * @param stopOnMathException  flag indicating if the calibration should stop on math exceptions or skip the
+   *   expiries/tenors which throw MathException
+   * @param previous  the previously calibrated SABR volatilities, used as starting point
+   * @return the SABR volatility object
+   */
+  public SabrParametersSwaptionVolatilities calibrateWithFixedBetaAndShift(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException,
+      SabrParametersSwaptionVolatilities previous) {
+
+    ArgChecker.notNull(previous, "previous");
+    return calibrate(
+        definition,
+        calibrationDateTime,
+        data,
+        ratesProvider,
+        betaSurface,
+        shiftSurface,
+        stopOnMathException,
+        previous.getParameters());
+  }
+
+  // The calibration of the cube. The forward rates and fixed parameters are computed first, then the least square
+  // fits are run in parallel by tenor. The starting points of the fits depend only on the previous parameters,
+  // if any, and not on the other fits, so that the result does not depend on the order of calibration.
+  @SuppressWarnings("null")
+  private SabrParametersSwaptionVolatilities calibrate(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException,
+      SabrInterestRateParameters previousParameters) {
+
     SwaptionVolatilitiesName name = definition.getName();
     FixedIborSwapConvention convention = definition.getConvention();
     DayCount dayCount = definition.getDayCount();
@@ -197,17 +266,13 @@ public class SabrSwaptionCalibrator {
     fixed.set(1); // Beta fixed
     BusinessDayAdjustment bda = convention.getFloatingLeg().getStartDateBusinessDayAdjustment();
     LocalDate calibrationDate = calibrationDateTime.toLocalDate();
-    // Sorted maps to obtain the surfaces nodes in standard order
-    TreeMap<Double, TreeMap<Double, ParameterMetadata>> parameterMetadataTmp = new TreeMap<>(); 
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityAlphaTmp = new TreeMap<>(); // Sensitivity to the calibrating data
-    TreeMap<Double, TreeMap<Double, DoubleArray>>  dataSensitivityRhoTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, DoubleArray>>  dataSensitivityNuTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, SabrFormulaData>>  sabrPointTmp = new TreeMap<>();
+    List<List<CalibrationCell>> cellsByTenor = new ArrayList<>();
     for (Tenor tenor : data.getTenors()) {
       RawOptionData tenorData = data.getData(tenor);
       double timeTenor = tenor.getPeriod().getYears() + tenor.getPeriod().getMonths() / 12;
       List<Period> expiries = tenorData.getExpiries();
       int nbExpiries = expiries.size();
+      List<CalibrationCell> cells = new ArrayList<>();
       for (int loopexpiry = 0; loopexpiry < nbExpiries; loopexpiry++) {
         Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiries.get(loopexpiry));
         if (availableSmile.getFirst().size() == 0) { // If not data is available, no calibration possible
@@ -221,45 +286,56 @@ public class SabrSwaptionCalibrator {
         LocalDate endDate = effectiveDate.plus(tenor);
         SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
         double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
-        SabrFormulaData sabrPoint = null;
-        DoubleMatrix inverseJacobian = null;
-        boolean error = false;
-        try {
-          Pair<SabrFormulaData, DoubleMatrix> calibrationResult =
-              calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
-                  availableSmile.getFirst(), availableSmile.getSecond(), expiries.get(loopexpiry), tenorData);
-          sabrPoint = calibrationResult.getFirst();
-          inverseJacobian = calibrationResult.getSecond();
-        } catch (MathException e) {
-          error = true;
+        cells.add(new CalibrationCell(
+            tenor, expiries.get(loopexpiry), timeTenor, timeToExpiry, forward, beta, shift, availableSmile, tenorData));
+      }
+      cellsByTenor.add(cells);
+    }
+    cellsByTenor.parallelStream().forEach(cells -> calibrateCells(
+        cells, fixed, bda, calibrationDateTime, dayCount, stopOnMathException, previousParameters));
+    // Sorted maps to obtain the surfaces nodes in standard order
+    TreeMap<Double, TreeMap<Double, ParameterMetadata>> parameterMetadataTmp = new TreeMap<>();
+    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityAlphaTmp = new TreeMap<>(); // Sensitivity to the calibrating data
+    TreeMap<Double, TreeMap<Double, DoubleArray>>  dataSensitivityRhoTmp = new TreeMap<>();
+    TreeMap<Double, TreeMap<Double, DoubleArray>>  dataSensitivityNuTmp = new TreeMap<>();
+    TreeMap<Double, TreeMap<Double, SabrFormulaData>>  sabrPointTmp = new TreeMap<>();
+    for (List<CalibrationCell> cells : cellsByTenor) {
+      for (CalibrationCell cell : cells) {
+        if (cell.failure != null) {
           if (stopOnMathException) {
-            String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(),
-                expiries.get(loopexpiry), tenor);
-            throw new MathException(message, e);
+            String message = Messages.format("{} at expiry {} and tenor {}", cell.failure.getMessage(),
+                cell.expiry, cell.tenor);
+            throw new MathException(message, cell.failure);
           }
+          continue;
         }
-        if (!error) {
-          if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
-            parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
-            sabrPointTmp.put(timeToExpiry, new TreeMap<>());
-          }
-          TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
-          TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
-          parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
-              timeToExpiry,
-              timeTenor,
-              expiries.get(loopexpiry).toString() + "x" + tenor.toString()));
-          dataSensitivityAlphaExpiryMap.put(timeTenor, inverseJacobian.row(0));
-          dataSensitivityRhoExpiryMap.put(timeTenor, inverseJacobian.row(2));
-          dataSensitivityNuExpiryMap.put(timeTenor, inverseJacobian.row(3));
-          sabrPointExpiryMap.put(timeTenor, sabrPoint);
+        if (cell.result == null) { // not calibrated as an earlier failure stopped the tenor
+          continue;
+        }
+        double timeToExpiry = cell.timeToExpiry;
+        double timeTenor = cell.timeTenor;
+        SabrFormulaData sabrPoint = cell.result.getFirst();
+        DoubleMatrix inverseJacobian = cell.result.getSecond();
+        if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
+          parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
+          dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
+          dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
+          dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
+          sabrPointTmp.put(timeToExpiry, new TreeMap<>());
         }
+        TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
+        TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
+        TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
+        TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
+        TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
+        parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
+            timeToExpiry,
+            timeTenor,
+            cell.expiry.toString() + "x" + cell.tenor.toString()));
+        dataSensitivityAlphaExpiryMap.put(timeTenor, inverseJacobian.row(0));
+        dataSensitivityRhoExpiryMap.put(timeTenor, inverseJacobian.row(2));
+        dataSensitivityNuExpiryMap.put(timeTenor, inverseJacobian.row(3));
+        sabrPointExpiryMap.put(timeTenor, sabrPoint);
       }
     }
     DoubleArray timeToExpiryArray = DoubleArray.EMPTY;
@@ -316,10 +392,41 @@ public class SabrSwaptionCalibrator {
         .dataSensitivityRho(dataSensitivityRho)
         .dataSensitivityNu(dataSensitivityNu).build();
   }
-      
 
-  // The main part of the calibration. The calibration is done 4 times with different starting points: low and high
-  // volatilities and high and low vol of vol. The best result (in term of chi^2) is returned.
+  // Calibrates the expiries of one tenor. The previous parameters, if available, are used as starting point.
+  private void calibrateCells(
+      List<CalibrationCell> cells,
+      BitSet fixed,
+      BusinessDayAdjustment bda,
+      ZonedDateTime calibrationDateTime,
+      DayCount dayCount,
+      boolean stopOnMathException,
+      SabrInterestRateParameters previousParameters) {
+
+    for (CalibrationCell cell : cells) {
+      DoubleArray warmStart = null;
+      if (previousParameters != null) {
+        warmStart = DoubleArray.of(
+            previousParameters.alpha(cell.timeToExpiry, cell.timeTenor),
+            cell.beta,
+            previousParameters.rho(cell.timeToExpiry, cell.timeTenor),
+            previousParameters.nu(cell.timeToExpiry, cell.timeTenor));
+      }
+      try {
+        cell.result = calibration(cell.forward, cell.shift, cell.beta, fixed, bda, calibrationDateTime, dayCount,
+            cell.smile.getFirst(), cell.smile.getSecond(), cell.expiry, cell.rawData, warmStart);
+      } catch (MathException e) {
+        cell.failure = e;
+        if (stopOnMathException) {
+          return;
+        }
+      }
+    }
+  }
+
+  // The main part of the calibration. If a warm start is provided, the calibration is done from it and the
+  // result is accepted if the fit converges. Otherwise the calibration is done 4 times with different starting points:
+  // low and high volatilities and high and low vol of vol. The best result (in term of chi^2) is returned.
   private Pair<SabrFormulaData, DoubleMatrix> calibration(
       double forward,
       double shift,
@@ -331,8 +438,19 @@ public class SabrSwaptionCalibrator {
       DoubleArray strike,
       DoubleArray data,
       Period expiry,
-      RawOptionData rawData) {
+      RawOptionData rawData,
+      DoubleArray warmStart) {
 
+    if (warmStart != null && isValidStart(warmStart)) {
+      try {
+        return calibrationOutput(calibrationFromStart(
+            forward, shift, fixed, bda, calibrationDateTime, dayCount, strike, data, expiry, rawData, warmStart));
+      } catch (MathException e) {
+        // The warm start failed, fall back to the standard starting points
+      }
+    }
+    double chi2 = 1.0E+12; // Large number
+    Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult = null;
     double rhoStart = -0.50 * beta + 0.50 * (1 - beta);
     // Correlation is usually positive for normal and negative for log-normal;.
     double[] alphaStart = new double[4];
@@ -345,36 +463,54 @@ public class SabrSwaptionCalibrator {
     nuStart[1] = 0.50; // High vol of vol
     nuStart[2] = 0.10;
     nuStart[3] = 0.50;
-    double chi2 = 1.0E+12; // Large number 
-    Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult = null;
     for (int i = 0; i < 4; i++) { // Try different starting points and take the best
       DoubleArray startParameters = DoubleArray.of(alphaStart[i], beta, rhoStart, nuStart[i]);
-      Pair<LeastSquareResultsWithTransform, DoubleArray> r = null;
-      if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
-        r = calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
-            expiry, forward, strike, rawData.getStrikeType(),
-            data, startParameters, fixed, shift);
-      } else {
-        if (rawData.getDataType().equals(ValueType.PRICE)) {
-          r = calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
-              expiry, forward, strike, rawData.getStrikeType(),
-              data, startParameters, fixed, shift);
-        } else {
-          if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
-            r = calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
-                expiry, forward, strike, rawData.getStrikeType(),
-                data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
-          } else {
-            throw new IllegalArgumentException("Data type not supported");
-          }
-        }
-      }
+      Pair<LeastSquareResultsWithTransform, DoubleArray> r = calibrationFromStart(
+          forward, shift, fixed, bda, calibrationDateTime, dayCount, strike, data, expiry, rawData, startParameters);
       if (r.getFirst().getChiSq() < chi2) { // Keep best calibration
         sabrCalibrationResult = r;
         chi2 = r.getFirst().getChiSq();
       }
     }
-    @SuppressWarnings("null")
+    return calibrationOutput(sabrCalibrationResult);
+  }
+
+  // Least square calibration from one starting point. Distribute the calculation according to the type of data.
+  private Pair<LeastSquareResultsWithTransform, DoubleArray> calibrationFromStart(
+      double forward,
+      double shift,
+      BitSet fixed,
+      BusinessDayAdjustment bda,
+      ZonedDateTime calibrationDateTime,
+      DayCount dayCount,
+      DoubleArray strike,
+      DoubleArray data,
+      Period expiry,
+      RawOptionData rawData,
+      DoubleArray startParameters) {
+
+    if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
+      return calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
+    }
+    if (rawData.getDataType().equals(ValueType.PRICE)) {
+      return calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
+    }
+    if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
+      return calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
+    }
+    throw new IllegalArgumentException("Data type not supported");
+  }
+
+  // The SABR parameters and their sensitivity to the raw data from the least square result
+  private Pair<SabrFormulaData, DoubleMatrix> calibrationOutput(
+      Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult) {
+
     SabrFormulaData sabrParameters =
         SabrFormulaData.of(sabrCalibrationResult.getFirst().getModelParameters().toArrayUnsafe());
     DoubleMatrix parameterSensitivityToBlackShifted =
@@ -392,6 +528,15 @@ public class SabrSwaptionCalibrator {
     return Pair.of(sabrParameters, parameterSensitivityToData);
   }
 
+  // Checks that the starting point is strictly within the limits of the SABR model fitter
+  private static boolean isValidStart(DoubleArray startParameters) {
+    double alpha = startParameters.get(0);
+    double rho = startParameters.get(2);
+    double nu = startParameters.get(3);
+    return alpha > 0d && Math.abs(rho) < WARM_START_RHO_LIMIT &&
+        nu > WARM_START_NU_LOWER_LIMIT && nu < WARM_START_NU_UPPER_LIMIT;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calibrate SABR alpha parameters to a set of ATM swaption volatilities.
@@ -900,4 +1045,44 @@ public class SabrSwaptionCalibrator {
     return bda.adjust(calibrationDate.plus(expiry), refData);
   }
 
+  //-------------------------------------------------------------------------
+  // The data required for the calibration of one expiry/tenor and its result
+  private static final class CalibrationCell {
+    private final Tenor tenor;
+    private final Period expiry;
+    private final double timeTenor;
+    private final double timeToExpiry;
+    private final double forward;
+    private final double beta;
+    private final double shift;
+    private final Pair<DoubleArray, DoubleArray> smile;
+    private final RawOptionData rawData;
+    // the result, set by the thread calibrating the tenor
+    private Pair<SabrFormulaData, DoubleMatrix> result;
+    // the failure, set by the thread calibrating the tenor
+    private MathException failure;
+
+    private CalibrationCell(
+        Tenor tenor,
+        Period expiry,
+        double timeTenor,
+        double timeToExpiry,
+        double forward,
+        double beta,
+        double shift,
+        Pair<DoubleArray, DoubleArray> smile,
+        RawOptionData rawData) {
+
+      this.tenor = tenor;
+      this.expiry = expiry;
+      this.timeTenor = timeTenor;
+      this.timeToExpiry = timeToExpiry;
+      this.forward = forward;
+      this.beta = beta;
+      this.shift = shift;
+      this.smile = smile;
+      this.rawData = rawData;
+    }
+  }
+
 }
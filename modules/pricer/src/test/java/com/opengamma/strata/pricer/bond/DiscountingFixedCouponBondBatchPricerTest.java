@@ -0,0 +1,225 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.EUTA;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.JPTO;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.SAT_SUN;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.pricer.CompoundedRateType.CONTINUOUS;
+import static com.opengamma.strata.pricer.CompoundedRateType.PERIODIC;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.BusinessDayConventions;
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.basics.date.DaysAdjustment;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.basics.schedule.PeriodicSchedule;
+import com.opengamma.strata.basics.schedule.StubConvention;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
+import com.opengamma.strata.product.SecurityId;
+import com.opengamma.strata.product.bond.FixedCouponBond;
+import com.opengamma.strata.product.bond.FixedCouponBondYieldConvention;
+import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
+
+/**
+ * Test {@link DiscountingFixedCouponBondBatchPricer}.
+ */
+@Test
+public class DiscountingFixedCouponBondBatchPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final StandardId SECURITY_ID = StandardId.of("OG-Ticker", "GOVT1-BOND1");
+  private static final StandardId ISSUER_ID = StandardId.of("OG-Ticker", "GOVT1");
+  private static final LocalDate VAL_DATE = date(2016, 4, 25);
+
+  private static final ResolvedFixedCouponBond BOND_EUR = bond(
+      date(2015, 4, 12), 10, 0.015, Frequency.P6M, EUR, FixedCouponBondYieldConvention.DE_BONDS,
+      DaysAdjustment.ofBusinessDays(
+          -5, EUTA, BusinessDayAdjustment.of(BusinessDayConventions.MODIFIED_FOLLOWING, EUTA)));
+  private static final ResolvedFixedCouponBond BOND_US = bond(
+      date(2011, 11, 15), 10, 0.04625, Frequency.P6M, Currency.USD, FixedCouponBondYieldConvention.US_STREET,
+      DaysAdjustment.NONE);
+  private static final ResolvedFixedCouponBond BOND_UK = bond(
+      date(2012, 9, 7), 12, 0.05, Frequency.P6M, Currency.GBP, FixedCouponBondYieldConvention.GB_BUMP_DMO,
+      DaysAdjustment.ofCalendarDays(-7, BusinessDayAdjustment.of(BusinessDayConventions.PRECEDING, SAT_SUN)));
+  private static final ResolvedFixedCouponBond BOND_GER = bond(
+      date(2012, 9, 7), 12, 0.05, Frequency.P12M, EUR, FixedCouponBondYieldConvention.DE_BONDS,
+      DaysAdjustment.NONE);
+  private static final ResolvedFixedCouponBond BOND_JP = FixedCouponBond.builder()
+      .securityId(SecurityId.of(SECURITY_ID))
+      .dayCount(DayCounts.NL_365)
+      .fixedRate(0.004)
+      .legalEntityId(ISSUER_ID)
+      .currency(Currency.JPY)
+      .notional(100)
+      .accrualSchedule(PeriodicSchedule.of(date(2015, 9, 20), date(2025, 9, 20), Frequency.P6M,
+          BusinessDayAdjustment.of(BusinessDayConventions.FOLLOWING, JPTO), StubConvention.SHORT_INITIAL, false))
+      .settlementDateOffset(DaysAdjustment.ofBusinessDays(3, JPTO))
+      .yieldConvention(FixedCouponBondYieldConvention.JP_SIMPLE)
+      .exCouponPeriod(DaysAdjustment.NONE)
+      .build()
+      .resolve(REF_DATA);
+  private static final ResolvedFixedCouponBond BOND_EUR_ANNUAL = bond(
+      date(2014, 1, 15), 7, 0.03, Frequency.P12M, EUR, FixedCouponBondYieldConvention.DE_BONDS,
+      DaysAdjustment.NONE);
+  private static final ResolvedFixedCouponBond BOND_EUR_ZERO = bond(
+      date(2016, 2, 1), 20, 0d, Frequency.P6M, EUR, FixedCouponBondYieldConvention.GB_BUMP_DMO,
+      DaysAdjustment.NONE);
+  private static final List<ResolvedFixedCouponBond> BONDS = ImmutableList.of(BOND_EUR, BOND_US, BOND_UK, BOND_GER);
+  private static final List<ResolvedFixedCouponBond> BONDS_EUR =
+      ImmutableList.of(BOND_EUR, BOND_GER, BOND_EUR_ANNUAL, BOND_EUR_ZERO);
+
+  private static final DiscountFactors DSC_FACTORS_REPO = ZeroRateDiscountFactors.of(EUR, VAL_DATE,
+      InterpolatedNodalCurve.of(Curves.zeroRates("TestRepoCurve", ACT_365F),
+          DoubleArray.of(0.1, 2.0, 10.0), DoubleArray.of(0.05, 0.06, 0.09), CurveInterpolators.LINEAR));
+  private static final DiscountFactors DSC_FACTORS_ISSUER = ZeroRateDiscountFactors.of(EUR, VAL_DATE,
+      InterpolatedNodalCurve.of(Curves.zeroRates("TestIssuerCurve", ACT_365F),
+          DoubleArray.of(0.2, 9.0, 15.0), DoubleArray.of(0.03, 0.05, 0.13), CurveInterpolators.LINEAR));
+  private static final LegalEntityGroup GROUP_ISSUER = LegalEntityGroup.of("GOVT1");
+  private static final RepoGroup GROUP_REPO = RepoGroup.of("GOVT1 BOND1");
+  private static final LegalEntityDiscountingProvider PROVIDER = ImmutableLegalEntityDiscountingProvider.builder()
+      .issuerCurves(ImmutableMap.of(Pair.of(GROUP_ISSUER, EUR), DSC_FACTORS_ISSUER))
+      .issuerCurveGroups(ImmutableMap.of(ISSUER_ID, GROUP_ISSUER))
+      .repoCurves(ImmutableMap.of(Pair.of(GROUP_REPO, EUR), DSC_FACTORS_REPO))
+      .repoCurveGroups(ImmutableMap.of(SECURITY_ID, GROUP_REPO))
+      .valuationDate(VAL_DATE)
+      .build();
+
+  private static final DiscountingFixedCouponBondProductPricer PRICER = DiscountingFixedCouponBondProductPricer.DEFAULT;
+  private static final DiscountingFixedCouponBondBatchPricer BATCH_PRICER =
+      DiscountingFixedCouponBondBatchPricer.DEFAULT;
+  private static final double TOL = 1.0e-12;
+
+  private static ResolvedFixedCouponBond bond(
+      LocalDate start,
+      int years,
+      double rate,
+      Frequency frequency,
+      Currency currency,
+      FixedCouponBondYieldConvention convention,
+      DaysAdjustment exCoupon) {
+
+    return FixedCouponBond.builder()
+        .securityId(SecurityId.of(SECURITY_ID))
+        .dayCount(DayCounts.ACT_ACT_ICMA)
+        .fixedRate(rate)
+        .legalEntityId(ISSUER_ID)
+        .currency(currency)
+        .notional(100)
+        .accrualSchedule(PeriodicSchedule.of(start, start.plusYears(years), frequency,
+            BusinessDayAdjustment.of(BusinessDayConventions.FOLLOWING, SAT_SUN), StubConvention.SHORT_INITIAL, false))
+        .settlementDateOffset(DaysAdjustment.ofBusinessDays(3, SAT_SUN))
+        .yieldConvention(convention)
+        .exCouponPeriod(exCoupon)
+        .build()
+        .resolve(REF_DATA);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_yieldAnalyticsFromDirtyPrices() {
+    List<ResolvedFixedCouponBond> bonds = ImmutableList.<ResolvedFixedCouponBond>builder()
+        .addAll(BONDS)
+        .add(BOND_JP)
+        .build();
+    ImmutableList.Builder<LocalDate> settlementDates = ImmutableList.builder();
+    double[] dirtyPrices = new double[bonds.size()];
+    double[] yields = new double[] {0.02, 0.04, 0.035, 0.06, 0.00321};
+    for (int i = 0; i < bonds.size(); i++) {
+      ResolvedFixedCouponBond bond = bonds.get(i);
+      LocalDate settlementDate = bond.getSettlementDateOffset().adjust(VAL_DATE, REF_DATA);
+      settlementDates.add(settlementDate);
+      dirtyPrices[i] = PRICER.dirtyPriceFromYield(bond, settlementDate, yields[i]);
+    }
+    List<LocalDate> dates = settlementDates.build();
+    FixedCouponBondYieldAnalytics computed =
+        BATCH_PRICER.yieldAnalyticsFromDirtyPrices(bonds, dates, DoubleArray.ofUnsafe(dirtyPrices));
+    assertEquals(computed.size(), bonds.size());
+    for (int i = 0; i < bonds.size(); i++) {
+      ResolvedFixedCouponBond bond = bonds.get(i);
+      LocalDate settlementDate = dates.get(i);
+      double yield = PRICER.yieldFromDirtyPrice(bond, settlementDate, dirtyPrices[i]);
+      assertEquals(computed.getYields().get(i), yield, TOL);
+      assertEquals(computed.getYields().get(i), yields[i], TOL);
+      double duration = PRICER.modifiedDurationFromYield(bond, settlementDate, yield);
+      assertEquals(computed.getModifiedDurations().get(i), duration, TOL * Math.abs(duration));
+      double convexity = PRICER.convexityFromYield(bond, settlementDate, yield);
+      assertEquals(computed.getConvexities().get(i), convexity, TOL * Math.abs(convexity));
+    }
+  }
+
+  public void test_yieldAnalyticsFromDirtyPrices_lastCoupon() {
+    LocalDate settlementDate = date(2021, 6, 8);
+    double dirtyPrice = PRICER.dirtyPriceFromYield(BOND_US, settlementDate, 0.04);
+    FixedCouponBondYieldAnalytics computed = BATCH_PRICER.yieldAnalyticsFromDirtyPrices(
+        ImmutableList.of(BOND_US), ImmutableList.of(settlementDate), DoubleArray.of(dirtyPrice));
+    assertEquals(computed.getYields().get(0), 0.04, TOL);
+    assertEquals(
+        computed.getModifiedDurations().get(0), PRICER.modifiedDurationFromYield(BOND_US, settlementDate, 0.04));
+    assertEquals(computed.getConvexities().get(0), PRICER.convexityFromYield(BOND_US, settlementDate, 0.04));
+  }
+
+  public void test_yieldAnalyticsFromDirtyPrices_size() {
+    assertThrowsIllegalArg(() -> BATCH_PRICER.yieldAnalyticsFromDirtyPrices(
+        BONDS, ImmutableList.of(VAL_DATE), DoubleArray.filled(BONDS.size(), 1d)));
+    assertThrowsIllegalArg(() -> BATCH_PRICER.yieldAnalyticsFromDirtyPrices(
+        ImmutableList.of(BOND_US), ImmutableList.of(VAL_DATE), DoubleArray.of(1d, 1d)));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_zSpreadsFromCurvesAndDirtyPrices_continuous() {
+    double[] zSpreads = new double[] {0.035, -0.01, 0.0, 0.02};
+    DoubleArray dirtyPrices = DoubleArray.of(BONDS_EUR.size(), i -> PRICER.dirtyPriceFromCurvesWithZSpread(
+        BONDS_EUR.get(i), PROVIDER, REF_DATA, zSpreads[i], CONTINUOUS, 0));
+    DoubleArray computed = BATCH_PRICER.zSpreadsFromCurvesAndDirtyPrices(
+        BONDS_EUR, PROVIDER, REF_DATA, dirtyPrices, CONTINUOUS, 0);
+    for (int i = 0; i < BONDS_EUR.size(); i++) {
+      assertEquals(computed.get(i), zSpreads[i], TOL);
+    }
+  }
+
+  public void test_zSpreadsFromCurvesAndDirtyPrices_periodic() {
+    double[] zSpreads = new double[] {0.035, -0.01, 0.0, 0.02};
+    DoubleArray dirtyPrices = DoubleArray.of(BONDS_EUR.size(), i -> PRICER.dirtyPriceFromCurvesWithZSpread(
+        BONDS_EUR.get(i), PROVIDER, REF_DATA, zSpreads[i], PERIODIC, 4));
+    DoubleArray computed = BATCH_PRICER.zSpreadsFromCurvesAndDirtyPrices(
+        BONDS_EUR, PROVIDER, REF_DATA, dirtyPrices, PERIODIC, 4);
+    for (int i = 0; i < BONDS_EUR.size(); i++) {
+      assertEquals(computed.get(i), zSpreads[i], TOL);
+      double expected = PRICER.zSpreadFromCurvesAndDirtyPrice(
+          BONDS_EUR.get(i), PROVIDER, REF_DATA, dirtyPrices.get(i), PERIODIC, 4);
+      assertEquals(computed.get(i), expected, TOL);
+    }
+  }
+
+  public void test_zSpreadsFromCurvesAndDirtyPrices_size() {
+    assertThrowsIllegalArg(() -> BATCH_PRICER.zSpreadsFromCurvesAndDirtyPrices(
+        BONDS_EUR, PROVIDER, REF_DATA, DoubleArray.of(1d), CONTINUOUS, 0));
+    assertThrowsIllegalArg(() -> BATCH_PRICER.zSpreadsFromCurvesAndDirtyPrices(
+        BONDS_EUR, PROVIDER, REF_DATA, DoubleArray.filled(BONDS_EUR.size(), 1d), PERIODIC, 0));
+  }
+
+}
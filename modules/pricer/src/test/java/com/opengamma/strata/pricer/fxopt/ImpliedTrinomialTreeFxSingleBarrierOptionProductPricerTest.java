@@ -14,12 +14,15 @@ import static org.testng.Assert.assertTrue;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.pricer.DiscountingPaymentPricer;
 import com.opengamma.strata.pricer.fx.RatesProviderFxDataSets;
@@ -331,6 +334,19 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricerTest {
     assertEquals(ce, ceWithData);
   }
 
+  public void test_withData_severalOptions() {
+    List<ResolvedFxSingleBarrierOption> options = ImmutableList.of(
+        CALL_DKO,
+        CALL_UKI_C,
+        ResolvedFxSingleBarrierOption.of(CALL, BARRIER_UKI, REBATE_BASE),
+        ResolvedFxSingleBarrierOption.of(CALL, BARRIER_UKI));
+    DoubleArray computed = PRICER_39.price(options, RATE_PROVIDER, VOLS, DATA_39);
+    assertEquals(computed.size(), options.size());
+    for (int i = 0; i < options.size(); ++i) {
+      assertEquals(computed.get(i), PRICER_39.price(options.get(i), RATE_PROVIDER, VOLS, DATA_39));
+    }
+  }
+
   public void test_expired_calibration() {
     assertThrowsIllegalArg(() -> PRICER_39.getCalibrator().calibrateTrinomialTree(CALL_DKO.getUnderlyingOption(),
         RATE_PROVIDER_AFTER, VOLS_AFTER));
@@ -0,0 +1,168 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.model;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorMonteCarloEngine;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorMonteCarloEngine.Sequence;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorMonteCarloPaths;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantInterestRateModel;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Test {@link HullWhiteOneFactorMonteCarloEngine}.
+ */
+@Test
+public class HullWhiteOneFactorMonteCarloEngineTest {
+
+  private static final double MEAN_REVERSION = 0.01;
+  private static final DoubleArray VOLATILITY = DoubleArray.of(0.01, 0.011, 0.012, 0.013, 0.014);
+  private static final DoubleArray VOLATILITY_TIME = DoubleArray.of(0.5, 1.0, 2.0, 5.0);
+  private static final HullWhiteOneFactorPiecewiseConstantParameters MODEL_PARAMETERS =
+      HullWhiteOneFactorPiecewiseConstantParameters.of(MEAN_REVERSION, VOLATILITY, VOLATILITY_TIME);
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0, 1);
+  private static final double RATE = 0.02;
+  private static final DoubleArray TIMES = DoubleArray.of(0.25, 0.5, 1.0, 1.5, 2.0, 3.0, 4.0, 5.0);
+  private static final double NUMERAIRE_TIME = 6.0;
+  private static final int EXPIRY_INDEX = 4;
+  private static final double BOND_MATURITY = 5.0;
+  private static final double STRIKE = 0.94;
+  private static final int NB_PATHS = 1 << 16;
+
+  //-------------------------------------------------------------------------
+  public void bondOption_sobol() {
+    HullWhiteOneFactorMonteCarloEngine engine = HullWhiteOneFactorMonteCarloEngine.ofSobol(NB_PATHS);
+    HullWhiteOneFactorMonteCarloPaths paths = engine.simulate(MODEL_PARAMETERS, TIMES, NUMERAIRE_TIME);
+    assertEquals(bondOptionMonteCarlo(paths), bondOptionAnalytic(), 2.0E-5);
+  }
+
+  public void bondOption_pseudoRandom() {
+    HullWhiteOneFactorMonteCarloEngine engine = HullWhiteOneFactorMonteCarloEngine.ofPseudoRandom(NB_PATHS, 1234L);
+    HullWhiteOneFactorMonteCarloPaths paths = engine.simulate(MODEL_PARAMETERS, TIMES, NUMERAIRE_TIME);
+    assertEquals(bondOptionMonteCarlo(paths), bondOptionAnalytic(), 2.0E-4);
+  }
+
+  public void bondOption_sobolIncrements() {
+    HullWhiteOneFactorMonteCarloEngine engine =
+        new HullWhiteOneFactorMonteCarloEngine(NB_PATHS, Sequence.SOBOL, false, false, 0L);
+    HullWhiteOneFactorMonteCarloPaths paths = engine.simulate(MODEL_PARAMETERS, TIMES, NUMERAIRE_TIME);
+    assertEquals(bondOptionMonteCarlo(paths), bondOptionAnalytic(), 1.0E-4);
+  }
+
+  public void bondRatio_martingale() {
+    HullWhiteOneFactorMonteCarloEngine engine = HullWhiteOneFactorMonteCarloEngine.ofSobol(NB_PATHS);
+    HullWhiteOneFactorMonteCarloPaths paths = engine.simulate(MODEL_PARAMETERS, TIMES, NUMERAIRE_TIME);
+    double factor = paths.bondFactor(BOND_MATURITY);
+    double initialRatio = discountFactor(BOND_MATURITY) / discountFactor(NUMERAIRE_TIME);
+    for (int i = 0; i < TIMES.size(); i++) {
+      int timeIndex = i;
+      double mean = paths.mean(path -> paths.bondRatio(path, timeIndex, factor, initialRatio));
+      assertEquals(mean, initialRatio, 1.0E-5);
+    }
+  }
+
+  public void variances() {
+    HullWhiteOneFactorMonteCarloEngine engine = HullWhiteOneFactorMonteCarloEngine.ofSobol(NB_PATHS);
+    HullWhiteOneFactorMonteCarloPaths paths = engine.simulate(MODEL_PARAMETERS, TIMES, NUMERAIRE_TIME);
+    for (int i = 0; i < TIMES.size(); i++) {
+      double alpha = MODEL.alpha(MODEL_PARAMETERS, 0d, TIMES.get(i), 0d, Double.POSITIVE_INFINITY);
+      double expected = MEAN_REVERSION * MEAN_REVERSION * alpha * alpha;
+      assertEquals(paths.getVariances().get(i), expected, 1.0E-12);
+      int timeIndex = i;
+      double mean = paths.mean(path -> paths.getState(path, timeIndex));
+      double variance = paths.mean(path -> paths.getState(path, timeIndex) * paths.getState(path, timeIndex));
+      assertEquals(mean, 0d, 1.0E-5);
+      assertEquals(variance, expected, expected * 1.0E-3);
+    }
+  }
+
+  public void antithetic() {
+    HullWhiteOneFactorMonteCarloEngine engine = HullWhiteOneFactorMonteCarloEngine.ofPseudoRandom(4000, 1L);
+    HullWhiteOneFactorMonteCarloPaths paths = engine.simulate(MODEL_PARAMETERS, TIMES, NUMERAIRE_TIME);
+    for (int path = 0; path < 4000; path += 2) {
+      for (int i = 0; i < TIMES.size(); i++) {
+        assertEquals(paths.getState(path + 1, i), -paths.getState(path, i));
+      }
+    }
+  }
+
+  public void reproducible() {
+    HullWhiteOneFactorMonteCarloEngine pseudo = HullWhiteOneFactorMonteCarloEngine.ofPseudoRandom(5000, 42L);
+    assertEquals(
+        pseudo.simulate(MODEL_PARAMETERS, TIMES, NUMERAIRE_TIME).getStates(),
+        pseudo.simulate(MODEL_PARAMETERS, TIMES, NUMERAIRE_TIME).getStates());
+    HullWhiteOneFactorMonteCarloEngine sobol = HullWhiteOneFactorMonteCarloEngine.ofSobol(5000);
+    assertEquals(
+        sobol.simulate(MODEL_PARAMETERS, TIMES, NUMERAIRE_TIME).getStates(),
+        sobol.simulate(MODEL_PARAMETERS, TIMES, NUMERAIRE_TIME).getStates());
+  }
+
+  public void invalid() {
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorMonteCarloEngine.ofSobol(0));
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorMonteCarloEngine.ofPseudoRandom(1001, 1L));
+    HullWhiteOneFactorMonteCarloEngine engine = HullWhiteOneFactorMonteCarloEngine.ofSobol(10);
+    assertThrowsIllegalArg(() -> engine.simulate(MODEL_PARAMETERS, DoubleArray.of(0d, 1d), NUMERAIRE_TIME));
+    assertThrowsIllegalArg(() -> engine.simulate(MODEL_PARAMETERS, DoubleArray.of(2d, 1d), NUMERAIRE_TIME));
+  }
+
+  //-------------------------------------------------------------------------
+  // price of a call on a zero-coupon bond, expressed from the paths
+  private double bondOptionMonteCarlo(HullWhiteOneFactorMonteCarloPaths paths) {
+    double expiry = TIMES.get(EXPIRY_INDEX);
+    double dfNumeraire = discountFactor(NUMERAIRE_TIME);
+    double factorBond = paths.bondFactor(BOND_MATURITY);
+    double factorExpiry = paths.bondFactor(expiry);
+    double ratioBond = discountFactor(BOND_MATURITY) / dfNumeraire;
+    double ratioExpiry = discountFactor(expiry) / dfNumeraire;
+    double mean = paths.mean(path -> Math.max(
+        paths.bondRatio(path, EXPIRY_INDEX, factorBond, ratioBond) -
+            STRIKE * paths.bondRatio(path, EXPIRY_INDEX, factorExpiry, ratioExpiry),
+        0d));
+    return dfNumeraire * mean;
+  }
+
+  // price of a call on a zero-coupon bond, analytic formula
+  private double bondOptionAnalytic() {
+    double expiry = TIMES.get(EXPIRY_INDEX);
+    double dfBond = discountFactor(BOND_MATURITY);
+    double dfExpiry = discountFactor(expiry);
+    double alpha = MODEL.alpha(MODEL_PARAMETERS, 0d, expiry, expiry, BOND_MATURITY);
+    double d1 = Math.log(dfBond / (STRIKE * dfExpiry)) / alpha + 0.5 * alpha;
+    return dfBond * NORMAL.getCDF(d1) - STRIKE * dfExpiry * NORMAL.getCDF(d1 - alpha);
+  }
+
+  private static double discountFactor(double time) {
+    return Math.exp(-RATE * time);
+  }
+
+  //-------------------------------------------------------------------------
+  @Test(enabled = false)
+  public void performance() {
+    int nbPaths = 1 << 18;
+    DoubleArray times = DoubleArray.of(120, i -> (i + 1) * 0.25);
+    HullWhiteOneFactorMonteCarloEngine sobol = HullWhiteOneFactorMonteCarloEngine.ofSobol(nbPaths);
+    HullWhiteOneFactorMonteCarloEngine pseudo = HullWhiteOneFactorMonteCarloEngine.ofPseudoRandom(nbPaths, 1L);
+    for (int loop = 0; loop < 5; loop++) {
+      long start = System.currentTimeMillis();
+      sobol.simulate(MODEL_PARAMETERS, times, 30d);
+      long mid = System.currentTimeMillis();
+      pseudo.simulate(MODEL_PARAMETERS, times, 30d);
+      long end = System.currentTimeMillis();
+      System.out.println("Sobol with bridge: " + nbPaths * 1000L / Math.max(1, mid - start) + " paths/s, " +
+          "pseudo-random antithetic: " + nbPaths * 1000L / Math.max(1, end - mid) + " paths/s");
+    }
+  }
+
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.collect.io.BinarySerializer;
+import com.opengamma.strata.market.MarketBinaryCodecs;
+import com.opengamma.strata.pricer.datasets.ImmutableRatesProviderSimpleData;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+
+/**
+ * Test {@link RatesProviderBinaryCodecs}.
+ */
+@Test
+public class RatesProviderBinaryCodecsTest {
+
+  private static final BinarySerializer SERIALIZER = BinarySerializer.of(RatesProviderBinaryCodecs.codecs())
+      .combinedWith(MarketBinaryCodecs.codecs());
+
+  public void test_fxMatrix() {
+    assertRoundTrip(FxMatrix.empty());
+    assertRoundTrip(FxMatrix.builder().addRate(GBP, USD, 1.4d).addRate(EUR, USD, 1.1d).build());
+  }
+
+  public void test_ratesProvider() {
+    assertRoundTrip(RatesProviderDataSets.MULTI_GBP);
+    assertRoundTrip(RatesProviderDataSets.MULTI_CPI_USD);
+    assertRoundTrip(ImmutableRatesProviderSimpleData.IMM_PROV_EUR_FIX);
+  }
+
+  private static void assertRoundTrip(Object value) {
+    assertEquals(SERIALIZER.read(SERIALIZER.write(value), Object.class), value);
+  }
+
+}
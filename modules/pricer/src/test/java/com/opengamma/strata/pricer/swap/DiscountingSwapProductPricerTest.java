@@ -75,6 +75,7 @@ import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMap;
+import com.opengamma.strata.market.explain.ExplainTable;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
@@ -713,6 +714,23 @@ public class DiscountingSwapProductPricerTest {
         pricerTrade.explainPresentValue(SWAP_TRADE, MOCK_PROV),
         pricerSwap.explainPresentValue(SWAP, MOCK_PROV));
   }
+
+  public void test_explainPresentValueTable() {
+    ResolvedSwapTrade swapTrade = SWAP_USD_FIXED_6M_LIBOR_3M_5Y.resolve(REF_DATA);
+    ResolvedSwap swap = swapTrade.getProduct();
+    ExplainMap expected = SWAP_PRODUCT_PRICER.explainPresentValue(swap, MULTI_USD);
+    ExplainTable test = SWAP_PRODUCT_PRICER.explainPresentValueTable(swap, MULTI_USD);
+    assertEquals(test.toExplainMap(), expected);
+    assertEquals(test.getDouble(1, ExplainKey.PRESENT_VALUE),
+        SWAP_PRODUCT_PRICER.getLegPricer().presentValue(swap.getLegs().get(0), MULTI_USD).getAmount());
+    // via leg and trade
+    ResolvedSwapLeg leg = swap.getLegs().get(0);
+    assertEquals(
+        SWAP_PRODUCT_PRICER.getLegPricer().explainPresentValueTable(leg, MULTI_USD).toExplainMap(),
+        SWAP_PRODUCT_PRICER.getLegPricer().explainPresentValue(leg, MULTI_USD));
+    DiscountingSwapTradePricer pricerTrade = new DiscountingSwapTradePricer(SWAP_PRODUCT_PRICER);
+    assertEquals(pricerTrade.explainPresentValueTable(swapTrade, MULTI_USD).toExplainMap(), expected);
+  }
   
   //-------------------------------------------------------------------------
   public void test_parSpread_fixedIbor() {
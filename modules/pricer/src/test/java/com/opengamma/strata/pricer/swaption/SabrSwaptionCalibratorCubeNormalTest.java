@@ -13,18 +13,27 @@ import static com.opengamma.strata.pricer.swaption.SwaptionCubeData.MONEYNESS;
 import static com.opengamma.strata.pricer.swaption.SwaptionCubeData.TENORS;
 import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.EUR_FIXED_1Y_EURIBOR_6M;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 
 import java.time.LocalDate;
+import java.time.Period;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.loader.csv.QuotesCsvLoader;
 import com.opengamma.strata.loader.csv.RatesCalibrationCsvLoader;
@@ -37,10 +46,13 @@ import com.opengamma.strata.market.surface.DefaultSurfaceMetadata;
 import com.opengamma.strata.market.surface.Surface;
 import com.opengamma.strata.market.surface.interpolator.GridSurfaceInterpolator;
 import com.opengamma.strata.market.surface.interpolator.SurfaceInterpolator;
+import com.opengamma.strata.math.impl.statistics.leastsquare.LeastSquareResultsWithTransform;
 import com.opengamma.strata.pricer.curve.CalibrationMeasures;
 import com.opengamma.strata.pricer.curve.CurveCalibrator;
 import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
 import com.opengamma.strata.pricer.impl.option.NormalFormulaRepository;
+import com.opengamma.strata.pricer.model.SabrInterestRateParameters;
+import com.opengamma.strata.pricer.model.SabrVolatilityFormula;
 import com.opengamma.strata.pricer.option.TenorRawOptionData;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
@@ -88,21 +100,62 @@ public class SabrSwaptionCalibratorCubeNormalTest {
       SabrSwaptionDefinition.of(NAME_SABR, EUR_FIXED_1Y_EURIBOR_6M, DAY_COUNT, INTERPOLATOR_2D);
 
   private static final double TOLERANCE_PRICE_CALIBRATION_LS = 5.0E-4; // Calibration Least Square; result not exact
+  private static final double TOLERANCE_PARAMETER_WARM_START = 1.0E-6;
+
+  private static final double BETA = 0.50;
+  private static final Surface BETA_SURFACE = ConstantSurface.of("Beta", BETA)
+      .withMetadata(DefaultSurfaceMetadata.builder()
+          .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
+          .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
+  private static final double SHIFT = 0.0300;
+  private static final Surface SHIFT_SURFACE = ConstantSurface.of("Shift", SHIFT)
+      .withMetadata(DefaultSurfaceMetadata.builder()
+          .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
 
   @Test
   public void normal_cube() {
-    double beta = 0.50;
-    Surface betaSurface = ConstantSurface.of("Beta", beta)
-        .withMetadata(DefaultSurfaceMetadata.builder()
-            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
-            .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
-    double shift = 0.0300;
-    Surface shiftSurface = ConstantSurface.of("Shift", shift)
-        .withMetadata(DefaultSurfaceMetadata.builder()
-            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
     SabrParametersSwaptionVolatilities calibrated = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
-        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface);
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE);
+    checkCalibration(calibrated);
+  }
+
+  @Test
+  public void normal_cube_previous() {
+    SabrParametersSwaptionVolatilities previous = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE);
+    SabrParametersSwaptionVolatilities calibrated = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE, true, previous);
+    checkCalibration(calibrated);
+    assertEquals(calibrated.getParameters().getAlphaSurface().getParameterCount(),
+        previous.getParameters().getAlphaSurface().getParameterCount());
+  }
 
+  @Test
+  public void normal_cube_previous_startPoints() {
+    RecordingCalibrator cold = new RecordingCalibrator();
+    SabrParametersSwaptionVolatilities previous = cold.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE);
+    RecordingCalibrator warm = new RecordingCalibrator();
+    SabrParametersSwaptionVolatilities calibrated = warm.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, BETA_SURFACE, SHIFT_SURFACE, true, previous);
+    // the cold start tries the four standard starting points for each expiry/tenor
+    // the warm start only fits from the previous parameters, which are not one of the standard starting points
+    int cellCount = cold.startPoints.size() / 4;
+    assertEquals(cold.startPoints.size(), 4 * cellCount);
+    assertEquals(warm.startPoints.size(), cellCount);
+    for (DoubleArray start : warm.startPoints) {
+      assertFalse(cold.startPoints.contains(start));
+    }
+    // the result matches the cold start
+    SabrInterestRateParameters coldParameters = previous.getParameters();
+    SabrInterestRateParameters warmParameters = calibrated.getParameters();
+    for (int i = 0; i < coldParameters.getParameterCount(); i++) {
+      assertEquals(warmParameters.getParameter(i), coldParameters.getParameter(i), TOLERANCE_PARAMETER_WARM_START);
+    }
+  }
+
+  private void checkCalibration(SabrParametersSwaptionVolatilities calibrated) {
+    double shift = SHIFT;
     for (int looptenor = 0; looptenor < TENORS.size(); looptenor++) {
       double tenor = TENORS.get(looptenor).get(ChronoUnit.YEARS);
       for (int loopexpiry = 0; loopexpiry < EXPIRIES.size(); loopexpiry++) {
@@ -130,4 +183,34 @@ public class SabrSwaptionCalibratorCubeNormalTest {
     }
   }
 
+  //-------------------------------------------------------------------------
+  // calibrator recording the starting point of each least square fit
+  private static final class RecordingCalibrator extends SabrSwaptionCalibrator {
+
+    private final Queue<DoubleArray> startPoints = new ConcurrentLinkedQueue<>();
+
+    private RecordingCalibrator() {
+      super(SabrVolatilityFormula.hagan(), DiscountingSwapProductPricer.DEFAULT, REF_DATA);
+    }
+
+    @Override
+    public Pair<LeastSquareResultsWithTransform, DoubleArray> calibrateLsShiftedFromNormalVolatilities(
+        BusinessDayAdjustment bda,
+        ZonedDateTime calibrationDateTime,
+        DayCount dayCount,
+        Period periodToExpiry,
+        double forward,
+        DoubleArray strikesLike,
+        ValueType strikeType,
+        DoubleArray normalVolatilities,
+        DoubleArray startParameters,
+        BitSet fixedParameters,
+        double shiftOutput) {
+
+      startPoints.add(startParameters);
+      return super.calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount, periodToExpiry,
+          forward, strikesLike, strikeType, normalVolatilities, startParameters, fixedParameters, shiftOutput);
+    }
+  }
+
 }
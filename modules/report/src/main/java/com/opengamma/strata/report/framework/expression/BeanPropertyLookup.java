@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.framework.expression;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.joda.beans.Bean;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.MetaBean;
+import org.joda.beans.MetaProperty;
+
+/**
+ * Finds the property of a bean matching a token, ignoring case.
+ * <p>
+ * The same tokens are evaluated against beans of the same type for every row of a report.
+ * The properties of an immutable bean are fixed by its meta-bean, so the lookup is cached
+ * by bean type and token. Other beans can have different properties for each instance and
+ * are not cached.
+ * <p>
+ * The cache is held using {@link ClassValue}, thus it does not prevent the bean types,
+ * or their class loaders, from being garbage collected.
+ */
+final class BeanPropertyLookup {
+
+  /**
+   * The cache of meta-properties, keyed by bean type then by lower case token.
+   */
+  private static final ClassValue<ConcurrentHashMap<String, Optional<MetaProperty<?>>>> CACHE =
+      new ClassValue<ConcurrentHashMap<String, Optional<MetaProperty<?>>>>() {
+        @Override
+        protected ConcurrentHashMap<String, Optional<MetaProperty<?>>> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  /**
+   * Finds the property of the bean whose name matches the token, ignoring case.
+   *
+   * @param bean  the bean
+   * @param token  the token
+   * @return the matching property, empty if not found
+   */
+  static Optional<MetaProperty<?>> find(Bean bean, String token) {
+    if (bean instanceof ImmutableBean) {
+      return find(bean.metaBean(), token);
+    }
+    return bean.propertyNames().stream()
+        .filter(p -> p.equalsIgnoreCase(token))
+        .findFirst()
+        .<MetaProperty<?>>map(p -> bean.property(p).metaProperty());
+  }
+
+  /**
+   * Finds the meta-property of the meta-bean whose name matches the token, ignoring case.
+   *
+   * @param metaBean  the meta-bean
+   * @param token  the token
+   * @return the matching meta-property, empty if not found
+   */
+  static Optional<MetaProperty<?>> find(MetaBean metaBean, String token) {
+    ConcurrentHashMap<String, Optional<MetaProperty<?>>> byToken = CACHE.get(metaBean.beanType());
+    return byToken.computeIfAbsent(token.toLowerCase(Locale.ENGLISH), t -> metaBean.metaPropertyMap().keySet().stream()
+        .filter(p -> p.equalsIgnoreCase(t))
+        .findFirst()
+        .<MetaProperty<?>>map(metaBean::metaProperty));
+  }
+
+  //-------------------------------------------------------------------------
+  private BeanPropertyLookup() {
+  }
+
+}
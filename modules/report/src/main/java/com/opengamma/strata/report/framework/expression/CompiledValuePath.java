@@ -0,0 +1,158 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.framework.expression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.joda.beans.Bean;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.MetaProperty;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * A value path compiled into a chain of accessors.
+ * <p>
+ * A value path is evaluated against every row of a report, and the values found at each point
+ * in the path are usually of the same few types for every row. The path is split into tokens once.
+ * The way of evaluating the token at each point in the path is then determined once for each
+ * runtime type, and reused for every row.
+ * <p>
+ * Where the token names a property of an immutable bean, the property is read directly from
+ * its meta-property. Other values are evaluated using the token evaluator for their type.
+ * <p>
+ * This class is thread-safe, allowing the rows to be evaluated in parallel.
+ */
+final class CompiledValuePath {
+
+  /**
+   * The tokens of the path, not empty.
+   */
+  private final ImmutableList<String> tokens;
+  /**
+   * The steps for each point in the path, keyed by the type of the value at that point.
+   * The list is indexed by the number of tokens remaining at the point.
+   */
+  private final List<ConcurrentHashMap<Class<?>, Step>> steps;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Compiles a path from its tokens.
+   *
+   * @param tokens  the tokens of the path, not empty
+   * @return the compiled path
+   */
+  static CompiledValuePath of(List<String> tokens) {
+    return new CompiledValuePath(tokens);
+  }
+
+  // restricted constructor
+  private CompiledValuePath(List<String> tokens) {
+    this.tokens = ImmutableList.copyOf(tokens);
+    this.steps = new ArrayList<>(tokens.size() + 1);
+    for (int i = 0; i <= tokens.size(); i++) {
+      steps.add(new ConcurrentHashMap<>());
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Evaluates the path against a row of the results.
+   *
+   * @param row  the row
+   * @param functions  the calculation functions
+   * @return the result of evaluating the path
+   */
+  Result<?> evaluate(ResultsRow row, CalculationFunctions functions) {
+    Object value = row;
+    int remaining = tokens.size();
+    while (true) {
+      Object target = value;
+      int targetRemaining = remaining;
+      Step step = steps.get(remaining).computeIfAbsent(target.getClass(), type -> step(target, targetRemaining));
+      if (step.evaluator == null) {
+        return noEvaluatorResult(tokens.subList(tokens.size() - remaining, tokens.size()), value);
+      }
+      if (step.property != null) {
+        value = step.property.get((Bean) target);
+        if (value == null) {
+          return Result.failure(FailureReason.INVALID, "No value available for property '{}'", step.token);
+        }
+        remaining--;
+        if (remaining == 0) {
+          return Result.success(value);
+        }
+      } else {
+        List<String> tokensAfterFirst = tokens.subList(tokens.size() - remaining + 1, tokens.size());
+        EvaluationResult evaluationResult = step.evaluator.evaluate(target, functions, step.token, tokensAfterFirst);
+        if (evaluationResult.isComplete()) {
+          return evaluationResult.getResult();
+        }
+        value = evaluationResult.getResult().getValue();
+        remaining = evaluationResult.getRemainingTokens().size();
+      }
+    }
+  }
+
+  // determines how to evaluate the next token against values of the type of the target
+  @SuppressWarnings("unchecked")
+  private Step step(Object target, int remaining) {
+    String token = tokens.get(tokens.size() - remaining);
+    if (target instanceof ResultsRow) {
+      // the first token is evaluated against the row
+      return new Step(token, (TokenEvaluator<Object>) (TokenEvaluator<?>) RootEvaluator.INSTANCE, null);
+    }
+    Optional<TokenEvaluator<Object>> evaluator = ValuePathEvaluator.getEvaluator(target.getClass());
+    if (!evaluator.isPresent()) {
+      return new Step(token, null, null);
+    }
+    if (evaluator.get().getTargetType() == Bean.class && target instanceof ImmutableBean) {
+      // evaluated by the general bean evaluator, the properties of an immutable bean are fixed by its type
+      Optional<MetaProperty<?>> property = BeanPropertyLookup.find(((ImmutableBean) target).metaBean(), token);
+      if (property.isPresent()) {
+        return new Step(token, evaluator.get(), property.get());
+      }
+    }
+    return new Step(token, evaluator.get(), null);
+  }
+
+  // the failure when no evaluator supports the type of the value
+  private static Result<?> noEvaluatorResult(List<String> remaining, Object value) {
+    return Result.failure(
+        FailureReason.INVALID,
+        "Expression '{}' cannot be invoked on type {}",
+        Joiner.on('.').join(remaining),
+        value.getClass().getName());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The evaluation of a token against values of one type.
+   * <p>
+   * The evaluator is null if no evaluator supports the type.
+   * The property is set if the value is an immutable bean with a property matching the token.
+   */
+  private static final class Step {
+
+    private final String token;
+    private final TokenEvaluator<Object> evaluator;
+    private final MetaProperty<?> property;
+
+    private Step(String token, TokenEvaluator<Object> evaluator, MetaProperty<?> property) {
+      this.token = token;
+      this.evaluator = evaluator;
+      this.property = property;
+    }
+  }
+
+}
@@ -12,6 +12,7 @@ import java.util.Set;
 import org.joda.beans.Bean;
 import org.joda.beans.JodaBeanUtils;
 import org.joda.beans.MetaBean;
+import org.joda.beans.MetaProperty;
 
 import com.google.common.collect.Sets;
 import com.opengamma.strata.calc.runner.CalculationFunctions;
@@ -46,22 +47,18 @@ public class PositionTokenEvaluator extends TokenEvaluator<Position> {
     MetaBean metaBean = JodaBeanUtils.metaBean(position.getClass());
 
     // position
-    Optional<String> positionPropertyName = metaBean.metaPropertyMap().keySet().stream()
-        .filter(p -> p.equalsIgnoreCase(firstToken))
-        .findFirst();
-    if (positionPropertyName.isPresent()) {
-      Object propertyValue = metaBean.metaProperty(positionPropertyName.get()).get((Bean) position);
+    Optional<MetaProperty<?>> positionProperty = BeanPropertyLookup.find(metaBean, firstToken);
+    if (positionProperty.isPresent()) {
+      Object propertyValue = positionProperty.get().get((Bean) position);
       return propertyValue != null ?
           EvaluationResult.success(propertyValue, remainingTokens) :
           EvaluationResult.failure("Property '{}' not set", firstToken);
     }
 
     // position info
-    Optional<String> positionInfoPropertyName = position.getInfo().propertyNames().stream()
-        .filter(p -> p.equalsIgnoreCase(firstToken))
-        .findFirst();
-    if (positionInfoPropertyName.isPresent()) {
-      Object propertyValue = position.getInfo().property(positionInfoPropertyName.get()).get();
+    Optional<MetaProperty<?>> positionInfoProperty = BeanPropertyLookup.find(position.getInfo(), firstToken);
+    if (positionInfoProperty.isPresent()) {
+      Object propertyValue = positionInfoProperty.get().get(position.getInfo());
       return propertyValue != null ?
           EvaluationResult.success(propertyValue, remainingTokens) :
           EvaluationResult.failure("Property '{}' not set", firstToken);
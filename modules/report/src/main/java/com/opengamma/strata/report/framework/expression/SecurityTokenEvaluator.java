@@ -12,6 +12,7 @@ import java.util.Set;
 import org.joda.beans.Bean;
 import org.joda.beans.JodaBeanUtils;
 import org.joda.beans.MetaBean;
+import org.joda.beans.MetaProperty;
 
 import com.google.common.collect.Sets;
 import com.opengamma.strata.calc.runner.CalculationFunctions;
@@ -50,33 +51,28 @@ public class SecurityTokenEvaluator extends TokenEvaluator<Security> {
     MetaBean metaBean = JodaBeanUtils.metaBean(security.getClass());
 
     // security
-    Optional<String> securityPropertyName = metaBean.metaPropertyMap().keySet().stream()
-        .filter(p -> p.equalsIgnoreCase(firstToken))
-        .findFirst();
-    if (securityPropertyName.isPresent()) {
-      Object propertyValue = metaBean.metaProperty(securityPropertyName.get()).get((Bean) security);
+    Optional<MetaProperty<?>> securityProperty = BeanPropertyLookup.find(metaBean, firstToken);
+    if (securityProperty.isPresent()) {
+      Object propertyValue = securityProperty.get().get((Bean) security);
       return propertyValue != null ?
           EvaluationResult.success(propertyValue, remainingTokens) :
           EvaluationResult.failure("Property '{}' not set", firstToken);
     }
 
     // security info
-    Optional<String> securityInfoPropertyName = security.getInfo().propertyNames().stream()
-        .filter(p -> p.equalsIgnoreCase(firstToken))
-        .findFirst();
-    if (securityInfoPropertyName.isPresent()) {
-      Object propertyValue = security.getInfo().property(securityInfoPropertyName.get()).get();
+    Optional<MetaProperty<?>> securityInfoProperty = BeanPropertyLookup.find(security.getInfo(), firstToken);
+    if (securityInfoProperty.isPresent()) {
+      Object propertyValue = securityInfoProperty.get().get(security.getInfo());
       return propertyValue != null ?
           EvaluationResult.success(propertyValue, remainingTokens) :
           EvaluationResult.failure("Property '{}' not set", firstToken);
     }
 
     // security price info
-    Optional<String> securityPriceInfoPropertyName = security.getInfo().getPriceInfo().propertyNames().stream()
-        .filter(p -> p.equalsIgnoreCase(firstToken))
-        .findFirst();
-    if (securityPriceInfoPropertyName.isPresent()) {
-      Object propertyValue = security.getInfo().getPriceInfo().property(securityPriceInfoPropertyName.get()).get();
+    SecurityPriceInfo priceInfo = security.getInfo().getPriceInfo();
+    Optional<MetaProperty<?>> securityPriceInfoProperty = BeanPropertyLookup.find(priceInfo, firstToken);
+    if (securityPriceInfoProperty.isPresent()) {
+      Object propertyValue = securityPriceInfoProperty.get().get(priceInfo);
       return propertyValue != null ?
           EvaluationResult.success(propertyValue, remainingTokens) :
           EvaluationResult.failure("Property '{}' not set", firstToken);
@@ -13,7 +13,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.IntStream;
 
-import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.index.IborIndex;
@@ -53,6 +52,17 @@ public class ValuePathEvaluator {
       new BeanTokenEvaluator(),
       new IterableTokenEvaluator());
 
+  /**
+   * The evaluator for each runtime type, cached as the same types are evaluated for every row.
+   */
+  private static final ClassValue<Optional<TokenEvaluator<Object>>> EVALUATOR_BY_TYPE =
+      new ClassValue<Optional<TokenEvaluator<Object>>>() {
+        @Override
+        protected Optional<TokenEvaluator<Object>> computeValue(Class<?> type) {
+          return findEvaluator(type);
+        }
+      };
+
   //-------------------------------------------------------------------------
   /**
    * Gets the measure encoded in a value path, if present.
@@ -83,6 +93,22 @@ public class ValuePathEvaluator {
    * @return the list of resolved results for each trade
    */
   public static List<Result<?>> evaluate(String valuePath, ReportCalculationResults results) {
+    return evaluate(valuePath, results, false);
+  }
+
+  /**
+   * Evaluates a value path against a set of results, returning the resolved result for each trade,
+   * optionally evaluating the trades in parallel.
+   * <p>
+   * The path is compiled once into a chain of accessors that is applied to every trade.
+   * Parallel evaluation uses the common fork-join pool, and is worthwhile for large sets of results.
+   *
+   * @param valuePath  the value path
+   * @param results  the calculation results
+   * @param parallel  true to evaluate the trades in parallel
+   * @return the list of resolved results for each trade
+   */
+  public static List<Result<?>> evaluate(String valuePath, ReportCalculationResults results, boolean parallel) {
     List<String> tokens = tokenize(valuePath);
 
     if (tokens.size() < 1) {
@@ -90,42 +116,15 @@ public class ValuePathEvaluator {
           results.getTargets().size(),
           Result.failure(FailureReason.INVALID, "Column expressions must not be empty"));
     }
+    CompiledValuePath path = CompiledValuePath.of(tokens);
     CalculationFunctions functions = results.getCalculationFunctions();
     int rowCount = results.getCalculationResults().getRowCount();
-    return IntStream.range(0, rowCount)
-        .mapToObj(rowIndex -> evaluate(functions, tokens, RootEvaluator.INSTANCE, new ResultsRow(results, rowIndex)))
+    IntStream rowIndices = parallel ? IntStream.range(0, rowCount).parallel() : IntStream.range(0, rowCount);
+    return rowIndices
+        .mapToObj(rowIndex -> path.evaluate(new ResultsRow(results, rowIndex), functions))
         .collect(toImmutableList());
   }
 
-  // Tokens always has at least one token
-  private static <T> Result<?> evaluate(
-      CalculationFunctions functions,
-      List<String> tokens,
-      TokenEvaluator<T> evaluator,
-      T target) {
-
-    List<String> remaining = tokens.subList(1, tokens.size());
-    EvaluationResult evaluationResult = evaluator.evaluate(target, functions, tokens.get(0), remaining);
-
-    if (evaluationResult.isComplete()) {
-      return evaluationResult.getResult();
-    }
-    Object value = evaluationResult.getResult().getValue();
-    Optional<TokenEvaluator<Object>> nextEvaluator = getEvaluator(value.getClass());
-
-    return nextEvaluator.isPresent() ?
-        evaluate(functions, evaluationResult.getRemainingTokens(), nextEvaluator.get(), value) :
-        noEvaluatorResult(remaining, value);
-  }
-
-  private static Result<?> noEvaluatorResult(List<String> remaining, Object value) {
-    return Result.failure(
-        FailureReason.INVALID,
-        "Expression '{}' cannot be invoked on type {}",
-        Joiner.on('.').join(remaining),
-        value.getClass().getName());
-  }
-
   /**
    * Gets the supported tokens on the given object.
    *
@@ -143,8 +142,14 @@ public class ValuePathEvaluator {
     return ImmutableList.copyOf(tokens);
   }
 
+  // gets the evaluator that supports the type, empty if there is none
+  static Optional<TokenEvaluator<Object>> getEvaluator(Class<?> targetClass) {
+    return EVALUATOR_BY_TYPE.get(targetClass);
+  }
+
+  // finds the first evaluator that supports the type, called once per type
   @SuppressWarnings("unchecked")
-  private static Optional<TokenEvaluator<Object>> getEvaluator(Class<?> targetClass) {
+  private static Optional<TokenEvaluator<Object>> findEvaluator(Class<?> targetClass) {
     return EVALUATORS.stream()
         .filter(e -> e.getTargetType().isAssignableFrom(targetClass))
         .map(e -> (TokenEvaluator<Object>) e)
@@ -59,10 +59,22 @@ public abstract class ReportFormatter<R extends Report> {
     OutputStreamWriter outputWriter = new OutputStreamWriter(out, StandardCharsets.UTF_8);
     CsvOutput csvOut = new CsvOutput(outputWriter);
     csvOut.writeLine(report.getColumnHeaders());
+    writeCsvRows(report, csvOut);
+    Unchecked.wrap(outputWriter::flush);
+  }
+
+  /**
+   * Outputs the rows of the report table in CSV format, without the column headers.
+   * <p>
+   * This allows a report to be written in parts, for example one row at a time.
+   * 
+   * @param report  the report
+   * @param csvOut  the CSV output to write to
+   */
+  public void writeCsvRows(R report, CsvOutput csvOut) {
     IntStream.range(0, report.getRowCount())
         .mapToObj(rowIdx -> formatRow(report, rowIdx, ReportOutputFormat.CSV))
         .forEach(csvOut::writeLine);
-    Unchecked.wrap(outputWriter::flush);
   }
 
   /**
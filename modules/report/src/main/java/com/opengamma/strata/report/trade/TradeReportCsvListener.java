@@ -0,0 +1,180 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.trade;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.AggregatingCalculationListener;
+import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
+import com.opengamma.strata.collect.io.CsvOutput;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.report.ReportCalculationResults;
+
+/**
+ * Calculation listener that writes a trade report in CSV format as the results are received.
+ * <p>
+ * The rows of the report are written in the order of the targets, as soon as all the results
+ * of a row and of the rows before it have been received. Only the rows that cannot be written yet
+ * are kept in memory, so the full set of results and the full report are never held at once.
+ * <p>
+ * The CSV output is the same as {@link TradeReport#writeCsv(OutputStream)} for the same results.
+ * <p>
+ * The aggregate result of this listener is the number of rows written.
+ * The output stream is flushed each time rows are written, but is not closed.
+ */
+public final class TradeReportCsvListener
+    extends AggregatingCalculationListener<Integer> {
+
+  /** The valuation date. */
+  private final LocalDate valuationDate;
+  /** The targets, one per row. */
+  private final ImmutableList<CalculationTarget> targets;
+  /** The columns of the calculation. */
+  private final ImmutableList<Column> columns;
+  /** The column headers of the calculation. */
+  private final ImmutableList<ColumnHeader> columnHeaders;
+  /** The report template. */
+  private final TradeReportTemplate template;
+  /** The calculation functions. */
+  private final CalculationFunctions functions;
+  /** The reference data. */
+  private final ReferenceData refData;
+  /** The writer. */
+  private final OutputStreamWriter writer;
+  /** The CSV output. */
+  private final CsvOutput csvOut;
+  /** The results of the rows that have been received but not written, keyed by row index. */
+  private final Map<Integer, Result<?>[]> pendingRows = new HashMap<>();
+  /** The number of results received for the pending rows, keyed by row index. */
+  private final Map<Integer, Integer> pendingCounts = new HashMap<>();
+  /** The index of the next row to write. */
+  private int nextRow;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance writing to the specified output stream.
+   * <p>
+   * The targets and columns must be the same as those passed to the calculation runner.
+   * The column headers are written immediately.
+   *
+   * @param valuationDate  the valuation date used in the calculations
+   * @param targets  the targets for which the results are calculated
+   * @param columns  the columns of the calculation
+   * @param template  the report template
+   * @param functions  the calculation functions
+   * @param refData  the reference data
+   * @param out  the output stream to write to
+   * @return the listener
+   */
+  public static TradeReportCsvListener of(
+      LocalDate valuationDate,
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      TradeReportTemplate template,
+      CalculationFunctions functions,
+      ReferenceData refData,
+      OutputStream out) {
+
+    return new TradeReportCsvListener(valuationDate, targets, columns, template, functions, refData, out);
+  }
+
+  // restricted constructor
+  private TradeReportCsvListener(
+      LocalDate valuationDate,
+      List<? extends CalculationTarget> targets,
+      List<Column> columns,
+      TradeReportTemplate template,
+      CalculationFunctions functions,
+      ReferenceData refData,
+      OutputStream out) {
+
+    this.valuationDate = ArgChecker.notNull(valuationDate, "valuationDate");
+    this.targets = ImmutableList.copyOf(ArgChecker.notNull(targets, "targets"));
+    this.columns = ImmutableList.copyOf(ArgChecker.notNull(columns, "columns"));
+    this.columnHeaders = this.columns.stream().map(Column::toHeader).collect(toImmutableList());
+    this.template = ArgChecker.notNull(template, "template");
+    this.functions = ArgChecker.notNull(functions, "functions");
+    this.refData = ArgChecker.notNull(refData, "refData");
+    ArgChecker.notNull(out, "out");
+    this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+    this.csvOut = new CsvOutput(writer);
+    csvOut.writeLine(template.getColumns().stream().map(TradeReportColumn::getHeader).collect(toImmutableList()));
+    Unchecked.wrap(writer::flush);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void resultReceived(CalculationTarget target, CalculationResult result) {
+    int rowIndex = result.getRowIndex();
+    Result<?>[] row = pendingRows.computeIfAbsent(rowIndex, i -> new Result<?>[columns.size()]);
+    row[result.getColumnIndex()] = result.getResult();
+    int count = pendingCounts.merge(rowIndex, 1, Integer::sum);
+    if (count == columns.size()) {
+      writeAvailableRows();
+    }
+  }
+
+  @Override
+  protected Integer createAggregateResult() {
+    // write the remaining rows, any missing result is reported as a failure
+    Result<?> missing = Result.failure(FailureReason.MISSING_DATA, "No result received for the calculation");
+    while (nextRow < targets.size()) {
+      Result<?>[] row = pendingRows.computeIfAbsent(nextRow, i -> new Result<?>[columns.size()]);
+      for (int i = 0; i < row.length; i++) {
+        if (row[i] == null) {
+          row[i] = missing;
+        }
+      }
+      pendingCounts.put(nextRow, columns.size());
+      writeAvailableRows();
+    }
+    Unchecked.wrap(writer::flush);
+    return nextRow;
+  }
+
+  // writes the complete rows that follow the last written row, flushing them to the output stream
+  private void writeAvailableRows() {
+    int firstRow = nextRow;
+    while (pendingCounts.getOrDefault(nextRow, 0) == columns.size() && nextRow < targets.size()) {
+      Result<?>[] row = pendingRows.remove(nextRow);
+      pendingCounts.remove(nextRow);
+      writeRow(nextRow, row);
+      nextRow++;
+    }
+    if (nextRow > firstRow) {
+      Unchecked.wrap(writer::flush);
+    }
+  }
+
+  // writes a single row, creating the report of the row from the results
+  private void writeRow(int rowIndex, Result<?>[] row) {
+    Results rowResults = Results.of(columnHeaders, Arrays.asList(row));
+    ReportCalculationResults reportResults = ReportCalculationResults.of(
+        valuationDate, ImmutableList.of(targets.get(rowIndex)), columns, rowResults, functions, refData);
+    TradeReport report = TradeReportRunner.INSTANCE.runReport(reportResults, template);
+    TradeReportFormatter.INSTANCE.writeCsvRows(report, csvOut);
+  }
+
+}
@@ -122,6 +122,28 @@ public class ValuePathEvaluatorTest {
     assertThat(counterpartyResults).isEqualTo(expectedCounterparties);
   }
 
+  public void noEvaluator() {
+    ReportCalculationResults reportResults = reportResults();
+
+    List<Result<?>> results = ValuePathEvaluator.evaluate("Trade.Product.Notional.Wibble", reportResults);
+    assertThat(results).hasSize(3);
+    for (Result<?> result : results) {
+      assertThat(result.isFailure()).isTrue();
+      assertThat(result.getFailure().getMessage())
+          .isEqualTo("Expression 'Wibble' cannot be invoked on type java.lang.Double");
+    }
+  }
+
+  public void parallel() {
+    ReportCalculationResults reportResults = reportResults();
+
+    List<String> paths = ImmutableList.of("Trade.Counterparty.Value", "Product.Index.Name", "Measures.PresentValue.Amount");
+    for (String path : paths) {
+      assertThat(ValuePathEvaluator.evaluate(path, reportResults, true))
+          .isEqualTo(ValuePathEvaluator.evaluate(path, reportResults, false));
+    }
+  }
+
   //--------------------------------------------------------------------------------------------------
 
   private static ReportCalculationResults reportResults() {
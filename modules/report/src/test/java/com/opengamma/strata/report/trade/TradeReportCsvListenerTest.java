@@ -0,0 +1,153 @@
+/**
+ * Copyright (C) 2016 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.trade;
+
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.AdjustableDate;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.product.Trade;
+import com.opengamma.strata.product.TradeInfo;
+import com.opengamma.strata.product.fra.Fra;
+import com.opengamma.strata.product.fra.FraTrade;
+import com.opengamma.strata.report.ReportCalculationResults;
+
+/**
+ * Test {@link TradeReportCsvListener}.
+ */
+@Test
+public class TradeReportCsvListenerTest {
+
+  private static final LocalDate VAL_DATE = date(2016, 6, 30);
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measure.of("PresentValue")),
+      Column.of(Measure.of("ParRate")));
+  private static final List<Trade> TRADES = ImmutableList.of(
+      trade("cpty1", 1_000_000),
+      trade("cpty2", 10_000_000),
+      trade("cpty3", 100_000_000));
+  private static final TradeReportTemplate TEMPLATE = TradeReportTemplate.builder()
+      .columns(
+          TradeReportColumn.builder().header("Counterparty").value("Trade.counterparty.value").build(),
+          TradeReportColumn.builder().header("Present Value").value("Measures.PresentValue").build(),
+          TradeReportColumn.builder().header("Par Rate").value("Measures.ParRate").build())
+      .build();
+  private static final Result<?> MISSING =
+      Result.failure(FailureReason.MISSING_DATA, "No result received for the calculation");
+
+  //-------------------------------------------------------------------------
+  public void test_outOfOrder() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportCsvListener test = listener(out);
+    String headerOnly = csv(out);
+    assertThat(headerOnly).isEqualTo("Counterparty,Present Value,Par Rate\n");
+
+    test.resultReceived(TRADES.get(2), CalculationResult.of(2, 1, result(2, 1)));
+    test.resultReceived(TRADES.get(1), CalculationResult.of(1, 0, result(1, 0)));
+    test.resultReceived(TRADES.get(2), CalculationResult.of(2, 0, result(2, 0)));
+    test.resultReceived(TRADES.get(1), CalculationResult.of(1, 1, result(1, 1)));
+    test.resultReceived(TRADES.get(0), CalculationResult.of(0, 1, result(0, 1)));
+    test.calculationsComplete();
+
+    assertThat(test.result()).isEqualTo(3);
+    List<Result<?>> expected = ImmutableList.of(
+        MISSING, result(0, 1),
+        result(1, 0), result(1, 1),
+        result(2, 0), result(2, 1));
+    assertThat(csv(out)).isEqualTo(expectedCsv(expected));
+  }
+
+  public void test_complete() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportCsvListener test = listener(out);
+    for (int row = 0; row < TRADES.size(); row++) {
+      for (int column = 0; column < COLUMNS.size(); column++) {
+        test.resultReceived(TRADES.get(row), CalculationResult.of(row, column, result(row, column)));
+      }
+    }
+    test.calculationsComplete();
+
+    assertThat(test.result()).isEqualTo(3);
+    List<Result<?>> expected = ImmutableList.of(
+        result(0, 0), result(0, 1),
+        result(1, 0), result(1, 1),
+        result(2, 0), result(2, 1));
+    assertThat(csv(out)).isEqualTo(expectedCsv(expected));
+  }
+
+  //-------------------------------------------------------------------------
+  private static TradeReportCsvListener listener(ByteArrayOutputStream out) {
+    return TradeReportCsvListener.of(
+        VAL_DATE, TRADES, COLUMNS, TEMPLATE, StandardComponents.calculationFunctions(), REF_DATA, out);
+  }
+
+  private static Result<?> result(int row, int column) {
+    if (column == 0) {
+      return Result.success(CurrencyAmount.of(Currency.GBP, row + 1d));
+    }
+    return Result.success(0.01 * (row + 1));
+  }
+
+  private static String expectedCsv(List<Result<?>> resultValues) {
+    List<Column> columns = COLUMNS;
+    Results results = Results.of(
+        ImmutableList.of(columns.get(0).toHeader(), columns.get(1).toHeader()), resultValues);
+    ReportCalculationResults reportResults = ReportCalculationResults.of(
+        VAL_DATE, TRADES, columns, results, StandardComponents.calculationFunctions(), REF_DATA);
+    TradeReport report = TradeReportRunner.INSTANCE.runReport(reportResults, TEMPLATE);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    report.writeCsv(out);
+    return csv(out);
+  }
+
+  private static String csv(ByteArrayOutputStream out) {
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static Trade trade(String counterparty, double notional) {
+    TradeInfo tradeInfo = TradeInfo.builder()
+        .counterparty(StandardId.of("cpty", counterparty))
+        .build();
+    Fra fra = Fra.builder()
+        .buySell(BUY)
+        .notional(notional)
+        .startDate(date(2016, 8, 5))
+        .endDate(date(2016, 11, 5))
+        .paymentDate(AdjustableDate.of(date(2016, 8, 7)))
+        .fixedRate(0.025d)
+        .index(GBP_LIBOR_3M)
+        .dayCount(ACT_365F)
+        .build();
+    return FraTrade.builder()
+        .info(tradeInfo)
+        .product(fra)
+        .build();
+  }
+
+}